@@ -46,6 +46,7 @@
 	exports org.semanticweb.elk.reasoner.saturation.inferences;
 	exports org.semanticweb.elk.reasoner.saturation.properties.inferences;
 	exports org.semanticweb.elk.reasoner.stages;
+	exports org.semanticweb.elk.reasoner.taxonomy;
 	exports org.semanticweb.elk.reasoner.taxonomy.model;
 	exports org.semanticweb.elk.reasoner.tracing;
 
@@ -36,7 +36,9 @@
 import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
 import org.semanticweb.elk.reasoner.completeness.IncompleteResult;
 import org.semanticweb.elk.reasoner.completeness.Incompleteness;
+import org.semanticweb.elk.reasoner.config.ConcurrentExecutorType;
 import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.config.SubsumerPruning;
 import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
 import org.semanticweb.elk.reasoner.stages.AbstractReasonerState;
 import org.semanticweb.elk.reasoner.stages.ReasonerStageExecutor;
@@ -88,6 +90,18 @@ public static boolean testing() {
 	private final static ConcurrentExecutor EXECUTOR_ = ConcurrentExecutors
 			.create("elk-reasoner");
 
+	/**
+	 * Holds the executor used for concurrent tasks on virtual threads, so that
+	 * it is only created when some {@link Reasoner} uses
+	 * {@link ConcurrentExecutorType#VIRTUAL_THREADS}
+	 */
+	private static class VirtualExecutorHolder {
+
+		final static ConcurrentExecutor EXECUTOR_ = ConcurrentExecutors
+				.createVirtual("elk-reasoner");
+
+	}
+
 	/**
 	 * The progress monitor that is used for reporting progress.
 	 */
@@ -105,6 +119,46 @@ public static boolean testing() {
 	 * Number of workers for concurrent jobs.
 	 */
 	private int workerNo_;
+	/**
+	 * The number of inputs handed over to the workers at once.
+	 */
+	private int inputChunkSize_;
+	/**
+	 * Whether the saturated contexts are compacted after the class taxonomy
+	 * is computed.
+	 */
+	private boolean contextCompaction_;
+	/**
+	 * Whether the saturated contexts are moved out of the heap after the
+	 * class taxonomy is computed.
+	 */
+	private boolean contextSpilling_;
+	/**
+	 * Whether the loaded axioms are converted by several workers before they
+	 * are indexed.
+	 */
+	private boolean concurrentIndexing_;
+	/**
+	 * Whether the direct super-classes are recomputed after incremental
+	 * changes using their previous values.
+	 */
+	private boolean incrementalReduction_;
+	/**
+	 * How the candidate direct super-classes are pruned in the transitive
+	 * reduction.
+	 */
+	private SubsumerPruning subsumerPruning_;
+	/**
+	 * The executor for concurrent jobs.
+	 */
+	private ConcurrentExecutor executor_;
+
+	/**
+	 * {@code true} if {@link #executor_} was set by
+	 * {@link #setProcessExecutor(ConcurrentExecutor)}, then the configuration
+	 * does not change it
+	 */
+	private boolean executorSet_ = false;
 
 	/**
 	 * Should fresh entities in reasoner queries be accepted (configuration
@@ -195,6 +249,36 @@ public synchronized void setNumberOfWorkers(int workerNo) {
 		workerNo_ = workerNo;
 	}
 
+	@Override
+	protected synchronized int getInputChunkSize() {
+		return inputChunkSize_;
+	}
+
+	@Override
+	protected synchronized boolean isContextCompactionEnabled() {
+		return contextCompaction_;
+	}
+
+	@Override
+	protected synchronized boolean isContextSpillingEnabled() {
+		return contextSpilling_;
+	}
+
+	@Override
+	protected synchronized boolean isConcurrentIndexingEnabled() {
+		return concurrentIndexing_;
+	}
+
+	@Override
+	protected synchronized boolean isIncrementalReductionEnabled() {
+		return incrementalReduction_;
+	}
+
+	@Override
+	protected synchronized SubsumerPruning getSubsumerPruning() {
+		return subsumerPruning_;
+	}
+
 	/**
 	 * Set {@link ReasonerConfiguration} options to be used for this
 	 * {@link Reasoner}
@@ -207,15 +291,56 @@ public synchronized void setConfigurationOptions(
 			ReasonerConfiguration config) {
 		this.workerNo_ = config.getParameterAsInt(
 				ReasonerConfiguration.NUM_OF_WORKING_THREADS);
+		this.inputChunkSize_ = config.getParameterAsInt(
+				ReasonerConfiguration.INPUT_CHUNK_SIZE);
+		this.contextCompaction_ = config.getParameterAsBoolean(
+				ReasonerConfiguration.CONTEXT_COMPACTION);
+		this.contextSpilling_ = config.getParameterAsBoolean(
+				ReasonerConfiguration.CONTEXT_SPILLING);
+		this.concurrentIndexing_ = config.getParameterAsBoolean(
+				ReasonerConfiguration.CONCURRENT_INDEXING);
+		this.incrementalReduction_ = config.getParameterAsBoolean(
+				ReasonerConfiguration.INCREMENTAL_REDUCTION);
+		this.subsumerPruning_ = (SubsumerPruning) config
+				.getParameter(ReasonerConfiguration.SUBSUMER_PRUNING);
 
 		setAllowIncrementalMode(config.getParameterAsBoolean(
 				ReasonerConfiguration.INCREMENTAL_MODE_ALLOWED));
 
+		if (!executorSet_) {
+			switch ((ConcurrentExecutorType) config
+					.getParameter(ReasonerConfiguration.CONCURRENT_EXECUTOR)) {
+			case VIRTUAL_THREADS:
+				this.executor_ = VirtualExecutorHolder.EXECUTOR_;
+				break;
+			case PLATFORM_THREADS:
+			default:
+				this.executor_ = EXECUTOR_;
+			}
+		}
+
+	}
+
+	/**
+	 * Sets the executor on which the concurrent jobs of this {@link Reasoner}
+	 * are run, e.g., one created by
+	 * {@link ConcurrentExecutors#create(java.util.concurrent.Executor)} for an
+	 * executor service shared with other components. This overrides
+	 * {@link ReasonerConfiguration#CONCURRENT_EXECUTOR}, also when the
+	 * configuration options are set again later.
+	 * 
+	 * @param executor
+	 *            the {@link ConcurrentExecutor} to be used for reasoner
+	 *            computations
+	 */
+	public synchronized void setProcessExecutor(ConcurrentExecutor executor) {
+		this.executor_ = executor;
+		this.executorSet_ = true;
 	}
 
 	@Override
-	protected ConcurrentExecutor getProcessExecutor() {
-		return EXECUTOR_;
+	protected synchronized ConcurrentExecutor getProcessExecutor() {
+		return executor_;
 	}
 
 	@Override
@@ -88,8 +88,9 @@ private ReasonerComputationWithInputs(Iterator<? extends I> todo,
 			int maxProgress, F inputProcessorFactory,
 			ConcurrentExecutor executor, int maxWorkers,
 			ProgressMonitor progressMonitor, BatchListener batchListener,
-			Counter batchCounter) {
-		super(inputProcessorFactory, executor, maxWorkers);
+			Counter batchCounter, int inputChunkSize) {
+		super(inputProcessorFactory, executor, maxWorkers,
+				512 + 32 * maxWorkers, inputChunkSize);
 		this.progressMonitor_ = progressMonitor;
 		this.todo_ = todo;
 		this.maxProgress_ = maxProgress;
@@ -103,20 +104,22 @@ private ReasonerComputationWithInputs(Iterator<? extends I> todo,
 			int maxProgress, F inputProcessorFactory,
 			ConcurrentExecutor executor, int maxWorkers,
 			ProgressMonitor progressMonitor, int batchSize,
-			BatchListener batchListener, Counter batchCounter) {
+			BatchListener batchListener, Counter batchCounter,
+			int inputChunkSize) {
 		this(batchSize < maxProgress ? Operations.synchronize(batchCounter, todo)
 				: todo, maxProgress, inputProcessorFactory, executor,
-				maxWorkers, progressMonitor, batchListener, batchCounter);
+				maxWorkers, progressMonitor, batchListener, batchCounter,
+				inputChunkSize);
 	}
 
 	private ReasonerComputationWithInputs(Iterator<? extends I> todo,
 			int maxProgress, F inputProcessorFactory,
 			ConcurrentExecutor executor, int maxWorkers,
 			ProgressMonitor progressMonitor, int batchSize,
-			BatchListener batchHandler) {
+			BatchListener batchHandler, int inputChunkSize) {
 		this(todo, maxProgress, inputProcessorFactory, executor, maxWorkers,
 				progressMonitor, batchSize, batchHandler,
-				new Counter(batchSize));
+				new Counter(batchSize), inputChunkSize);
 	}
 
 	/**
@@ -145,7 +148,35 @@ public ReasonerComputationWithInputs(Collection<? extends I> inputs,
 			int maxWorkers, ProgressMonitor progressMonitor, int batchSize,
 			BatchListener batchListener) {
 		this(inputs.iterator(), inputs.size(), inputProcessorFactory, executor,
-				maxWorkers, progressMonitor, batchSize, batchListener);
+				maxWorkers, progressMonitor, batchSize, batchListener, 1);
+	}
+
+	/**
+	 * Creates a new reasoner computations that processes the inputs in
+	 * parallel handing them over to the workers in chunks
+	 * 
+	 * @param inputs
+	 *            the input values to be processed
+	 * @param inputProcessorFactory
+	 *            determines how exactly the values are processed by individual
+	 *            workers
+	 * @param executor
+	 *            an executer to start worker threads
+	 * @param maxWorkers
+	 *            the maximal number of workers to use for the computation
+	 * @param progressMonitor
+	 *            an object using which the number of processed inputs is
+	 *            reported
+	 * @param inputChunkSize
+	 *            the number of inputs handed over to a worker at once
+	 */
+	public ReasonerComputationWithInputs(Collection<? extends I> inputs,
+			F inputProcessorFactory, ConcurrentExecutor executor,
+			int maxWorkers, ProgressMonitor progressMonitor,
+			int inputChunkSize) {
+		this(inputs.iterator(), inputs.size(), inputProcessorFactory, executor,
+				maxWorkers, progressMonitor, inputs.size() + 1,
+				new DummyBatchListener(), inputChunkSize);
 	}
 
 	/**
@@ -0,0 +1,39 @@
+package org.semanticweb.elk.reasoner.config;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2016 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * The threads on which the reasoner runs its concurrent computations.
+ */
+public enum ConcurrentExecutorType {
+	/**
+	 * A pool of platform threads shared by all reasoners; idle threads are
+	 * terminated after a timeout.
+	 */
+	PLATFORM_THREADS,
+	/**
+	 * A new virtual thread for every worker of a computation. This keeps no
+	 * threads around when a service hosts many reasoners that are mostly idle.
+	 */
+	VIRTUAL_THREADS
+}
@@ -0,0 +1,40 @@
+package org.semanticweb.elk.reasoner.config;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2016 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * The sets in which a context keeps its subsumers.
+ */
+public enum ContextSubsumerStorage {
+	/**
+	 * The subsumers are kept in hash sets of the objects.
+	 */
+	OBJECT_SETS,
+	/**
+	 * The subsumers are kept in compact sorted sets of the numbers assigned by
+	 * the ontology index, about two bytes per subsumer instead of four to eight
+	 * for the hash sets. Looking up the sets does not access the stored
+	 * objects.
+	 */
+	ID_SETS
+}
@@ -0,0 +1,40 @@
+package org.semanticweb.elk.reasoner.config;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2016 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * The stack in which a context keeps the inferences that are not yet
+ * processed.
+ */
+public enum ContextToDoStack {
+	/**
+	 * All operations on the stack are synchronized.
+	 */
+	SYNCHRONIZED,
+	/**
+	 * The stack is updated using compare-and-set operations without locking.
+	 * This avoids waiting for the monitor of the context when many workers
+	 * produce inferences for the same context.
+	 */
+	LOCK_FREE
+}
@@ -49,6 +49,36 @@ public class ReasonerConfiguration extends BaseConfiguration {
 	@Parameter(type = "java.lang.Boolean", value = "true")
 	public static final String INCREMENTAL_MODE_ALLOWED = "elk.reasoner.incremental.allowed";
 
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String INCREMENTAL_REDUCTION = "elk.reasoner.incremental.reduction";
+
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.SubsumerPruning", value = "OBJECT_SETS")
+	public static final String SUBSUMER_PRUNING = "elk.reasoner.reduction.subsumer_pruning";
+
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.SaturationScheduling", value = "SHARED_QUEUE")
+	public static final String SATURATION_SCHEDULING = "elk.reasoner.saturation.scheduling";
+
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.ContextToDoStack", value = "SYNCHRONIZED")
+	public static final String CONTEXT_TODO_STACK = "elk.reasoner.saturation.todo_stack";
+
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.ContextSubsumerStorage", value = "OBJECT_SETS")
+	public static final String CONTEXT_SUBSUMER_STORAGE = "elk.reasoner.saturation.subsumer_storage";
+
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String CONTEXT_COMPACTION = "elk.reasoner.saturation.compaction";
+
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String CONTEXT_SPILLING = "elk.reasoner.saturation.spilling";
+
+	@Parameter(type = "java.lang.Boolean", value = "false")
+	public static final String CONCURRENT_INDEXING = "elk.reasoner.indexing.concurrent";
+
+	@Parameter(type = "java.lang.Integer", value = "1")
+	public static final String INPUT_CHUNK_SIZE = "elk.reasoner.input_chunk_size";
+
+	@Parameter(type = "org.semanticweb.elk.reasoner.config.ConcurrentExecutorType", value = "PLATFORM_THREADS")
+	public static final String CONCURRENT_EXECUTOR = "elk.reasoner.concurrent_executor";
+
 	@Parameter(type = "org.semanticweb.elk.reasoner.config.EvictorBuilder", value = "RecencyEvictor(16896,0.75)")
 	public static final String TRACING_EVICTOR = "elk.reasoner.tracing.evictor";
 
@@ -0,0 +1,40 @@
+package org.semanticweb.elk.reasoner.config;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2016 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * How the contexts activated during saturation are distributed among the
+ * workers applying the rules.
+ */
+public enum SaturationScheduling {
+	/**
+	 * All workers take the activated contexts from one shared queue.
+	 */
+	SHARED_QUEUE,
+	/**
+	 * Every worker keeps the contexts it activates in its own deque and, when
+	 * its deque is empty, steals contexts from the deques of other workers.
+	 * This avoids the contention on one queue when there are many workers.
+	 */
+	WORK_STEALING
+}
@@ -0,0 +1,41 @@
+package org.semanticweb.elk.reasoner.config;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2016 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * How the transitive reduction compares the subsumers of a class to find its
+ * direct subsumers.
+ */
+public enum SubsumerPruning {
+	/**
+	 * The candidate direct subsumers are pruned one by one by looking up the
+	 * candidates in the sets of subsumers of other candidates.
+	 */
+	OBJECT_SETS,
+	/**
+	 * The subsumers of every candidate among the other candidates are first
+	 * collected into a bitset, after which the candidates are pruned using
+	 * operations on whole words of the bitsets.
+	 */
+	BITSETS
+}
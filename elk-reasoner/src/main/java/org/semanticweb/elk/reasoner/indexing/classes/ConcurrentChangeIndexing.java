@@ -0,0 +1,659 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2013 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.indexing.classes;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkDataHasValue;
+import org.semanticweb.elk.owl.interfaces.ElkNamedIndividual;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.predefined.PredefinedElkClassFactory;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+import org.semanticweb.elk.reasoner.completeness.Feature;
+import org.semanticweb.elk.reasoner.completeness.OccurrenceListener;
+import org.semanticweb.elk.reasoner.incremental.AxiomLoadingListener;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverter;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverterImpl;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkIndexingUnsupportedFeature;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedClass;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedClassExpressionList;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedComplexPropertyChain;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedDataHasValue;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedDeclarationAxiom;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedDisjointClassesAxiom;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedEntity;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedEquivalentClassesAxiom;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedIndividual;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObject;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObjectComplementOf;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObjectHasSelf;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObjectIntersectionOf;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObjectProperty;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObjectPropertyRangeAxiom;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObjectSomeValuesFrom;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObjectUnionOf;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedPropertyChain;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedSubClassOfAxiom;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedSubObjectPropertyOfAxiom;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableOntologyIndex;
+import org.semanticweb.elk.reasoner.indexing.model.OccurrenceIncrement;
+import org.semanticweb.elk.reasoner.proof.ReasonerProducer;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutor;
+import org.semanticweb.elk.util.concurrent.computation.JobMonitor;
+
+/**
+ * Indexes added and removed {@link ElkAxiom}s using several workers. The
+ * {@link ElkAxiom}s submitted to the {@link ElkAxiomProcessor}s returned by
+ * {@link #getProcessor(int)} are collected in batches. The {@link ElkAxiom}s
+ * of a batch are converted concurrently by {@link ElkAxiomConverterImpl}s
+ * whose {@link ModifiableIndexedObject.Factory}s do not access the
+ * {@link ModifiableOntologyIndex}, but record the calls that create the
+ * {@link ModifiableIndexedObject}s. The recorded calls of the batch are then
+ * repeated in the order in which the {@link ElkAxiom}s were submitted using
+ * the {@link ModifiableIndexedObject.Factory}s that update the
+ * {@link ModifiableOntologyIndex}, while the next batch is converted. Thus
+ * the {@link ModifiableOntologyIndex} is changed in the same way as by
+ * {@link ChangeIndexingProcessor}s for the same {@link ElkAxiom}s. The
+ * {@link ElkAxiom}s submitted last are committed by {@link #commit()}, which
+ * should be called when the {@link ElkAxiom}s are loaded.
+ *
+ * The submitted {@link ElkAxiom}s should not be modified, and the methods of
+ * this object should be called from one thread.
+ *
+ * @see ChangeIndexingProcessor
+ */
+public class ConcurrentChangeIndexing {
+
+	/**
+	 * the maximal number of {@link ElkAxiom}s converted together
+	 */
+	private static final int BATCH_SIZE_ = 1024;
+
+	/**
+	 * the minimal number of {@link ElkAxiom}s of a batch for every worker
+	 */
+	private static final int WORKER_BATCH_SIZE_ = 64;
+
+	/**
+	 * the polarities of the occurrences created by the factories of
+	 * {@link ElkAxiomConverterImpl}
+	 */
+	private static final int NEUTRAL_ = 0, POSITIVE_ = 1, NEGATIVE_ = 2,
+			DUAL_ = 3;
+
+	/**
+	 * the factory used by the workers, which does not modify the occurrences
+	 */
+	private static final ModifiableIndexedObject.Factory BASE_FACTORY_ = new ModifiableIndexedObjectBaseFactory();
+
+	private final ModifiableOntologyIndex index_;
+
+	private final AxiomLoadingListener<ElkAxiom> loadingListener_;
+
+	private final ElkAxiomProcessor axiomListener_;
+
+	private final ConcurrentExecutor executor_;
+
+	private final int maxWorkers_;
+
+	/**
+	 * used by the workers instead of the {@link ElkObject.Factory} of the
+	 * reasoner, which is not thread safe
+	 */
+	private final PredefinedElkClassFactory predefinedFactory_;
+
+	/**
+	 * the factories that update the index, for the added and for the removed
+	 * axioms, by polarities
+	 */
+	private final ModifiableIndexedObject.Factory[][] indexFactories_ = new ModifiableIndexedObject.Factory[2][];
+
+	/**
+	 * the batch to which the submitted axioms are added
+	 */
+	private Batch nextBatch_ = new Batch();
+
+	/**
+	 * the batch that is converted but not yet committed, or {@code null}
+	 */
+	private Batch convertedBatch_ = null;
+
+	/**
+	 * @param elkFactory
+	 *            used to create auxiliary {@link ElkObject}s
+	 * @param index
+	 *            the {@link ModifiableOntologyIndex} to which the changes are
+	 *            committed
+	 * @param loadingListener
+	 *            notified about the committed {@link ElkAxiom}s that cannot be
+	 *            processed incrementally, like by
+	 *            {@link NonIncrementalElkAxiomVisitor}
+	 * @param axiomListener
+	 *            visits every {@link ElkAxiom} right before it is committed
+	 * @param executor
+	 *            runs the workers
+	 * @param maxWorkers
+	 *            the maximal number of workers converting a batch
+	 */
+	public ConcurrentChangeIndexing(PredefinedElkClassFactory elkFactory,
+			ModifiableOntologyIndex index,
+			AxiomLoadingListener<ElkAxiom> loadingListener,
+			ElkAxiomProcessor axiomListener, ConcurrentExecutor executor,
+			int maxWorkers) {
+		this.index_ = index;
+		this.loadingListener_ = loadingListener;
+		this.axiomListener_ = axiomListener;
+		this.executor_ = executor;
+		this.maxWorkers_ = Math.max(1, maxWorkers);
+		final ElkClass owlThing = elkFactory.getOwlThing();
+		final ElkClass owlNothing = elkFactory.getOwlNothing();
+		this.predefinedFactory_ = new PredefinedElkClassFactory() {
+
+			@Override
+			public ElkClass getOwlThing() {
+				return owlThing;
+			}
+
+			@Override
+			public ElkClass getOwlNothing() {
+				return owlNothing;
+			}
+
+		};
+		for (int increment = 1; increment >= -1; increment -= 2) {
+			indexFactories_[getIncrementIndex(increment)] = new ModifiableIndexedObject.Factory[] {
+					new UpdatingModifiableIndexedObjectFactory(index,
+							OccurrenceIncrement
+									.getNeutralIncrement(increment)),
+					new UpdatingModifiableIndexedObjectFactory(index,
+							OccurrenceIncrement
+									.getPositiveIncrement(increment)),
+					new UpdatingModifiableIndexedObjectFactory(index,
+							OccurrenceIncrement
+									.getNegativeIncrement(increment)),
+					new UpdatingModifiableIndexedObjectFactory(index,
+							OccurrenceIncrement
+									.getDualIncrement(increment)) };
+		}
+	}
+
+	private static int getIncrementIndex(int increment) {
+		return increment > 0 ? 0 : 1;
+	}
+
+	/**
+	 * @param increment
+	 *            {@code 1} for the processor of added axioms and {@code -1}
+	 *            for the processor of removed axioms
+	 * @return the {@link ElkAxiomProcessor} that submits the axioms for
+	 *         indexing with the given increment
+	 */
+	public ElkAxiomProcessor getProcessor(final int increment) {
+		if (increment != 1 && increment != -1) {
+			throw new IllegalArgumentException(
+					"Unsupported increment: " + increment);
+		}
+		// else
+		return new ElkAxiomProcessor() {
+
+			@Override
+			public void visit(ElkAxiom elkAxiom) {
+				submit(elkAxiom, increment);
+			}
+
+		};
+	}
+
+	void submit(ElkAxiom axiom, int increment) {
+		if (nextBatch_.add(new Conversion(axiom, increment))) {
+			dispatch();
+		}
+	}
+
+	/**
+	 * Commits all submitted axioms to the {@link ModifiableOntologyIndex}
+	 */
+	public void commit() {
+		if (nextBatch_.size > 0) {
+			dispatch();
+		}
+		Batch batch = convertedBatch_;
+		if (batch != null) {
+			convertedBatch_ = null;
+			commit(batch);
+		}
+	}
+
+	/**
+	 * Starts converting the batch of the submitted axioms and commits the
+	 * previous batch meanwhile
+	 */
+	private void dispatch() {
+		Batch batch = nextBatch_;
+		nextBatch_ = new Batch();
+		batch.start();
+		Batch previous = convertedBatch_;
+		convertedBatch_ = batch;
+		if (previous != null) {
+			commit(previous);
+		}
+	}
+
+	private void commit(Batch batch) {
+		batch.waitDone();
+		Commit commit = new Commit();
+		try {
+			for (int i = 0; i < batch.size; i++) {
+				commit.apply(batch.conversions[i]);
+			}
+		} catch (RuntimeException e) {
+			// like with ChangeIndexingProcessor, the next axioms are not
+			// indexed
+			nextBatch_ = new Batch();
+			convertedBatch_ = null;
+			throw e;
+		}
+	}
+
+	/**
+	 * A step of the conversion of an {@link ElkAxiom} that is repeated when
+	 * the {@link ElkAxiom} is committed
+	 */
+	private interface Step {
+
+		void apply(Commit commit);
+
+	}
+
+	/**
+	 * Creates a {@link ModifiableIndexedObject} from other objects
+	 */
+	private interface Creation<T> {
+
+		T create(ModifiableIndexedObject.Factory factory, Resolver resolver);
+
+	}
+
+	/**
+	 * Replaces the {@link ModifiableIndexedObject}s created by the workers by
+	 * the ones created for the index
+	 */
+	private static class Resolver {
+
+		static final Resolver IDENTITY = new Resolver();
+
+		<T> T get(T object) {
+			return object;
+		}
+
+		List<ModifiableIndexedClassExpression> getAll(
+				List<? extends ModifiableIndexedClassExpression> objects) {
+			List<ModifiableIndexedClassExpression> result = new ArrayList<ModifiableIndexedClassExpression>(
+					objects.size());
+			for (ModifiableIndexedClassExpression object : objects) {
+				result.add(get(object));
+			}
+			return result;
+		}
+
+	}
+
+	/**
+	 * The conversion of one submitted {@link ElkAxiom}
+	 */
+	private static class Conversion {
+
+		final ElkAxiom axiom;
+
+		final int increment;
+
+		final List<Step> steps = new ArrayList<Step>();
+
+		/**
+		 * thrown by the conversion after the steps, if any
+		 */
+		RuntimeException failure = null;
+
+		Conversion(ElkAxiom axiom, int increment) {
+			this.axiom = axiom;
+			this.increment = increment;
+		}
+
+	}
+
+	/**
+	 * Repeats the recorded steps for the index
+	 */
+	private class Commit extends Resolver {
+
+		/**
+		 * the objects created for the index by the objects created by the
+		 * workers for the current axiom
+		 */
+		private final Map<Object, Object> objects_ = new IdentityHashMap<Object, Object>();
+
+		private ModifiableIndexedObject.Factory[] factories_;
+
+		@SuppressWarnings("unchecked")
+		@Override
+		<T> T get(T object) {
+			Object result = objects_.get(object);
+			return result == null ? object : (T) result;
+		}
+
+		<T> void create(int polarity, T object, Creation<T> creation) {
+			objects_.put(object, creation.create(factories_[polarity], this));
+		}
+
+		void apply(Conversion conversion) {
+			axiomListener_.visit(conversion.axiom);
+			factories_ = indexFactories_[getIncrementIndex(
+					conversion.increment)];
+			try {
+				for (Step step : conversion.steps) {
+					step.apply(this);
+				}
+			} finally {
+				objects_.clear();
+			}
+			RuntimeException failure = conversion.failure;
+			if (failure instanceof ElkIndexingUnsupportedFeature) {
+				index_.occurrenceChanged(
+						((ElkIndexingUnsupportedFeature) failure).getFeature(),
+						conversion.increment);
+			} else if (failure != null) {
+				throw failure;
+			}
+		}
+
+	}
+
+	/**
+	 * The axioms that are converted together
+	 */
+	private class Batch implements Runnable {
+
+		final Conversion[] conversions = new Conversion[BATCH_SIZE_];
+
+		int size = 0;
+
+		/**
+		 * the position of the next axiom to convert by a worker
+		 */
+		final AtomicInteger next = new AtomicInteger();
+
+		JobMonitor monitor = null;
+
+		/**
+		 * @return {@code true} if the batch is full after adding the given
+		 *         {@link Conversion}
+		 */
+		boolean add(Conversion conversion) {
+			conversions[size++] = conversion;
+			return size == BATCH_SIZE_;
+		}
+
+		void start() {
+			int workers = Math.min(maxWorkers_,
+					(size + WORKER_BATCH_SIZE_ - 1) / WORKER_BATCH_SIZE_);
+			monitor = executor_.submit(this, workers);
+		}
+
+		void waitDone() {
+			boolean interrupted = false;
+			for (;;) {
+				try {
+					monitor.waitDone();
+					break;
+				} catch (InterruptedException e) {
+					// the converted axioms should be committed anyway
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		@Override
+		public void run() {
+			Worker worker = new Worker();
+			for (int i; (i = next.getAndIncrement()) < size;) {
+				worker.convert(conversions[i]);
+			}
+		}
+
+	}
+
+	/**
+	 * Converts axioms recording the steps of the conversions
+	 */
+	private class Worker implements OccurrenceListener,
+			AxiomLoadingListener<ElkAxiom> {
+
+		private Conversion conversion_;
+
+		private final ElkAxiomConverter[] converters_ = new ElkAxiomConverter[2];
+
+		Worker() {
+			for (int increment = 1; increment >= -1; increment -= 2) {
+				converters_[getIncrementIndex(
+						increment)] = new NonIncrementalElkAxiomVisitor(
+								new ElkAxiomConverterImpl(predefinedFactory_,
+										new RecordingFactory(NEUTRAL_),
+										new RecordingFactory(POSITIVE_),
+										new RecordingFactory(NEGATIVE_),
+										new RecordingFactory(DUAL_), this,
+										increment, ReasonerProducer.dummy()),
+								this);
+			}
+		}
+
+		void convert(Conversion conversion) {
+			conversion_ = conversion;
+			try {
+				conversion.axiom.accept(
+						converters_[getIncrementIndex(conversion.increment)]);
+			} catch (RuntimeException e) {
+				conversion.failure = e;
+			}
+		}
+
+		@Override
+		public void occurrenceChanged(final Feature feature,
+				final int increment) {
+			conversion_.steps
+					.add(commit -> index_.occurrenceChanged(feature, increment));
+		}
+
+		@Override
+		public void notify(final ElkAxiom axiom) {
+			conversion_.steps.add(commit -> loadingListener_.notify(axiom));
+		}
+
+		/**
+		 * Creates the {@link ModifiableIndexedObject}s without accessing the
+		 * index and records how to create them for the index
+		 */
+		private class RecordingFactory
+				implements ModifiableIndexedObject.Factory {
+
+			private final int polarity_;
+
+			RecordingFactory(int polarity) {
+				this.polarity_ = polarity;
+			}
+
+			private <T> T record(final Creation<T> creation) {
+				final T result = creation.create(BASE_FACTORY_,
+						Resolver.IDENTITY);
+				conversion_.steps.add(
+						commit -> commit.create(polarity_, result, creation));
+				return result;
+			}
+
+			@Override
+			public ModifiableIndexedClass getIndexedClass(
+					final ElkClass elkClass) {
+				return record((f, r) -> f.getIndexedClass(elkClass));
+			}
+
+			@Override
+			public ModifiableIndexedClassExpressionList getIndexedClassExpressionList(
+					final List<? extends ModifiableIndexedClassExpression> elements) {
+				return record((f, r) -> f
+						.getIndexedClassExpressionList(r.getAll(elements)));
+			}
+
+			@Override
+			public ModifiableIndexedComplexPropertyChain getIndexedComplexPropertyChain(
+					final ModifiableIndexedObjectProperty leftProperty,
+					final ModifiableIndexedPropertyChain rightProperty) {
+				return record((f, r) -> f.getIndexedComplexPropertyChain(
+						r.get(leftProperty), r.get(rightProperty)));
+			}
+
+			@Override
+			public ModifiableIndexedDataHasValue getIndexedDataHasValue(
+					final ElkDataHasValue elkDataHasValue) {
+				return record(
+						(f, r) -> f.getIndexedDataHasValue(elkDataHasValue));
+			}
+
+			@Override
+			public ModifiableIndexedDeclarationAxiom getIndexedDeclarationAxiom(
+					final ElkAxiom originalAxiom,
+					final ModifiableIndexedEntity entity) {
+				return record((f, r) -> f
+						.getIndexedDeclarationAxiom(originalAxiom, r.get(entity)));
+			}
+
+			@Override
+			public ModifiableIndexedDisjointClassesAxiom getIndexedDisjointClassesAxiom(
+					final ElkAxiom originalAxiom,
+					final ModifiableIndexedClassExpressionList members) {
+				return record((f, r) -> f.getIndexedDisjointClassesAxiom(
+						originalAxiom, r.get(members)));
+			}
+
+			@Override
+			public ModifiableIndexedEquivalentClassesAxiom getIndexedEquivalentClassesAxiom(
+					final ElkAxiom originalAxiom,
+					final ModifiableIndexedClassExpression firstMember,
+					final ModifiableIndexedClassExpression secondMember) {
+				return record((f, r) -> f.getIndexedEquivalentClassesAxiom(
+						originalAxiom, r.get(firstMember),
+						r.get(secondMember)));
+			}
+
+			@Override
+			public ModifiableIndexedIndividual getIndexedIndividual(
+					final ElkNamedIndividual elkNamedIndividual) {
+				return record(
+						(f, r) -> f.getIndexedIndividual(elkNamedIndividual));
+			}
+
+			@Override
+			public ModifiableIndexedObjectComplementOf getIndexedObjectComplementOf(
+					final ModifiableIndexedClassExpression negated) {
+				return record((f, r) -> f
+						.getIndexedObjectComplementOf(r.get(negated)));
+			}
+
+			@Override
+			public ModifiableIndexedObjectHasSelf getIndexedObjectHasSelf(
+					final ModifiableIndexedObjectProperty property) {
+				return record(
+						(f, r) -> f.getIndexedObjectHasSelf(r.get(property)));
+			}
+
+			@Override
+			public ModifiableIndexedObjectIntersectionOf getIndexedObjectIntersectionOf(
+					final ModifiableIndexedClassExpression conjunctA,
+					final ModifiableIndexedClassExpression conjunctB) {
+				return record((f, r) -> f.getIndexedObjectIntersectionOf(
+						r.get(conjunctA), r.get(conjunctB)));
+			}
+
+			@Override
+			public ModifiableIndexedObjectProperty getIndexedObjectProperty(
+					final ElkObjectProperty elkObjectProperty) {
+				return record(
+						(f, r) -> f.getIndexedObjectProperty(elkObjectProperty));
+			}
+
+			@Override
+			public ModifiableIndexedObjectPropertyRangeAxiom getIndexedObjectPropertyRangeAxiom(
+					final ElkAxiom originalAxiom,
+					final ModifiableIndexedObjectProperty property,
+					final ModifiableIndexedClassExpression range) {
+				return record((f, r) -> f.getIndexedObjectPropertyRangeAxiom(
+						originalAxiom, r.get(property), r.get(range)));
+			}
+
+			@Override
+			public ModifiableIndexedObjectSomeValuesFrom getIndexedObjectSomeValuesFrom(
+					final ModifiableIndexedObjectProperty property,
+					final ModifiableIndexedClassExpression filler) {
+				return record((f, r) -> f.getIndexedObjectSomeValuesFrom(
+						r.get(property), r.get(filler)));
+			}
+
+			@Override
+			public ModifiableIndexedObjectUnionOf getIndexedObjectUnionOf(
+					final List<? extends ModifiableIndexedClassExpression> disjuncts) {
+				return record((f, r) -> f
+						.getIndexedObjectUnionOf(r.getAll(disjuncts)));
+			}
+
+			@Override
+			public ModifiableIndexedSubClassOfAxiom getIndexedSubClassOfAxiom(
+					final ElkAxiom originalAxiom,
+					final ModifiableIndexedClassExpression subClass,
+					final ModifiableIndexedClassExpression superClass) {
+				return record((f, r) -> f.getIndexedSubClassOfAxiom(
+						originalAxiom, r.get(subClass), r.get(superClass)));
+			}
+
+			@Override
+			public ModifiableIndexedSubObjectPropertyOfAxiom getIndexedSubObjectPropertyOfAxiom(
+					final ElkAxiom originalAxiom,
+					final ModifiableIndexedPropertyChain subPropertyChain,
+					final ModifiableIndexedObjectProperty superProperty) {
+				return record((f, r) -> f.getIndexedSubObjectPropertyOfAxiom(
+						originalAxiom, r.get(subPropertyChain),
+						r.get(superProperty)));
+			}
+
+		}
+
+	}
+
+}
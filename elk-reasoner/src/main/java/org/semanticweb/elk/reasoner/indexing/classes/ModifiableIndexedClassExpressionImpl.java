@@ -60,6 +60,12 @@
 	 */
 	private volatile ExtendedContext context_ = null;
 
+	/**
+	 * the number assigned by the {@link ModifiableIndexedObjectCacheImpl}, or
+	 * {@code -1} if none is assigned
+	 */
+	private int id_ = -1;
+
 	ModifiableIndexedClassExpressionImpl(int structuralHash) {
 		super(structuralHash);
 	}
@@ -84,6 +90,15 @@ public void setNext(ChainableSubsumerRule tail) {
 		};
 	}
 
+	@Override
+	public final int getId() {
+		return id_;
+	}
+
+	final void setId(int id) {
+		this.id_ = id;
+	}
+
 	@Override
 	public final ExtendedContext getContext() {
 		return this.context_;
@@ -22,6 +22,7 @@
 package org.semanticweb.elk.reasoner.indexing.classes;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -85,6 +86,34 @@ class ModifiableIndexedObjectCacheImpl implements ModifiableIndexedObjectCache {
 
 	private final List<IndexedObjectCache.ChangeListener> listeners_;
 
+	/**
+	 * the {@link IndexedClassExpression}s of this cache indexed by
+	 * {@link IndexedClassExpression#getId()}; the removed ones are kept until
+	 * their numbers are recycled so that the numbers still used by the
+	 * saturation remain resolvable
+	 */
+	private volatile IndexedClassExpression[] classExpressionsById_;
+
+	/**
+	 * the number of positions in {@link #classExpressionsById_} that have been
+	 * used
+	 */
+	private int classExpressionIdCount_ = 0;
+
+	/**
+	 * the numbers that can be given to new {@link IndexedClassExpression}s;
+	 * the first {@link #freeIdCount_} elements are used
+	 */
+	private int[] freeIds_ = new int[16];
+
+	private int freeIdCount_ = 0;
+
+	/**
+	 * the {@link IndexedClassExpression}s removed from this cache whose
+	 * numbers are not recycled yet
+	 */
+	private final List<ModifiableIndexedClassExpressionImpl<?, ?>> removedClassExpressions_;
+
 	public ModifiableIndexedObjectCacheImpl(
 			final PredefinedElkEntityFactory elkFactory, int initialSize) {
 		this.cachedComplexClassExpressions_ = new EntryCollection<StructuralIndexedComplexClassExpressionEntry<?>>(
@@ -108,6 +137,8 @@ public ModifiableIndexedObjectCacheImpl(
 		this.owlBottomObjectProperty_ = new OwlBottomObjectPropertyImpl(
 				elkFactory.getOwlBottomObjectProperty());		
 		this.listeners_ = new ArrayList<IndexedObjectCache.ChangeListener>();
+		this.classExpressionsById_ = new IndexedClassExpression[initialSize];
+		this.removedClassExpressions_ = new ArrayList<ModifiableIndexedClassExpressionImpl<?, ?>>();
 		add(owlThing_);
 		add(owlNothing_);
 		add(owlTopObjectProperty_);
@@ -172,6 +203,84 @@ public StructuralIndexedObjectPropertyEntry<?> getOwlBottomObjectProperty() {
 		return owlBottomObjectProperty_;
 	}
 
+	@Override
+	public final IndexedClassExpression getClassExpression(int id) {
+		IndexedClassExpression[] classExpressions = classExpressionsById_;
+		if (id < 0 || id >= classExpressions.length) {
+			return null;
+		}
+		// else
+		return classExpressions[id];
+	}
+
+	/**
+	 * Assigns a free number to the given {@link IndexedClassExpression} unless
+	 * it still has one
+	 * 
+	 * @param classExpression
+	 */
+	private void assignId(IndexedClassExpression classExpression) {
+		if (!(classExpression instanceof ModifiableIndexedClassExpressionImpl)) {
+			return;
+		}
+		// else
+		ModifiableIndexedClassExpressionImpl<?, ?> element = (ModifiableIndexedClassExpressionImpl<?, ?>) classExpression;
+		if (element.getId() >= 0) {
+			// added back before its number was recycled
+			removedClassExpressions_.remove(element);
+			return;
+		}
+		// else
+		int id = freeIdCount_ > 0 ? freeIds_[--freeIdCount_]
+				: classExpressionIdCount_++;
+		IndexedClassExpression[] classExpressions = classExpressionsById_;
+		if (id >= classExpressions.length) {
+			classExpressions = Arrays.copyOf(classExpressions,
+					Math.max(16, id + (id >> 1)));
+		}
+		classExpressions[id] = element;
+		element.setId(id);
+		// publish the assignment
+		classExpressionsById_ = classExpressions;
+	}
+
+	/**
+	 * Remembers the number of the given removed {@link IndexedClassExpression}
+	 * so that it can be recycled
+	 * 
+	 * @param classExpression
+	 */
+	private void releaseId(IndexedClassExpression classExpression) {
+		if (classExpression instanceof ModifiableIndexedClassExpressionImpl
+				&& classExpression.getId() >= 0) {
+			removedClassExpressions_.add(
+					(ModifiableIndexedClassExpressionImpl<?, ?>) classExpression);
+		}
+	}
+
+	@Override
+	public void recycleRemovedIds() {
+		if (removedClassExpressions_.isEmpty()) {
+			return;
+		}
+		// else
+		IndexedClassExpression[] classExpressions = classExpressionsById_;
+		int freeIdCount = freeIdCount_ + removedClassExpressions_.size();
+		if (freeIdCount > freeIds_.length) {
+			freeIds_ = Arrays.copyOf(freeIds_,
+					Math.max(freeIdCount, freeIds_.length << 1));
+		}
+		for (ModifiableIndexedClassExpressionImpl<?, ?> removed : removedClassExpressions_) {
+			int id = removed.getId();
+			classExpressions[id] = null;
+			removed.setId(-1);
+			freeIds_[freeIdCount_++] = id;
+		}
+		LOGGER_.trace("{} class expression numbers recycled",
+				removedClassExpressions_.size());
+		removedClassExpressions_.clear();
+	}
+
 	@Override
 	public void add(StructuralIndexedSubObject<?> input) {
 		LOGGER_.trace("{}: adding to cache", input);
@@ -180,6 +289,7 @@ public void add(StructuralIndexedSubObject<?> input) {
 			@Override
 			public <T extends StructuralIndexedClassEntry<T>> Void visit(T element) {
 				cachedClasses_.addStructural(element);
+				assignId(element);
 				for (int i = 0; i < listeners_.size(); i++) {
 					IndexedObjectCache.ChangeListener listener = listeners_
 							.get(i);
@@ -192,6 +302,7 @@ public <T extends StructuralIndexedClassEntry<T>> Void visit(T element) {
 			@Override
 			public <T extends StructuralIndexedComplexClassExpressionEntry<T>> Void visit(T element) {			
 				cachedComplexClassExpressions_.addStructural(element);
+				assignId(element);
 				for (int i = 0; i < listeners_.size(); i++) {
 					listeners_.get(i).classExpressionAddition(element);
 				}
@@ -202,6 +313,7 @@ public <T extends StructuralIndexedComplexClassExpressionEntry<T>> Void visit(T
 			@Override
 			public <T extends StructuralIndexedIndividualEntry<T>> Void visit(T element) {
 				cachedIndividuals_.addStructural(element);
+				assignId(element);
 				for (int i = 0; i < listeners_.size(); i++) {
 					IndexedObjectCache.ChangeListener listener = listeners_
 							.get(i);
@@ -327,6 +439,7 @@ public <T extends StructuralIndexedClassEntry<T>> Void visit(T element) {
 				if (removed == null) {
 					return null;
 				}
+				releaseId(removed);
 				for (int i = 0; i < listeners_.size(); i++) {
 					IndexedObjectCache.ChangeListener listener = listeners_.get(i);
 					listener.classRemoval(removed);
@@ -341,6 +454,7 @@ public <T extends StructuralIndexedComplexClassExpressionEntry<T>> Void visit(T
 				if (removed == null) {
 					return null;
 				}
+				releaseId(removed);
 				for (int i = 0; i < listeners_.size(); i++) {
 					listeners_.get(i).classExpressionRemoval(removed);
 				}
@@ -353,6 +467,7 @@ public <T extends StructuralIndexedIndividualEntry<T>> Void visit(T element) {
 				if (removed == null) {
 					return null;
 				}
+				releaseId(removed);
 				for (int i = 0; i < listeners_.size(); i++) {
 					IndexedObjectCache.ChangeListener listener = listeners_
 							.get(i);
@@ -44,6 +44,19 @@
 	 *         {@link LinkRule#next()}
 	 */
 	LinkedSubsumerRule getCompositionRuleHead();
+
+	/**
+	 * @return the non-negative number assigned to this
+	 *         {@link IndexedClassExpression} when it was added to the
+	 *         {@link IndexedObjectCache}, or {@code -1} if it has no number;
+	 *         the numbers of the {@link IndexedClassExpression}s in the cache
+	 *         are distinct and dense: the numbers of removed
+	 *         {@link IndexedClassExpression}s are given to new ones after
+	 *         {@link ModifiableIndexedObjectCache#recycleRemovedIds()}
+	 * 
+	 * @see IndexedObjectCache#getClassExpression(int)
+	 */
+	int getId();
 	
 	/**
 	 * The visitor pattern for instances
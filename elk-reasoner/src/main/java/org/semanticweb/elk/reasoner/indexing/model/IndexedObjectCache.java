@@ -89,6 +89,18 @@ public interface IndexedObjectCache {
 	 */
 	public IndexedClass getOwlNothing();
 
+	/**
+	 * @param id
+	 *            the value of {@link IndexedClassExpression#getId()}
+	 * @return the {@link IndexedClassExpression} with the given
+	 *         {@link IndexedClassExpression#getId()}, or {@code null} if there
+	 *         is no such {@link IndexedClassExpression}; the
+	 *         {@link IndexedClassExpression}s removed from this
+	 *         {@link IndexedObjectCache} can be still obtained until their
+	 *         numbers are recycled
+	 */
+	public IndexedClassExpression getClassExpression(int id);
+
 	/**
 	 * @return the {@link IndexedObjectProperty} corresponding to
 	 *         {@code owl:topObjectProperty}.
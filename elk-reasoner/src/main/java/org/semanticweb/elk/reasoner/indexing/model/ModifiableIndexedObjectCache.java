@@ -69,4 +69,16 @@ public interface ModifiableIndexedObjectCache extends IndexedObjectCache {
 	 */
 	<T extends StructuralIndexedSubObject<T>> T resolve(T input);
 
+	/**
+	 * Makes the numbers of the {@link IndexedClassExpression}s removed from
+	 * this {@link IndexedObjectCache} available for the
+	 * {@link IndexedClassExpression}s added later. This method should be
+	 * called only when no conclusions of the saturation refer to the removed
+	 * {@link IndexedClassExpression}s, e.g., after the contexts are reset or
+	 * the incremental changes are applied to them.
+	 * 
+	 * @see IndexedClassExpression#getId()
+	 */
+	void recycleRemovedIds();
+
 }
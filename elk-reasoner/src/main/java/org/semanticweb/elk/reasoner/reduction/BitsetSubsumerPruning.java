@@ -0,0 +1,316 @@
+/*
+ * #%L
+ * ELK Reasoner
+ *
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.reduction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.reasoner.config.SubsumerPruning;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.saturation.SaturationState;
+
+/**
+ * Computes the output of the transitive reduction when the saturations of all
+ * subsumers of the root are computed, using bitsets instead of looking up the
+ * candidate direct subsumers in the sets of subsumers of each other.
+ * <p>
+ * The candidates are the {@link IndexedClass} subsumers of the root that are
+ * not equivalent to it. They are sorted by the number of their subsumers, so
+ * that the candidates strictly subsumed by a candidate come after it and the
+ * candidates equivalent to it, which have the same subsumers, are next to it.
+ * The candidates are then processed starting from those with the most
+ * subsumers, keeping the bitset of the candidates subsuming the direct
+ * subsumers found so far, so that every other candidate is pruned by testing
+ * one bit. For every new direct subsumer, only the candidates that are not in
+ * this bitset are tested; the positions of those subsuming it are collected
+ * into a bitset, from which its equivalent candidates are read, and which is
+ * then added to the first bitset with OR. Both bitsets are scanned by whole
+ * words. Whether a candidate subsumes the new direct subsumer is tested
+ * without looking it up in the set of subsumers: the bits for the values of
+ * {@link IndexedClassExpression#getId()} of these subsumers are set in a
+ * bitset that is kept by each thread, and cleared again after the test.
+ * 
+ * @see SubsumerPruning#BITSETS
+ */
+class BitsetSubsumerPruning {
+
+	private final SaturationState<?> saturationState_;
+
+	private final IndexedClass owlThing_;
+
+	/**
+	 * The default equivalence classes for owl:Thing to be used when there are
+	 * no (direct) subsumers
+	 */
+	private final List<ElkClass> defaultTopOutput_;
+
+	/**
+	 * The bits for the values of {@link IndexedClassExpression#getId()} of
+	 * the subsumers of a candidate, for each thread; all bits are cleared
+	 * after every use
+	 */
+	private final ThreadLocal<long[]> subsumerIds_ = ThreadLocal
+			.withInitial(() -> new long[0]);
+
+	BitsetSubsumerPruning(SaturationState<?> saturationState,
+			IndexedClass owlThing, List<ElkClass> defaultTopOutput) {
+		this.saturationState_ = saturationState;
+		this.owlThing_ = owlThing;
+		this.defaultTopOutput_ = defaultTopOutput;
+	}
+
+	/**
+	 * Computes the result of the transitive reduction for the root of the
+	 * given state. The saturations of all subsumers of the root must be
+	 * computed.
+	 * 
+	 * @param state
+	 *            the transitive reduction state for the root, whose
+	 *            equivalent classes are collected during this computation
+	 * @return the equivalent classes and direct subsumers of the root
+	 */
+	<R extends IndexedClassExpression, J extends TransitiveReductionJob<R>> TransitiveReductionOutputEquivalentDirect<R> computeOutput(
+			TransitiveReductionState<R, J> state) {
+
+		R root = state.initiatorJob.getInput();
+		Set<IndexedClassExpression> rootSubsumers = saturationState_
+				.getContext(root).getComposedSubsumers();
+
+		/*
+		 * collecting the candidates; the keys contain the numbers of subsumers
+		 * in the higher and the candidate indexes in the lower bits
+		 */
+		IndexedClass[] candidates = new IndexedClass[state.subsumerCount];
+		@SuppressWarnings("unchecked")
+		Set<IndexedClassExpression>[] candidateSubsumers = new Set[state.subsumerCount];
+		long[] keys = new long[state.subsumerCount];
+		int count = 0;
+		for (IndexedClassExpression subsumer : rootSubsumers) {
+			if (!(subsumer instanceof IndexedClass))
+				continue;
+			IndexedClass candidate = (IndexedClass) subsumer;
+			Set<IndexedClassExpression> subsumers = saturationState_
+					.getContext(candidate).getComposedSubsumers();
+			int size = subsumers.size();
+			if (size == state.subsumerCount && subsumers.contains(root)) {
+				state.rootEquivalent.add(candidate.getElkEntity());
+				continue;
+			}
+			if (candidate.getElkEntity() == owlThing_.getElkEntity()
+					&& size == 1) {
+				/* ignored like in the pruning using object sets */
+				continue;
+			}
+			keys[count] = ((long) size << 32) | count;
+			candidates[count] = candidate;
+			candidateSubsumers[count] = subsumers;
+			count++;
+		}
+
+		if (state.rootEquivalent.isEmpty() && owlThing_.equals(root)) {
+			state.rootEquivalent.add(owlThing_.getElkEntity());
+		}
+
+		TransitiveReductionOutputEquivalentDirect<R> output = new TransitiveReductionOutputEquivalentDirect<R>(
+				root, state.rootEquivalent);
+
+		if (count == 0) {
+			if (!output.getEquivalent().contains(owlThing_.getElkEntity())) {
+				output.directSubsumers.add(defaultTopOutput_);
+			}
+			return output;
+		}
+
+		Arrays.sort(keys, 0, count);
+		/* the candidate index at every position */
+		int[] order = new int[count];
+		for (int p = 0; p < count; p++) {
+			order[p] = (int) keys[p];
+		}
+		/*
+		 * the candidates are processed from the last position; a candidate
+		 * that is not subsumed by the direct subsumers found so far is
+		 * direct since every candidate strictly subsumed by it has more
+		 * subsumers, and so is processed before and subsumed by some direct
+		 * subsumer; only for such candidates, the positions of the candidates
+		 * subsuming them are collected and added to the covered positions;
+		 * the covered candidates need not be tested again since they do not
+		 * change the covered positions and cannot be equivalent to a direct
+		 * subsumer
+		 */
+		int words = (count + 63) >>> 6;
+		long[] covered = new long[words];
+		long[] subsumerBits = new long[words];
+		/*
+		 * the equivalent candidates of the direct subsumers and the smallest
+		 * indexes of these candidates in the higher bits of the keys
+		 */
+		List<List<ElkClass>> direct = new ArrayList<List<ElkClass>>();
+		long[] directKeys = new long[count];
+		long[] ids = subsumerIds_.get();
+		for (int p = count - 1; p >= 0; p--) {
+			if ((covered[p >>> 6] & (1L << p)) != 0)
+				continue;
+			Arrays.fill(subsumerBits, 0);
+			Set<IndexedClassExpression> subsumers = candidateSubsumers[order[p]];
+			ids = setIds(ids, subsumers);
+			/*
+			 * the positions of the candidates with the same number of
+			 * subsumers as this candidate are from sameFrom to sameTo
+			 */
+			long size = keys[p] >>> 32;
+			int sameFrom = p, sameTo = p + 1;
+			while (sameFrom > 0 && (keys[sameFrom - 1] >>> 32) == size)
+				sameFrom--;
+			while (sameTo < count && (keys[sameTo] >>> 32) == size)
+				sameTo++;
+			/*
+			 * only the candidates without more subsumers can subsume this
+			 * candidate
+			 */
+			for (int q = nextClearBit(covered, 0); q < sameTo; q = nextClearBit(
+					covered, q + 1)) {
+				if (q == p || contains(ids, subsumers, candidates[order[q]]))
+					subsumerBits[q >>> 6] |= 1L << q;
+			}
+			clearIds(ids, subsumers);
+			/*
+			 * the subsuming candidates with the same number of subsumers are
+			 * equivalent to this candidate; they are found in the order of
+			 * their indexes
+			 */
+			List<ElkClass> candidateEquivalent = new ArrayList<ElkClass>(1);
+			int first = -1;
+			for (int q = nextSetBit(subsumerBits, sameFrom); q >= 0
+					&& q < sameTo; q = nextSetBit(subsumerBits, q + 1)) {
+				if (first < 0)
+					first = order[q];
+				candidateEquivalent.add(candidates[order[q]].getElkEntity());
+			}
+			directKeys[direct.size()] = ((long) first << 32) | direct.size();
+			direct.add(candidateEquivalent);
+			for (int i = 0; i < words; i++) {
+				covered[i] |= subsumerBits[i];
+			}
+		}
+
+		subsumerIds_.set(ids);
+
+		/*
+		 * the direct subsumers are reported in the order of the subsumers of
+		 * the root
+		 */
+		Arrays.sort(directKeys, 0, direct.size());
+		for (int i = 0; i < direct.size(); i++) {
+			output.directSubsumers.add(direct.get((int) directKeys[i]));
+		}
+		return output;
+	}
+
+	/**
+	 * Sets the bits for the values of {@link IndexedClassExpression#getId()}
+	 * of the given subsumers in the given bitset, expanding it if necessary
+	 * 
+	 * @return the bitset with the bits set
+	 */
+	private static long[] setIds(long[] ids,
+			Set<IndexedClassExpression> subsumers) {
+		for (IndexedClassExpression subsumer : subsumers) {
+			int id = subsumer.getId();
+			if (id < 0)
+				continue;
+			int w = id >>> 6;
+			if (w >= ids.length)
+				ids = Arrays.copyOf(ids, Math.max(w + 1, 2 * ids.length));
+			ids[w] |= 1L << id;
+		}
+		return ids;
+	}
+
+	/**
+	 * Clears the bits set by {@link #setIds(long[], Set)} for the given
+	 * subsumers
+	 */
+	private static void clearIds(long[] ids,
+			Set<IndexedClassExpression> subsumers) {
+		for (IndexedClassExpression subsumer : subsumers) {
+			int id = subsumer.getId();
+			if (id >= 0)
+				ids[id >>> 6] = 0;
+		}
+	}
+
+	/**
+	 * @return {@code true} if the given candidate is one of the given
+	 *         subsumers, whose bits are set in the given bitset
+	 */
+	private static boolean contains(long[] ids,
+			Set<IndexedClassExpression> subsumers, IndexedClass candidate) {
+		int id = candidate.getId();
+		if (id < 0)
+			return subsumers.contains(candidate);
+		// else
+		int w = id >>> 6;
+		return w < ids.length && (ids[w] & (1L << id)) != 0;
+	}
+
+	/**
+	 * @return the first bit set at or after the given index in the bitset or
+	 *         {@code -1} if there is no such bit
+	 */
+	private static int nextSetBit(long[] bits, int from) {
+		int w = from >>> 6;
+		if (w >= bits.length)
+			return -1;
+		long word = bits[w] & (-1L << (from & 63));
+		while (word == 0) {
+			if (++w == bits.length)
+				return -1;
+			word = bits[w];
+		}
+		return (w << 6) + Long.numberOfTrailingZeros(word);
+	}
+
+	/**
+	 * @return the first bit not set at or after the given index in the
+	 *         bitset, which is at least the number of bits in the bitset if
+	 *         all these bits are set
+	 */
+	private static int nextClearBit(long[] bits, int from) {
+		int w = from >>> 6;
+		if (w >= bits.length)
+			return bits.length << 6;
+		long word = ~bits[w] & (-1L << (from & 63));
+		while (word == 0) {
+			if (++w == bits.length)
+				return bits.length << 6;
+			word = ~bits[w];
+		}
+		return (w << 6) + Long.numberOfTrailingZeros(word);
+	}
+
+}
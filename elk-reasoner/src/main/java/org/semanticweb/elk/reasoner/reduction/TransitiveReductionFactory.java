@@ -30,6 +30,7 @@
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.reasoner.config.SubsumerPruning;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.saturation.ClassExpressionSaturationFactory;
@@ -41,6 +42,7 @@
 import org.semanticweb.elk.reasoner.saturation.context.Context;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationAdditionFactory;
 import org.semanticweb.elk.reasoner.saturation.rules.factories.RuleApplicationInput;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
 import org.semanticweb.elk.util.concurrent.computation.InputProcessor;
 import org.semanticweb.elk.util.concurrent.computation.InputProcessorFactory;
 import org.semanticweb.elk.util.concurrent.computation.InterruptMonitor;
@@ -132,6 +134,20 @@
 	 */
 	private final ClassInconsistency.Factory factory_ = new SaturationConclusionBaseFactory();
 
+	/**
+	 * The results of the previous transitive reduction used to reduce only
+	 * the candidate subsumers that could have changed; {@code null} if every
+	 * reduction should compare all subsumers
+	 */
+	private final TransitiveReductionHistory history_;
+
+	/**
+	 * Computes the outputs from the saturations of all subsumers using
+	 * bitsets; {@code null} if the pruned subsumers are updated with every
+	 * saturation instead
+	 */
+	private final BitsetSubsumerPruning bitsetPruning_;
+
 	/**
 	 * Creating a new transitive reduction engine for the input ontology index
 	 * and a listener for executing callback functions.
@@ -150,7 +166,42 @@
 	public TransitiveReductionFactory(final InterruptMonitor interrupter,
 			SaturationState<?> saturationState,
 			int maxWorkers, TransitiveReductionListener<J> listener) {
+		this(interrupter, saturationState, maxWorkers, listener, null,
+				SubsumerPruning.OBJECT_SETS);
+	}
+
+	/**
+	 * Creating a new transitive reduction engine that computes the outputs
+	 * for the classes using the results of their previous transitive
+	 * reduction whenever possible. The subsumers of a class are then first
+	 * reduced only among the candidates that were previously equivalent or
+	 * direct or whose subsumers have changed, and the result is accepted if
+	 * every other subsumer is subsumed by some of them and is not equivalent
+	 * to any of them; otherwise all subsumers are reduced in the given way.
+	 * 
+	 * @param interrupter
+	 *            the {@link InterruptMonitor} that can signal interruption of
+	 *            computations
+	 * @param saturationState
+	 *            the saturation state of the reasoner
+	 * @param maxWorkers
+	 *            the maximum number of workers that can use this factory
+	 * @param listener
+	 *            the listener object implementing callback functions for this
+	 *            engine
+	 * @param history
+	 *            the results of the previous transitive reduction or
+	 *            {@code null} if they should not be used
+	 * @param pruning
+	 *            how the candidate direct subsumers are pruned when all
+	 *            subsumers are reduced
+	 */
+	public TransitiveReductionFactory(final InterruptMonitor interrupter,
+			SaturationState<?> saturationState, int maxWorkers,
+			TransitiveReductionListener<J> listener,
+			TransitiveReductionHistory history, SubsumerPruning pruning) {
 		this.listener_ = listener;
+		this.history_ = history;
 		this.auxJobQueue_ = new ConcurrentLinkedQueue<SaturationJobSuperClass<R, J>>();
 		this.jobsWithSaturatedRoot_ = new ConcurrentLinkedQueue<J>();
 		this.saturationState_ = saturationState;
@@ -161,6 +212,10 @@ public TransitiveReductionFactory(final InterruptMonitor interrupter,
 		this.owlThing_ = saturationState.getOntologyIndex().getOwlThing();
 		this.defaultTopOutput_ = new ArrayList<ElkClass>(1);
 		defaultTopOutput_.add(owlThing_.getElkEntity());
+		this.bitsetPruning_ = pruning == SubsumerPruning.BITSETS
+				? new BitsetSubsumerPruning(saturationState, owlThing_,
+						defaultTopOutput_)
+				: null;
 	}
 
 	@Override
@@ -237,7 +292,8 @@ public void visit(SaturationJobSuperClass<R, J> saturationJob)
 			 */
 			IndexedClass candidate = saturationJob.getInput();
 			TransitiveReductionState<R, J> state = saturationJob.state;
-			updateTransitiveReductionState(state, candidate);
+			if (bitsetPruning_ == null)
+				updateTransitiveReductionState(state, candidate);
 			processTransitiveReductionState(state);
 		}
 
@@ -274,6 +330,22 @@ private void processRootSaturation(J initiatorJob)
 				listener_.notifyFinished(initiatorJob);
 				return;
 			}
+			/*
+			 * Try to reduce only the subsumers that could have changed since
+			 * the previous transitive reduction.
+			 */
+			if (history_ != null) {
+				TransitiveReductionOutputEquivalentDirect<R> output = computeOutputUsingHistory(
+						initiatorJob);
+				if (output != null) {
+					LOGGER_.trace(
+							"{}: transitive reduction finished using the previous output",
+							root);
+					initiatorJob.setOutput(output);
+					listener_.notifyFinished(initiatorJob);
+					return;
+				}
+			}
 			/*
 			 * Otherwise, to perform the transitive reduction, we need to
 			 * compute the saturation for every derived indexed super-class of
@@ -290,6 +362,125 @@ private void processRootSaturation(J initiatorJob)
 			processTransitiveReductionState(state);
 		}
 
+		/**
+		 * Computes the output of the transitive reduction by reducing only the
+		 * candidate subsumers of the root that were equivalent to it or its
+		 * direct subsumers in the previous transitive reduction, or whose
+		 * subsumers could have changed since then. The result is correct if
+		 * every other subsumer of the root is subsumed by one of the direct
+		 * subsumers found among the candidates and is equivalent neither to
+		 * the root nor to any such candidate. If the subsumers of the root did
+		 * not change, this holds as it held for the previous reduction and the
+		 * subsumers of the other subsumers did not change either; otherwise it
+		 * is checked at the end by looking up every other subsumer in the
+		 * subsumers of the direct subsumers.
+		 * 
+		 * @param initiatorJob
+		 *            the job for which the saturation of the root has been
+		 *            computed
+		 * @return the output of the transitive reduction or {@code null} if
+		 *         it cannot be computed in this way
+		 */
+		private TransitiveReductionOutputEquivalentDirect<R> computeOutputUsingHistory(
+				J initiatorJob) {
+			R root = initiatorJob.getInput();
+			if (!(root instanceof IndexedClass)) {
+				return null;
+			}
+			// else
+			Set<ElkClass> previous = history_
+					.getPreviousEquivalentAndDirect((IndexedClass) root);
+			if (previous == null) {
+				return null;
+			}
+			// else
+			TransitiveReductionState<R, J> state = new TransitiveReductionState<R, J>(
+					initiatorJob, saturationState_);
+			Set<IndexedClassExpression> rootSubsumers = saturationState_
+					.getContext(root).getComposedSubsumers();
+			Set<IndexedClass> candidates = new ArrayHashSet<IndexedClass>(8);
+			for (IndexedClassExpression subsumer : rootSubsumers) {
+				if (!(subsumer instanceof IndexedClass))
+					continue;
+				IndexedClass candidate = (IndexedClass) subsumer;
+				Context candidateSaturation = saturationState_
+						.getContext(candidate);
+				if (candidateSaturation == null
+						|| !candidateSaturation.isInitialized()
+						|| !candidateSaturation.isSaturated()) {
+					/*
+					 * the saturation of the candidate should be computed
+					 * first, which is done by the usual reduction
+					 */
+					return null;
+				}
+				if (candidate == root
+						|| previous.contains(candidate.getElkEntity())
+						|| history_.isChanged(candidate)) {
+					candidates.add(candidate);
+					updateTransitiveReductionState(state, candidate);
+				}
+			}
+			if (state.rootEquivalent.isEmpty()
+					&& owlThing_.equals(state.initiatorJob.getInput())) {
+				state.rootEquivalent.add(owlThing_.getElkEntity());
+			}
+			if (!history_.isChanged((IndexedClass) root)) {
+				/*
+				 * every other subsumer was subsumed by a previous direct
+				 * subsumer, which is a candidate, and was not equivalent to it
+				 * or to the root; this still holds since their subsumers did
+				 * not change
+				 */
+				return computeOutput(state);
+			}
+			// else
+			/*
+			 * check that the other subsumers are subsumed by the pruned
+			 * subsumers, which are subsumed by the direct subsumers
+			 */
+			List<IndexedClass> prunedSubsumers = new ArrayList<IndexedClass>(
+					state.prunedSubsumers);
+			for (IndexedClassExpression subsumer : rootSubsumers) {
+				if (!(subsumer instanceof IndexedClass)
+						|| candidates.contains(subsumer))
+					continue;
+				IndexedClass other = (IndexedClass) subsumer;
+				Set<IndexedClassExpression> otherSubsumers = saturationState_
+						.getContext(other).getComposedSubsumers();
+				int otherSubsumersSize = otherSubsumers.size();
+				if (otherSubsumersSize == state.subsumerCount
+						&& otherSubsumers.contains(root)) {
+					/* equivalent to the root */
+					return null;
+				}
+				if (other.getElkEntity() == owlThing_.getElkEntity()
+						&& otherSubsumersSize == 1) {
+					/* ignored like in the usual reduction */
+					continue;
+				}
+				boolean covered = false;
+				for (IndexedClass prunedSubsumer : prunedSubsumers) {
+					Set<IndexedClassExpression> prunedSubsumerSubsumers = saturationState_
+							.getContext(prunedSubsumer).getComposedSubsumers();
+					if (otherSubsumersSize > prunedSubsumerSubsumers.size()
+							|| !prunedSubsumerSubsumers.contains(other))
+						continue;
+					if (otherSubsumersSize == prunedSubsumerSubsumers.size()
+							&& otherSubsumers.contains(prunedSubsumer)) {
+						/* possibly equivalent to a direct subsumer */
+						return null;
+					}
+					covered = true;
+					break;
+				}
+				if (!covered) {
+					return null;
+				}
+			}
+			return computeOutput(state);
+		}
+
 		/**
 		 * Processing of transitive reduction state by iterating over the
 		 * derived subsumers and updating the equivalent and direct subsumers
@@ -330,24 +521,30 @@ private void processTransitiveReductionState(
 					return;
 				}
 				/*
-				 * Otherwise update the transitive state using the saturation
+				 * Otherwise update the transitive state using the saturation,
+				 * unless the bitsets are computed when all saturations are
+				 * available
 				 */
-				updateTransitiveReductionState(state, candidate);
+				if (bitsetPruning_ == null)
+					updateTransitiveReductionState(state, candidate);
 			}
 
-			/*
-			 * if owl:Thing does not occur negatively, it does not appear in
-			 * composed subsumers and is equivalent only to itself
-			 * 
-			 */
-			if (state.rootEquivalent.isEmpty()
-					&& owlThing_.equals(state.initiatorJob.getInput())) {
-				state.rootEquivalent.add(owlThing_.getElkEntity());
-			}
-			
 			/* When all candidates are processed, the output is computed */
-			TransitiveReductionOutputEquivalentDirect<R> output = computeOutput(
-					state);
+			TransitiveReductionOutputEquivalentDirect<R> output;
+			if (bitsetPruning_ != null) {
+				output = bitsetPruning_.computeOutput(state);
+			} else {
+				/*
+				 * if owl:Thing does not occur negatively, it does not appear
+				 * in composed subsumers and is equivalent only to itself
+				 * 
+				 */
+				if (state.rootEquivalent.isEmpty()
+						&& owlThing_.equals(state.initiatorJob.getInput())) {
+					state.rootEquivalent.add(owlThing_.getElkEntity());
+				}
+				output = computeOutput(state);
+			}
 
 			state.initiatorJob.setOutput(output);
 			listener_.notifyFinished(state.initiatorJob);
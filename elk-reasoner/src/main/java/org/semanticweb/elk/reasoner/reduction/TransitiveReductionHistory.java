@@ -0,0 +1,59 @@
+/*
+ * #%L
+ * ELK Reasoner
+ *
+ * $Id$
+ * $HeadURL$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.reduction;
+
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
+
+/**
+ * The results of the previous transitive reduction of classes, which can be
+ * used by the {@link TransitiveReductionFactory} to compare only a few
+ * candidate subsumers when the reduction is computed again after incremental
+ * changes.
+ *
+ * @see TransitiveReductionFactory
+ */
+public interface TransitiveReductionHistory {
+
+	/**
+	 * @param root
+	 *            the class for which the transitive reduction is computed
+	 * @return the classes that were equivalent to the given class or its
+	 *         direct super-classes in the previous transitive reduction, or
+	 *         {@code null} if this is not known
+	 */
+	Set<ElkClass> getPreviousEquivalentAndDirect(IndexedClass root);
+
+	/**
+	 * @param cls
+	 *            a class
+	 * @return {@code true} if the subsumers of the given class may be
+	 *         different from those used for the previous transitive reduction,
+	 *         in particular, if there was no previous transitive reduction for
+	 *         this class
+	 */
+	boolean isChanged(IndexedClass cls);
+
+}
@@ -32,6 +32,7 @@
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.semanticweb.elk.reasoner.config.SaturationScheduling;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
 import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.DummyClassConclusionVisitor;
@@ -64,7 +65,7 @@
 	 * The queue containing all activated contexts (whose todo queue is not
 	 * empty). Every activated context occurs exactly once.
 	 */
-	private final Queue<Context> activeContexts_ = new ConcurrentLinkedQueue<Context>();
+	private final ActiveContextQueue activeContexts_;
 
 	/**
 	 * The queue containing all {@link Context}s of this {@link SaturationState}
@@ -104,8 +105,24 @@
 
 	public AbstractSaturationState(OntologyIndex index,
 			ContextFactory<EC> factory) {
+		this(index, factory, SaturationScheduling.SHARED_QUEUE);
+	}
+
+	/**
+	 * @param index
+	 *            the {@link OntologyIndex} of this {@link SaturationState}
+	 * @param factory
+	 *            the {@link ContextFactory} used to create new
+	 *            {@link Context}s
+	 * @param scheduling
+	 *            how the activated {@link Context}s are handed out to the
+	 *            workers
+	 */
+	public AbstractSaturationState(OntologyIndex index,
+			ContextFactory<EC> factory, SaturationScheduling scheduling) {
 		this.ontologyIndex = index;
 		this.contextFactory = factory;
+		this.activeContexts_ = ActiveContextQueue.create(scheduling);
 	}
 
 	@Override
@@ -0,0 +1,95 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2016 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.semanticweb.elk.reasoner.config.SaturationScheduling;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+
+/**
+ * Keeps the {@link Context}s that were activated, i.e., whose todo queue is not
+ * empty, until some worker takes them for processing. Every activated context
+ * is added exactly once.
+ * 
+ * @see SaturationScheduling
+ */
+interface ActiveContextQueue {
+
+	/**
+	 * Adds an activated {@link Context}
+	 * 
+	 * @param context
+	 *            the {@link Context} that was activated
+	 */
+	void add(Context context);
+
+	/**
+	 * Takes some activated {@link Context} for processing
+	 * 
+	 * @return the {@link Context} taken, or {@code null} if no activated
+	 *         {@link Context} was found
+	 */
+	Context poll();
+
+	/**
+	 * Removes all activated {@link Context}s
+	 */
+	void clear();
+
+	static ActiveContextQueue create(SaturationScheduling scheduling) {
+		switch (scheduling) {
+		case WORK_STEALING:
+			return new WorkStealingActiveContextQueue();
+		case SHARED_QUEUE:
+		default:
+			return new Shared();
+		}
+	}
+
+	/**
+	 * All activated {@link Context}s are kept in one concurrent queue
+	 */
+	static class Shared implements ActiveContextQueue {
+
+		private final Queue<Context> contexts_ = new ConcurrentLinkedQueue<Context>();
+
+		@Override
+		public void add(Context context) {
+			contexts_.add(context);
+		}
+
+		@Override
+		public Context poll() {
+			return contexts_.poll();
+		}
+
+		@Override
+		public void clear() {
+			contexts_.clear();
+		}
+
+	}
+
+}
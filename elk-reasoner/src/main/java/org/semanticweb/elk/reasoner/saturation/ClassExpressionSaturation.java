@@ -94,6 +94,23 @@ public ClassExpressionSaturation(Collection<? extends I> inputs,
 				executor, maxWorkers, progressMonitor);
 	}
 	
+	/*
+	 * Takes inputs and uses the default rule application factory and a dummy
+	 * listener, runs without batches handing over the inputs to the workers in
+	 * chunks of the given size
+	 */
+	public ClassExpressionSaturation(Collection<? extends I> inputs,
+			ConcurrentExecutor executor, int maxWorkers,
+			ProgressMonitor progressMonitor,
+			RuleApplicationFactory<?, RuleApplicationInput> ruleAppFactory,
+			int inputChunkSize) {
+		super(new TodoJobs<I>(inputs),
+				new ClassExpressionSaturationFactory<SaturationJob<I>>(
+						ruleAppFactory, maxWorkers,
+						new DummyClassExpressionSaturationListener<SaturationJob<I>>()),
+				executor, maxWorkers, progressMonitor, inputChunkSize);
+	}
+
 	/*
 	 * Takes inputs and uses the default rule application factory, runs in batches
 	 */
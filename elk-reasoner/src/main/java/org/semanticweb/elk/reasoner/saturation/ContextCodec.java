@@ -0,0 +1,515 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpressionList;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectProperty;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectSomeValuesFrom;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedPropertyChain;
+import org.semanticweb.elk.reasoner.saturation.conclusions.classes.SaturationConclusionBaseFactory;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SaturationConclusion;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.context.SubContextPremises;
+import org.semanticweb.elk.reasoner.saturation.rules.backwardlinks.BackwardLinkChainFromBackwardLinkRule;
+import org.semanticweb.elk.reasoner.saturation.rules.backwardlinks.LinkableBackwardLinkRule;
+import org.semanticweb.elk.util.collections.Multimap;
+
+/**
+ * Encodes the conclusions of saturated {@link ContextImpl}s as records of
+ * bytes, from which the {@link Context}s can be restored by inserting the
+ * recorded conclusions into new {@link Context}s for the same roots. In the
+ * records, indexed objects are replaced by integer codes assigned by this
+ * {@link ContextCodec}; lists of codes are sorted and written as differences
+ * of consecutive codes in a variable-length encoding.
+ * 
+ * Every code counts how many times it was written; the counts are decreased
+ * by {@link #release(ByteBuffer)} for a record that is no longer used, and
+ * an object is forgotten and its code is reused when its count drops to
+ * zero.
+ */
+class ContextCodec {
+
+	private static final SaturationConclusion.Factory FACTORY_ = SaturationConclusionBaseFactory
+			.getInstance();
+
+	private static final int INITIALIZED_ = 1;
+
+	private static final int INCONSISTENT_ = 2;
+
+	/**
+	 * the codes of the indexed objects occurring in the records; indexed
+	 * objects are compared by identity
+	 */
+	private final Map<Object, Integer> codes_ = new IdentityHashMap<Object, Integer>();
+
+	/**
+	 * the indexed objects by their codes
+	 */
+	private Object[] objects_ = new Object[1024];
+
+	private int objectCount_ = 0;
+
+	/**
+	 * how many times every code was written and not released
+	 */
+	private int[] references_ = new int[1024];
+
+	/**
+	 * the released codes that can be assigned again
+	 */
+	private int[] freeCodes_ = new int[64];
+
+	private int freeCodeCount_ = 0;
+
+	/**
+	 * the buffer with the record that is written
+	 */
+	private ByteBuffer buffer_ = ByteBuffer.allocate(4096);
+
+	/**
+	 * the codes that are written or read
+	 */
+	private int[] scratch_ = new int[64];
+
+	/**
+	 * @param object
+	 * @return the code of the given object, which is assigned if the object
+	 *         did not have a code; the code is counted as written once more
+	 */
+	int getCode(Object object) {
+		Integer code = codes_.get(object);
+		if (code == null) {
+			if (freeCodeCount_ == 0) {
+				code = objectCount_;
+				add(object);
+			} else {
+				code = freeCodes_[--freeCodeCount_];
+				codes_.put(object, code);
+				objects_[code] = object;
+			}
+		}
+		references_[code]++;
+		return code;
+	}
+
+	/**
+	 * Assigns the next code to the given object
+	 * 
+	 * @param object
+	 */
+	void add(Object object) {
+		if (objectCount_ == objects_.length) {
+			objects_ = Arrays.copyOf(objects_, objectCount_ << 1);
+			references_ = Arrays.copyOf(references_, objectCount_ << 1);
+		}
+		codes_.put(object, objectCount_);
+		objects_[objectCount_++] = object;
+	}
+
+	/**
+	 * @param code
+	 * @return the object with the given code
+	 */
+	Object getObject(int code) {
+		return objects_[code];
+	}
+
+	/**
+	 * @return the number of codes assigned so far, including the released
+	 *         codes
+	 */
+	int getObjectCount() {
+		return objectCount_;
+	}
+
+	/**
+	 * Forgets all codes
+	 */
+	void clear() {
+		codes_.clear();
+		Arrays.fill(objects_, 0, objectCount_, null);
+		Arrays.fill(references_, 0, objectCount_, 0);
+		objectCount_ = 0;
+		freeCodeCount_ = 0;
+	}
+
+	/**
+	 * @return the number of objects that have codes
+	 */
+	int size() {
+		return codes_.size();
+	}
+
+	/**
+	 * Writes the record for the given {@link ContextImpl}
+	 * 
+	 * @param context
+	 * @return the buffer with the record between its position and limit; the
+	 *         buffer is reused by the next call
+	 */
+	ByteBuffer encode(ContextImpl context) {
+		IndexedContextRoot root = context.getRoot();
+		begin();
+		int flags = 0;
+		if (context.isInitialized())
+			flags |= INITIALIZED_;
+		if (context.containsConclusion(FACTORY_.getContradiction(root)))
+			flags |= INCONSISTENT_;
+		writeInt(flags);
+		writeCodes(context.getComposedSubsumers());
+		writeCodes(context.getDecomposedSubsumers());
+		writeCodes(context.getLocalReflexiveObjectProperties());
+		Map<IndexedObjectProperty, ? extends SubContextPremises> subContexts = context
+				.getSubContextPremisesByObjectProperty();
+		writeInt(subContexts.size());
+		for (Map.Entry<IndexedObjectProperty, ? extends SubContextPremises> entry : subContexts
+				.entrySet()) {
+			IndexedObjectProperty subRoot = entry.getKey();
+			SubContextPremises subContext = entry.getValue();
+			writeInt(getCode(subRoot));
+			writeInt(subContext.isInitialized() ? 1 : 0);
+			writeCodes(subContext.getLinkedRoots());
+			writeCodes(context.getPropagatedSubsumers(subRoot));
+		}
+		Set<IndexedClassExpressionList> disjoints = context
+				.getDisjointExpressionLists();
+		writeInt(disjoints.size());
+		for (IndexedClassExpressionList disjoint : disjoints) {
+			Set<? extends Integer> positions = context
+					.getSubsumerPositions(disjoint);
+			writeInt(getCode(disjoint));
+			writeInt(positions.size());
+			for (int position : positions) {
+				writeInt(position);
+			}
+		}
+		Multimap<IndexedPropertyChain, IndexedContextRoot> forwardLinks = getForwardLinks(
+				context);
+		if (forwardLinks == null) {
+			writeInt(0);
+		} else {
+			writeInt(forwardLinks.keySet().size());
+			for (IndexedPropertyChain chain : forwardLinks.keySet()) {
+				writeInt(getCode(chain));
+				writeCodes(forwardLinks.get(chain));
+			}
+		}
+		return end();
+	}
+
+	/**
+	 * Starts writing a new record with {@link #writeInt(int)} and
+	 * {@link #writeString(String)}
+	 */
+	void begin() {
+		buffer_.clear();
+	}
+
+	/**
+	 * @return the buffer with the record written since {@link #begin()}
+	 *         between its position and limit
+	 */
+	ByteBuffer end() {
+		buffer_.flip();
+		return buffer_;
+	}
+
+	/**
+	 * Reads a record written by {@link #encode(ContextImpl)} for the root of
+	 * the given {@link Context} and inserts the recorded conclusions into this
+	 * {@link Context}
+	 * 
+	 * @param in
+	 *            the buffer positioned at the beginning of the record; after
+	 *            the call it is positioned after the record
+	 * @param context
+	 */
+	void decode(ByteBuffer in, Context context) {
+		IndexedContextRoot root = context.getRoot();
+		int flags = readInt(in);
+		if ((flags & INITIALIZED_) != 0) {
+			context.addConclusion(FACTORY_.getContextInitialization(root));
+		}
+		int count = readCodes(in);
+		for (int i = 0; i < count; i++) {
+			context.addConclusion(FACTORY_.getSubClassInclusionComposed(root,
+					(IndexedClassExpression) objects_[scratch_[i]]));
+		}
+		count = readCodes(in);
+		for (int i = 0; i < count; i++) {
+			context.addConclusion(FACTORY_.getSubClassInclusionDecomposed(
+					root, (IndexedClassExpression) objects_[scratch_[i]]));
+		}
+		count = readCodes(in);
+		for (int i = 0; i < count; i++) {
+			context.addConclusion(FACTORY_.getBackwardLink(root,
+					(IndexedObjectProperty) objects_[scratch_[i]], root));
+		}
+		for (int subContexts = readInt(in); subContexts > 0; subContexts--) {
+			IndexedObjectProperty subRoot = (IndexedObjectProperty) objects_[readInt(
+					in)];
+			if (readInt(in) != 0) {
+				context.addConclusion(
+						FACTORY_.getSubContextInitialization(root, subRoot));
+			}
+			count = readCodes(in);
+			for (int i = 0; i < count; i++) {
+				context.addConclusion(FACTORY_.getBackwardLink(root, subRoot,
+						(IndexedContextRoot) objects_[scratch_[i]]));
+			}
+			count = readCodes(in);
+			for (int i = 0; i < count; i++) {
+				context.addConclusion(FACTORY_.getPropagation(root, subRoot,
+						(IndexedObjectSomeValuesFrom) objects_[scratch_[i]]));
+			}
+		}
+		for (int disjoints = readInt(in); disjoints > 0; disjoints--) {
+			IndexedClassExpressionList disjoint = (IndexedClassExpressionList) objects_[readInt(
+					in)];
+			for (int positions = readInt(in); positions > 0; positions--) {
+				context.addConclusion(FACTORY_.getDisjointSubsumer(root,
+						disjoint, readInt(in)));
+			}
+		}
+		for (int chains = readInt(in); chains > 0; chains--) {
+			IndexedPropertyChain chain = (IndexedPropertyChain) objects_[readInt(
+					in)];
+			count = readCodes(in);
+			for (int i = 0; i < count; i++) {
+				context.addConclusion(FACTORY_.getForwardLink(root, chain,
+						(IndexedContextRoot) objects_[scratch_[i]]));
+			}
+		}
+		if ((flags & INCONSISTENT_) != 0) {
+			context.addConclusion(FACTORY_.getContradiction(root));
+		}
+	}
+
+	/**
+	 * @param objects
+	 * @return the sorted codes of those of the given objects that occur in
+	 *         the records; the codes are not counted as written
+	 */
+	int[] getCodes(Collection<?> objects) {
+		int[] result = new int[objects.size()];
+		int count = 0;
+		for (Object object : objects) {
+			Integer code = codes_.get(object);
+			if (code != null) {
+				result[count++] = code;
+			}
+		}
+		result = Arrays.copyOf(result, count);
+		Arrays.sort(result);
+		return result;
+	}
+
+	/**
+	 * Checks whether a record written by {@link #encode(ContextImpl)} has
+	 * some of the given composed or decomposed subsumers, without decoding
+	 * the record
+	 * 
+	 * @param in
+	 *            the buffer positioned at the beginning of the record
+	 * @param composedCodes
+	 *            the sorted codes of the composed subsumers to find
+	 * @param decomposedCodes
+	 *            the sorted codes of the decomposed subsumers to find
+	 * @return {@code true} if one of the subsumers is found
+	 */
+	boolean hasSubsumers(ByteBuffer in, int[] composedCodes,
+			int[] decomposedCodes) {
+		readInt(in); // flags
+		return hasCodes(in, composedCodes) || hasCodes(in, decomposedCodes);
+	}
+
+	private static boolean hasCodes(ByteBuffer in, int[] codes) {
+		int code = 0;
+		for (int count = readInt(in); count > 0; count--) {
+			code += readInt(in);
+			if (Arrays.binarySearch(codes, code) >= 0) {
+				return true;
+			}
+		}
+		// else
+		return false;
+	}
+
+	/**
+	 * Releases the codes written in a record by {@link #encode(ContextImpl)};
+	 * the record cannot be decoded afterwards
+	 * 
+	 * @param in
+	 *            the buffer positioned at the beginning of the record; after
+	 *            the call it is positioned after the record
+	 */
+	void release(ByteBuffer in) {
+		readInt(in); // flags
+		releaseCodes(in);
+		releaseCodes(in);
+		releaseCodes(in);
+		for (int subContexts = readInt(in); subContexts > 0; subContexts--) {
+			release(readInt(in));
+			readInt(in); // initialized
+			releaseCodes(in);
+			releaseCodes(in);
+		}
+		for (int disjoints = readInt(in); disjoints > 0; disjoints--) {
+			release(readInt(in));
+			for (int positions = readInt(in); positions > 0; positions--) {
+				readInt(in);
+			}
+		}
+		for (int chains = readInt(in); chains > 0; chains--) {
+			release(readInt(in));
+			releaseCodes(in);
+		}
+	}
+
+	private void releaseCodes(ByteBuffer in) {
+		int code = 0;
+		for (int count = readInt(in); count > 0; count--) {
+			code += readInt(in);
+			release(code);
+		}
+	}
+
+	private void release(int code) {
+		if (--references_[code] > 0) {
+			return;
+		}
+		// else
+		codes_.remove(objects_[code]);
+		objects_[code] = null;
+		if (freeCodeCount_ == freeCodes_.length) {
+			freeCodes_ = Arrays.copyOf(freeCodes_, freeCodeCount_ << 1);
+		}
+		freeCodes_[freeCodeCount_++] = code;
+	}
+
+	@SuppressWarnings("deprecation")
+	private static Multimap<IndexedPropertyChain, IndexedContextRoot> getForwardLinks(
+			Context context) {
+		for (LinkableBackwardLinkRule rule = context
+				.getBackwardLinkRuleHead(); rule != null; rule = rule.next()) {
+			if (rule instanceof BackwardLinkChainFromBackwardLinkRule) {
+				return ((BackwardLinkChainFromBackwardLinkRule) rule)
+						.getForwardLinksByObjectProperty();
+			}
+		}
+		// else
+		return null;
+	}
+
+	private void writeCodes(Iterable<?> objects) {
+		int count = 0;
+		for (Object object : objects) {
+			if (count == scratch_.length) {
+				scratch_ = Arrays.copyOf(scratch_, count << 1);
+			}
+			scratch_[count++] = getCode(object);
+		}
+		Arrays.sort(scratch_, 0, count);
+		writeInt(count);
+		int previous = 0;
+		for (int i = 0; i < count; i++) {
+			writeInt(scratch_[i] - previous);
+			previous = scratch_[i];
+		}
+	}
+
+	/**
+	 * Reads the codes written by {@link #writeCodes(Iterable)} into
+	 * {@link #scratch_}
+	 * 
+	 * @return the number of codes read
+	 */
+	private int readCodes(ByteBuffer in) {
+		int count = readInt(in);
+		if (scratch_.length < count) {
+			scratch_ = new int[count];
+		}
+		int code = 0;
+		for (int i = 0; i < count; i++) {
+			code += readInt(in);
+			scratch_[i] = code;
+		}
+		return count;
+	}
+
+	void writeInt(int value) {
+		if (buffer_.remaining() < 5) {
+			ByteBuffer buffer = ByteBuffer.allocate(buffer_.capacity() << 1);
+			buffer_.flip();
+			buffer.put(buffer_);
+			buffer_ = buffer;
+		}
+		while ((value & ~0x7F) != 0) {
+			buffer_.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer_.put((byte) value);
+	}
+
+	void writeString(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeInt(bytes.length);
+		if (buffer_.remaining() < bytes.length) {
+			ByteBuffer buffer = ByteBuffer.allocate(
+					Math.max(buffer_.capacity() << 1,
+							buffer_.position() + bytes.length));
+			buffer_.flip();
+			buffer.put(buffer_);
+			buffer_ = buffer;
+		}
+		buffer_.put(bytes);
+	}
+
+	static String readString(ByteBuffer in) {
+		byte[] bytes = new byte[readInt(in)];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	static int readInt(ByteBuffer in) {
+		int value = 0;
+		for (int shift = 0;; shift += 7) {
+			byte b = in.get();
+			value |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+	}
+
+}
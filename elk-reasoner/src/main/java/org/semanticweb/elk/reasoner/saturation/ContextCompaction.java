@@ -0,0 +1,92 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2016 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collection;
+
+import org.semanticweb.elk.reasoner.ProgressMonitor;
+import org.semanticweb.elk.reasoner.ReasonerComputationWithInputs;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutor;
+import org.semanticweb.elk.util.concurrent.computation.DelegateInterruptMonitor;
+import org.semanticweb.elk.util.concurrent.computation.InputProcessor;
+import org.semanticweb.elk.util.concurrent.computation.InputProcessorFactory;
+import org.semanticweb.elk.util.concurrent.computation.InterruptMonitor;
+
+/**
+ * Concurrently reduces the memory used by saturated {@link Context}s.
+ * 
+ * @see ExtendedContext#compact()
+ */
+public class ContextCompaction extends
+		ReasonerComputationWithInputs<Context, ContextCompactionFactory> {
+
+	public ContextCompaction(Collection<? extends Context> contexts,
+			InterruptMonitor interrupter, ConcurrentExecutor executor,
+			int maxWorkers, ProgressMonitor progressMonitor) {
+		super(contexts, new ContextCompactionFactory(interrupter), executor,
+				maxWorkers, progressMonitor);
+	}
+
+}
+
+/**
+ * Compacts every submitted {@link ExtendedContext}
+ */
+class ContextCompactionFactory extends DelegateInterruptMonitor
+		implements InputProcessorFactory<Context, InputProcessor<Context>> {
+
+	ContextCompactionFactory(InterruptMonitor interrupter) {
+		super(interrupter);
+	}
+
+	@Override
+	public InputProcessor<Context> getEngine() {
+		return new InputProcessor<Context>() {
+
+			@Override
+			public void submit(Context context) {
+				if (context instanceof ExtendedContext) {
+					((ExtendedContext) context).compact();
+				}
+			}
+
+			@Override
+			public void process() {
+				// everything is done on submission
+			}
+
+			@Override
+			public void finish() {
+				// nothing to do
+			}
+
+		};
+	}
+
+	@Override
+	public void finish() {
+		// nothing to do
+	}
+
+}
@@ -22,7 +22,9 @@
  */
 package org.semanticweb.elk.reasoner.saturation;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -155,10 +157,54 @@ public class ContextImpl implements ExtendedContext {
 	 * @see Context#getRoot()
 	 */
 	public ContextImpl(IndexedContextRoot root) {
+		this(root, new SynchronizedArrayListActivationStack<ClassInference>());
+	}
+
+	/**
+	 * Construct a new {@link Context} for the given {@link IndexedContextRoot}
+	 * that keeps the unprocessed {@link ClassInference}s in the given
+	 * {@link ActivationStack}. Initially, the context is not active.
+	 * 
+	 * @param root
+	 *            the {@link IndexedContextRoot} for which to construct the
+	 *            {@link Context}
+	 * @param toDo
+	 *            the empty {@link ActivationStack} for the unprocessed
+	 *            {@link ClassInference}s
+	 * @see Context#getRoot()
+	 */
+	public ContextImpl(IndexedContextRoot root,
+			ActivationStack<ClassInference> toDo) {
+		this(root, toDo, new ArrayHashSet<IndexedClassExpression>(16),
+				new ArrayHashSet<IndexedClassExpression>(8));
+	}
+
+	/**
+	 * Construct a new {@link Context} for the given {@link IndexedContextRoot}
+	 * that keeps the unprocessed {@link ClassInference}s in the given
+	 * {@link ActivationStack} and the subsumers in the given {@link Set}s.
+	 * Initially, the context is not active.
+	 * 
+	 * @param root
+	 *            the {@link IndexedContextRoot} for which to construct the
+	 *            {@link Context}
+	 * @param toDo
+	 *            the empty {@link ActivationStack} for the unprocessed
+	 *            {@link ClassInference}s
+	 * @param composedSubsumers
+	 *            the empty {@link Set} for the composed subsumers
+	 * @param decomposedSubsumers
+	 *            the empty {@link Set} for the decomposed subsumers
+	 * @see Context#getRoot()
+	 */
+	public ContextImpl(IndexedContextRoot root,
+			ActivationStack<ClassInference> toDo,
+			Set<IndexedClassExpression> composedSubsumers,
+			Set<IndexedClassExpression> decomposedSubsumers) {
 		this.root_ = root;
-		this.toDo_ = new SynchronizedArrayListActivationStack<ClassInference>();
-		this.composedSubsumers_ = new ArrayHashSet<IndexedClassExpression>(16);
-		this.decomposedSubsumers_ = new ArrayHashSet<IndexedClassExpression>(8);
+		this.toDo_ = toDo;
+		this.composedSubsumers_ = composedSubsumers;
+		this.decomposedSubsumers_ = decomposedSubsumers;
 	}
 
 	@Override
@@ -292,6 +338,19 @@ public Set<? extends Integer> getSubsumerPositions(
 		return disjointnessAxioms_.get(disjoint);
 	}
 
+	/**
+	 * @return the {@link IndexedClassExpressionList}s for which
+	 *         {@link #getSubsumerPositions(IndexedClassExpressionList)} is not
+	 *         {@code null}
+	 */
+	Set<IndexedClassExpressionList> getDisjointExpressionLists() {
+		if (disjointnessAxioms_ == null) {
+			return Collections.emptySet();
+		}
+		// else
+		return disjointnessAxioms_.keySet();
+	}
+
 	@Override
 	public boolean isSaturated() {
 		return isSaturated_;
@@ -320,6 +379,62 @@ public synchronized boolean setSaturated(boolean saturated) {
 		return previous;
 	}
 
+	@Override
+	public void compact() {
+		trim(composedSubsumers_);
+		trim(decomposedSubsumers_);
+		if (reflexiveBackwardLinks_ != null) {
+			if (reflexiveBackwardLinks_.isEmpty()) {
+				reflexiveBackwardLinks_ = null;
+			} else {
+				trim(reflexiveBackwardLinks_);
+			}
+		}
+		if (disjointnessAxioms_ != null) {
+			for (Set<Integer> positions : disjointnessAxioms_.values()) {
+				trim(positions);
+			}
+			if (disjointnessAxioms_ instanceof ArrayHashMap) {
+				((ArrayHashMap<?, ?>) disjointnessAxioms_).trimToSize();
+			}
+		}
+		if (subContextsByObjectProperty_ != null) {
+			List<IndexedObjectProperty> emptySubRoots = null;
+			for (Map.Entry<IndexedObjectProperty, SubContext> entry : subContextsByObjectProperty_
+					.entrySet()) {
+				SubContext subContext = entry.getValue();
+				if (subContext.isEmpty()) {
+					if (emptySubRoots == null) {
+						emptySubRoots = new ArrayList<IndexedObjectProperty>();
+					}
+					emptySubRoots.add(entry.getKey());
+				} else if (subContext instanceof SubContextImpl) {
+					((SubContextImpl) subContext).compact();
+				}
+			}
+			if (emptySubRoots != null) {
+				for (IndexedObjectProperty subRoot : emptySubRoots) {
+					removeSubContext(subRoot);
+				}
+			}
+			if (subContextsByObjectProperty_ instanceof ArrayHashMap) {
+				((ArrayHashMap<?, ?>) subContextsByObjectProperty_)
+						.trimToSize();
+			}
+		}
+	}
+
+	/**
+	 * Trims the table of the given {@link Set} if it is implemented by one
+	 */
+	static void trim(Set<?> set) {
+		if (set instanceof ArrayHashSet) {
+			((ArrayHashSet<?>) set).trimToSize();
+		} else if (set instanceof IndexedClassExpressionIdSet) {
+			((IndexedClassExpressionIdSet) set).trimToSize();
+		}
+	}
+
 	@Override
 	public Iterable<? extends IndexedObjectSomeValuesFrom> getPropagatedSubsumers(
 			IndexedPropertyChain subRoot) {
@@ -0,0 +1,333 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.semanticweb.elk.exceptions.ElkRuntimeException;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+
+/**
+ * Keeps saturated {@link ContextImpl}s outside of the heap. Each spilled
+ * {@link Context} is appended as one record of the {@link ContextCodec} to a
+ * temporary file and can be restored from this record into a new
+ * {@link Context} for the same root.
+ * 
+ * The space of removed records is reused for new records, and the file is
+ * truncated when the records at its end are removed. The codes of the
+ * indexed objects in a record are released when the record is restored or
+ * replaced, so the {@link ContextCodec} keeps only the objects that occur
+ * in the records that were not restored. The positions of the records and
+ * the codes of the {@link ContextCodec} stay in the heap.
+ */
+class ContextSpillStore {
+
+	/**
+	 * the position and the length in the file of the record for every spilled
+	 * root
+	 */
+	private final Map<IndexedContextRoot, Record> records_ = new ConcurrentHashMap<IndexedContextRoot, Record>();
+
+	private final ContextCodec codec_ = new ContextCodec();
+
+	/**
+	 * the buffer with the record that is read
+	 */
+	private ByteBuffer buffer_ = ByteBuffer.allocate(4096);
+
+	private FileChannel channel_ = null;
+
+	/**
+	 * the position in the file after the last record
+	 */
+	private long end_ = 0;
+
+	/**
+	 * the lengths of the free ranges of the file before {@link #end_} by
+	 * their positions; adjacent ranges are merged
+	 */
+	private final NavigableMap<Long, Long> free_ = new TreeMap<Long, Long>();
+
+	boolean isEmpty() {
+		return records_.isEmpty();
+	}
+
+	int size() {
+		return records_.size();
+	}
+
+	boolean contains(IndexedContextRoot root) {
+		return records_.containsKey(root);
+	}
+
+	/**
+	 * Records the conclusions of the given {@link ContextImpl}, replacing the
+	 * previous record for its root, if any
+	 * 
+	 * @param context
+	 */
+	synchronized void spill(ContextImpl context) {
+		IndexedContextRoot root = context.getRoot();
+		Record previous = records_.remove(root);
+		if (previous != null) {
+			discard(previous);
+		}
+		ByteBuffer record = codec_.encode(context);
+		int length = record.remaining();
+		long position = allocate(length);
+		try {
+			FileChannel channel = getChannel();
+			for (long next = position; record.hasRemaining();) {
+				next += channel.write(record, next);
+			}
+		} catch (IOException e) {
+			throw new ElkRuntimeException("Cannot spill the context " + root,
+					e);
+		}
+		records_.put(root, new Record(position, length));
+	}
+
+	/**
+	 * Inserts the recorded conclusions for the root of the given
+	 * {@link Context} into this {@link Context}; the record is kept until
+	 * {@link #remove(IndexedContextRoot)} is called, but it cannot be
+	 * restored again
+	 * 
+	 * @param context
+	 * @return {@code true} if the record for the root of the {@link Context}
+	 *         was found
+	 */
+	synchronized boolean restore(Context context) {
+		Record record = records_.get(context.getRoot());
+		if (record == null || record.released) {
+			return false;
+		}
+		// else
+		read(record);
+		codec_.decode(buffer_, context);
+		buffer_.rewind();
+		codec_.release(buffer_);
+		record.released = true;
+		return true;
+	}
+
+	/**
+	 * Finds the records in which some of the given
+	 * {@link IndexedClassExpression}s are composed or decomposed subsumers;
+	 * the records are read from the file one by one and are not restored
+	 * 
+	 * @param composedSubsumers
+	 * @param decomposedSubsumers
+	 * @return the roots of the records found
+	 */
+	synchronized List<IndexedContextRoot> findRoots(
+			Collection<? extends IndexedClassExpression> composedSubsumers,
+			Collection<? extends IndexedClassExpression> decomposedSubsumers) {
+		List<IndexedContextRoot> result = new ArrayList<IndexedContextRoot>();
+		int[] composedCodes = codec_.getCodes(composedSubsumers);
+		int[] decomposedCodes = codec_.getCodes(decomposedSubsumers);
+		if (composedCodes.length == 0 && decomposedCodes.length == 0) {
+			// the subsumers do not occur in the records
+			return result;
+		}
+		// else
+		for (Map.Entry<IndexedContextRoot, Record> entry : records_
+				.entrySet()) {
+			Record record = entry.getValue();
+			if (record.released) {
+				continue;
+			}
+			// else
+			read(record);
+			if (codec_.hasSubsumers(buffer_, composedCodes,
+					decomposedCodes)) {
+				result.add(entry.getKey());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Forgets the record for the given root and frees its space
+	 * 
+	 * @param root
+	 */
+	synchronized void remove(IndexedContextRoot root) {
+		Record record = records_.remove(root);
+		if (record != null) {
+			discard(record);
+		}
+	}
+
+	/**
+	 * Forgets all records and releases the space taken by them
+	 */
+	synchronized void clear() {
+		records_.clear();
+		codec_.clear();
+		free_.clear();
+		end_ = 0;
+		if (channel_ != null) {
+			try {
+				channel_.truncate(0);
+			} catch (IOException e) {
+				throw new ElkRuntimeException("Cannot clear spilled contexts",
+						e);
+			}
+		}
+	}
+
+	private FileChannel getChannel() throws IOException {
+		if (channel_ == null) {
+			channel_ = FileChannel.open(
+					Files.createTempFile("elk-contexts", ".bin"),
+					StandardOpenOption.READ, StandardOpenOption.WRITE,
+					StandardOpenOption.DELETE_ON_CLOSE);
+		}
+		return channel_;
+	}
+
+	/**
+	 * Releases the codes of the given record that was not restored and frees
+	 * its space
+	 */
+	private void discard(Record record) {
+		if (!record.released) {
+			read(record);
+			codec_.release(buffer_);
+			record.released = true;
+		}
+		free(record.position, record.length);
+	}
+
+	/**
+	 * @return the position of a free range of the given length, which is
+	 *         taken from the first free range that is long enough or from the
+	 *         end of the file
+	 */
+	private long allocate(int length) {
+		for (Map.Entry<Long, Long> range : free_.entrySet()) {
+			long rest = range.getValue() - length;
+			if (rest < 0) {
+				continue;
+			}
+			// else
+			long position = range.getKey();
+			free_.remove(position);
+			if (rest > 0) {
+				free_.put(position + length, rest);
+			}
+			return position;
+		}
+		// else
+		long position = end_;
+		end_ += length;
+		return position;
+	}
+
+	/**
+	 * Marks the given range of the file as free, merging it with the
+	 * adjacent free ranges; the file is truncated if the range is at its end
+	 */
+	private void free(long position, long length) {
+		Map.Entry<Long, Long> before = free_.floorEntry(position);
+		if (before != null
+				&& before.getKey() + before.getValue() == position) {
+			free_.remove(before.getKey());
+			position = before.getKey();
+			length += before.getValue();
+		}
+		Long after = free_.remove(position + length);
+		if (after != null) {
+			length += after;
+		}
+		if (position + length < end_) {
+			free_.put(position, length);
+			return;
+		}
+		// else
+		end_ = position;
+		try {
+			channel_.truncate(end_);
+		} catch (IOException e) {
+			throw new ElkRuntimeException("Cannot free spilled contexts", e);
+		}
+	}
+
+	private void read(Record record) {
+		if (buffer_.capacity() < record.length) {
+			buffer_ = ByteBuffer.allocate(record.length);
+		}
+		buffer_.clear().limit(record.length);
+		long position = record.position;
+		try {
+			while (buffer_.hasRemaining()) {
+				int read = channel_.read(buffer_, position);
+				if (read < 0) {
+					throw new EOFException();
+				}
+				position += read;
+			}
+		} catch (IOException e) {
+			throw new ElkRuntimeException("Cannot restore a spilled context",
+					e);
+		}
+		buffer_.flip();
+	}
+
+	/**
+	 * The location of a record in the file
+	 */
+	private static class Record {
+
+		final long position;
+
+		final int length;
+
+		/**
+		 * {@code true} if the codes of the record are released
+		 */
+		boolean released = false;
+
+		Record(long position, int length) {
+			this.position = position;
+			this.length = length;
+		}
+
+	}
+
+}
@@ -52,4 +52,13 @@ public interface ExtendedContext extends Context {
 	 */
 	boolean setSaturated(boolean saturated);
 
+	/**
+	 * Reduces the memory used by this {@link Context} without changing its
+	 * content, e.g., by trimming the tables of the stored
+	 * {@link ClassConclusion}s to their sizes and removing empty parts. The
+	 * {@link Context} can be modified afterwards as before. This method should
+	 * not be called while this {@link Context} is being modified.
+	 */
+	void compact();
+
 }
@@ -0,0 +1,370 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2016 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectCache;
+import org.semanticweb.elk.util.collections.ArrayHashSet;
+import org.semanticweb.elk.util.collections.Operations;
+
+/**
+ * A {@link Set} of {@link IndexedClassExpression}s that keeps the values of
+ * {@link IndexedClassExpression#getId()} in one {@code char} array, similarly
+ * to the array containers of roaring bitmaps. The numbers are grouped by their
+ * upper 16 bits. Each group is stored as its upper bits, the number of its
+ * elements minus one, and the sorted lower 16 bits of its elements; the groups
+ * are sorted by their upper bits. Since the numbers are dense, there are few
+ * groups, so an element takes about two bytes instead of the four to eight
+ * bytes of a reference in {@link ArrayHashSet}. Looking up an element scans the
+ * group headers and then performs a binary search, without accessing the
+ * {@link IndexedClassExpression} objects; the objects are obtained from the
+ * {@link IndexedObjectCache} only when the set is iterated. Adding and removing
+ * elements shifts the rest of the array, which is cheap for the sets of
+ * subsumers of a context. {@link IndexedClassExpression}s without numbers, if
+ * any, are kept in a separate {@link ArrayHashSet}.
+ *
+ * The set is not thread safe.
+ *
+ * @author Yevgeny Kazakov
+ */
+class IndexedClassExpressionIdSet extends AbstractSet<IndexedClassExpression> {
+
+	private static final char[] EMPTY_DATA_ = new char[0];
+
+	/**
+	 * the number of {@code char}s taken by a group header
+	 */
+	private static final int HEADER_LENGTH_ = 2;
+
+	private final IndexedObjectCache cache_;
+
+	/**
+	 * the groups of the numbers; only the first {@link #length_} positions are
+	 * used
+	 */
+	private char[] data_ = EMPTY_DATA_;
+
+	private int length_ = 0;
+
+	/**
+	 * the number of elements in {@link #data_}
+	 */
+	private int size_ = 0;
+
+	/**
+	 * the elements without numbers; created when needed
+	 */
+	private Set<IndexedClassExpression> unnumbered_ = null;
+
+	IndexedClassExpressionIdSet(IndexedObjectCache cache) {
+		this.cache_ = cache;
+	}
+
+	private static int getGroupSize(char[] data, int header) {
+		return data[header + 1] + 1;
+	}
+
+	/**
+	 * @return the position of the header of the group with the given upper
+	 *         bits, or the negative value {@code -(p + 1)} where {@code p} is
+	 *         the position at which such a group should be inserted
+	 */
+	private int findGroup(int high) {
+		char[] data = data_;
+		int pos = 0;
+		while (pos < length_) {
+			int key = data[pos];
+			if (key == high)
+				return pos;
+			if (key > high)
+				break;
+			// else
+			pos += HEADER_LENGTH_ + getGroupSize(data, pos);
+		}
+		return -(pos + 1);
+	}
+
+	/**
+	 * @return the position of the given lower bits within the group at the
+	 *         given header, or the negative value {@code -(p + 1)} where
+	 *         {@code p} is the position at which they should be inserted
+	 */
+	private int findInGroup(int header, char low) {
+		int from = header + HEADER_LENGTH_;
+		return Arrays.binarySearch(data_, from,
+				from + getGroupSize(data_, header), low);
+	}
+
+	boolean containsId(int id) {
+		int header = findGroup(id >>> 16);
+		return header >= 0 && findInGroup(header, (char) id) >= 0;
+	}
+
+	boolean addId(int id) {
+		int high = id >>> 16;
+		char low = (char) id;
+		int header = findGroup(high);
+		if (header >= 0) {
+			int pos = findInGroup(header, low);
+			if (pos >= 0)
+				return false;
+			// else
+			pos = -(pos + 1);
+			makeGap(pos, 1);
+			data_[pos] = low;
+			data_[header + 1]++;
+		} else {
+			header = -(header + 1);
+			makeGap(header, HEADER_LENGTH_ + 1);
+			data_[header] = (char) high;
+			data_[header + 1] = 0;
+			data_[header + HEADER_LENGTH_] = low;
+		}
+		size_++;
+		return true;
+	}
+
+	boolean removeId(int id) {
+		int header = findGroup(id >>> 16);
+		if (header < 0)
+			return false;
+		// else
+		int pos = findInGroup(header, (char) id);
+		if (pos < 0)
+			return false;
+		// else
+		if (data_[header + 1] == 0) {
+			// the last element of the group
+			closeGap(header, HEADER_LENGTH_ + 1);
+		} else {
+			data_[header + 1]--;
+			closeGap(pos, 1);
+		}
+		size_--;
+		return true;
+	}
+
+	/**
+	 * Shifts the elements starting from the given position by the given number
+	 * of positions to the right, expanding {@link #data_} if necessary
+	 */
+	private void makeGap(int pos, int gap) {
+		int length = length_ + gap;
+		if (length > data_.length) {
+			char[] data = new char[Math.max(length, data_.length
+					+ (data_.length >> 1))];
+			System.arraycopy(data_, 0, data, 0, pos);
+			System.arraycopy(data_, pos, data, pos + gap, length_ - pos);
+			data_ = data;
+		} else {
+			System.arraycopy(data_, pos, data_, pos + gap, length_ - pos);
+		}
+		length_ = length;
+	}
+
+	/**
+	 * Shifts the elements after the given number of positions from the given
+	 * one to the left, shrinking {@link #data_} if it becomes mostly unused
+	 */
+	private void closeGap(int pos, int gap) {
+		System.arraycopy(data_, pos + gap, data_, pos, length_ - pos - gap);
+		length_ -= gap;
+		if (length_ <= (data_.length >> 2))
+			data_ = Arrays.copyOf(data_, data_.length >> 1);
+	}
+
+	/**
+	 * Reduces the memory used by this set to the smallest one in which the
+	 * current elements fit; the memory grows again when elements are added
+	 */
+	public void trimToSize() {
+		if (length_ < data_.length)
+			data_ = length_ == 0 ? EMPTY_DATA_ : Arrays.copyOf(data_, length_);
+		if (unnumbered_ instanceof ArrayHashSet)
+			((ArrayHashSet<?>) unnumbered_).trimToSize();
+	}
+
+	@Override
+	public int size() {
+		return unnumbered_ == null ? size_ : size_ + unnumbered_.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if (o == null)
+			throw new NullPointerException();
+		if (!(o instanceof IndexedClassExpression))
+			return false;
+		// else
+		int id = ((IndexedClassExpression) o).getId();
+		if (id < 0)
+			return unnumbered_ != null && unnumbered_.contains(o);
+		// else
+		return containsId(id);
+	}
+
+	@Override
+	public boolean add(IndexedClassExpression e) {
+		if (e == null)
+			throw new NullPointerException();
+		int id = e.getId();
+		if (id < 0) {
+			if (unnumbered_ == null)
+				unnumbered_ = new ArrayHashSet<IndexedClassExpression>(4);
+			return unnumbered_.add(e);
+		}
+		// else
+		return addId(id);
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (o == null)
+			throw new NullPointerException();
+		if (!(o instanceof IndexedClassExpression))
+			return false;
+		// else
+		int id = ((IndexedClassExpression) o).getId();
+		if (id < 0)
+			return unnumbered_ != null && unnumbered_.remove(o);
+		// else
+		return removeId(id);
+	}
+
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		boolean modified = false;
+		for (Object o : c) {
+			modified |= remove(o);
+		}
+		return modified;
+	}
+
+	@Override
+	public void clear() {
+		data_ = EMPTY_DATA_;
+		length_ = 0;
+		size_ = 0;
+		unnumbered_ = null;
+	}
+
+	@Override
+	public Iterator<IndexedClassExpression> iterator() {
+		if (unnumbered_ == null)
+			return new NumberedIterator();
+		// else
+		Iterable<IndexedClassExpression> numbered = new Iterable<IndexedClassExpression>() {
+			@Override
+			public Iterator<IndexedClassExpression> iterator() {
+				return new NumberedIterator();
+			}
+		};
+		return Operations.concat(numbered, unnumbered_).iterator();
+	}
+
+	private class NumberedIterator implements Iterator<IndexedClassExpression> {
+
+		/**
+		 * the position of the header of the current group
+		 */
+		private int header_ = 0;
+
+		/**
+		 * the position of the next element to return
+		 */
+		private int pos_ = HEADER_LENGTH_;
+
+		/**
+		 * the number of the last returned element, or {@code -1} if it cannot
+		 * be removed
+		 */
+		private int lastId_ = -1;
+
+		private int expectedSize_ = size_;
+
+		@Override
+		public boolean hasNext() {
+			return pos_ < length_;
+		}
+
+		@Override
+		public IndexedClassExpression next() {
+			if (expectedSize_ != size_)
+				throw new ConcurrentModificationException();
+			if (pos_ >= length_)
+				throw new NoSuchElementException();
+			int id = (data_[header_] << 16) | data_[pos_];
+			if (++pos_ == header_ + HEADER_LENGTH_
+					+ getGroupSize(data_, header_)) {
+				// move to the next group
+				header_ = pos_;
+				pos_ += HEADER_LENGTH_;
+			}
+			lastId_ = id;
+			return cache_.getClassExpression(id);
+		}
+
+		@Override
+		public void remove() {
+			if (lastId_ < 0)
+				throw new IllegalStateException();
+			if (expectedSize_ != size_)
+				throw new ConcurrentModificationException();
+			// all elements before the returned one stay in place
+			boolean groupStarted = pos_ == header_ + HEADER_LENGTH_;
+			removeId(lastId_);
+			if (groupStarted) {
+				// the removed element was the last in its group
+				int previous = findGroup(lastId_ >>> 16);
+				if (previous >= 0) {
+					// the group still exists and ends before header_
+					header_--;
+					pos_--;
+				} else {
+					// the group is removed
+					header_ -= HEADER_LENGTH_ + 1;
+					pos_ -= HEADER_LENGTH_ + 1;
+				}
+			} else {
+				pos_--;
+			}
+			expectedSize_ = size_;
+			lastId_ = -1;
+		}
+
+	}
+
+}
@@ -3,7 +3,14 @@
  */
 package org.semanticweb.elk.reasoner.saturation;
 
+import org.semanticweb.elk.reasoner.config.ContextSubsumerStorage;
+import org.semanticweb.elk.reasoner.config.ContextToDoStack;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectCache;
+import org.semanticweb.elk.reasoner.saturation.inferences.ClassInference;
+import org.semanticweb.elk.util.concurrent.collections.ActivationStack;
+import org.semanticweb.elk.util.concurrent.collections.ConcurrentArrayActivationStack;
+import org.semanticweb.elk.util.concurrent.collections.SynchronizedArrayListActivationStack;
 
 /*
  * #%L
@@ -36,9 +43,75 @@
  */
 public class MainContextFactory implements ContextFactory<ExtendedContext> {
 
+	private final ContextToDoStack toDoStack_;
+
+	private final ContextSubsumerStorage subsumerStorage_;
+
+	/**
+	 * resolves the numbers stored in the sets of
+	 * {@link ContextSubsumerStorage#ID_SETS}
+	 */
+	private final IndexedObjectCache cache_;
+
+	public MainContextFactory() {
+		this(ContextToDoStack.SYNCHRONIZED);
+	}
+
+	/**
+	 * @param toDoStack
+	 *            the kind of {@link ActivationStack} in which the created
+	 *            {@link ContextImpl}s keep their unprocessed
+	 *            {@link ClassInference}s
+	 */
+	public MainContextFactory(ContextToDoStack toDoStack) {
+		this(toDoStack, ContextSubsumerStorage.OBJECT_SETS, null);
+	}
+
+	/**
+	 * @param toDoStack
+	 *            the kind of {@link ActivationStack} in which the created
+	 *            {@link ContextImpl}s keep their unprocessed
+	 *            {@link ClassInference}s
+	 * @param subsumerStorage
+	 *            the kind of sets in which the created {@link ContextImpl}s
+	 *            keep their subsumers
+	 * @param cache
+	 *            the {@link IndexedObjectCache} that assigns the numbers to
+	 *            the subsumers; required for
+	 *            {@link ContextSubsumerStorage#ID_SETS}
+	 */
+	public MainContextFactory(ContextToDoStack toDoStack,
+			ContextSubsumerStorage subsumerStorage, IndexedObjectCache cache) {
+		if (subsumerStorage == ContextSubsumerStorage.ID_SETS
+				&& cache == null) {
+			throw new IllegalArgumentException(
+					"A cache is required to resolve the subsumer numbers");
+		}
+		this.toDoStack_ = toDoStack;
+		this.subsumerStorage_ = subsumerStorage;
+		this.cache_ = cache;
+	}
+
 	@Override
 	public ExtendedContext createContext(IndexedContextRoot root) {
-		return new ContextImpl(root);
+		ActivationStack<ClassInference> toDo;
+		switch (toDoStack_) {
+		case LOCK_FREE:
+			toDo = new ConcurrentArrayActivationStack<ClassInference>();
+			break;
+		case SYNCHRONIZED:
+		default:
+			toDo = new SynchronizedArrayListActivationStack<ClassInference>();
+		}
+		switch (subsumerStorage_) {
+		case ID_SETS:
+			return new ContextImpl(root, toDo,
+					new IndexedClassExpressionIdSet(cache_),
+					new IndexedClassExpressionIdSet(cache_));
+		case OBJECT_SETS:
+		default:
+			return new ContextImpl(root, toDo);
+		}
 	}
 
 }
@@ -31,6 +31,7 @@
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.semanticweb.elk.reasoner.config.SaturationScheduling;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectSomeValuesFrom;
@@ -62,68 +63,24 @@ public ReferenceSaturationState(OntologyIndex index) {
 		super(index, new MainContextFactory());
 	}
 
+	public ReferenceSaturationState(OntologyIndex index,
+			SaturationScheduling scheduling) {
+		this(index, new MainContextFactory(), scheduling);
+	}
+
+	public ReferenceSaturationState(OntologyIndex index,
+			ContextFactory<ExtendedContext> factory,
+			SaturationScheduling scheduling) {
+		super(index, factory, scheduling);
+	}
+
 	@Override
 	public Collection<ExtendedContext> getContexts() {
 		return new AbstractCollection<ExtendedContext>() {
 
 			@Override
 			public Iterator<ExtendedContext> iterator() {
-				return new Iterator<ExtendedContext>() {
-
-					Iterator<? extends IndexedClassExpression> ices = ontologyIndex
-							.getClassExpressions().iterator();
-
-					ExtendedContext nextContext;
-					ExtendedContext nextFillerContext;
-
-					{
-						seekNext();
-					}
-
-					void seekNext() {
-						while (ices.hasNext()) {
-							IndexedClassExpression nextIce = ices.next();
-							nextContext = nextIce.getContext();
-							if (nextIce instanceof IndexedObjectSomeValuesFrom) {
-								nextFillerContext = ((IndexedObjectSomeValuesFrom) nextIce)
-										.getRangeFiller().getContext();
-								if (nextFillerContext != null)
-									return;
-							}
-							if (nextContext != null)
-								return;
-						}
-					}
-
-					@Override
-					public boolean hasNext() {
-						return (nextContext != null
-								|| nextFillerContext != null);
-					}
-
-					@Override
-					public ExtendedContext next() {
-						ExtendedContext result;
-						if (nextContext != null) {
-							result = nextContext;
-							nextContext = null;
-						} else if (nextFillerContext != null) {
-							result = nextFillerContext;
-							nextFillerContext = null;
-						} else
-							throw new NoSuchElementException("No next context");
-						if (!hasNext())
-							seekNext();
-						return result;
-					}
-
-					@Override
-					public void remove() {
-						throw new UnsupportedOperationException(
-								"Removal not supported");
-					}
-
-				};
+				return new ContextIterator();
 			}
 
 			@Override
@@ -139,6 +96,76 @@ public int size() {
 		};
 	}
 
+	/**
+	 * Iterates over the {@link Context}s assigned to the
+	 * {@link IndexedClassExpression}s of the {@link OntologyIndex} and to
+	 * their range fillers
+	 */
+	class ContextIterator implements Iterator<ExtendedContext> {
+
+		Iterator<? extends IndexedClassExpression> ices = ontologyIndex
+				.getClassExpressions().iterator();
+
+		ExtendedContext nextContext;
+		ExtendedContext nextFillerContext;
+
+		{
+			seekNext();
+		}
+
+		/**
+		 * @param root
+		 * @return the {@link Context} for the given root that is iterated, or
+		 *         {@code null} if there is none
+		 */
+		ExtendedContext getAssignedContext(IndexedContextRoot root) {
+			return root.getContext();
+		}
+
+		void seekNext() {
+			while (ices.hasNext()) {
+				IndexedClassExpression nextIce = ices.next();
+				nextContext = getAssignedContext(nextIce);
+				if (nextIce instanceof IndexedObjectSomeValuesFrom) {
+					nextFillerContext = getAssignedContext(
+							((IndexedObjectSomeValuesFrom) nextIce)
+									.getRangeFiller());
+					if (nextFillerContext != null)
+						return;
+				}
+				if (nextContext != null)
+					return;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return (nextContext != null || nextFillerContext != null);
+		}
+
+		@Override
+		public ExtendedContext next() {
+			ExtendedContext result;
+			if (nextContext != null) {
+				result = nextContext;
+				nextContext = null;
+			} else if (nextFillerContext != null) {
+				result = nextFillerContext;
+				nextFillerContext = null;
+			} else
+				throw new NoSuchElementException("No next context");
+			if (!hasNext())
+				seekNext();
+			return result;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException("Removal not supported");
+		}
+
+	}
+
 	@Override
 	public ExtendedContext getContext(IndexedContextRoot root) {
 		return root.getContext();
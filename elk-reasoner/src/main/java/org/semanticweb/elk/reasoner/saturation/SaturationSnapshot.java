@@ -0,0 +1,561 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import org.semanticweb.elk.exceptions.ElkRuntimeException;
+import org.semanticweb.elk.owl.interfaces.ElkLiteral;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.reasoner.indexing.classes.DummyIndexedObjectVisitor;
+import org.semanticweb.elk.reasoner.indexing.classes.ResolvingModifiableIndexedObjectFactory;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpressionList;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedComplexPropertyChain;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedDataHasValue;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedDefinedClass;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedIndividual;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObject;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectComplementOf;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectHasSelf;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectIntersectionOf;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectProperty;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectSomeValuesFrom;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedObjectUnionOf;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedPredefinedClass;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedRangeFiller;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObject;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObjectCache;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedObjectProperty;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedPropertyChain;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+
+/**
+ * Writes the saturated {@link Context}s of a {@link SaturationState} to a file
+ * and reads them back into an empty {@link SaturationState} for the same
+ * ontology, so that the saturation does not need to be computed again.
+ * 
+ * The file starts with a header consisting of a magic number, the version of
+ * the format, a fingerprint of the ontology supplied by the caller, the
+ * number of {@link Context}s, the number of indexed objects and the offset
+ * of the dictionary. The header is followed by the records of the
+ * {@link ContextCodec} for the {@link Context}s, each preceded by the code of
+ * its root, and by the dictionary, which describes every indexed object
+ * with a code by the codes of its sub-objects or by the IRIs of its
+ * entities. When the file is read, the indexed objects are resolved in the
+ * {@link ModifiableIndexedObjectCache} of the ontology; a file which refers
+ * to objects that do not occur in the ontology is rejected.
+ * 
+ * The file is read by mapping it into memory, so its size is limited to
+ * {@link Integer#MAX_VALUE} bytes.
+ */
+public class SaturationSnapshot {
+
+	/**
+	 * the first bytes of every file: "ELKS"
+	 */
+	private static final int MAGIC_ = 0x454C4B53;
+
+	/**
+	 * the version of the format; should be increased after every change of
+	 * the format, including changes of the {@link ContextCodec}
+	 */
+	private static final int VERSION_ = 1;
+
+	private static final int HEADER_SIZE_ = 32;
+
+	// the tags of the entries in the dictionary
+	private static final int CLASS_ = 0, INDIVIDUAL_ = 1, OBJECT_PROPERTY_ = 2,
+			OBJECT_SOME_VALUES_FROM_ = 3, OBJECT_INTERSECTION_OF_ = 4,
+			OBJECT_COMPLEMENT_OF_ = 5, OBJECT_UNION_OF_ = 6,
+			OBJECT_HAS_SELF_ = 7, DATA_HAS_VALUE_ = 8,
+			COMPLEX_PROPERTY_CHAIN_ = 9, CLASS_EXPRESSION_LIST_ = 10,
+			RANGE_FILLER_ = 11;
+
+	/**
+	 * Writes the saturated {@link Context}s of the given
+	 * {@link SaturationState} to the given file, replacing its content
+	 * 
+	 * @param state
+	 * @param file
+	 * @param fingerprint
+	 *            identifies the ontology for which the {@link Context}s are
+	 *            computed; the same value should be used to read the file
+	 * @return the number of written {@link Context}s
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public static int write(SaturationState<?> state, Path file,
+			long fingerprint) throws IOException {
+		ContextCodec codec = new ContextCodec();
+		try (FileChannel channel = FileChannel.open(file,
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			Output out = new Output(channel);
+			int contextCount = 0;
+			for (Context context : state.getContexts()) {
+				if (!(context instanceof ContextImpl)
+						|| !context.isSaturated()) {
+					continue;
+				}
+				out.writeInt(codec.getCode(context.getRoot()));
+				out.writeRecord(codec.encode((ContextImpl) context));
+				contextCount++;
+			}
+			long dictionaryOffset = out.getPosition();
+			EntryWriter entryWriter = new EntryWriter(codec);
+			// writing entries can assign codes to further objects
+			for (int code = 0; code < codec.getObjectCount(); code++) {
+				out.writeRecord(((IndexedObject) codec.getObject(code))
+						.accept(entryWriter));
+			}
+			out.flush();
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE_);
+			header.putInt(MAGIC_).putInt(VERSION_).putLong(fingerprint)
+					.putInt(contextCount).putInt(codec.getObjectCount())
+					.putLong(dictionaryOffset).flip();
+			long position = 0;
+			while (header.hasRemaining()) {
+				position += channel.write(header, position);
+			}
+			return contextCount;
+		}
+	}
+
+	/**
+	 * Reads the {@link Context}s from the given file written by
+	 * {@link #write(SaturationState, Path, long)} into the given
+	 * {@link SaturationState}, which should not have any {@link Context}s
+	 * 
+	 * @param state
+	 * @param index
+	 *            the {@link ModifiableIndexedObjectCache} of the ontology for
+	 *            which the {@link SaturationState} is computed
+	 * @param elkFactory
+	 *            used to create the entities of the indexed objects
+	 * @param file
+	 * @param fingerprint
+	 *            the value with which the file must have been written
+	 * @return the number of read {@link Context}s
+	 * @throws IOException
+	 *             if the file cannot be read, has a different format or
+	 *             fingerprint, or refers to objects that do not occur in the
+	 *             ontology
+	 */
+	public static int read(SaturationState<?> state,
+			ModifiableIndexedObjectCache index, ElkObject.Factory elkFactory,
+			Path file, long fingerprint) throws IOException {
+		ByteBuffer in;
+		try (FileChannel channel = FileChannel.open(file,
+				StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException(file + ": too large to be mapped");
+			}
+			if (size < HEADER_SIZE_) {
+				throw new IOException(file + ": not a saturation snapshot");
+			}
+			in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+		if (in.getInt() != MAGIC_) {
+			throw new IOException(file + ": not a saturation snapshot");
+		}
+		int version = in.getInt();
+		if (version != VERSION_) {
+			throw new IOException(file + ": unsupported version " + version);
+		}
+		if (in.getLong() != fingerprint) {
+			throw new IOException(
+					file + ": written for a different ontology");
+		}
+		int contextCount = in.getInt();
+		int objectCount = in.getInt();
+		int dictionaryOffset = (int) in.getLong();
+		ContextCodec codec = new EntryReader(in, index, elkFactory)
+				.read(dictionaryOffset, objectCount);
+		ContextCreatingSaturationStateWriter<?> writer = state
+				.getContextCreatingWriter();
+		for (int i = 0; i < contextCount; i++) {
+			IndexedContextRoot root = (IndexedContextRoot) codec
+					.getObject(ContextCodec.readInt(in));
+			int end = ContextCodec.readInt(in);
+			end += in.position();
+			codec.decode(in, writer.getCreateContext(root));
+			if (in.position() != end) {
+				throw new IOException(file + ": corrupted record of " + root);
+			}
+		}
+		return contextCount;
+	}
+
+	/**
+	 * Writes the dictionary entries of the indexed objects
+	 */
+	private static class EntryWriter extends DummyIndexedObjectVisitor<ByteBuffer> {
+
+		private final ContextCodec codec_;
+
+		EntryWriter(ContextCodec codec) {
+			this.codec_ = codec;
+		}
+
+		@Override
+		protected ByteBuffer defaultVisit(IndexedObject element) {
+			throw new ElkRuntimeException(
+					"Cannot write the indexed object " + element);
+		}
+
+		private ByteBuffer entity(int tag, String iri) {
+			codec_.begin();
+			codec_.writeInt(tag);
+			codec_.writeString(iri);
+			return codec_.end();
+		}
+
+		private ByteBuffer complex(int tag, Object... objects) {
+			codec_.begin();
+			codec_.writeInt(tag);
+			for (Object object : objects) {
+				codec_.writeInt(codec_.getCode(object));
+			}
+			return codec_.end();
+		}
+
+		private ByteBuffer list(int tag, List<?> objects) {
+			codec_.begin();
+			codec_.writeInt(tag);
+			codec_.writeInt(objects.size());
+			for (Object object : objects) {
+				codec_.writeInt(codec_.getCode(object));
+			}
+			return codec_.end();
+		}
+
+		@Override
+		public ByteBuffer visit(IndexedDefinedClass element) {
+			return entity(CLASS_,
+					element.getElkEntity().getIri().getFullIriAsString());
+		}
+
+		@Override
+		public ByteBuffer visit(IndexedPredefinedClass element) {
+			return entity(CLASS_,
+					element.getElkEntity().getIri().getFullIriAsString());
+		}
+
+		@Override
+		public ByteBuffer visit(IndexedIndividual element) {
+			return entity(INDIVIDUAL_,
+					element.getElkEntity().getIri().getFullIriAsString());
+		}
+
+		@Override
+		public ByteBuffer visit(IndexedObjectProperty element) {
+			return entity(OBJECT_PROPERTY_,
+					element.getElkEntity().getIri().getFullIriAsString());
+		}
+
+		@Override
+		public ByteBuffer visit(IndexedObjectSomeValuesFrom element) {
+			return complex(OBJECT_SOME_VALUES_FROM_, element.getProperty(),
+					element.getFiller());
+		}
+
+		@Override
+		public ByteBuffer visit(IndexedObjectIntersectionOf element) {
+			return complex(OBJECT_INTERSECTION_OF_, element.getFirstConjunct(),
+					element.getSecondConjunct());
+		}
+
+		@Override
+		public ByteBuffer visit(IndexedObjectComplementOf element) {
+			return complex(OBJECT_COMPLEMENT_OF_, element.getNegated());
+		}
+
+		@Override
+		public ByteBuffer visit(IndexedObjectUnionOf element) {
+			return list(OBJECT_UNION_OF_, element.getDisjuncts());
+		}
+
+		@Override
+		public ByteBuffer visit(IndexedObjectHasSelf element) {
+			return complex(OBJECT_HAS_SELF_, element.getProperty());
+		}
+
+		@Override
+		public ByteBuffer visit(IndexedDataHasValue element) {
+			ElkLiteral filler = element.getFiller();
+			codec_.begin();
+			codec_.writeInt(DATA_HAS_VALUE_);
+			codec_.writeString(
+					element.getRelation().getIri().getFullIriAsString());
+			codec_.writeString(filler.getLexicalForm());
+			codec_.writeString(
+					filler.getDatatype().getIri().getFullIriAsString());
+			return codec_.end();
+		}
+
+		@Override
+		public ByteBuffer visit(IndexedComplexPropertyChain element) {
+			return complex(COMPLEX_PROPERTY_CHAIN_, element.getFirstProperty(),
+					element.getSuffixChain());
+		}
+
+		@Override
+		public ByteBuffer visit(IndexedClassExpressionList element) {
+			return list(CLASS_EXPRESSION_LIST_, element.getElements());
+		}
+
+		@Override
+		public ByteBuffer visit(IndexedRangeFiller element) {
+			// range fillers are owned by the existentials with the same
+			// property and filler
+			return complex(RANGE_FILLER_, element.getProperty(),
+					element.getFiller());
+		}
+
+	}
+
+	/**
+	 * Resolves the dictionary entries in the ontology
+	 */
+	private static class EntryReader {
+
+		private final ByteBuffer in_;
+
+		private final ModifiableIndexedObject.Factory factory_;
+
+		private final ElkObject.Factory elkFactory_;
+
+		/**
+		 * the positions of the entries by the codes of the objects
+		 */
+		private int[] positions_;
+
+		private Object[] objects_;
+
+		EntryReader(ByteBuffer in, ModifiableIndexedObjectCache index,
+				ElkObject.Factory elkFactory) {
+			this.in_ = in;
+			this.factory_ = new ResolvingModifiableIndexedObjectFactory(index);
+			this.elkFactory_ = elkFactory;
+		}
+
+		/**
+		 * @return the {@link ContextCodec} in which the resolved objects have
+		 *         the codes of the entries
+		 */
+		ContextCodec read(int offset, int objectCount) throws IOException {
+			positions_ = new int[objectCount];
+			objects_ = new Object[objectCount];
+			ByteBuffer in = in_.duplicate();
+			in.position(offset);
+			for (int code = 0; code < objectCount; code++) {
+				int length = ContextCodec.readInt(in);
+				positions_[code] = in.position();
+				in.position(in.position() + length);
+			}
+			ContextCodec result = new ContextCodec();
+			for (int code = 0; code < objectCount; code++) {
+				result.add(resolve(code));
+			}
+			return result;
+		}
+
+		private Object resolve(int code) throws IOException {
+			Object result = objects_[code];
+			if (result != null) {
+				return result;
+			}
+			ByteBuffer in = in_.duplicate();
+			in.position(positions_[code]);
+			int tag = ContextCodec.readInt(in);
+			switch (tag) {
+			case CLASS_:
+				result = factory_.getIndexedClass(
+						elkFactory_.getClass(readIri(in)));
+				break;
+			case INDIVIDUAL_:
+				result = factory_.getIndexedIndividual(
+						elkFactory_.getNamedIndividual(readIri(in)));
+				break;
+			case OBJECT_PROPERTY_:
+				result = factory_.getIndexedObjectProperty(
+						elkFactory_.getObjectProperty(readIri(in)));
+				break;
+			case OBJECT_SOME_VALUES_FROM_:
+				result = factory_.getIndexedObjectSomeValuesFrom(
+						readProperty(in), readClassExpression(in));
+				break;
+			case OBJECT_INTERSECTION_OF_:
+				result = factory_.getIndexedObjectIntersectionOf(
+						readClassExpression(in), readClassExpression(in));
+				break;
+			case OBJECT_COMPLEMENT_OF_:
+				result = factory_
+						.getIndexedObjectComplementOf(readClassExpression(in));
+				break;
+			case OBJECT_UNION_OF_:
+				result = factory_
+						.getIndexedObjectUnionOf(readClassExpressions(in));
+				break;
+			case OBJECT_HAS_SELF_:
+				result = factory_.getIndexedObjectHasSelf(readProperty(in));
+				break;
+			case DATA_HAS_VALUE_:
+				result = factory_.getIndexedDataHasValue(
+						elkFactory_.getDataHasValue(
+								elkFactory_.getDataProperty(readIri(in)),
+								elkFactory_.getLiteral(
+										ContextCodec.readString(in),
+										elkFactory_.getDatatype(
+												readIri(in)))));
+				break;
+			case COMPLEX_PROPERTY_CHAIN_:
+				result = factory_.getIndexedComplexPropertyChain(
+						readProperty(in),
+						(ModifiableIndexedPropertyChain) resolve(
+								ContextCodec.readInt(in)));
+				break;
+			case CLASS_EXPRESSION_LIST_:
+				result = factory_
+						.getIndexedClassExpressionList(readClassExpressions(in));
+				break;
+			case RANGE_FILLER_:
+				IndexedObjectSomeValuesFrom existential = factory_
+						.getIndexedObjectSomeValuesFrom(readProperty(in),
+								readClassExpression(in));
+				if (existential != null) {
+					result = existential.getRangeFiller();
+				}
+				break;
+			default:
+				throw new IOException("Unknown dictionary entry: " + tag);
+			}
+			if (result == null) {
+				throw new IOException(
+						"A saturated object does not occur in the ontology");
+			}
+			objects_[code] = result;
+			return result;
+		}
+
+		private static ElkFullIri readIri(ByteBuffer in) {
+			return new ElkFullIri(ContextCodec.readString(in));
+		}
+
+		private ModifiableIndexedObjectProperty readProperty(ByteBuffer in)
+				throws IOException {
+			return (ModifiableIndexedObjectProperty) resolve(
+					ContextCodec.readInt(in));
+		}
+
+		private ModifiableIndexedClassExpression readClassExpression(
+				ByteBuffer in) throws IOException {
+			return (ModifiableIndexedClassExpression) resolve(
+					ContextCodec.readInt(in));
+		}
+
+		private List<ModifiableIndexedClassExpression> readClassExpressions(
+				ByteBuffer in) throws IOException {
+			int size = ContextCodec.readInt(in);
+			ModifiableIndexedClassExpression[] result = new ModifiableIndexedClassExpression[size];
+			for (int i = 0; i < size; i++) {
+				result[i] = readClassExpression(in);
+			}
+			return Arrays.asList(result);
+		}
+
+	}
+
+	/**
+	 * Buffers the bytes written to a {@link FileChannel}
+	 */
+	private static class Output {
+
+		private final FileChannel channel_;
+
+		private final ByteBuffer buffer_ = ByteBuffer.allocate(1 << 16);
+
+		/**
+		 * the number of bytes written to the channel
+		 */
+		private long written_ = HEADER_SIZE_;
+
+		Output(FileChannel channel) {
+			this.channel_ = channel;
+		}
+
+		long getPosition() {
+			return written_ + buffer_.position();
+		}
+
+		void writeInt(int value) throws IOException {
+			if (buffer_.remaining() < 5) {
+				flush();
+			}
+			while ((value & ~0x7F) != 0) {
+				buffer_.put((byte) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+			}
+			buffer_.put((byte) value);
+		}
+
+		/**
+		 * Writes the length of the record between the position and the limit
+		 * of the given buffer followed by the record
+		 */
+		void writeRecord(ByteBuffer record) throws IOException {
+			writeInt(record.remaining());
+			if (buffer_.remaining() < record.remaining()) {
+				flush();
+			}
+			if (buffer_.remaining() < record.remaining()) {
+				write(record);
+			} else {
+				buffer_.put(record);
+			}
+		}
+
+		void flush() throws IOException {
+			buffer_.flip();
+			write(buffer_);
+			buffer_.clear();
+		}
+
+		private void write(ByteBuffer buffer) throws IOException {
+			while (buffer.hasRemaining()) {
+				written_ += channel_.write(buffer, written_);
+			}
+		}
+
+	}
+
+}
@@ -25,6 +25,10 @@
  * #L%
  */
 
+import org.semanticweb.elk.reasoner.config.ContextSubsumerStorage;
+import org.semanticweb.elk.reasoner.config.ContextToDoStack;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.config.SaturationScheduling;
 import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
 
@@ -52,4 +56,39 @@ public static SaturationState<? extends Context> createSaturationState(
 		// MainContextFactory(),
 		// ontologyIndex.getIndexedClassExpressions().size());
 	}
+
+	/**
+	 * Creates a new {@link SaturationState} as set by the given
+	 * {@link ReasonerConfiguration}
+	 * 
+	 * @param ontologyIndex
+	 *            the {@link OntologyIndex} used by the new
+	 *            {@link SaturationState}
+	 * @param config
+	 *            the {@link ReasonerConfiguration} specifying
+	 *            {@link ReasonerConfiguration#SATURATION_SCHEDULING},
+	 *            {@link ReasonerConfiguration#CONTEXT_TODO_STACK},
+	 *            {@link ReasonerConfiguration#CONTEXT_SUBSUMER_STORAGE} and
+	 *            {@link ReasonerConfiguration#CONTEXT_SPILLING}
+	 * @return the new {@link SaturationState}
+	 */
+	public static SaturationState<? extends Context> createSaturationState(
+			OntologyIndex ontologyIndex, ReasonerConfiguration config) {
+		SaturationScheduling scheduling = (SaturationScheduling) config
+				.getParameter(ReasonerConfiguration.SATURATION_SCHEDULING);
+		ContextToDoStack toDoStack = (ContextToDoStack) config
+				.getParameter(ReasonerConfiguration.CONTEXT_TODO_STACK);
+		ContextSubsumerStorage subsumerStorage = (ContextSubsumerStorage) config
+				.getParameter(ReasonerConfiguration.CONTEXT_SUBSUMER_STORAGE);
+		MainContextFactory factory = new MainContextFactory(toDoStack,
+				subsumerStorage, ontologyIndex);
+		if (config.getParameterAsBoolean(
+				ReasonerConfiguration.CONTEXT_SPILLING)) {
+			return new SpillingSaturationState(ontologyIndex, factory,
+					scheduling);
+		}
+		// else
+		return new ReferenceSaturationState(ontologyIndex, factory,
+				scheduling);
+	}
 }
@@ -0,0 +1,186 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2014 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.semanticweb.elk.reasoner.config.SaturationScheduling;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+
+/**
+ * A {@link SaturationState} in which saturated {@link Context}s can be moved
+ * out of the heap by {@link #spillSaturatedContexts()}. A spilled
+ * {@link Context} is restored when it is requested by
+ * {@link #getContext(IndexedContextRoot)}, which is how rules and queries
+ * access the {@link Context}s of other roots. When {@link #getContexts()} is
+ * iterated, every spilled {@link Context} is restored only once the
+ * iteration reaches its root; incremental changes should instead use
+ * {@link #getContexts(Collection, Collection)}, which restores only the
+ * spilled {@link Context}s with the changed subsumers.
+ * 
+ * The {@link Context}s are spilled only between the stages of the reasoner,
+ * since a saturated {@link Context} can still receive conclusions while the
+ * saturation runs. Thus the heap still holds all {@link Context}s at the end
+ * of the first saturation, and only the {@link Context}s restored for later
+ * changes afterwards. The positions of the records and the codes of the
+ * indexed objects in them are kept in the heap as well.
+ * 
+ * @see ContextSpillStore
+ */
+public class SpillingSaturationState extends ReferenceSaturationState {
+
+	private final ContextFactory<ExtendedContext> factory_;
+
+	private final ContextSpillStore store_ = new ContextSpillStore();
+
+	public SpillingSaturationState(OntologyIndex index,
+			ContextFactory<ExtendedContext> factory,
+			SaturationScheduling scheduling) {
+		super(index, factory, scheduling);
+		this.factory_ = factory;
+	}
+
+	@Override
+	public Collection<ExtendedContext> getContexts() {
+		final Collection<ExtendedContext> contexts = super.getContexts();
+		return new AbstractCollection<ExtendedContext>() {
+
+			@Override
+			public Iterator<ExtendedContext> iterator() {
+				return new ContextIterator() {
+
+					@Override
+					ExtendedContext getAssignedContext(
+							IndexedContextRoot root) {
+						return getContext(root);
+					}
+
+				};
+			}
+
+			@Override
+			public boolean isEmpty() {
+				return store_.isEmpty() && contexts.isEmpty();
+			}
+
+			@Override
+			public int size() {
+				// spilled contexts are still counted
+				return contexts.size();
+			}
+
+		};
+	}
+
+	/**
+	 * Restores the spilled {@link Context}s that have some of the given
+	 * composed or decomposed subsumers; the other spilled {@link Context}s
+	 * are only read from the disk; should not be called while the
+	 * {@link Context}s are modified
+	 * 
+	 * @param composedSubsumers
+	 * @param decomposedSubsumers
+	 * @return the {@link Context}s in the heap, which include the restored
+	 *         {@link Context}s
+	 */
+	public Collection<ExtendedContext> getContexts(
+			Collection<? extends IndexedClassExpression> composedSubsumers,
+			Collection<? extends IndexedClassExpression> decomposedSubsumers) {
+		for (IndexedContextRoot root : store_.findRoots(composedSubsumers,
+				decomposedSubsumers)) {
+			restore(root);
+		}
+		return super.getContexts();
+	}
+
+	@Override
+	public ExtendedContext getContext(IndexedContextRoot root) {
+		ExtendedContext context = root.getContext();
+		if (context != null) {
+			return context;
+		}
+		// else
+		if (!store_.contains(root)) {
+			// the context could be restored after it was checked
+			return root.getContext();
+		}
+		// else
+		return restore(root);
+	}
+
+	/**
+	 * Moves all saturated {@link Context}s out of the heap; should not be
+	 * called while the {@link Context}s are modified
+	 * 
+	 * @return the number of {@link Context}s moved
+	 */
+	public synchronized int spillSaturatedContexts() {
+		int count = 0;
+		for (ExtendedContext context : super.getContexts()) {
+			if (context instanceof ContextImpl && context.isSaturated()) {
+				store_.spill((ContextImpl) context);
+				context.getRoot().resetContext();
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return the number of {@link Context}s that are currently out of the
+	 *         heap
+	 */
+	public int getSpilledContextCount() {
+		return store_.size();
+	}
+
+	private synchronized ExtendedContext restore(IndexedContextRoot root) {
+		ExtendedContext context = root.getContext();
+		if (context != null) {
+			// restored meanwhile
+			return context;
+		}
+		// else
+		context = factory_.createContext(root);
+		if (!store_.restore(context)) {
+			return null;
+		}
+		// else
+		root.setContextIfAbsent(context);
+		// the record is removed only after the context is assigned
+		store_.remove(root);
+		return context;
+	}
+
+	@Override
+	void resetContexts() {
+		store_.clear();
+		super.resetContexts();
+	}
+
+}
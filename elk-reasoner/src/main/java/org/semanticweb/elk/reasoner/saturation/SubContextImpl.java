@@ -98,6 +98,20 @@ public boolean isEmpty() {
 		return size_ == 0;
 	}
 
+	/**
+	 * Trims the tables of this {@link SubContext} to their sizes
+	 */
+	void compact() {
+		trimToSize();
+		if (propagatedSubsumers_ != null) {
+			if (propagatedSubsumers_.isEmpty()) {
+				propagatedSubsumers_ = null;
+			} else {
+				ContextImpl.trim(propagatedSubsumers_);
+			}
+		}
+	}
+
 	public class SubConclusionInserter implements
 			SubClassConclusion.Visitor<Boolean> {
 
@@ -0,0 +1,129 @@
+package org.semanticweb.elk.reasoner.saturation;
+
+/*-
+ * #%L
+ * ELK Reasoner Core
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2016 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+
+/**
+ * An {@link ActiveContextQueue} in which every thread adds the activated
+ * {@link Context}s to its own deque. A thread takes the {@link Context}s from
+ * its own deque in the LIFO order, which keeps the recently derived
+ * conclusions in cache, and when the deque is empty, steals the oldest
+ * {@link Context} from the deque of some other thread. A {@link Context} is
+ * therefore not found only after the deques of all threads were seen empty,
+ * which is what the shared queue guarantees too. A thread that finds no
+ * {@link Context} gives up its deque, which is then empty, so that the deques
+ * of finished workers are not kept by their (possibly pooled) threads; the
+ * next {@link Context} added by the thread gets it a new deque.
+ * 
+ * @see org.semanticweb.elk.reasoner.config.SaturationScheduling#WORK_STEALING
+ */
+class WorkStealingActiveContextQueue implements ActiveContextQueue {
+
+	private static class WorkerDeque {
+
+		final Thread owner = Thread.currentThread();
+
+		final Deque<Context> contexts = new ConcurrentLinkedDeque<Context>();
+
+	}
+
+	/**
+	 * the deques of all threads that have added {@link Context}s
+	 */
+	private final List<WorkerDeque> deques_ = new CopyOnWriteArrayList<WorkerDeque>();
+
+	/**
+	 * the deque of the current thread, if it has one
+	 */
+	private final ThreadLocal<WorkerDeque> localDeque_ = new ThreadLocal<WorkerDeque>();
+
+	@Override
+	public void add(Context context) {
+		WorkerDeque local = localDeque_.get();
+		if (local == null) {
+			local = new WorkerDeque();
+			deques_.add(local);
+			localDeque_.set(local);
+		}
+		local.contexts.addFirst(context);
+	}
+
+	@Override
+	public Context poll() {
+		WorkerDeque local = localDeque_.get();
+		if (local != null) {
+			Context next = local.contexts.pollFirst();
+			if (next != null) {
+				return next;
+			}
+		}
+		// else
+		Context next = steal(local);
+		if (next == null && local != null) {
+			// only this thread adds to its deque, so it stays empty
+			localDeque_.remove();
+			deques_.remove(local);
+		}
+		return next;
+	}
+
+	private Context steal(WorkerDeque local) {
+		Object[] deques = deques_.toArray();
+		int size = deques.length;
+		if (size == 0) {
+			return null;
+		}
+		// start from a random victim to spread the thieves
+		int start = ThreadLocalRandom.current().nextInt(size);
+		for (int i = 0; i < size; i++) {
+			WorkerDeque victim = (WorkerDeque) deques[(start + i) % size];
+			if (victim == local) {
+				continue;
+			}
+			Context next = victim.contexts.pollLast();
+			if (next != null) {
+				return next;
+			}
+			// only the owner adds to its deque
+			if (!victim.owner.isAlive() && victim.contexts.isEmpty()) {
+				deques_.remove(victim);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void clear() {
+		for (WorkerDeque deque : deques_) {
+			deque.contexts.clear();
+		}
+	}
+
+}
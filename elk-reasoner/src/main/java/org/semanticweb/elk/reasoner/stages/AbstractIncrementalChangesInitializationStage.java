@@ -22,9 +22,18 @@
  */
 package org.semanticweb.elk.reasoner.stages;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.semanticweb.elk.reasoner.incremental.IncrementalChangesInitialization;
 import org.semanticweb.elk.reasoner.incremental.IncrementalStages;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedDefinedClass;
 import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
+import org.semanticweb.elk.reasoner.saturation.SpillingSaturationState;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+import org.semanticweb.elk.reasoner.saturation.rules.contextinit.LinkedContextInitRule;
+import org.semanticweb.elk.reasoner.saturation.rules.subsumers.LinkedSubsumerRule;
 
 /**
  * The base stage for initializing additions and deletions
@@ -52,6 +61,26 @@ public String getName() {
 		return stage().toString();
 	}
 
+	/**
+	 * @return the {@link Context}s to which the given changed rules should be
+	 *         applied; if the {@link Context}s are spilled, only those with
+	 *         subsumers of the changed rules are restored, unless the
+	 *         {@link LinkedContextInitRule}s are changed
+	 */
+	Collection<? extends Context> getContextsToInitialize(
+			LinkedContextInitRule changedInitRules,
+			Map<? extends IndexedClassExpression, ? extends LinkedSubsumerRule> changedRulesByCE,
+			Map<? extends IndexedDefinedClass, ? extends IndexedClassExpression> changedDefinitions) {
+		if (changedInitRules == null
+				&& reasoner.saturationState instanceof SpillingSaturationState) {
+			return ((SpillingSaturationState) reasoner.saturationState)
+					.getContexts(changedRulesByCE.keySet(),
+							changedDefinitions.keySet());
+		}
+		// else
+		return reasoner.saturationState.getContexts();
+	}
+
 	@Override
 	public void executeStage() throws ElkInterruptedException {
 		if (isInterrupted())
@@ -22,6 +22,8 @@
  */
 package org.semanticweb.elk.reasoner.stages;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -51,7 +53,9 @@
 import org.semanticweb.elk.reasoner.completeness.IncompletenessMonitor;
 import org.semanticweb.elk.reasoner.completeness.OccurrencesInOntology;
 import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.config.SubsumerPruning;
 import org.semanticweb.elk.reasoner.consistency.ConsistencyCheckingState;
+import org.semanticweb.elk.reasoner.indexing.classes.ConcurrentChangeIndexing;
 import org.semanticweb.elk.reasoner.indexing.classes.DifferentialIndex;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverterImpl;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkPolarityExpressionConverter;
@@ -66,15 +70,18 @@
 import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
 import org.semanticweb.elk.reasoner.query.QueryNode;
 import org.semanticweb.elk.reasoner.query.VerifiableQueryResult;
+import org.semanticweb.elk.reasoner.saturation.SaturationSnapshot;
 import org.semanticweb.elk.reasoner.saturation.SaturationState;
 import org.semanticweb.elk.reasoner.saturation.SaturationStateFactory;
 import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
+import org.semanticweb.elk.reasoner.saturation.SpillingSaturationState;
 import org.semanticweb.elk.reasoner.saturation.conclusions.classes.SaturationConclusionBaseFactory;
 import org.semanticweb.elk.reasoner.saturation.conclusions.model.SaturationConclusion;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
 import org.semanticweb.elk.reasoner.taxonomy.ElkClassKeyProvider;
 import org.semanticweb.elk.reasoner.taxonomy.ElkIndividualKeyProvider;
 import org.semanticweb.elk.reasoner.taxonomy.ElkObjectPropertyKeyProvider;
+import org.semanticweb.elk.reasoner.taxonomy.FrozenTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.OrphanInstanceNode;
 import org.semanticweb.elk.reasoner.taxonomy.OrphanTaxonomyNode;
 import org.semanticweb.elk.reasoner.taxonomy.OrphanTypeNode;
@@ -148,6 +155,10 @@ public abstract class AbstractReasonerState implements TracingProof {
 	 * Taxonomy state that stores (partial) classification
 	 */
 	final ClassTaxonomyState classTaxonomyState;
+	/**
+	 * Keeps track of the contexts to compact
+	 */
+	final ContextCompactionState contextCompactionState;
 	/**
 	 * Taxonomy state that stores property hierarchy
 	 */
@@ -206,7 +217,7 @@ protected AbstractReasonerState(ElkObject.Factory elkFactory,
 		this.ontologyIndex = new DifferentialIndex(elkFactory);
 		this.propertyHierarchyCompositionState_ = new PropertyHierarchyCompositionState();
 		this.saturationState = SaturationStateFactory
-				.createSaturationState(ontologyIndex);
+				.createSaturationState(ontologyIndex, config);
 		this.consistencyCheckingState = ConsistencyCheckingState
 				.create(saturationState, propertyHierarchyCompositionState_);
 		this.instanceTaxonomyState = new InstanceTaxonomyState(saturationState,
@@ -214,6 +225,8 @@ protected AbstractReasonerState(ElkObject.Factory elkFactory,
 		this.classTaxonomyState = new ClassTaxonomyState(saturationState,
 				ontologyIndex, elkFactory, Arrays.asList(
 						instanceTaxonomyState.getClassTaxonomyStateListener()));
+		this.contextCompactionState = new ContextCompactionState(
+				saturationState);
 		this.objectPropertyTaxonomyState = new ObjectPropertyTaxonomyState(
 				elkFactory);
 		this.ruleAndConclusionStats = new SaturationStatistics();
@@ -421,6 +434,49 @@ private void restoreSaturation() throws ElkException {
 	 */
 	protected abstract int getNumberOfWorkers();
 
+	/**
+	 * @return the number of inputs that are handed over at once to the
+	 *         workers of concurrent reasoning tasks with many small inputs
+	 */
+	protected abstract int getInputChunkSize();
+
+	/**
+	 * @return {@code true} if the memory used by the saturated contexts should
+	 *         be reduced after the class taxonomy is computed
+	 */
+	protected abstract boolean isContextCompactionEnabled();
+
+	/**
+	 * @return {@code true} if the saturated contexts should be moved out of
+	 *         the heap after the class taxonomy is computed; this requires
+	 *         that the saturation state was created with
+	 *         {@link ReasonerConfiguration#CONTEXT_SPILLING}, otherwise the
+	 *         computation of the class taxonomy fails
+	 */
+	protected abstract boolean isContextSpillingEnabled();
+
+	/**
+	 * @return {@code true} if the loaded axioms should be converted by
+	 *         several workers and then committed to the index in the order in
+	 *         which they were loaded
+	 * 
+	 * @see ConcurrentChangeIndexing
+	 */
+	protected abstract boolean isConcurrentIndexingEnabled();
+
+	/**
+	 * @return {@code true} if the direct super-classes of the classes affected
+	 *         by incremental changes should be recomputed using their previous
+	 *         direct super-classes
+	 */
+	protected abstract boolean isIncrementalReductionEnabled();
+
+	/**
+	 * @return how the candidate direct super-classes are pruned when
+	 *         computing the class taxonomy
+	 */
+	protected abstract SubsumerPruning getSubsumerPruning();
+
 	/**
 	 * @return the {@link ReasonerStageExecutor} that is used for executing the
 	 *         stages of the reasoner.
@@ -522,6 +578,12 @@ private void restoreTaxonomy()
 		}
 
 		complete(stageManager.classTaxonomyComputationStage);
+		if (isContextCompactionEnabled()) {
+			complete(stageManager.contextCompactionStage);
+		}
+		if (isContextSpillingEnabled()) {
+			complete(stageManager.contextSpillingStage);
+		}
 	}
 
 	/**
@@ -593,6 +655,113 @@ public synchronized IncompleteResult<? extends Taxonomy<ElkClass>> getTaxonomyQu
 		}
 	}
 
+	/**
+	 * Compute the inferred taxonomy of the named classes for the given ontology
+	 * if it has not been done yet and return its immutable copy. The copy can
+	 * be queried from many threads without locking the reasoner, but it does
+	 * not reflect the later changes of the ontology. The same copy is returned
+	 * until the taxonomy changes, so that the index of its transitive closure
+	 * is built only once per change.
+	 *
+	 * @return a {@link FrozenTaxonomy} of the class taxonomy implied by the
+	 *         current ontology
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 * @see #getTaxonomy()
+	 * @see FrozenTaxonomy#getClosure()
+	 */
+	public synchronized IncompleteResult<FrozenTaxonomy<ElkClass>> getFrozenTaxonomy()
+			throws ElkInconsistentOntologyException, ElkException {
+		restoreTaxonomy();
+		return new IncompleteResult<>(classTaxonomyState.getFrozenTaxonomy(),
+				incompletenessManager_.getClassTaxonomyMonitor());
+	}
+
+	/**
+	 * Writes the saturated contexts to the given file, from which they can be
+	 * read by {@link #loadSaturation(Path, long)} into a reasoner for the same
+	 * ontology. The class taxonomy is computed first if it has not been
+	 * computed yet.
+	 * 
+	 * @param file
+	 *            the file to write
+	 * @param fingerprint
+	 *            identifies the ontology, e.g., a hash of its axioms; the same
+	 *            value should be used to load the file
+	 * @throws ElkInconsistentOntologyException
+	 *             if the ontology is inconsistent
+	 * @throws ElkException
+	 *             if the reasoning process cannot be completed successfully
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public synchronized void saveSaturation(Path file, long fingerprint)
+			throws ElkException, IOException {
+		restoreTaxonomy();
+		int count = SaturationSnapshot.write(saturationState, file,
+				fingerprint);
+		LOGGER_.debug("{}: {} contexts saved", file, count);
+	}
+
+	/**
+	 * Reads the saturated contexts from the given file written by
+	 * {@link #saveSaturation(Path, long)} for the loaded ontology. This should
+	 * be done after the ontology is loaded and before any reasoning task;
+	 * afterwards, only the transitive reduction is computed for the class
+	 * taxonomy and changes of the ontology are processed incrementally as
+	 * usual.
+	 * 
+	 * @param file
+	 *            the file to read
+	 * @param fingerprint
+	 *            the value with which the file was saved
+	 * @throws ElkException
+	 *             if the ontology cannot be loaded
+	 * @throws IOException
+	 *             if the file cannot be read or was not saved for the loaded
+	 *             ontology with the given fingerprint
+	 */
+	public synchronized void loadSaturation(Path file, long fingerprint)
+			throws ElkException, IOException {
+		restoreSaturation();
+		if (!saturationState.getContexts().isEmpty()) {
+			throw new ElkRuntimeException(
+					"The saturation can be loaded only before reasoning");
+		}
+		int count = SaturationSnapshot.read(saturationState, ontologyIndex,
+				elkFactory_, file, fingerprint);
+		LOGGER_.debug("{}: {} contexts loaded", file, count);
+	}
+
+	/**
+	 * Returns the classes whose equivalent classes or direct super-classes
+	 * changed in the last completed computation of the class taxonomy,
+	 * including the classes added to or removed from it. This does not trigger
+	 * any computation; after an incremental update it is usually much smaller
+	 * than the taxonomy.
+	 * 
+	 * @return the classes whose position in the class taxonomy changed
+	 */
+	public synchronized Set<ElkClass> getChangedClasses() {
+		return classTaxonomyState.getChangedClasses();
+	}
+
+	/**
+	 * @return the number of saturated contexts that are currently moved out of
+	 *         the heap, which is always {@code 0} if the saturation state was
+	 *         not created with {@link ReasonerConfiguration#CONTEXT_SPILLING}
+	 */
+	public synchronized int getSpilledContextCount() {
+		if (saturationState instanceof SpillingSaturationState) {
+			return ((SpillingSaturationState) saturationState)
+					.getSpilledContextCount();
+		}
+		// else
+		return 0;
+	}
+
 	/**
 	 * Completes instance taxonomy computation stage and the stages that it
 	 * depends on, if this has not been done yet.
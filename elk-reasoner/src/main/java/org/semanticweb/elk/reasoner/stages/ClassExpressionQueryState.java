@@ -757,10 +757,11 @@ Set<? extends Node<ElkClass>> getDirectSubClasses(
 				allClasses.size());
 
 		for (final IndexedClass ic : allClasses) {
-			final Set<IndexedClassExpression> subsumers = ic.getContext()
-					.getComposedSubsumers();
-			if (subsumers.contains(state.indexed) && state.indexed.getContext()
-					.getComposedSubsumers().size() != subsumers.size()) {
+			final Set<IndexedClassExpression> subsumers = saturationState_
+					.getContext(ic).getComposedSubsumers();
+			if (subsumers.contains(state.indexed)
+					&& saturationState_.getContext(state.indexed)
+							.getComposedSubsumers().size() != subsumers.size()) {
 				// is subclass, but not equivalent
 				strictSubclasses.add(ic);
 			}
@@ -849,8 +850,8 @@ Set<? extends Node<ElkNamedIndividual>> getDirectInstances(
 				allIndividuals.size());
 
 		for (final IndexedIndividual ii : allIndividuals) {
-			final Set<IndexedClassExpression> subsumers = ii.getContext()
-					.getComposedSubsumers();
+			final Set<IndexedClassExpression> subsumers = saturationState_
+					.getContext(ii).getComposedSubsumers();
 			if (subsumers.contains(state.indexed)) {
 				instances.add(ii);
 			}
@@ -872,11 +873,12 @@ Set<? extends Node<ElkNamedIndividual>> getDirectInstances(
 				final IndexedClassExpression type = typeNode
 						.getCanonicalMember()
 						.accept(resolvingExpressionConverter_);
-				final Set<IndexedClassExpression> subsumers = type.getContext()
-						.getComposedSubsumers();
+				final Set<IndexedClassExpression> subsumers = saturationState_
+						.getContext(type).getComposedSubsumers();
 				if (subsumers.contains(state.indexed)
-						&& state.indexed.getContext().getComposedSubsumers()
-								.size() != subsumers.size()) {
+						&& saturationState_.getContext(state.indexed)
+								.getComposedSubsumers().size() != subsumers
+										.size()) {
 					// is subclass, but not equivalent
 					isDirect = false;
 					break;
@@ -70,7 +70,8 @@ public boolean preExecute() {
 		this.computation_ = new ClassExpressionSaturation<IndexedClass>(
 				reasoner.ontologyIndex.getClasses(),
 				reasoner.getProcessExecutor(), workerNo,
-				reasoner.getProgressMonitor(), ruleFactory);
+				reasoner.getProgressMonitor(), ruleFactory,
+				reasoner.getInputChunkSize());
 		LOGGER_.info("{} using {} workers", this, workerNo);
 		return true;
 	}
@@ -64,7 +64,11 @@ public boolean preExecute() {
 				Operations.split(toAdd, 64), reasoner.getInterrupter(),
 				reasoner.getProcessExecutor(), workerNo,
 				reasoner.getProgressMonitor(), reasoner.saturationState,
-				reasoner.classTaxonomyState.getTaxonomy());
+				reasoner.classTaxonomyState.getTaxonomy(),
+				reasoner.isIncrementalReductionEnabled()
+						? reasoner.classTaxonomyState.getReductionHistory()
+						: null,
+				reasoner.getSubsumerPruning());
 
 		return true;
 	}
@@ -24,9 +24,13 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
@@ -40,6 +44,7 @@
 import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
 import org.semanticweb.elk.reasoner.indexing.model.ModifiableIndexedClassExpression;
 import org.semanticweb.elk.reasoner.indexing.model.OntologyIndex;
+import org.semanticweb.elk.reasoner.reduction.TransitiveReductionHistory;
 import org.semanticweb.elk.reasoner.saturation.SaturationState;
 import org.semanticweb.elk.reasoner.saturation.SaturationStateDummyChangeListener;
 import org.semanticweb.elk.reasoner.saturation.context.Context;
@@ -47,6 +52,7 @@
 import org.semanticweb.elk.reasoner.taxonomy.DummyNodeStoreListener;
 import org.semanticweb.elk.reasoner.taxonomy.DummyTaxonomyListener;
 import org.semanticweb.elk.reasoner.taxonomy.ElkClassKeyProvider;
+import org.semanticweb.elk.reasoner.taxonomy.FrozenTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.Node;
 import org.semanticweb.elk.reasoner.taxonomy.model.NodeStore;
 import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
@@ -71,6 +77,12 @@ public class ClassTaxonomyState {
 
 	private UpdateableTaxonomy<ElkClass> taxonomy_ = null;
 
+	/**
+	 * the copy of {@link #taxonomy_} returned by {@link #getFrozenTaxonomy()}
+	 * until the taxonomy changes; {@code null} if not made yet
+	 */
+	private FrozenTaxonomy<ElkClass> frozenTaxonomy_ = null;
+
 	/**
 	 * Contains at least all classes that are in ontology, but either were
 	 * removed from taxonomy or their super-nodes in taxonomy were removed since
@@ -84,6 +96,31 @@ public class ClassTaxonomyState {
 	 * last completed construction of the taxonomy.
 	 */
 	private final ConcurrentHashMap<IndexedClass,IndexedClass> toRemove_ = new ConcurrentHashMap<>();
+
+	/**
+	 * The equivalent and direct super-classes, in the last completed taxonomy,
+	 * of the classes whose node is about to be removed or whose direct
+	 * super-node is about to be removed.
+	 */
+	private final Map<ElkClass, NodeState> previousNodeStates_ = new HashMap<ElkClass, NodeState>();
+
+	/**
+	 * The classes whose nodes are removed from the taxonomy since its last
+	 * completed construction because their subsumers may have changed.
+	 */
+	private final Set<ElkClass> removed_ = new HashSet<ElkClass>();
+
+	/**
+	 * The classes that are being added to the taxonomy since its last
+	 * completed construction.
+	 */
+	private final Set<ElkClass> added_ = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The classes whose equivalent or direct super-classes changed in the last
+	 * completed construction of the taxonomy.
+	 */
+	private Set<ElkClass> changed_ = Collections.emptySet();
 	
 	private final ElkObject.Factory elkFactory_;
 
@@ -95,6 +132,26 @@ public class ClassTaxonomyState {
 
 	private final List<Listener> listeners_ = new ArrayList<Listener>();
 
+	private final TransitiveReductionHistory reductionHistory_ = new TransitiveReductionHistory() {
+
+		@Override
+		public Set<ElkClass> getPreviousEquivalentAndDirect(
+				final IndexedClass root) {
+			final NodeState state = previousNodeStates_
+					.get(root.getElkEntity());
+			return state == null ? null : state.equivalentAndDirect_;
+		}
+
+		@Override
+		public boolean isChanged(final IndexedClass cls) {
+			final ElkClass elkClass = cls.getElkEntity();
+			return removed_.contains(elkClass)
+					|| (added_.contains(elkClass)
+							&& !previousNodeStates_.containsKey(elkClass));
+		}
+
+	};
+
 	<C extends Context> ClassTaxonomyState(
 			final SaturationState<C> saturationState,
 			final DifferentialIndex ontologyIndex,
@@ -196,6 +253,33 @@ public UpdateableTaxonomy<ElkClass> getTaxonomy() {
 		return taxonomy_;
 	}
 
+	/**
+	 * Returns the equivalent and direct super-classes that the classes
+	 * affected by the changes had in the last completed taxonomy. They are
+	 * recorded by {@link #recordPreviousNodes(Collection)} and can be used
+	 * until the taxonomy is complete again.
+	 * 
+	 * @return the {@link TransitiveReductionHistory} for the construction of
+	 *         the taxonomy in progress
+	 */
+	TransitiveReductionHistory getReductionHistory() {
+		return reductionHistory_;
+	}
+
+	/**
+	 * Returns an immutable copy of the taxonomy. The taxonomy should be
+	 * complete. The copy is made only if the taxonomy has changed since the
+	 * previous call.
+	 * 
+	 * @return the {@link FrozenTaxonomy} of {@link #getTaxonomy()}
+	 */
+	public FrozenTaxonomy<ElkClass> getFrozenTaxonomy() {
+		if (frozenTaxonomy_ == null) {
+			frozenTaxonomy_ = new FrozenTaxonomy<ElkClass>(taxonomy_);
+		}
+		return frozenTaxonomy_;
+	}
+
 	private void addToAdd(final ElkClass elkClass) {
 		final ModifiableIndexedClassExpression converted = elkClass
 				.accept(converter_);
@@ -269,6 +353,9 @@ private int pruneToAdd() {
 	 */
 	Collection<IndexedClass> getToAdd() {
 		final int size = pruneToAdd();
+		for (final IndexedClass cls : toAdd_) {
+			added_.add(cls.getElkEntity());
+		}
 		/*
 		 * since getting the size of the queue is a linear operation, use the
 		 * computed size
@@ -321,6 +408,74 @@ Collection<IndexedClass> getToRemove() {
 		return toRemove_.keySet();
 	}
 
+	/**
+	 * Records the equivalent and direct super-classes of the classes that are
+	 * affected by removing the nodes of the given classes from the taxonomy,
+	 * so that {@link #getChangedClasses()} can report only the classes for
+	 * which they actually change. Must be called before the removal.
+	 * 
+	 * @param toRemove
+	 *            the classes whose nodes are going to be removed
+	 */
+	void recordPreviousNodes(final Collection<IndexedClass> toRemove) {
+		for (final IndexedClass cls : toRemove) {
+			final TaxonomyNode<ElkClass> node = taxonomy_
+					.getNode(cls.getElkEntity());
+			if (node == null) {
+				continue;
+			}
+			removed_.add(cls.getElkEntity());
+			recordPreviousNode(node);
+			for (final TaxonomyNode<ElkClass> subNode : node
+					.getDirectSubNodes()) {
+				recordPreviousNode(subNode);
+			}
+		}
+	}
+
+	private void recordPreviousNode(final TaxonomyNode<ElkClass> node) {
+		NodeState state = null;
+		for (final ElkClass member : node) {
+			if (previousNodeStates_.containsKey(member)) {
+				continue;
+			}
+			if (state == null) {
+				state = new NodeState(node);
+			}
+			previousNodeStates_.put(member, state);
+		}
+	}
+
+	/**
+	 * Returns the classes whose equivalent classes or direct super-classes
+	 * changed in the last completed construction of the taxonomy, including the
+	 * classes that were added to or removed from it. After a construction from
+	 * scratch these are all classes in the taxonomy.
+	 * 
+	 * @return the classes whose position in the taxonomy changed
+	 */
+	public Set<ElkClass> getChangedClasses() {
+		return changed_;
+	}
+
+	private Set<ElkClass> computeChangedClasses() {
+		final Set<ElkClass> changed = new HashSet<ElkClass>();
+		for (final ElkClass elkClass : added_) {
+			if (!previousNodeStates_.containsKey(elkClass)) {
+				changed.add(elkClass);
+			}
+		}
+		for (final Map.Entry<ElkClass, NodeState> entry : previousNodeStates_
+				.entrySet()) {
+			final ElkClass elkClass = entry.getKey();
+			final TaxonomyNode<ElkClass> node = taxonomy_.getNode(elkClass);
+			if (node == null || !entry.getValue().equals(new NodeState(node))) {
+				changed.add(elkClass);
+			}
+		}
+		return changed;
+	}
+
 	void resetTaxonomy() {
 		LOGGER_.trace("Reset class taxonomy");
 
@@ -331,6 +486,7 @@ void resetTaxonomy() {
 		}
 		taxonomy_ = new ConcurrentClassTaxonomy(elkFactory_,
 				ElkClassKeyProvider.INSTANCE);
+		frozenTaxonomy_ = null;
 		for (final Listener listener : listeners_) {
 			listener.taxonomyReset(old, taxonomy_);
 		}
@@ -341,6 +497,9 @@ void resetTaxonomy() {
 		toRemove_.clear();
 		toAdd_.clear();
 		toAdd_.addAll(ontologyIndex_.getClasses());
+		previousNodeStates_.clear();
+		removed_.clear();
+		added_.clear();
 
 	}
 
@@ -349,9 +508,18 @@ void resetTaxonomy() {
 	 * completely construction.
 	 */
 	void taxonomyComplete() {
+		changed_ = Collections.unmodifiableSet(computeChangedClasses());
+		LOGGER_.trace("Changed classes: {}", changed_.size());
+		if (!changed_.isEmpty()) {
+			// the copy is still valid if no class has moved
+			frozenTaxonomy_ = null;
+		}
 		// Clear pending classes.
 		toRemove_.clear();
 		toAdd_.clear();
+		previousNodeStates_.clear();
+		removed_.clear();
+		added_.clear();
 	}
 
 	void addListener(final Listener listener) {
@@ -362,6 +530,54 @@ void removeListener(final Listener listener) {
 		listeners_.remove(listener);
 	}
 
+	/**
+	 * The members of a taxonomy node and of its direct super-nodes
+	 */
+	private static class NodeState {
+
+		private final Set<ElkClass> equivalent_ = new HashSet<ElkClass>();
+
+		private final Set<ElkClass> directSuper_ = new HashSet<ElkClass>();
+
+		/**
+		 * the union of {@link #equivalent_} and {@link #directSuper_}
+		 */
+		private final Set<ElkClass> equivalentAndDirect_ = new HashSet<ElkClass>();
+
+		NodeState(final TaxonomyNode<ElkClass> node) {
+			for (final ElkClass member : node) {
+				equivalent_.add(member);
+			}
+			for (final TaxonomyNode<ElkClass> superNode : node
+					.getDirectSuperNodes()) {
+				for (final ElkClass member : superNode) {
+					directSuper_.add(member);
+				}
+			}
+			equivalentAndDirect_.addAll(equivalent_);
+			equivalentAndDirect_.addAll(directSuper_);
+		}
+
+		@Override
+		public int hashCode() {
+			return equivalent_.hashCode() * 31 + directSuper_.hashCode();
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof NodeState)) {
+				return false;
+			}
+			final NodeState other = (NodeState) obj;
+			return equivalent_.equals(other.equivalent_)
+					&& directSuper_.equals(other.directSuper_);
+		}
+
+	}
+
 	static interface Listener {
 
 		/**
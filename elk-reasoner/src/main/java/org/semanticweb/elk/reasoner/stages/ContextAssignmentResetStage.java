@@ -68,6 +68,8 @@ public void executeStage() throws ElkInterruptedException {
 		SaturationStateWriter<?> writer = reasoner.saturationState
 				.getContextModifyingWriter();
 		writer.resetContexts();
+		// no conclusions refer to the removed class expressions anymore
+		reasoner.ontologyIndex.recycleRemovedIds();
 	}
 
 	@Override
@@ -0,0 +1,79 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.stages;
+
+import org.semanticweb.elk.reasoner.saturation.ContextCompaction;
+import org.semanticweb.elk.reasoner.saturation.ExtendedContext;
+
+/**
+ * Reduces the memory used by the saturated contexts once the class taxonomy is
+ * computed, so that the contexts kept between incremental changes take less
+ * space. After the first run, only the contexts saturated or modified since the
+ * previous run are compacted.
+ * 
+ * @see ExtendedContext#compact()
+ */
+public class ContextCompactionStage extends AbstractReasonerStage {
+
+	private ContextCompaction computation_ = null;
+
+	public ContextCompactionStage(AbstractReasonerState reasoner,
+			AbstractReasonerStage... preStages) {
+		super(reasoner, preStages);
+	}
+
+	@Override
+	public String getName() {
+		return "Context Compaction";
+	}
+
+	@Override
+	public boolean preExecute() {
+		if (!super.preExecute())
+			return false;
+		this.computation_ = new ContextCompaction(
+				reasoner.contextCompactionState.getContextsToCompact(),
+				reasoner.getInterrupter(), reasoner.getProcessExecutor(),
+				workerNo, reasoner.getProgressMonitor());
+		return true;
+	}
+
+	@Override
+	public void executeStage() throws ElkInterruptedException {
+		computation_.process();
+	}
+
+	@Override
+	public boolean postExecute() {
+		if (!super.postExecute())
+			return false;
+		reasoner.contextCompactionState.compacted();
+		this.computation_ = null;
+		return true;
+	}
+
+	@Override
+	public void printInfo() {
+		// nothing to print
+	}
+
+}
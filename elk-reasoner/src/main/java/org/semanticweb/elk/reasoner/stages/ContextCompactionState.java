@@ -0,0 +1,104 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.stages;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.semanticweb.elk.reasoner.saturation.SaturationState;
+import org.semanticweb.elk.reasoner.saturation.SaturationStateDummyChangeListener;
+import org.semanticweb.elk.reasoner.saturation.context.Context;
+
+/**
+ * Keeps track of the contexts that were saturated or modified after the last
+ * context compaction, so that only they are compacted next time.
+ * 
+ * @see ContextCompactionStage
+ */
+class ContextCompactionState {
+
+	private final SaturationState<? extends Context> saturationState_;
+
+	/**
+	 * the contexts saturated or modified after the last compaction; is
+	 * {@code null} until the first compaction is finished, so that the
+	 * contexts are not tracked if they are never compacted
+	 */
+	private Set<Context> toCompact_ = null;
+
+	ContextCompactionState(
+			final SaturationState<? extends Context> saturationState) {
+		this.saturationState_ = saturationState;
+	}
+
+	/**
+	 * @return the contexts that should be compacted: all contexts for the
+	 *         first compaction, and the contexts that were saturated or
+	 *         modified after it otherwise
+	 */
+	Collection<? extends Context> getContextsToCompact() {
+		if (toCompact_ == null) {
+			return saturationState_.getContexts();
+		}
+		// else
+		return toCompact_;
+	}
+
+	/**
+	 * Should be called after the contexts returned by
+	 * {@link #getContextsToCompact()} are compacted
+	 */
+	void compacted() {
+		if (toCompact_ == null) {
+			toCompact_ = Collections
+					.newSetFromMap(new ConcurrentHashMap<Context, Boolean>());
+			registerListener(saturationState_);
+		} else {
+			toCompact_.clear();
+		}
+	}
+
+	private <C extends Context> void registerListener(
+			final SaturationState<C> saturationState) {
+		saturationState.addListener(new SaturationStateDummyChangeListener<C>() {
+
+			@Override
+			public void contextMarkedSaturated(C context) {
+				toCompact_.add(context);
+			}
+
+			@Override
+			public void saturatedContextModified(C context) {
+				toCompact_.add(context);
+			}
+
+			@Override
+			public void contextsClear() {
+				toCompact_.clear();
+			}
+
+		});
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.stages;
+
+import org.semanticweb.elk.exceptions.ElkRuntimeException;
+import org.semanticweb.elk.reasoner.saturation.SpillingSaturationState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moves the saturated contexts out of the heap once the class taxonomy is
+ * computed. The saturation state must be a {@link SpillingSaturationState},
+ * which is created if context spilling is enabled when the reasoner is
+ * created. The contexts are restored when they are accessed again.
+ * 
+ * @see SpillingSaturationState#spillSaturatedContexts()
+ */
+public class ContextSpillingStage extends AbstractReasonerStage {
+
+	// logger for events
+	private static final Logger LOGGER_ = LoggerFactory
+			.getLogger(ContextSpillingStage.class);
+
+	/**
+	 * The number of contexts moved during the stage
+	 */
+	private int spilledCount_ = 0;
+
+	public ContextSpillingStage(AbstractReasonerState reasoner,
+			AbstractReasonerStage... preStages) {
+		super(reasoner, preStages);
+	}
+
+	@Override
+	public String getName() {
+		return "Context Spilling";
+	}
+
+	@Override
+	public void executeStage() throws ElkInterruptedException {
+		if (!(reasoner.saturationState instanceof SpillingSaturationState)) {
+			throw new ElkRuntimeException(getName()
+					+ ": the saturation state does not support spilling;"
+					+ " context spilling must be enabled when the reasoner is created");
+		}
+		// else
+		spilledCount_ = ((SpillingSaturationState) reasoner.saturationState)
+				.spillSaturatedContexts();
+	}
+
+	@Override
+	public void printInfo() {
+		if (spilledCount_ > 0)
+			LOGGER_.debug("Contexts spilled: {}", spilledCount_);
+	}
+
+}
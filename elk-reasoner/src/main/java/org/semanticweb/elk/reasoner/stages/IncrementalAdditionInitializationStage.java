@@ -151,8 +151,8 @@ public IndexedClassExpression visit(
 
 		if (changedInitRules != null || !changedRulesByCE.isEmpty()
 				|| !changedDefinitions.isEmpty()) {
-			inputs = Operations.split(reasoner.saturationState.getContexts(),
-					8 * workerNo);
+			inputs = Operations.split(getContextsToInitialize(changedInitRules,
+					changedRulesByCE, changedDefinitions), 8 * workerNo);
 		}
 
 		this.initialization = new IncrementalChangesInitialization(inputs,
@@ -75,6 +75,8 @@ public boolean postExecute() {
 				.getRuleAndConclusionStatistics());
 		// at this point we're done with unsaturated contexts
 		markAllContextsAsSaturated();
+		// the conclusions about the removed class expressions are deleted
+		reasoner.ontologyIndex.recycleRemovedIds();
 		this.saturation_ = null;
 		return true;
 	}
@@ -78,8 +78,8 @@ public boolean preExecute() {
 		if (changedInitRules != null || !changedRulesByCE.isEmpty()
 				|| !changedDefinitions.isEmpty()) {
 
-			inputs = Operations.split(reasoner.saturationState.getContexts(),
-					8 * workerNo);
+			inputs = Operations.split(getContextsToInitialize(changedInitRules,
+					changedRulesByCE, changedDefinitions), 8 * workerNo);
 		}
 
 		// System.err.println(changedRulesByCE.keySet().size());
@@ -75,6 +75,8 @@ public boolean preExecute() {
 				Operations.concat(classesToRemove, individualsToRemove),
 				classesToRemove.size() + individualsToRemove.size());
 
+		reasoner.classTaxonomyState.recordPreviousNodes(classesToRemove);
+
 		LOGGER_.trace("{}: classes to remove", classesToRemove);
 		LOGGER_.trace("{}: individuals to remove", individualsToRemove);
 
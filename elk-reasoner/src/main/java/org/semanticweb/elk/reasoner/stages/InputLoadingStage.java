@@ -39,6 +39,7 @@
 import org.semanticweb.elk.reasoner.incremental.AxiomLoadingListener;
 import org.semanticweb.elk.reasoner.indexing.classes.ChangeIndexingProcessor;
 import org.semanticweb.elk.reasoner.indexing.classes.ClassQueryIndexingProcessor;
+import org.semanticweb.elk.reasoner.indexing.classes.ConcurrentChangeIndexing;
 import org.semanticweb.elk.reasoner.indexing.classes.NonIncrementalElkAxiomVisitor;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverter;
 import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverterImpl;
@@ -90,6 +91,13 @@ public class InputLoadingStage extends AbstractReasonerStage {
 	 */
 	private ElkAxiomProcessor axiomInsertionProcessor_, axiomDeletionProcessor_;
 
+	/**
+	 * indexes the axioms submitted to {@link #axiomInsertionProcessor_} and
+	 * {@link #axiomDeletionProcessor_} if concurrent indexing is enabled,
+	 * otherwise {@code null}
+	 */
+	private ConcurrentChangeIndexing concurrentIndexing_;
+
 	/**
 	 * the {@link ElkClassExpressionProcessor}s using which the class queries
 	 * are inserted and deleted
@@ -133,7 +141,19 @@ public boolean preExecute() {
 		ontologyIndex_ = reasoner.getModifiableOntologyIndex();
 		ElkObject.Factory elkFactory = reasoner.getElkFactory();
 
-		if (loader_ != null && !loader_.isLoadingFinished()) {
+		if (loader_ != null && !loader_.isLoadingFinished()
+				&& reasoner.isConcurrentIndexingEnabled()) {
+
+			concurrentIndexing_ = new ConcurrentChangeIndexing(elkFactory,
+					ontologyIndex_, getAxiomLoadingListener(),
+					reasoner.getOccurrencesInOntology(),
+					reasoner.getProcessExecutor(), workerNo);
+			this.axiomInsertionProcessor_ = concurrentIndexing_
+					.getProcessor(1);
+			this.axiomDeletionProcessor_ = concurrentIndexing_
+					.getProcessor(-1);
+
+		} else if (loader_ != null && !loader_.isLoadingFinished()) {
 
 			ElkAxiomConverter axiomInserter = new ElkAxiomConverterImpl(
 					elkFactory, ontologyIndex_, 1);
@@ -145,26 +165,7 @@ public boolean preExecute() {
 			 * notifications if some axiom change can't be incorporated
 			 * incrementally
 			 */
-			/**
-			 * The listener used to count axioms and detect if the axiom cannot
-			 * be loaded incrementally
-			 */
-			AxiomLoadingListener<ElkAxiom> listener = new AxiomLoadingListener<ElkAxiom>() {
-
-				boolean resetDone = false;
-
-				@Override
-				public void notify(ElkAxiom axiom) {
-					if (resetDone)
-						return;
-					LOGGER_.debug("{}: axiom not supported in incremental mode",
-							axiom);
-					reasoner.stageManager.propertyInitializationStage
-							.invalidateRecursive();
-					reasoner.setNonIncrementalMode();
-					resetDone = true;
-				}
-			};
+			AxiomLoadingListener<ElkAxiom> listener = getAxiomLoadingListener();
 
 			axiomInserter = new NonIncrementalElkAxiomVisitor(axiomInserter,
 					listener);
@@ -205,6 +206,29 @@ public void notify(ElkAxiom axiom) {
 		return true;
 	}
 
+	/**
+	 * @return the listener used to detect if the axiom cannot be loaded
+	 *         incrementally
+	 */
+	private AxiomLoadingListener<ElkAxiom> getAxiomLoadingListener() {
+		return new AxiomLoadingListener<ElkAxiom>() {
+
+			boolean resetDone = false;
+
+			@Override
+			public void notify(ElkAxiom axiom) {
+				if (resetDone)
+					return;
+				LOGGER_.debug("{}: axiom not supported in incremental mode",
+						axiom);
+				reasoner.stageManager.propertyInitializationStage
+						.invalidateRecursive();
+				reasoner.setNonIncrementalMode();
+				resetDone = true;
+			}
+		};
+	}
+
 	@Override
 	public void executeStage() throws ElkException {
 		if (loader_ != null && !loader_.isLoadingFinished()) {
@@ -212,11 +236,21 @@ public void executeStage() throws ElkException {
 					.getOccurrencesInOntology();
 			ontologyIndex_.addOccurrenceListener(ontologyFeatures);
 			try {
-				loader_.load(
-						new CombinedElkAxiomProcessor(ontologyFeatures,
-								axiomInsertionProcessor_),
-						new CombinedElkAxiomProcessor(ontologyFeatures,
-								axiomDeletionProcessor_));
+				if (concurrentIndexing_ == null) {
+					loader_.load(
+							new CombinedElkAxiomProcessor(ontologyFeatures,
+									axiomInsertionProcessor_),
+							new CombinedElkAxiomProcessor(ontologyFeatures,
+									axiomDeletionProcessor_));
+				} else {
+					// the features are visited when the axioms are committed
+					try {
+						loader_.load(axiomInsertionProcessor_,
+								axiomDeletionProcessor_);
+					} finally {
+						concurrentIndexing_.commit();
+					}
+				}
 			} finally {
 				ontologyIndex_.removeOccurrenceListener(ontologyFeatures);
 			}
@@ -271,6 +305,7 @@ public boolean postExecute() {
 		this.ontologyIndex_ = null;
 		this.axiomInsertionProcessor_ = null;
 		this.axiomDeletionProcessor_ = null;
+		this.concurrentIndexing_ = null;
 		this.classQueryInsertionProcessor_ = null;
 		this.classQueryDeletionProcessor_ = null;
 		this.entailmentQueryInserter_ = null;
@@ -38,7 +38,8 @@ public class ReasonerStageManager {
 			incrementalDeletionStage, incrementalContextGapFillingStage,
 			incrementalAdditionInitializationStage, incrementalAdditionStage,
 			incrementalTaxonomyCleaningStage,
-			classTaxonomyComputationStage,
+			classTaxonomyComputationStage, contextCompactionStage,
+			contextSpillingStage,
 			instanceTaxonomyComputationStage, inferenceTracingStage,
 			classExpressionQueryStage, entailmentQueryStage;
 
@@ -101,6 +102,12 @@ public class ReasonerStageManager {
 		this.classTaxonomyComputationStage = new ClassTaxonomyComputationStage(
 				reasoner, consistencyCheckingStage);
 
+		this.contextCompactionStage = new ContextCompactionStage(reasoner,
+				classTaxonomyComputationStage);
+
+		this.contextSpillingStage = new ContextSpillingStage(reasoner,
+				classTaxonomyComputationStage);
+
 		this.instanceTaxonomyComputationStage = new InstanceTaxonomyComputationStage(
 				reasoner, classTaxonomyComputationStage);
 
@@ -27,7 +27,9 @@
 import org.semanticweb.elk.owl.interfaces.ElkClass;
 import org.semanticweb.elk.reasoner.ProgressMonitor;
 import org.semanticweb.elk.reasoner.ReasonerComputationWithInputs;
+import org.semanticweb.elk.reasoner.config.SubsumerPruning;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
+import org.semanticweb.elk.reasoner.reduction.TransitiveReductionHistory;
 import org.semanticweb.elk.reasoner.saturation.SaturationState;
 import org.semanticweb.elk.reasoner.saturation.SaturationStatistics;
 import org.semanticweb.elk.reasoner.taxonomy.model.UpdateableTaxonomy;
@@ -53,8 +55,21 @@ public ClassTaxonomyComputation(
 			ConcurrentExecutor executor, int maxWorkers,
 			ProgressMonitor progressMonitor, SaturationState<?> saturationState,
 			UpdateableTaxonomy<ElkClass> partialTaxonomy) {
-		super(inputs, new ClassTaxonomyComputationFactory(
-				interrupter, saturationState, maxWorkers, partialTaxonomy),
+		this(inputs, interrupter, executor, maxWorkers, progressMonitor,
+				saturationState, partialTaxonomy, null,
+				SubsumerPruning.OBJECT_SETS);
+	}
+
+	public ClassTaxonomyComputation(
+			Collection<? extends Collection<IndexedClass>> inputs,
+			final InterruptMonitor interrupter,
+			ConcurrentExecutor executor, int maxWorkers,
+			ProgressMonitor progressMonitor, SaturationState<?> saturationState,
+			UpdateableTaxonomy<ElkClass> partialTaxonomy,
+			TransitiveReductionHistory history, SubsumerPruning pruning) {
+		super(inputs, new ClassTaxonomyComputationFactory(interrupter,
+				saturationState, maxWorkers, partialTaxonomy, history,
+				pruning),
 				executor, maxWorkers, progressMonitor);
 	}
 
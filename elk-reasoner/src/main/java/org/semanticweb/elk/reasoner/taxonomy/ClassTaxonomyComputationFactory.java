@@ -26,8 +26,10 @@
 
 import org.semanticweb.elk.owl.interfaces.ElkClass;
 import org.semanticweb.elk.owl.predefined.PredefinedElkClassFactory;
+import org.semanticweb.elk.reasoner.config.SubsumerPruning;
 import org.semanticweb.elk.reasoner.indexing.model.IndexedClass;
 import org.semanticweb.elk.reasoner.reduction.TransitiveReductionFactory;
+import org.semanticweb.elk.reasoner.reduction.TransitiveReductionHistory;
 import org.semanticweb.elk.reasoner.reduction.TransitiveReductionJob;
 import org.semanticweb.elk.reasoner.reduction.TransitiveReductionListener;
 import org.semanticweb.elk.reasoner.reduction.TransitiveReductionOutputEquivalent;
@@ -97,10 +99,43 @@
 	public ClassTaxonomyComputationFactory(final InterruptMonitor interrupter,
 			SaturationState<?> saturationState, int maxWorkers,
 			UpdateableTaxonomy<ElkClass> partialTaxonomy) {
+		this(interrupter, saturationState, maxWorkers, partialTaxonomy, null,
+				SubsumerPruning.OBJECT_SETS);
+	}
+
+	/**
+	 * Create a shared engine for the input ontology index and a partially
+	 * pre-computed taxonomy object, which recomputes the direct super-classes
+	 * using the results of the previous transitive reduction and prunes the
+	 * candidate direct super-classes in the given way.
+	 * 
+	 * @param interrupter
+	 *            the {@link InterruptMonitor} that is checked for interruptions
+	 * @param saturationState
+	 *            the saturation state of the reasoner
+	 * @param maxWorkers
+	 *            the maximum number of workers that can use this factory
+	 * @param partialTaxonomy
+	 *            the (partially pre-computed) class taxonomy object to store
+	 *            results in
+	 * @param history
+	 *            the results of the previous transitive reduction or
+	 *            {@code null} if they should not be used
+	 * @param pruning
+	 *            how the candidate direct super-classes are pruned
+	 * 
+	 * @see TransitiveReductionFactory#TransitiveReductionFactory(InterruptMonitor,
+	 *      SaturationState, int, TransitiveReductionListener,
+	 *      TransitiveReductionHistory, SubsumerPruning)
+	 */
+	public ClassTaxonomyComputationFactory(final InterruptMonitor interrupter,
+			SaturationState<?> saturationState, int maxWorkers,
+			UpdateableTaxonomy<ElkClass> partialTaxonomy,
+			TransitiveReductionHistory history, SubsumerPruning pruning) {
 		this.taxonomy_ = partialTaxonomy;
 		this.transitiveReductionShared_ = new TransitiveReductionFactory<IndexedClass, TransitiveReductionJob<IndexedClass>>(
 				interrupter, saturationState, maxWorkers,
-				new ThisTransitiveReductionListener());
+				new ThisTransitiveReductionListener(), history, pruning);
 		this.outputProcessor_ = new TransitiveReductionOutputProcessor();
 	}
 
@@ -0,0 +1,697 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2013 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.semanticweb.elk.owl.interfaces.ElkEntity;
+import org.semanticweb.elk.reasoner.taxonomy.impl.AbstractTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.ComparatorKeyProvider;
+import org.semanticweb.elk.reasoner.taxonomy.model.KeyProvider;
+import org.semanticweb.elk.reasoner.taxonomy.model.NodeStore;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+
+/**
+ * An immutable copy of a {@link Taxonomy} that is optimized for reading. The
+ * nodes are numbered by consecutive integers; their members, direct super
+ * nodes and direct sub nodes are stored in compressed sparse row arrays, i.e.,
+ * the values of all nodes in one array and the offsets of the values of each
+ * node in another one. Members are found using a perfect hash table built with
+ * the hash-and-displace method, so that each lookup probes exactly one slot.
+ * <p>
+ * Since nothing is modified after construction, all methods can be called
+ * from many threads at the same time without synchronization. The copy does
+ * not follow the changes of the original taxonomy and no events are ever
+ * fired.
+ *
+ * @param <T>
+ *            the type of objects stored in this taxonomy
+ */
+public class FrozenTaxonomy<T extends ElkEntity> extends AbstractTaxonomy<T> {
+
+	private final ComparatorKeyProvider<? super T> keyProvider_;
+
+	private final FrozenNode[] nodes_;
+
+	private final int topNode_, bottomNode_;
+
+	/**
+	 * the members of all nodes, the members of each node are stored
+	 * consecutively
+	 */
+	private final T[] members_;
+
+	/**
+	 * the members of node {@code i} are stored in {@link #members_} from
+	 * position {@code memberOffsets_[i]} to {@code memberOffsets_[i + 1]}
+	 */
+	private final int[] memberOffsets_;
+
+	/**
+	 * the node of the member at the same position in {@link #members_}
+	 */
+	private final int[] memberNodes_;
+
+	/**
+	 * the direct super nodes of node {@code i} are stored in ascending order
+	 * from position {@code superOffsets_[i]} to {@code superOffsets_[i + 1]}
+	 */
+	private final int[] superOffsets_, superNodes_;
+
+	/**
+	 * the direct sub nodes, stored similarly to the direct super nodes
+	 */
+	private final int[] subOffsets_, subNodes_;
+
+	/**
+	 * finds the positions of members in {@link #members_}
+	 */
+	private final MemberIndex index_;
+
+	/**
+	 * the index of the transitive closure, created when it is first requested
+	 */
+	private volatile TaxonomyClosure<T> closure_ = null;
+
+	/**
+	 * Creates a frozen copy of the given {@link Taxonomy}. The taxonomy should
+	 * not be modified while it is copied.
+	 *
+	 * @param taxonomy
+	 *            the {@link Taxonomy} to copy
+	 */
+	@SuppressWarnings("unchecked")
+	public FrozenTaxonomy(final Taxonomy<T> taxonomy) {
+		this.keyProvider_ = taxonomy.getKeyProvider();
+		final Map<TaxonomyNode<T>, Integer> ids = new IdentityHashMap<TaxonomyNode<T>, Integer>();
+		for (final TaxonomyNode<T> node : taxonomy.getNodes()) {
+			ids.putIfAbsent(node, ids.size());
+		}
+		ids.putIfAbsent(taxonomy.getTopNode(), ids.size());
+		ids.putIfAbsent(taxonomy.getBottomNode(), ids.size());
+		final TaxonomyNode<T>[] sources = new TaxonomyNode[ids.size()];
+		for (final Map.Entry<TaxonomyNode<T>, Integer> entry : ids
+				.entrySet()) {
+			sources[entry.getValue()] = entry.getKey();
+		}
+		final int nodeCount = sources.length;
+		this.topNode_ = ids.get(taxonomy.getTopNode());
+		this.bottomNode_ = ids.get(taxonomy.getBottomNode());
+		this.nodes_ = new FrozenTaxonomy.FrozenNode[nodeCount];
+		// members
+		this.memberOffsets_ = new int[nodeCount + 1];
+		int memberCount = 0;
+		for (int i = 0; i < nodeCount; i++) {
+			memberOffsets_[i] = memberCount;
+			memberCount += sources[i].size();
+		}
+		memberOffsets_[nodeCount] = memberCount;
+		this.members_ = (T[]) new ElkEntity[memberCount];
+		this.memberNodes_ = new int[memberCount];
+		final T[] canonicalMembers = (T[]) new ElkEntity[nodeCount];
+		for (int i = 0; i < nodeCount; i++) {
+			int pos = memberOffsets_[i];
+			for (final T member : sources[i]) {
+				members_[pos] = member;
+				memberNodes_[pos] = i;
+				pos++;
+			}
+			canonicalMembers[i] = sources[i].getCanonicalMember();
+		}
+		// direct sub nodes; the direct super nodes are obtained by reversing
+		// them, which is cheaper than asking the bottom node
+		this.subOffsets_ = new int[nodeCount + 1];
+		final int[] superCounts = new int[nodeCount];
+		int linkCount = 0;
+		for (int i = 0; i < nodeCount; i++) {
+			subOffsets_[i] = linkCount;
+			linkCount += sources[i].getDirectSubNodes().size();
+		}
+		subOffsets_[nodeCount] = linkCount;
+		this.subNodes_ = new int[linkCount];
+		for (int i = 0; i < nodeCount; i++) {
+			int pos = subOffsets_[i];
+			for (final TaxonomyNode<T> sub : sources[i].getDirectSubNodes()) {
+				final Integer id = ids.get(sub);
+				if (id == null) {
+					throw new IllegalArgumentException(
+							"The sub node " + sub + " of " + sources[i]
+									+ " does not occur in the taxonomy!");
+				}
+				subNodes_[pos++] = id;
+				superCounts[id]++;
+			}
+			Arrays.sort(subNodes_, subOffsets_[i], pos);
+		}
+		this.superOffsets_ = new int[nodeCount + 1];
+		for (int i = 0; i < nodeCount; i++) {
+			superOffsets_[i + 1] = superOffsets_[i] + superCounts[i];
+		}
+		this.superNodes_ = new int[linkCount];
+		final int[] next = Arrays.copyOf(superOffsets_, nodeCount);
+		// the sub nodes are visited in the ascending order of the super
+		// nodes, so the super nodes come out sorted as well
+		for (int i = 0; i < nodeCount; i++) {
+			for (int pos = subOffsets_[i]; pos < subOffsets_[i + 1]; pos++) {
+				superNodes_[next[subNodes_[pos]]++] = i;
+			}
+		}
+		for (int i = 0; i < nodeCount; i++) {
+			nodes_[i] = new FrozenNode(i, canonicalMembers[i]);
+		}
+		this.index_ = new MemberIndex(members_, keyProvider_);
+	}
+
+	/**
+	 * @return the position of the member in {@link #members_} or {@code -1}
+	 *         if it does not occur in this taxonomy
+	 */
+	private int find(final T member) {
+		return index_.find(keyProvider_.getKey(member));
+	}
+
+	/**
+	 * @param member
+	 * @return the number of the node containing the given member or
+	 *         {@code -1} if it does not occur in this taxonomy
+	 */
+	int getNodeId(final T member) {
+		final int pos = find(member);
+		return pos < 0 ? -1 : memberNodes_[pos];
+	}
+
+	/**
+	 * @param node
+	 * @return the number of the given node or {@code -1} if it is not a node
+	 *         of this taxonomy
+	 */
+	int getNodeId(final TaxonomyNode<T> node) {
+		if (node instanceof FrozenTaxonomy<?>.FrozenNode
+				&& node.getTaxonomy() == this) {
+			return ((FrozenNode) node).id_;
+		}
+		// else
+		return -1;
+	}
+
+	/**
+	 * @param id
+	 * @return the node with the given number
+	 */
+	TaxonomyNode<T> getNode(final int id) {
+		return nodes_[id];
+	}
+
+	/**
+	 * Returns the index of the transitive closure of this taxonomy. The index
+	 * is built when it is requested for the first time.
+	 *
+	 * @return the {@link TaxonomyClosure} of this taxonomy
+	 */
+	public TaxonomyClosure<T> getClosure() {
+		TaxonomyClosure<T> result = closure_;
+		if (result == null) {
+			synchronized (this) {
+				result = closure_;
+				if (result == null) {
+					result = new TaxonomyClosure<T>(this, superOffsets_,
+							superNodes_, subOffsets_, subNodes_, topNode_,
+							bottomNode_);
+					closure_ = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public ComparatorKeyProvider<? super T> getKeyProvider() {
+		return keyProvider_;
+	}
+
+	@Override
+	public TaxonomyNode<T> getNode(final T elkEntity) {
+		final int pos = find(elkEntity);
+		return pos < 0 ? null : nodes_[memberNodes_[pos]];
+	}
+
+	@Override
+	public Set<? extends TaxonomyNode<T>> getNodes() {
+		return new NodeSet(null, 0, nodes_.length);
+	}
+
+	@Override
+	public TaxonomyNode<T> getTopNode() {
+		return nodes_[topNode_];
+	}
+
+	@Override
+	public TaxonomyNode<T> getBottomNode() {
+		return nodes_[bottomNode_];
+	}
+
+	@Override
+	public boolean addListener(final NodeStore.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public boolean removeListener(final NodeStore.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public boolean addListener(final Taxonomy.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	@Override
+	public boolean removeListener(final Taxonomy.Listener<T> listener) {
+		// No events are ever fired.
+		return true;
+	}
+
+	/**
+	 * @return the ids of all nodes reachable from the given node over the
+	 *         given links, in ascending order
+	 */
+	private int[] getAllReachable(final int id, final int[] offsets,
+			final int[] links) {
+		final BitSet visited = new BitSet();
+		int[] todo = new int[16];
+		int count = 0;
+		todo[count++] = id;
+		for (int next = 0; next < count; next++) {
+			final int node = todo[next];
+			for (int pos = offsets[node]; pos < offsets[node + 1]; pos++) {
+				final int reachable = links[pos];
+				if (visited.get(reachable)) {
+					continue;
+				}
+				visited.set(reachable);
+				if (count == todo.length) {
+					todo = Arrays.copyOf(todo, count * 2);
+				}
+				todo[count++] = reachable;
+			}
+		}
+		return visited.stream().toArray();
+	}
+
+	/**
+	 * A node of the {@link FrozenTaxonomy}, identified by its number.
+	 */
+	class FrozenNode implements TaxonomyNode<T> {
+
+		private final int id_;
+
+		private final T canonical_;
+
+		FrozenNode(final int id, final T canonical) {
+			this.id_ = id;
+			this.canonical_ = canonical;
+		}
+
+		@Override
+		public ComparatorKeyProvider<? super T> getKeyProvider() {
+			return keyProvider_;
+		}
+
+		@Override
+		public boolean contains(final T member) {
+			final int pos = find(member);
+			return pos >= 0 && memberNodes_[pos] == id_;
+		}
+
+		@Override
+		public int size() {
+			return memberOffsets_[id_ + 1] - memberOffsets_[id_];
+		}
+
+		@Override
+		public T getCanonicalMember() {
+			return canonical_;
+		}
+
+		@Override
+		public Iterator<T> iterator() {
+			return Collections.unmodifiableList(Arrays.asList(members_)
+					.subList(memberOffsets_[id_], memberOffsets_[id_ + 1]))
+					.iterator();
+		}
+
+		@Override
+		public Taxonomy<T> getTaxonomy() {
+			return FrozenTaxonomy.this;
+		}
+
+		@Override
+		public Set<? extends TaxonomyNode<T>> getDirectSuperNodes() {
+			return new NodeSet(superNodes_, superOffsets_[id_],
+					superOffsets_[id_ + 1]);
+		}
+
+		@Override
+		public Set<? extends TaxonomyNode<T>> getAllSuperNodes() {
+			final int[] ids = getAllReachable(id_, superOffsets_, superNodes_);
+			return new NodeSet(ids, 0, ids.length);
+		}
+
+		@Override
+		public Set<? extends TaxonomyNode<T>> getDirectSubNodes() {
+			return new NodeSet(subNodes_, subOffsets_[id_],
+					subOffsets_[id_ + 1]);
+		}
+
+		@Override
+		public Set<? extends TaxonomyNode<T>> getAllSubNodes() {
+			final int[] ids = getAllReachable(id_, subOffsets_, subNodes_);
+			return new NodeSet(ids, 0, ids.length);
+		}
+
+		@Override
+		public String toString() {
+			return String.valueOf(canonical_);
+		}
+
+	}
+
+	/**
+	 * An unmodifiable set of the nodes of the {@link FrozenTaxonomy} whose ids
+	 * are stored in ascending order in a range of an array.
+	 */
+	private class NodeSet extends AbstractSet<FrozenNode> {
+
+		/**
+		 * the ids of the nodes or {@code null} if the ids are the positions
+		 * themselves
+		 */
+		private final int[] ids_;
+
+		private final int from_, to_;
+
+		NodeSet(final int[] ids, final int from, final int to) {
+			this.ids_ = ids;
+			this.from_ = from;
+			this.to_ = to;
+		}
+
+		private int getId(final int pos) {
+			return ids_ == null ? pos : ids_[pos];
+		}
+
+		@Override
+		public int size() {
+			return to_ - from_;
+		}
+
+		@Override
+		public boolean contains(final Object o) {
+			if (!(o instanceof FrozenTaxonomy<?>.FrozenNode)) {
+				return false;
+			}
+			final FrozenTaxonomy<?>.FrozenNode node = (FrozenTaxonomy<?>.FrozenNode) o;
+			if (node.getTaxonomy() != FrozenTaxonomy.this) {
+				return false;
+			}
+			// else
+			if (ids_ == null) {
+				return node.id_ >= from_ && node.id_ < to_;
+			}
+			// else
+			return Arrays.binarySearch(ids_, from_, to_, node.id_) >= 0;
+		}
+
+		@Override
+		public Iterator<FrozenNode> iterator() {
+			return new Iterator<FrozenNode>() {
+
+				private int pos_ = from_;
+
+				@Override
+				public boolean hasNext() {
+					return pos_ < to_;
+				}
+
+				@Override
+				public FrozenNode next() {
+					if (pos_ >= to_) {
+						throw new NoSuchElementException();
+					}
+					return nodes_[getId(pos_++)];
+				}
+
+			};
+		}
+
+	}
+
+	/**
+	 * A perfect hash table built with the hash-and-displace method: the keys
+	 * are split into small buckets by their hash codes, and for every bucket a
+	 * displacement is found that puts its keys into slots not used by the
+	 * other buckets. A lookup then computes the bucket, reads its displacement
+	 * and compares the key with the one in the resulting slot.
+	 */
+	private static class MemberIndex {
+
+		/**
+		 * the average number of keys in the buckets
+		 */
+		private static final int BUCKET_SIZE_ = 4;
+
+		/**
+		 * the number of displacements tried for a bucket before the table is
+		 * rebuilt with more slots
+		 */
+		private static final int MAX_DISPLACEMENT_ = 1 << 16;
+
+		/**
+		 * the displacement used for the keys of each bucket
+		 */
+		private final int[] displacements_;
+
+		/**
+		 * the key stored in each slot
+		 */
+		private final Object[] slotKeys_;
+
+		/**
+		 * the position of the member with the key in the same slot
+		 */
+		private final int[] slotMembers_;
+
+		/**
+		 * the keys that have the same hash code as some other key and,
+		 * therefore, cannot be placed into the slots; usually empty
+		 */
+		private final Map<Object, Integer> collisions_;
+
+		/**
+		 * Builds the index of the given members.
+		 *
+		 * @param members
+		 *            the members to index
+		 * @param keyProvider
+		 *            provides the keys by which the members are found
+		 */
+		<T> MemberIndex(final T[] members,
+				final KeyProvider<? super T> keyProvider) {
+			final int memberCount = members.length;
+			final Object[] keys = new Object[memberCount];
+			// the hash codes in the upper halves and the positions in the lower
+			// ones, so that the equal hash codes are adjacent after sorting
+			final long[] hashes = new long[memberCount];
+			for (int pos = 0; pos < memberCount; pos++) {
+				keys[pos] = keyProvider.getKey(members[pos]);
+				hashes[pos] = ((long) keys[pos].hashCode() << 32) | pos;
+			}
+			Arrays.sort(hashes);
+			Map<Object, Integer> collisions = Collections.emptyMap();
+			int keyCount = 0;
+			for (int i = 0; i < memberCount; i++) {
+				final int hash = (int) (hashes[i] >>> 32);
+				if (keyCount > 0
+						&& hash == (int) (hashes[keyCount - 1] >>> 32)) {
+					if (collisions.isEmpty()) {
+						collisions = new HashMap<Object, Integer>();
+					}
+					final int pos = (int) hashes[i];
+					collisions.put(keys[pos], pos);
+					continue;
+				}
+				hashes[keyCount++] = hashes[i];
+			}
+			this.collisions_ = collisions;
+			int slotCount = keyCount + keyCount / 4 + 1;
+			for (;;) {
+				final int bucketCount = keyCount / BUCKET_SIZE_ + 1;
+				final int[] displacements = new int[bucketCount];
+				final Object[] slotKeys = new Object[slotCount];
+				final int[] slotMembers = new int[slotCount];
+				if (place(keys, hashes, keyCount, displacements, slotKeys,
+						slotMembers)) {
+					this.displacements_ = displacements;
+					this.slotKeys_ = slotKeys;
+					this.slotMembers_ = slotMembers;
+					return;
+				}
+				// else
+				slotCount *= 2;
+			}
+		}
+
+		/**
+		 * Tries to find the displacements for the given keys that place them
+		 * into different slots.
+		 *
+		 * @return {@code true} if successful
+		 */
+		private static boolean place(final Object[] keys, final long[] hashes,
+				final int keyCount, final int[] displacements,
+				final Object[] slotKeys, final int[] slotMembers) {
+			final int bucketCount = displacements.length;
+			final int slotCount = slotKeys.length;
+			// the keys of each bucket, in compressed rows
+			final int[] bucketOffsets = new int[bucketCount + 1];
+			for (int i = 0; i < keyCount; i++) {
+				bucketOffsets[getBucket((int) (hashes[i] >>> 32), bucketCount)
+						+ 1]++;
+			}
+			int maxBucketSize = 0;
+			for (int b = 0; b < bucketCount; b++) {
+				maxBucketSize = Math.max(maxBucketSize, bucketOffsets[b + 1]);
+				bucketOffsets[b + 1] += bucketOffsets[b];
+			}
+			final int[] bucketHashes = new int[keyCount];
+			final int[] bucketPositions = new int[keyCount];
+			final int[] next = Arrays.copyOf(bucketOffsets, bucketCount);
+			for (int i = 0; i < keyCount; i++) {
+				final int hash = (int) (hashes[i] >>> 32);
+				final int pos = next[getBucket(hash, bucketCount)]++;
+				bucketHashes[pos] = hash;
+				bucketPositions[pos] = (int) hashes[i];
+			}
+			// larger buckets are harder to place, so they go first
+			final int[][] bySize = new int[maxBucketSize + 1][];
+			final int[] sizeCounts = new int[maxBucketSize + 1];
+			for (int b = 0; b < bucketCount; b++) {
+				sizeCounts[bucketOffsets[b + 1] - bucketOffsets[b]]++;
+			}
+			for (int s = 0; s <= maxBucketSize; s++) {
+				bySize[s] = new int[sizeCounts[s]];
+				sizeCounts[s] = 0;
+			}
+			for (int b = 0; b < bucketCount; b++) {
+				final int s = bucketOffsets[b + 1] - bucketOffsets[b];
+				bySize[s][sizeCounts[s]++] = b;
+			}
+			final int[] taken = new int[maxBucketSize];
+			for (int s = maxBucketSize; s > 0; s--) {
+				for (final int b : bySize[s]) {
+					final int from = bucketOffsets[b];
+					int displacement = 1;
+					search: for (;; displacement++) {
+						if (displacement > MAX_DISPLACEMENT_) {
+							return false;
+						}
+						for (int i = 0; i < s; i++) {
+							final int slot = getSlot(bucketHashes[from + i],
+									displacement, slotCount);
+							if (slotKeys[slot] != null) {
+								// release the slots taken by this bucket
+								for (int j = 0; j < i; j++) {
+									slotKeys[taken[j]] = null;
+								}
+								continue search;
+							}
+							taken[i] = slot;
+							slotKeys[slot] = keys[bucketPositions[from + i]];
+							slotMembers[slot] = bucketPositions[from + i];
+						}
+						break;
+					}
+					displacements[b] = displacement;
+				}
+			}
+			return true;
+		}
+
+		private static int mix(int hash, final int seed) {
+			hash = hash * 0x9E3779B9 + seed * 0x85EBCA6B;
+			hash ^= hash >>> 16;
+			hash *= 0x7FEB352D;
+			hash ^= hash >>> 15;
+			hash *= 0x846CA68B;
+			return hash ^ (hash >>> 16);
+		}
+
+		/**
+		 * @return a number from {@code 0} to {@code range - 1} determined by the
+		 *         given hash
+		 */
+		private static int reduce(final int hash, final int range) {
+			return (int) (((hash & 0xFFFFFFFFL) * range) >>> 32);
+		}
+
+		private static int getBucket(final int hash, final int bucketCount) {
+			return reduce(mix(hash, 0), bucketCount);
+		}
+
+		private static int getSlot(final int hash, final int displacement,
+				final int slotCount) {
+			return reduce(mix(hash, displacement), slotCount);
+		}
+
+		/**
+		 * @return the position of the member with the given key or {@code -1}
+		 *         if there is no such member
+		 */
+		int find(final Object key) {
+			final int hash = key.hashCode();
+			final int slot = getSlot(hash,
+					displacements_[getBucket(hash, displacements_.length)],
+					slotKeys_.length);
+			if (key.equals(slotKeys_[slot])) {
+				return slotMembers_[slot];
+			}
+			// else
+			final Integer pos = collisions_.get(key);
+			return pos == null ? -1 : pos;
+		}
+
+	}
+
+}
@@ -25,12 +25,23 @@
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.stream.IntStream;
 
 import org.semanticweb.elk.owl.interfaces.ElkAxiom;
 import org.semanticweb.elk.owl.interfaces.ElkClass;
@@ -60,6 +71,17 @@
  */
 public class TaxonomyPrinter {
 
+	/**
+	 * The number of declarations or nodes printed by one parallel task.
+	 */
+	private static final int PARALLEL_CHUNK_SIZE_ = 4096;
+
+	/**
+	 * The number of chunks that are printed in parallel before they are
+	 * written.
+	 */
+	private static final int PARALLEL_BATCH_SIZE_ = 64;
+
 	/**
 	 * Convenience method for printing a {@link Taxonomy} to a file at the given
 	 * location.
@@ -116,6 +138,166 @@ public static void dumpTaxomomy(
 		writer.flush();
 	}
 
+	/**
+	 * Print the same output as
+	 * {@link #dumpTaxomomyToFile(Taxonomy, String, boolean)} using all
+	 * available processors. The members and the nodes are ordered using
+	 * parallel sorts, the axioms are printed by parallel tasks in chunks of
+	 * {@value #PARALLEL_CHUNK_SIZE_} declarations or nodes, and the chunks are
+	 * written to the file in order, so that only a bounded number of them is
+	 * kept in memory. The taxonomy should not be modified while it is printed.
+	 * 
+	 * @param taxonomy
+	 *            the {@link Taxonomy} to be printed
+	 * @param path
+	 *            the file location
+	 * @param addHash
+	 *            if true, a hash string will be added at the end of the output
+	 *            using comment syntax of OWL 2 Functional Style
+	 * @throws IOException
+	 *             If an I/O error occurs
+	 */
+	public static void dumpTaxomomyInParallel(
+			final Taxonomy<? extends ElkEntity> taxonomy, final Path path,
+			final boolean addHash) throws IOException {
+		dumpTaxomomyInParallel(taxonomy, path, addHash, PARALLEL_CHUNK_SIZE_,
+				PARALLEL_BATCH_SIZE_);
+	}
+
+	/**
+	 * Same as {@link #dumpTaxomomyInParallel(Taxonomy, Path, boolean)}, but
+	 * with the given number of declarations or nodes printed by one parallel
+	 * task and the given number of chunks printed in parallel before they are
+	 * written; used for testing the output of several chunks and batches on
+	 * small taxonomies.
+	 */
+	static void dumpTaxomomyInParallel(
+			final Taxonomy<? extends ElkEntity> taxonomy, final Path path,
+			final boolean addHash, final int chunkSize, final int batchSize)
+			throws IOException {
+		if (chunkSize <= 0 || batchSize <= 0) {
+			throw new IllegalArgumentException(
+					"Chunk and batch sizes must be positive: " + chunkSize
+							+ ", " + batchSize);
+		}
+		try (FileChannel channel = FileChannel.open(path,
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			processTaxomomyInParallel(taxonomy, channel, addHash, chunkSize,
+					batchSize);
+		}
+	}
+
+	private static <T extends ElkEntity> void processTaxomomyInParallel(
+			final Taxonomy<T> taxonomy, final WritableByteChannel channel,
+			final boolean addHash, final int chunkSize, final int batchSize)
+			throws IOException {
+		// the same encoding as used by FileWriter
+		final Charset charset = Charset.defaultCharset();
+		final Comparator<? super T> comparator = taxonomy.getKeyProvider()
+				.getComparator();
+
+		write("Ontology(\n", charset, channel);
+
+		// Declarations.
+
+		final List<T> members = getDeclaredMembers(taxonomy);
+		@SuppressWarnings("unchecked")
+		final T[] orderedMembers = (T[]) members
+				.toArray(new ElkEntity[members.size()]);
+		Arrays.parallelSort(orderedMembers, comparator);
+
+		printInParallel(orderedMembers.length,
+				(from, to, factory, writer) -> printDeclarations(
+						Arrays.asList(orderedMembers).subList(from, to),
+						factory, writer),
+				chunkSize, batchSize, charset, channel);
+
+		// Relations.
+
+		final List<T> canonicalMembers = new ArrayList<T>(
+				taxonomy.getNodes().size());
+		for (final TaxonomyNode<T> node : taxonomy.getNodes()) {
+			canonicalMembers.add(node.getCanonicalMember());
+		}
+		@SuppressWarnings("unchecked")
+		final T[] orderedCanonicalMembers = (T[]) canonicalMembers
+				.toArray(new ElkEntity[canonicalMembers.size()]);
+		Arrays.parallelSort(orderedCanonicalMembers, comparator);
+
+		printInParallel(orderedCanonicalMembers.length,
+				(from, to, factory, writer) -> {
+					for (int i = from; i < to; i++) {
+						printNodeAxioms(orderedCanonicalMembers[i], taxonomy,
+								factory, writer);
+					}
+				}, chunkSize, batchSize, charset, channel);
+
+		write(")\n", charset, channel);
+
+		if (addHash) {
+			write("\n# Hash code: " + getParallelHashString(taxonomy) + "\n",
+					charset, channel);
+		}
+	}
+
+	/**
+	 * Prints the elements from {@code from} (inclusive) to {@code to}
+	 * (exclusive) of some ordered array.
+	 */
+	private interface ChunkPrinter {
+
+		void print(int from, int to, ElkObject.Factory factory,
+				Appendable writer) throws IOException;
+
+	}
+
+	private static void printInParallel(final int count,
+			final ChunkPrinter printer, final int chunkSize,
+			final int batchSize, final Charset charset,
+			final WritableByteChannel channel) throws IOException {
+		final int chunkCount = (count + chunkSize - 1) / chunkSize;
+		for (int batch = 0; batch < chunkCount; batch += batchSize) {
+			final ByteBuffer[] chunks;
+			try {
+				chunks = IntStream
+						.range(batch,
+								Math.min(batch + batchSize, chunkCount))
+						.parallel().mapToObj(chunk -> {
+							final StringBuilder builder = new StringBuilder();
+							try {
+								// the factory is not shared between threads
+								printer.print(chunk * chunkSize,
+										Math.min(count,
+												(chunk + 1) * chunkSize),
+										new ElkObjectEntityRecyclingFactory(),
+										builder);
+							} catch (final IOException e) {
+								throw new UncheckedIOException(e);
+							}
+							return charset.encode(CharBuffer.wrap(builder));
+						}).toArray(ByteBuffer[]::new);
+			} catch (final UncheckedIOException e) {
+				throw e.getCause();
+			}
+			for (final ByteBuffer chunk : chunks) {
+				write(chunk, channel);
+			}
+		}
+	}
+
+	private static void write(final String string, final Charset charset,
+			final WritableByteChannel channel) throws IOException {
+		write(charset.encode(string), channel);
+	}
+
+	private static void write(final ByteBuffer buffer,
+			final WritableByteChannel channel) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
 	/**
 	 * Convenience method for printing an {@link InstanceTaxonomy} to a file at
 	 * the given location.
@@ -187,6 +369,21 @@ public static String getHashString(Taxonomy<? extends ElkEntity> taxonomy) {
 		return Integer.toHexString(TaxonomyHasher.hash(taxonomy));
 	}
 
+	/**
+	 * Get the same hash string as {@link #getHashString(Taxonomy)} by hashing
+	 * the nodes of the given {@link Taxonomy} in parallel.
+	 * 
+	 * @param taxonomy
+	 *            the {@link Taxonomy} for which to compute the hash
+	 * @return hash string
+	 * 
+	 * @see TaxonomyHasher#parallelHash(Taxonomy)
+	 */
+	public static String getParallelHashString(
+			Taxonomy<? extends ElkEntity> taxonomy) {
+		return Integer.toHexString(TaxonomyHasher.parallelHash(taxonomy));
+	}
+
 	public static String getInstanceHashString(
 			InstanceTaxonomy<? extends ElkEntity, ? extends ElkEntity> taxonomy) {
 		return Integer.toHexString(InstanceTaxonomyHasher.hash(taxonomy));
@@ -212,20 +409,7 @@ protected static <T extends ElkEntity> void processTaxomomy(
 
 		// Declarations.
 
-		final List<T> members = new ArrayList<T>(
-				taxonomy.getNodes().size() * 2);
-
-		for (final TaxonomyNode<T> node : taxonomy.getNodes()) {
-			for (final T member : node) {
-				// TODO: this should check whether IRIs are predefined!
-				if (!member.getIri().equals(
-						taxonomy.getTopNode().getCanonicalMember().getIri())
-						&& !member.getIri().equals(taxonomy.getBottomNode()
-								.getCanonicalMember().getIri())) {
-					members.add(member);
-				}
-			}
-		}
+		final List<T> members = getDeclaredMembers(taxonomy);
 
 		Collections.sort(members, taxonomy.getKeyProvider().getComparator());
 
@@ -240,25 +424,54 @@ protected static <T extends ElkEntity> void processTaxomomy(
 		}
 
 		for (final T canonicalMember : canonicalMembers) {
-			final TaxonomyNode<T> node = taxonomy.getNode(canonicalMember);
+			printNodeAxioms(canonicalMember, taxonomy, factory, writer);
+		}
+	}
 
-			final ArrayList<T> orderedEquivalentMembers = new ArrayList<T>(
-					node.size());
+	private static <T extends ElkEntity> List<T> getDeclaredMembers(
+			final Taxonomy<T> taxonomy) {
+		final List<T> members = new ArrayList<T>(
+				taxonomy.getNodes().size() * 2);
+
+		for (final TaxonomyNode<T> node : taxonomy.getNodes()) {
 			for (final T member : node) {
-				orderedEquivalentMembers.add(member);
+				// TODO: this should check whether IRIs are predefined!
+				if (!member.getIri().equals(
+						taxonomy.getTopNode().getCanonicalMember().getIri())
+						&& !member.getIri().equals(taxonomy.getBottomNode()
+								.getCanonicalMember().getIri())) {
+					members.add(member);
+				}
 			}
-			Collections.sort(orderedEquivalentMembers,
-					taxonomy.getKeyProvider().getComparator());
+		}
+		return members;
+	}
 
-			final TreeSet<T> orderedSuperMembers = new TreeSet<T>(
-					taxonomy.getKeyProvider().getComparator());
-			for (final TaxonomyNode<T> superNode : node.getDirectSuperNodes()) {
-				orderedSuperMembers.add(superNode.getCanonicalMember());
-			}
+	/**
+	 * Print the axioms of the node of the given canonical member.
+	 */
+	private static <T extends ElkEntity> void printNodeAxioms(
+			final T canonicalMember, final Taxonomy<T> taxonomy,
+			final ElkObject.Factory factory, final Appendable writer)
+			throws IOException {
+		final TaxonomyNode<T> node = taxonomy.getNode(canonicalMember);
 
-			printMemberAxioms(canonicalMember, orderedEquivalentMembers,
-					orderedSuperMembers, taxonomy, factory, writer);
+		final ArrayList<T> orderedEquivalentMembers = new ArrayList<T>(
+				node.size());
+		for (final T member : node) {
+			orderedEquivalentMembers.add(member);
 		}
+		Collections.sort(orderedEquivalentMembers,
+				taxonomy.getKeyProvider().getComparator());
+
+		final TreeSet<T> orderedSuperMembers = new TreeSet<T>(
+				taxonomy.getKeyProvider().getComparator());
+		for (final TaxonomyNode<T> superNode : node.getDirectSuperNodes()) {
+			orderedSuperMembers.add(superNode.getCanonicalMember());
+		}
+
+		printMemberAxioms(canonicalMember, orderedEquivalentMembers,
+				orderedSuperMembers, taxonomy, factory, writer);
 	}
 
 	private static <T extends ElkEntity> void printDeclarations(
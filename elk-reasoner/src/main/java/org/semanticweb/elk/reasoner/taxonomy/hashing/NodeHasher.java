@@ -99,13 +99,19 @@ protected boolean removeEldestEntry(
 	@Override
 	public int hash(Node<? extends ElkEntity> node) {
 		if (node.size() >= cacheNodeMemberNo) {
-			if (hashCache.containsKey(node)) {
-				return hashCache.get(node);
+			// nodes can be hashed from several threads
+			synchronized (hashCache) {
+				final Integer cached = hashCache.get(node);
+				if (cached != null) {
+					return cached;
+				}
 			}
 			// else
 			int hash = HashGenerator.combineMultisetHash(true, node,
 					elkEntityHasher);
-			hashCache.put(node, hash);
+			synchronized (hashCache) {
+				hashCache.put(node, hash);
+			}
 			return hash;
 		}
 		// else
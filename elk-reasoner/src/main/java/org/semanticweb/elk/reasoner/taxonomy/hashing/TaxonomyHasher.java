@@ -22,8 +22,12 @@
  */
 package org.semanticweb.elk.reasoner.taxonomy.hashing;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.semanticweb.elk.owl.interfaces.ElkEntity;
 import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
 import org.semanticweb.elk.util.hashing.HashGenerator;
 
 /**
@@ -48,4 +52,23 @@ public static int hash(Taxonomy<? extends ElkEntity> taxonomy) {
 		return HashGenerator.combineMultisetHash(true, taxonomy.getNodes(), TaxonomyNodeHasher.INSTANCE);
 	}
 
+	/**
+	 * Compute the same hash code as {@link #hash(Taxonomy)} by hashing the
+	 * nodes of the taxonomy in parallel. This is possible because the hash
+	 * codes of the nodes are combined by addition. The taxonomy should not be
+	 * modified during this computation.
+	 * 
+	 * @param taxonomy
+	 *            the taxonomy for which to compute the hash
+	 * @return the resulting hash
+	 */
+	public static int parallelHash(Taxonomy<? extends ElkEntity> taxonomy) {
+		// the copy splits evenly between the threads
+		final List<TaxonomyNode<? extends ElkEntity>> nodes = new ArrayList<TaxonomyNode<? extends ElkEntity>>(
+				taxonomy.getNodes());
+		final int sum = nodes.parallelStream()
+				.mapToInt(TaxonomyNodeHasher.INSTANCE::hash).sum();
+		return HashGenerator.combineListHash(sum);
+	}
+
 }
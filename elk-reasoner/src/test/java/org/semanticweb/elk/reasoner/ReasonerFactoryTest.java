@@ -25,6 +25,8 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 import java.io.IOException;
 
@@ -33,8 +35,11 @@
 import org.semanticweb.elk.config.ConfigurationFactory;
 import org.semanticweb.elk.loading.EmptyAxiomLoader;
 import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.reasoner.config.ConcurrentExecutorType;
 import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
 import org.semanticweb.elk.reasoner.stages.SimpleStageExecutor;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutor;
+import org.semanticweb.elk.util.concurrent.computation.ConcurrentExecutors;
 
 /**
  * 
@@ -71,4 +76,23 @@ FailingReasonerInterrupter.INSTANCE, new SimpleStageExecutor(),
 		assertEquals(10, reasoner.getNumberOfWorkers());
 		assertFalse(reasoner.isIncrementalMode());
 	}
+
+	@Test
+	public void processExecutorSetExplicitly() throws InterruptedException {
+		Reasoner reasoner = new ReasonerFactory().createReasoner(
+				new TestAxiomLoaderFactory(new EmptyAxiomLoader()));
+		ConcurrentExecutor executor = ConcurrentExecutors
+				.create("elk-test");
+		ConcurrentExecutor configured = reasoner.getProcessExecutor();
+		assertNotSame(executor, configured);
+		reasoner.setProcessExecutor(executor);
+		ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.CONCURRENT_EXECUTOR,
+				ConcurrentExecutorType.VIRTUAL_THREADS.name());
+		reasoner.setConfigurationOptions(config);
+		// the configuration does not replace the executor set explicitly
+		assertSame(executor, reasoner.getProcessExecutor());
+		reasoner.shutdown();
+	}
 }
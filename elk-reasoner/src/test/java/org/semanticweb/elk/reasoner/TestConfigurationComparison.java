@@ -0,0 +1,220 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.interfaces.ElkObjectProperty;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.completeness.TestIncompleteness;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyPrinter;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+
+/**
+ * Checks that reasoners with two {@link ReasonerConfiguration}s compute the
+ * same class taxonomy for random ontologies, also after random incremental
+ * changes. The ontologies consist of chains of sub-classes and of sub-classes
+ * and equivalences with existential restrictions, so that there are indirect,
+ * equivalent and unsatisfiable subsumers and the saturation of a class
+ * involves many other contexts.
+ */
+public class TestConfigurationComparison {
+
+	private final ElkObject.Factory objectFactory_ = new ElkObjectEntityRecyclingFactory();
+
+	private final ElkObjectProperty property_ = objectFactory_
+			.getObjectProperty(new ElkFullIri("http://example.org/R"));
+
+	private final ReasonerConfiguration expectedConfig_;
+
+	private final ReasonerConfiguration actualConfig_;
+
+	/**
+	 * @param expectedConfig
+	 *            the configuration of the reasoner whose results are expected
+	 * @param actualConfig
+	 *            the configuration of the reasoner that is tested
+	 */
+	public TestConfigurationComparison(
+			final ReasonerConfiguration expectedConfig,
+			final ReasonerConfiguration actualConfig) {
+		this.expectedConfig_ = expectedConfig;
+		this.actualConfig_ = actualConfig;
+	}
+
+	/**
+	 * Additional checks of the reasoners after they have computed the same
+	 * class taxonomy; does nothing by default.
+	 * 
+	 * @param expectedReasoner
+	 *            the reasoner with the expected configuration
+	 * @param actualReasoner
+	 *            the reasoner with the tested configuration
+	 */
+	protected void check(final Reasoner expectedReasoner,
+			final Reasoner actualReasoner) {
+		// nothing
+	}
+
+	/**
+	 * Compares the class taxonomies of random ontologies with the given number
+	 * of classes for several seeds.
+	 * 
+	 * @param size
+	 *            the number of classes
+	 * @throws ElkException
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	public void testRandom(final int size)
+			throws ElkException, IOException, InterruptedException {
+		for (int seed = 1; seed <= 5; seed++) {
+			final List<ElkAxiom> ontology = getRandomOntology(new Random(seed),
+					size);
+			final Reasoner expectedReasoner = createReasoner(expectedConfig_,
+					ontology);
+			final Reasoner actualReasoner = createReasoner(actualConfig_,
+					ontology);
+			try {
+				assertEquals(dump(expectedReasoner), dump(actualReasoner));
+				check(expectedReasoner, actualReasoner);
+			} finally {
+				expectedReasoner.shutdown();
+				actualReasoner.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Compares the class taxonomies of a random ontology with the given number
+	 * of classes and after each of several rounds in which one random axiom is
+	 * removed and another one is added.
+	 * 
+	 * @param size
+	 *            the number of classes
+	 * @throws ElkException
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	public void testIncremental(final int size)
+			throws ElkException, IOException, InterruptedException {
+		final Random random = new Random(1);
+		final List<ElkAxiom> ontology = getRandomOntology(random, size);
+		final Reasoner expectedReasoner = createReasoner(expectedConfig_,
+				ontology);
+		final Reasoner actualReasoner = createReasoner(actualConfig_,
+				ontology);
+		try {
+			assertEquals(dump(expectedReasoner), dump(actualReasoner));
+			check(expectedReasoner, actualReasoner);
+			for (int round = 0; round < 10; round++) {
+				final ElkAxiom removed = ontology
+						.remove(random.nextInt(ontology.size()));
+				final ElkAxiom added = getRandomAxiom(random, size);
+				ontology.add(added);
+				for (final Reasoner reasoner : List.of(expectedReasoner,
+						actualReasoner)) {
+					final TestChangesLoader changeLoader = new TestChangesLoader();
+					reasoner.registerAxiomLoader(
+							new TestAxiomLoaderFactory(changeLoader));
+					changeLoader.remove(removed).add(added);
+				}
+				assertEquals(dump(expectedReasoner), dump(actualReasoner));
+				check(expectedReasoner, actualReasoner);
+			}
+		} finally {
+			expectedReasoner.shutdown();
+			actualReasoner.shutdown();
+		}
+	}
+
+	private static Reasoner createReasoner(final ReasonerConfiguration config,
+			final List<ElkAxiom> ontology) {
+		final TestChangesLoader loader = new TestChangesLoader();
+		for (final ElkAxiom axiom : ontology) {
+			loader.add(axiom);
+		}
+		return TestReasonerUtils.createTestReasoner(loader, config);
+	}
+
+	private static String dump(final Reasoner reasoner)
+			throws ElkException, IOException {
+		final Taxonomy<ElkClass> taxonomy = TestIncompleteness
+				.getValue(reasoner.getTaxonomy());
+		final StringWriter writer = new StringWriter();
+		TaxonomyPrinter.dumpTaxomomy(taxonomy, writer, true);
+		return writer.toString();
+	}
+
+	private List<ElkAxiom> getRandomOntology(final Random random,
+			final int size) {
+		final List<ElkAxiom> ontology = new ArrayList<ElkAxiom>();
+		for (int i = 1; i < size; i++) {
+			for (int j = random.nextInt(3); j >= 0; j--) {
+				ontology.add(objectFactory_.getSubClassOfAxiom(getElkClass(i),
+						getElkClass(random.nextInt(i))));
+			}
+		}
+		for (int i = size / 5; i >= 0; i--) {
+			ontology.add(getRandomAxiom(random, size));
+		}
+		ontology.add(objectFactory_.getSubClassOfAxiom(getElkClass(7),
+				objectFactory_.getOwlNothing()));
+		return ontology;
+	}
+
+	private ElkAxiom getRandomAxiom(final Random random, final int size) {
+		final ElkClass sub = getElkClass(random.nextInt(size));
+		final ElkClass sup = getElkClass(random.nextInt(size));
+		switch (random.nextInt(3)) {
+		case 0:
+			return objectFactory_.getSubClassOfAxiom(sub, sup);
+		case 1:
+			return objectFactory_.getEquivalentClassesAxiom(sub,
+					objectFactory_.getObjectSomeValuesFrom(property_, sup));
+		default:
+			return objectFactory_.getSubClassOfAxiom(
+					objectFactory_.getObjectSomeValuesFrom(property_, sub),
+					sup);
+		}
+	}
+
+	private ElkClass getElkClass(final int i) {
+		return objectFactory_
+				.getClass(new ElkFullIri("http://example.org/A" + i));
+	}
+
+}
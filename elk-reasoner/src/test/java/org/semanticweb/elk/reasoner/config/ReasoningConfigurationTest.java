@@ -51,6 +51,26 @@ public void defaultConfig() {
 				ReasonerConfiguration.UNSUPPORTED_FEATURE_TREATMENT));
 		assertTrue(config.getParameterNames().contains(
 				ReasonerConfiguration.INCREMENTAL_MODE_ALLOWED));
+		assertTrue(config.getParameterNames().contains(
+				ReasonerConfiguration.SATURATION_SCHEDULING));
+		assertTrue(config.getParameterNames().contains(
+				ReasonerConfiguration.CONTEXT_TODO_STACK));
+		assertTrue(config.getParameterNames().contains(
+				ReasonerConfiguration.CONTEXT_SUBSUMER_STORAGE));
+		assertTrue(config.getParameterNames().contains(
+				ReasonerConfiguration.CONTEXT_COMPACTION));
+		assertTrue(config.getParameterNames().contains(
+				ReasonerConfiguration.CONTEXT_SPILLING));
+		assertTrue(config.getParameterNames().contains(
+				ReasonerConfiguration.CONCURRENT_INDEXING));
+		assertTrue(config.getParameterNames().contains(
+				ReasonerConfiguration.INCREMENTAL_REDUCTION));
+		assertTrue(config.getParameterNames().contains(
+				ReasonerConfiguration.SUBSUMER_PRUNING));
+		assertTrue(config.getParameterNames().contains(
+				ReasonerConfiguration.INPUT_CHUNK_SIZE));
+		assertTrue(config.getParameterNames().contains(
+				ReasonerConfiguration.CONCURRENT_EXECUTOR));
 		assertTrue(config.getParameterNames().contains(
 				ReasonerConfiguration.TRACING_EVICTOR));
 		assertTrue(config.getParameterNames().contains(
@@ -66,6 +86,36 @@ public void defaultConfig() {
 		assertEquals(
 				true,
 				config.getParameterAsBoolean(ReasonerConfiguration.INCREMENTAL_MODE_ALLOWED));
+		assertEquals(
+				SaturationScheduling.SHARED_QUEUE,
+				config.getParameter(ReasonerConfiguration.SATURATION_SCHEDULING));
+		assertEquals(
+				ContextToDoStack.SYNCHRONIZED,
+				config.getParameter(ReasonerConfiguration.CONTEXT_TODO_STACK));
+		assertEquals(
+				ContextSubsumerStorage.OBJECT_SETS,
+				config.getParameter(ReasonerConfiguration.CONTEXT_SUBSUMER_STORAGE));
+		assertEquals(
+				false,
+				config.getParameterAsBoolean(ReasonerConfiguration.CONTEXT_COMPACTION));
+		assertEquals(
+				false,
+				config.getParameterAsBoolean(ReasonerConfiguration.CONTEXT_SPILLING));
+		assertEquals(
+				false,
+				config.getParameterAsBoolean(ReasonerConfiguration.CONCURRENT_INDEXING));
+		assertEquals(
+				false,
+				config.getParameterAsBoolean(ReasonerConfiguration.INCREMENTAL_REDUCTION));
+		assertEquals(
+				SubsumerPruning.OBJECT_SETS,
+				config.getParameter(ReasonerConfiguration.SUBSUMER_PRUNING));
+		assertEquals(
+				1,
+				config.getParameterAsInt(ReasonerConfiguration.INPUT_CHUNK_SIZE));
+		assertEquals(
+				ConcurrentExecutorType.PLATFORM_THREADS,
+				config.getParameter(ReasonerConfiguration.CONCURRENT_EXECUTOR));
 		Object value = config.getParameter(ReasonerConfiguration.TRACING_EVICTOR);
 		assertTrue(value instanceof Evictor.Builder);
 		value = config.getParameter(ReasonerConfiguration.CLASS_EXPRESSION_QUERY_EVICTOR);
@@ -0,0 +1,63 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.indexing.classes;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.reasoner.TestConfigurationComparison;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+
+/**
+ * Tests that the axioms indexed by {@link ConcurrentChangeIndexing} give the
+ * same class taxonomy as the axioms indexed sequentially, also for several
+ * batches of axioms and after incremental additions and deletions.
+ */
+public class ConcurrentChangeIndexingTest {
+
+	private final TestConfigurationComparison comparison_ = new TestConfigurationComparison(
+			getConfiguration(false), getConfiguration(true));
+
+	@Test
+	public void testRandom()
+			throws ElkException, IOException, InterruptedException {
+		// more axioms than in one batch
+		comparison_.testRandom(1000);
+	}
+
+	@Test
+	public void testIncremental()
+			throws ElkException, IOException, InterruptedException {
+		comparison_.testIncremental(300);
+	}
+
+	private static ReasonerConfiguration getConfiguration(
+			final boolean concurrent) {
+		final ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.CONCURRENT_INDEXING,
+				String.valueOf(concurrent));
+		return config;
+	}
+
+}
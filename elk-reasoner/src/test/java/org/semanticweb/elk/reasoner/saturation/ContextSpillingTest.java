@@ -0,0 +1,123 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.saturation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestConfigurationComparison;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.indexing.classes.ModifiableIndexedObjectBaseFactory;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedContextRoot;
+import org.semanticweb.elk.reasoner.saturation.conclusions.classes.SaturationConclusionBaseFactory;
+import org.semanticweb.elk.reasoner.saturation.conclusions.model.SaturationConclusion;
+
+/**
+ * Tests that the contexts spilled by a {@link SpillingSaturationState} are
+ * restored with the same conclusions: the class taxonomy computed with
+ * {@link ReasonerConfiguration#CONTEXT_SPILLING} should be the same as without
+ * it, also after incremental changes, for which the spilled contexts are
+ * restored and spilled again.
+ */
+public class ContextSpillingTest {
+
+	private final TestConfigurationComparison comparison_ = new TestConfigurationComparison(
+			getConfiguration(false), getConfiguration(true)) {
+
+		@Override
+		protected void check(final Reasoner expectedReasoner,
+				final Reasoner actualReasoner) {
+			assertEquals(0, expectedReasoner.getSpilledContextCount());
+			assertTrue(actualReasoner.getSpilledContextCount() > 0);
+		}
+
+	};
+
+	@Test
+	public void testRandom()
+			throws ElkException, IOException, InterruptedException {
+		comparison_.testRandom(300);
+	}
+
+	@Test
+	public void testIncremental()
+			throws ElkException, IOException, InterruptedException {
+		comparison_.testIncremental(300);
+	}
+
+	@Test
+	public void testFindRoots() {
+		ElkObject.Factory objectFactory = new ElkObjectEntityRecyclingFactory();
+		ModifiableIndexedObjectBaseFactory indexFactory = new ModifiableIndexedObjectBaseFactory();
+		SaturationConclusion.Factory conclusionFactory = new SaturationConclusionBaseFactory();
+		List<IndexedClassExpression> classes = new ArrayList<IndexedClassExpression>();
+		for (int i = 0; i < 5; i++) {
+			classes.add(indexFactory.getIndexedClass(
+					objectFactory.getClass(new ElkFullIri(":C" + i))));
+		}
+		IndexedContextRoot root = classes.get(0);
+		ContextImpl context = new ContextImpl(root);
+		context.addConclusion(conclusionFactory
+				.getSubClassInclusionComposed(root, classes.get(1)));
+		context.addConclusion(conclusionFactory
+				.getSubClassInclusionDecomposed(root, classes.get(2)));
+		ContextSpillStore store = new ContextSpillStore();
+		store.spill(context);
+		List<IndexedClassExpression> none = Collections.emptyList();
+		assertEquals(Collections.singletonList(root), store.findRoots(
+				Collections.singletonList(classes.get(1)), none));
+		assertEquals(Collections.singletonList(root), store.findRoots(none,
+				Collections.singletonList(classes.get(2))));
+		// the subsumers are looked up in the right lists
+		assertTrue(store.findRoots(Collections.singletonList(classes.get(2)),
+				Collections.singletonList(classes.get(1))).isEmpty());
+		// the objects without codes are not found
+		assertTrue(store.findRoots(classes.subList(3, 5), classes.subList(3, 5))
+				.isEmpty());
+		// the restored records are not found
+		assertTrue(store.restore(new ContextImpl(root)));
+		assertTrue(store.findRoots(classes, classes).isEmpty());
+		store.clear();
+	}
+
+	private static ReasonerConfiguration getConfiguration(
+			final boolean spilling) {
+		final ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.CONTEXT_SPILLING,
+				String.valueOf(spilling));
+		return config;
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.saturation;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.reasoner.TestConfigurationComparison;
+import org.semanticweb.elk.reasoner.config.ContextSubsumerStorage;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+
+/**
+ * Tests that {@link ContextSubsumerStorage#ID_SETS} computes the same class
+ * taxonomy as {@link ContextSubsumerStorage#OBJECT_SETS}, also after
+ * incremental changes that remove class expressions and recycle their numbers.
+ */
+public class ContextSubsumerStorageTest {
+
+	private final TestConfigurationComparison comparison_ = new TestConfigurationComparison(
+			getConfiguration(ContextSubsumerStorage.OBJECT_SETS),
+			getConfiguration(ContextSubsumerStorage.ID_SETS));
+
+	@Test
+	public void testRandom()
+			throws ElkException, IOException, InterruptedException {
+		comparison_.testRandom(500);
+	}
+
+	@Test
+	public void testIncremental()
+			throws ElkException, IOException, InterruptedException {
+		comparison_.testIncremental(300);
+	}
+
+	private static ReasonerConfiguration getConfiguration(
+			final ContextSubsumerStorage storage) {
+		final ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.CONTEXT_SUBSUMER_STORAGE,
+				storage.name());
+		return config;
+	}
+
+}
@@ -0,0 +1,246 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.saturation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.owl.visitors.ElkAxiomProcessor;
+import org.semanticweb.elk.reasoner.indexing.classes.ChangeIndexingProcessor;
+import org.semanticweb.elk.reasoner.indexing.classes.DirectIndex;
+import org.semanticweb.elk.reasoner.indexing.classes.ModifiableIndexedObjectBaseFactory;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkAxiomConverterImpl;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkPolarityExpressionConverter;
+import org.semanticweb.elk.reasoner.indexing.conversion.ElkPolarityExpressionConverterImpl;
+import org.semanticweb.elk.reasoner.indexing.model.IndexedClassExpression;
+import org.semanticweb.elk.reasoner.indexing.model.ModifiableOntologyIndex;
+
+/**
+ * Tests for {@link IndexedClassExpressionIdSet} and the numbers of
+ * {@link IndexedClassExpression}s
+ *
+ * @author Yevgeny Kazakov
+ */
+public class IndexedClassExpressionIdSetTest {
+
+	private final ElkObject.Factory objectFactory_ = new ElkObjectEntityRecyclingFactory();
+
+	private final ModifiableOntologyIndex index_ = new DirectIndex(
+			objectFactory_);
+
+	private List<IndexedClassExpression> indexClasses(String prefix,
+			int count, int increment) {
+		ElkAxiomProcessor processor = new ChangeIndexingProcessor(
+				new ElkAxiomConverterImpl(objectFactory_, index_, increment),
+				increment, index_);
+		List<ElkClass> classes = new ArrayList<ElkClass>();
+		for (int i = 0; i < count; i++) {
+			classes.add(objectFactory_
+					.getClass(new ElkFullIri(":" + prefix + i)));
+		}
+		List<IndexedClassExpression> result = new ArrayList<IndexedClassExpression>();
+		ElkPolarityExpressionConverter converter = new ElkPolarityExpressionConverterImpl(
+				objectFactory_, index_);
+		if (increment < 0) {
+			// the classes are removed by the axioms
+			for (ElkClass c : classes) {
+				result.add(c.accept(converter));
+			}
+		}
+		for (int i = 1; i < count; i++) {
+			processor.visit(objectFactory_.getSubClassOfAxiom(
+					classes.get(i - 1), classes.get(i)));
+		}
+		if (increment > 0) {
+			for (ElkClass c : classes) {
+				result.add(c.accept(converter));
+			}
+		}
+		return result;
+	}
+
+	private List<IndexedClassExpression> indexClasses(int count) {
+		return indexClasses("C", count, 1);
+	}
+
+	@Test
+	public void testIds() {
+		Set<Integer> ids = new HashSet<Integer>();
+		for (IndexedClassExpression ice : index_.getClassExpressions()) {
+			int id = ice.getId();
+			assertTrue(ids.add(id));
+			assertSame(ice, index_.getClassExpression(id));
+		}
+		List<IndexedClassExpression> classes = indexClasses(300);
+		for (IndexedClassExpression ice : classes) {
+			int id = ice.getId();
+			assertTrue(ids.add(id));
+			assertSame(ice, index_.getClassExpression(id));
+		}
+		// the ids are dense
+		for (int id = 0; id < ids.size(); id++) {
+			assertTrue(ids.contains(id));
+		}
+		assertNull(index_.getClassExpression(ids.size()));
+		assertNull(index_.getClassExpression(-1));
+	}
+
+	@Test
+	public void testRecycledIds() {
+		indexClasses(100);
+		int count = index_.getClassExpressions().size();
+		List<IndexedClassExpression> removed = indexClasses("D", 50, 1);
+		indexClasses("D", 50, -1);
+		assertEquals(count, index_.getClassExpressions().size());
+		// the removed expressions are resolvable until recycled
+		Set<Integer> removedIds = new HashSet<Integer>();
+		for (IndexedClassExpression ice : removed) {
+			assertTrue(removedIds.add(ice.getId()));
+			assertSame(ice, index_.getClassExpression(ice.getId()));
+		}
+		index_.recycleRemovedIds();
+		for (IndexedClassExpression ice : removed) {
+			assertEquals(-1, ice.getId());
+		}
+		for (int id : removedIds) {
+			assertNull(index_.getClassExpression(id));
+		}
+		// the new expressions get the recycled numbers
+		for (IndexedClassExpression ice : indexClasses("E", 50, 1)) {
+			assertTrue(removedIds.remove(ice.getId()));
+			assertSame(ice, index_.getClassExpression(ice.getId()));
+		}
+		assertTrue(removedIds.isEmpty());
+	}
+
+	private static void assertSameElements(Set<IndexedClassExpression> expected,
+			Set<IndexedClassExpression> actual,
+			List<IndexedClassExpression> candidates) {
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected, new HashSet<IndexedClassExpression>(actual));
+		for (IndexedClassExpression other : candidates) {
+			assertEquals(expected.contains(other), actual.contains(other));
+		}
+	}
+
+	private void testRandomUpdates(List<IndexedClassExpression> classes,
+			int rounds) {
+		Set<IndexedClassExpression> expected = new HashSet<IndexedClassExpression>();
+		IndexedClassExpressionIdSet actual = new IndexedClassExpressionIdSet(
+				index_);
+		Random random = new Random(42);
+		for (int round = 0; round < rounds; round++) {
+			IndexedClassExpression ice = classes
+					.get(random.nextInt(classes.size()));
+			// bias towards adding so that the set grows and shrinks
+			if (random.nextInt(round % 2000 < 1000 ? 3 : 5) > 1) {
+				assertEquals(expected.remove(ice), actual.remove(ice));
+			} else {
+				assertEquals(expected.add(ice), actual.add(ice));
+			}
+			assertEquals(expected.size(), actual.size());
+			if (round % 500 == 0) {
+				assertSameElements(expected, actual, classes);
+				actual.trimToSize();
+			}
+		}
+		// removing every third element by the iterator
+		int i = 0;
+		for (Iterator<IndexedClassExpression> iter = actual.iterator(); iter
+				.hasNext();) {
+			IndexedClassExpression next = iter.next();
+			if (i++ % 3 == 0) {
+				iter.remove();
+				assertTrue(expected.remove(next));
+			}
+		}
+		assertSameElements(expected, actual, classes);
+		// removing all elements by the iterator
+		for (Iterator<IndexedClassExpression> iter = actual.iterator(); iter
+				.hasNext();) {
+			iter.next();
+			iter.remove();
+		}
+		assertTrue(actual.isEmpty());
+		assertFalse(actual.iterator().hasNext());
+		actual.addAll(expected);
+		assertSameElements(expected, actual, classes);
+		actual.clear();
+		assertTrue(actual.isEmpty());
+		assertFalse(actual.iterator().hasNext());
+	}
+
+	@Test
+	public void testRandomUpdates() {
+		testRandomUpdates(indexClasses(300), 20000);
+	}
+
+	@Test
+	public void testRandomUpdatesInSeveralGroups() {
+		// the numbers differ in the upper 16 bits
+		List<IndexedClassExpression> classes = indexClasses(140000);
+		List<IndexedClassExpression> sample = new ArrayList<IndexedClassExpression>();
+		for (int i = 0; i < classes.size(); i += 997) {
+			sample.add(classes.get(i));
+		}
+		testRandomUpdates(sample, 5000);
+	}
+
+	@Test
+	public void testUnnumbered() {
+		List<IndexedClassExpression> classes = indexClasses(300);
+		IndexedClassExpression unnumbered = new ModifiableIndexedObjectBaseFactory()
+				.getIndexedClass(
+						objectFactory_.getClass(new ElkFullIri(":D")));
+		assertEquals(-1, unnumbered.getId());
+		Set<IndexedClassExpression> set = new IndexedClassExpressionIdSet(
+				index_);
+		assertTrue(set.add(classes.get(0)));
+		assertTrue(set.add(unnumbered));
+		assertFalse(set.add(unnumbered));
+		assertEquals(2, set.size());
+		assertTrue(set.contains(unnumbered));
+		Set<IndexedClassExpression> expected = new HashSet<IndexedClassExpression>();
+		expected.add(classes.get(0));
+		expected.add(unnumbered);
+		assertEquals(expected, new HashSet<IndexedClassExpression>(set));
+		assertTrue(set.remove(unnumbered));
+		assertFalse(set.contains(unnumbered));
+		assertEquals(1, set.size());
+	}
+
+}
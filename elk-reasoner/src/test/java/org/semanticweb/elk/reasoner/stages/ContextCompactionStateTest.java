@@ -0,0 +1,94 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.stages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+
+/**
+ * Tests that {@link ContextCompactionStage} compacts only the contexts
+ * saturated after its previous run.
+ */
+public class ContextCompactionStateTest {
+
+	private static final int SIZE_ = 100;
+
+	private final ElkObject.Factory objectFactory_ = new ElkObjectEntityRecyclingFactory();
+
+	private ElkClass getElkClass(final String name) {
+		return objectFactory_
+				.getClass(new ElkFullIri("http://example.org/" + name));
+	}
+
+	@Test
+	public void testIncremental() throws ElkException, InterruptedException {
+		final TestChangesLoader loader = new TestChangesLoader();
+		for (int i = 1; i < SIZE_; i++) {
+			loader.add(objectFactory_.getSubClassOfAxiom(getElkClass("A" + i),
+					getElkClass("A" + (i - 1))));
+		}
+		final ReasonerConfiguration config = ReasonerConfiguration
+				.getConfiguration();
+		config.setParameter(ReasonerConfiguration.CONTEXT_COMPACTION, "true");
+		final Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader,
+				config);
+		// the tracking state is not visible through Reasoner
+		final AbstractReasonerState state = reasoner;
+		try {
+			reasoner.getTaxonomy();
+			final int contextCount = state.saturationState.getContexts()
+					.size();
+			assertTrue(contextCount > SIZE_);
+			assertEquals(0, state.contextCompactionState
+					.getContextsToCompact().size());
+			// the change affects the contexts of the classes below A50
+			final TestChangesLoader changeLoader = new TestChangesLoader();
+			reasoner.registerAxiomLoader(
+					new TestAxiomLoaderFactory(changeLoader));
+			changeLoader.add(objectFactory_.getSubClassOfAxiom(
+					getElkClass("A" + (SIZE_ / 2)), getElkClass("B")));
+			reasoner.isInconsistent();
+			final int toCompact = state.contextCompactionState
+					.getContextsToCompact().size();
+			assertTrue(toCompact > 0);
+			assertTrue(toCompact < contextCount);
+			reasoner.getTaxonomy();
+			assertEquals(0, state.contextCompactionState
+					.getContextsToCompact().size());
+		} finally {
+			reasoner.shutdown();
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.completeness.TestIncompleteness;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+
+/**
+ * Tests that {@link FrozenTaxonomy} is the same as the taxonomy it is copied
+ * from.
+ */
+public class FrozenTaxonomyTest {
+
+	@Test
+	public void testSmall()
+			throws IOException, ElkException, InterruptedException {
+		try (InputStream stream = getClass().getClassLoader()
+				.getResourceAsStream("io/taxonomy.owl")) {
+			check(TestReasonerUtils.createTestReasoner(stream, 1));
+		}
+	}
+
+	@Test
+	public void testRandom()
+			throws IOException, ElkException, InterruptedException {
+		final Random random = new Random(1);
+		final StringBuilder ontology = new StringBuilder(
+				"Prefix(: = <http://example.org/>)\nOntology(\n");
+		for (int i = 1; i < 2000; i++) {
+			ontology.append("SubClassOf(:A").append(i).append(" :A")
+					.append(random.nextInt(i)).append(")\n");
+			if (random.nextInt(10) == 0) {
+				ontology.append("SubClassOf(:A").append(random.nextInt(i))
+						.append(" :A").append(i).append(")\n");
+			}
+		}
+		// the IRIs of these classes have equal hash codes
+		ontology.append("SubClassOf(:Aa :A1)\nSubClassOf(:BB :A2)\n)");
+		check(TestReasonerUtils.createTestReasoner(new ByteArrayInputStream(
+				ontology.toString().getBytes(StandardCharsets.UTF_8)), 1));
+	}
+
+	private static void check(final Reasoner reasoner)
+			throws ElkException, InterruptedException {
+		try {
+			final Taxonomy<ElkClass> original = TestIncompleteness
+					.getValue(reasoner.getTaxonomy());
+			final Taxonomy<ElkClass> frozen = TestIncompleteness
+					.getValue(reasoner.getFrozenTaxonomy());
+
+			assertEquals(TaxonomyPrinter.getHashString(original),
+					TaxonomyPrinter.getHashString(frozen));
+			assertEquals(original, frozen);
+			assertEquals(original.getNodes().size(), frozen.getNodes().size());
+			assertTrue(
+					frozen.getTopNode().contains(original.getTopNode()
+							.getCanonicalMember()));
+			assertTrue(frozen.getBottomNode().contains(
+					original.getBottomNode().getCanonicalMember()));
+
+			for (final TaxonomyNode<ElkClass> node : original.getNodes()) {
+				final TaxonomyNode<ElkClass> copy = frozen
+						.getNode(node.getCanonicalMember());
+				assertNotNull(copy);
+				assertTrue(frozen.getNodes().contains(copy));
+				assertEquals(node.size(), copy.size());
+				for (final ElkClass member : node) {
+					assertSame(copy, frozen.getNode(member));
+					assertTrue(copy.contains(member));
+				}
+				assertEquals(getMembers(node.getDirectSuperNodes()),
+						getMembers(copy.getDirectSuperNodes()));
+				assertEquals(getMembers(node.getDirectSubNodes()),
+						getMembers(copy.getDirectSubNodes()));
+				assertEquals(getMembers(node.getAllSuperNodes()),
+						getMembers(copy.getAllSuperNodes()));
+				assertEquals(getMembers(node.getAllSubNodes()),
+						getMembers(copy.getAllSubNodes()));
+				for (final TaxonomyNode<ElkClass> sup : copy
+						.getDirectSuperNodes()) {
+					assertTrue(sup.getDirectSubNodes().contains(copy));
+					assertTrue(copy.getAllSuperNodes().contains(sup));
+				}
+			}
+
+			assertNull(frozen.getNode(new ElkObjectEntityRecyclingFactory()
+					.getClass(new ElkFullIri("http://example.org/Z"))));
+		} finally {
+			reasoner.shutdown();
+		}
+	}
+
+	private static Set<ElkClass> getMembers(
+			final Set<? extends TaxonomyNode<ElkClass>> nodes) {
+		final Set<ElkClass> result = new HashSet<ElkClass>();
+		for (final TaxonomyNode<ElkClass> node : nodes) {
+			result.add(node.getCanonicalMember());
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,166 @@
+/*
+ * #%L
+ * ELK Reasoner
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2012 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.reasoner.taxonomy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.loading.TestAxiomLoaderFactory;
+import org.semanticweb.elk.loading.TestChangesLoader;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.interfaces.ElkObject;
+import org.semanticweb.elk.owl.iris.ElkFullIri;
+import org.semanticweb.elk.owl.managers.ElkObjectEntityRecyclingFactory;
+import org.semanticweb.elk.reasoner.Reasoner;
+import org.semanticweb.elk.reasoner.TestReasonerUtils;
+import org.semanticweb.elk.reasoner.completeness.TestIncompleteness;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+
+/**
+ * Tests that {@link TaxonomyClosure} agrees with the traversal of the
+ * {@link FrozenTaxonomy}.
+ */
+public class TaxonomyClosureTest {
+
+	private final ElkObject.Factory objectFactory_ = new ElkObjectEntityRecyclingFactory();
+
+	@Test
+	public void testRandom() throws ElkException, InterruptedException {
+		final Random random = new Random(1);
+		final StringBuilder ontology = new StringBuilder(
+				"Prefix(: = <http://example.org/>)\n"
+						+ "Prefix(owl: = <http://www.w3.org/2002/07/owl#>)\nOntology(\n");
+		for (int i = 1; i < 1000; i++) {
+			for (int j = random.nextInt(3); j >= 0; j--) {
+				ontology.append("SubClassOf(:A").append(i).append(" :A")
+						.append(random.nextInt(i)).append(")\n");
+			}
+			if (random.nextInt(20) == 0) {
+				ontology.append("SubClassOf(:A").append(random.nextInt(i))
+						.append(" :A").append(i).append(")\n");
+			}
+		}
+		ontology.append("SubClassOf(:A7 owl:Nothing)\n)");
+		final Reasoner reasoner = TestReasonerUtils
+				.createTestReasoner(new ByteArrayInputStream(
+						ontology.toString().getBytes(StandardCharsets.UTF_8)),
+						1);
+		try {
+			check(TestIncompleteness.getValue(reasoner.getFrozenTaxonomy()));
+		} finally {
+			reasoner.shutdown();
+		}
+	}
+
+	@Test
+	public void testIncremental() throws ElkException, InterruptedException {
+		final TestChangesLoader loader = new TestChangesLoader();
+		final Reasoner reasoner = TestReasonerUtils.createTestReasoner(loader);
+		try {
+			reasoner.setAllowIncrementalMode(false);
+			for (int i = 1; i < 100; i++) {
+				loader.add(objectFactory_.getSubClassOfAxiom(getElkClass(i),
+						getElkClass(i / 2)));
+			}
+			final FrozenTaxonomy<ElkClass> taxonomy = TestIncompleteness
+					.getValue(reasoner.getFrozenTaxonomy());
+			check(taxonomy);
+			assertTrue(taxonomy.getClosure().isSubsumedBy(getElkClass(12),
+					getElkClass(3)));
+			// nothing changed, so the copy and its closure are kept
+			assertSame(taxonomy, TestIncompleteness
+					.getValue(reasoner.getFrozenTaxonomy()));
+
+			reasoner.setAllowIncrementalMode(true);
+			final TestChangesLoader changeLoader = new TestChangesLoader();
+			reasoner.registerAxiomLoader(
+					new TestAxiomLoaderFactory(changeLoader));
+			changeLoader
+					.remove(objectFactory_.getSubClassOfAxiom(getElkClass(6),
+							getElkClass(3)))
+					.add(objectFactory_.getSubClassOfAxiom(getElkClass(6),
+							getElkClass(5)));
+			final FrozenTaxonomy<ElkClass> updated = TestIncompleteness
+					.getValue(reasoner.getFrozenTaxonomy());
+			assertNotSame(taxonomy, updated);
+			check(updated);
+			assertFalse(updated.getClosure().isSubsumedBy(getElkClass(12),
+					getElkClass(3)));
+			assertTrue(updated.getClosure().isSubsumedBy(getElkClass(12),
+					getElkClass(5)));
+		} finally {
+			reasoner.shutdown();
+		}
+	}
+
+	private ElkClass getElkClass(final int i) {
+		return objectFactory_
+				.getClass(new ElkFullIri("http://example.org/A" + i));
+	}
+
+	private static void check(final FrozenTaxonomy<ElkClass> taxonomy) {
+		final TaxonomyClosure<ElkClass> closure = taxonomy.getClosure();
+		for (final TaxonomyNode<ElkClass> node : taxonomy.getNodes()) {
+			final Set<? extends TaxonomyNode<ElkClass>> superNodes = node
+					.getAllSuperNodes();
+			final List<TaxonomyNode<ElkClass>> streamedSuperNodes = closure
+					.streamAllSuperNodes(node).collect(Collectors.toList());
+			assertEquals(superNodes.size(), streamedSuperNodes.size());
+			assertEquals(superNodes, new HashSet<TaxonomyNode<ElkClass>>(
+					streamedSuperNodes));
+			final Set<? extends TaxonomyNode<ElkClass>> subNodes = node
+					.getAllSubNodes();
+			final List<TaxonomyNode<ElkClass>> streamedSubNodes = closure
+					.streamAllSubNodes(node).collect(Collectors.toList());
+			assertEquals(subNodes.size(), streamedSubNodes.size());
+			assertEquals(subNodes,
+					new HashSet<TaxonomyNode<ElkClass>>(streamedSubNodes));
+			for (final TaxonomyNode<ElkClass> other : taxonomy.getNodes()) {
+				assertEquals(other == node || superNodes.contains(other),
+						closure.isSubsumedBy(node.getCanonicalMember(),
+								other.getCanonicalMember()));
+			}
+		}
+		// all nodes except for the top and bottom node have two labels
+		assertTrue(closure.getIntervalCount() >= 2
+				* (taxonomy.getNodes().size() - 1));
+		assertTrue(closure.getMaxIntervalCount() >= 1);
+		assertEquals(Collections.emptyList(),
+				closure.streamAllSuperNodes(taxonomy.getTopNode())
+						.collect(Collectors.toList()));
+	}
+
+}
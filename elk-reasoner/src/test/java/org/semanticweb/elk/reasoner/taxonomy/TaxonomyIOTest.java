@@ -25,14 +25,17 @@
  */
 package org.semanticweb.elk.reasoner.taxonomy;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.file.Files;
 
 import org.junit.Test;
 import org.semanticweb.elk.exceptions.ElkException;
@@ -171,6 +174,38 @@ public void objectPropertyTaxonomyRoundtrip() throws IOException,
 		// @formatter:on
 	}
 
+	@Test
+	public void parallelDump() throws IOException, Owl2ParseException,
+			ElkInconsistentOntologyException, ElkException {
+		final Taxonomy<ElkClass> taxonomy = loadAndClassify(
+				"io/taxonomy.owl");
+		final File expected = File.createTempFile("taxonomy", ".owl");
+		final File actual = File.createTempFile("taxonomy", ".owl");
+		try {
+			TaxonomyPrinter.dumpTaxomomyToFile(taxonomy,
+					expected.getAbsolutePath(), true);
+			TaxonomyPrinter.dumpTaxomomyInParallel(taxonomy, actual.toPath(),
+					true);
+
+			assertArrayEquals(Files.readAllBytes(expected.toPath()),
+					Files.readAllBytes(actual.toPath()));
+			assertEquals(TaxonomyPrinter.getHashString(taxonomy),
+					TaxonomyPrinter.getParallelHashString(taxonomy));
+			// several chunks and batches, also with incomplete last ones
+			for (final int chunkSize : new int[] { 1, 2, 3, 7 }) {
+				for (final int batchSize : new int[] { 1, 2, 5 }) {
+					TaxonomyPrinter.dumpTaxomomyInParallel(taxonomy,
+							actual.toPath(), true, chunkSize, batchSize);
+					assertArrayEquals(Files.readAllBytes(expected.toPath()),
+							Files.readAllBytes(actual.toPath()));
+				}
+			}
+		} finally {
+			expected.delete();
+			actual.delete();
+		}
+	}
+
 	/*
 	 * Test that reordering classes in EquivalentClasses axioms and replacing a
 	 * class name by an equivalent one in SubClassOf axioms does not break class
@@ -45,6 +45,7 @@
 
 import dev.ikm.elk.snomed.SnomedIds;
 import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntology.Storage;
 import dev.ikm.elk.snomed.model.Concept;
 import dev.ikm.elk.snomed.model.ConcreteRole;
 import dev.ikm.elk.snomed.model.ConcreteRoleType;
@@ -59,12 +60,23 @@ public class OwlTransformer {
 	@SuppressWarnings("unused")
 	private static final Logger LOG = LoggerFactory.getLogger(OwlTransformer.class);
 
+	private final Storage storage;
+
 	HashMap<OWLClass, Concept> concepts = new HashMap<>();
 
 	HashMap<OWLObjectProperty, RoleType> roleTypes = new HashMap<>();
 
 	HashMap<OWLDataProperty, ConcreteRoleType> dataPropertyTypes = new HashMap<>();
 
+	public OwlTransformer() {
+		// a full edition is looked up by id throughout reasoning and NNF
+		this(Storage.Primitive);
+	}
+
+	public OwlTransformer(Storage storage) {
+		this.storage = storage;
+	}
+
 	private Concept getConcept(OWLClass clazz) {
 		long id = SnomedOwlOntology.getId(clazz);
 		concepts.putIfAbsent(clazz, new Concept(id));
@@ -134,7 +146,7 @@ public SnomedOntology transform(SnomedOwlOntology ontology) {
 				concept.addGciDefinition(def);
 			}
 		}
-		return new SnomedOntology(concepts.values(), roleTypes.values(), dataPropertyTypes.values());
+		return new SnomedOntology(concepts.values(), roleTypes.values(), dataPropertyTypes.values(), storage);
 	}
 
 	private Definition createDefinition(OWLClass concept, OWLClassAxiom axiom, boolean isGci) {
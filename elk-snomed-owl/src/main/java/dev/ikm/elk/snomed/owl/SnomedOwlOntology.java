@@ -29,7 +29,6 @@
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.semanticweb.elk.owlapi.ElkReasonerFactory;
 import org.semanticweb.owlapi.OWLAPIConfigProvider;
@@ -56,6 +55,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import dev.ikm.elk.snomed.Rf2Reader;
 import dev.ikm.elk.snomed.SnomedIds;
 
 public class SnomedOwlOntology {
@@ -101,12 +101,8 @@ public OWLOntologyManager getOntologyManager() {
 
 	public static List<String> readAxioms(Path file) throws IOException {
 		// id effectiveTime active moduleId refsetId referencedComponentId owlExpression
-		try (Stream<String> st = Files.lines(file)) {
-			return st.skip(1).map(line -> line.split("\\t")) //
-					.filter(fields -> Integer.parseInt(fields[2]) == 1) // active
-					.map(fields -> fields[6]) //
-					.collect(Collectors.toCollection(ArrayList::new));
-		}
+		return Rf2Reader.collect(file, Runtime.getRuntime().availableProcessors(),
+				row -> row.isActive() ? row.getString(6) : null);
 	}
 
 	public static List<String> getPrefixDeclaration(List<String> lines) {
@@ -0,0 +1,44 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+
+public class ContextCompactionUsTestIT extends SnomedTestBase {
+
+	protected String getVersion() {
+		return "20240301";
+	}
+
+	@Override
+	protected int[] getWorkers() {
+		return new int[] { 1, 4, 16 };
+	}
+
+	@Test
+	public void compaction() throws Exception {
+		scaling(ReasonerConfiguration.CONTEXT_COMPACTION, List.of("false", "true"));
+	}
+
+}
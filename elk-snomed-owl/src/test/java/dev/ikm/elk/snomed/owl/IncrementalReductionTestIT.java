@@ -0,0 +1,115 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntologyReasoner;
+import dev.ikm.elk.snomed.model.Concept;
+import dev.ikm.elk.snomed.model.Definition;
+import dev.ikm.elk.snomed.model.DefinitionType;
+
+/*
+ * Runs the edits of IncrementalClassifierTestIT with and without the
+ * incremental transitive reduction and compares the update times.
+ */
+public class IncrementalReductionTestIT extends SnomedTestBase {
+
+	private static final Logger LOG = LoggerFactory.getLogger(IncrementalReductionTestIT.class);
+
+	private final boolean[] reductions = { false, true };
+
+	private final int rounds = 3;
+
+	// 123823007 |Decreased blood oxygen pressure (finding)|
+	// 123822002 |Increased blood oxygen pressure (finding)|
+
+	private final long decreased_id = 123823007;
+	private final long increased_id = 123822002;
+
+	// 307824009 |Administrative statuses (finding)|
+	// 138875005 |SNOMED CT Concept (SNOMED RT+CTV3)|
+
+	private final long admin_id = 307824009;
+	private final long snomed_id = 138875005;
+
+	private SnomedOntology load() throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		ontology.loadOntology(axioms_file);
+		return new OwlTransformer().transform(ontology);
+	}
+
+	private SnomedOntologyReasoner classify(SnomedOntology snomedOntology, boolean reduction) {
+		ReasonerConfiguration config = ReasonerConfiguration.getConfiguration();
+		config.setParameter(ReasonerConfiguration.INCREMENTAL_REDUCTION, String.valueOf(reduction));
+		return SnomedOntologyReasoner.create(snomedOntology, config);
+	}
+
+	private void setParent(long concept_id, long parent_id) throws Exception {
+		HashMap<Long, Set<Long>> expected = null;
+		for (boolean reduction : reductions) {
+			long best = Long.MAX_VALUE;
+			for (int round = 0; round < rounds; round++) {
+				SnomedOntology snomedOntology = load();
+				SnomedOntologyReasoner sor = classify(snomedOntology, reduction);
+				Concept concept = snomedOntology.getConcept(concept_id);
+				Definition def = new Definition();
+				def.setDefinitionType(DefinitionType.SubConcept);
+				def.addSuperConcept(snomedOntology.getConcept(parent_id));
+				concept.removeAllDefinitions();
+				concept.addDefinition(def);
+				long beg = System.currentTimeMillis();
+				sor.update(List.of(concept));
+				best = Math.min(best, System.currentTimeMillis() - beg);
+				assertEquals(Set.of(parent_id), sor.getSuperConcepts(concept_id));
+				if (round == 0) {
+					/* both modes must give the same taxonomy */
+					if (expected == null)
+						expected = sor.getSuperConcepts();
+					else
+						assertEquals(expected, sor.getSuperConcepts());
+				}
+			}
+			LOG.info("Reduction: " + reduction + " concept: " + concept_id + " update: " + best + " ms");
+		}
+	}
+
+	@Test
+	public void change() throws Exception {
+		setParent(increased_id, decreased_id);
+	}
+
+	@Test
+	public void changeBig() throws Exception {
+		setParent(admin_id, snomed_id);
+	}
+
+}
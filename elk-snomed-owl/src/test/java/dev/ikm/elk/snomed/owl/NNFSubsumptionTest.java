@@ -0,0 +1,111 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import dev.ikm.elk.snomed.NNFSubsumption;
+import dev.ikm.elk.snomed.SnomedIds;
+import dev.ikm.elk.snomed.SnomedIsa;
+import dev.ikm.elk.snomed.model.Concept;
+import dev.ikm.elk.snomed.model.Definition;
+import dev.ikm.elk.snomed.model.Role;
+import dev.ikm.elk.snomed.model.RoleType;
+
+public class NNFSubsumptionTest {
+
+	private static class TestSubsumption extends NNFSubsumption {
+
+		private final RoleType r;
+
+		TestSubsumption(List<Concept> concepts, RoleType r, int chainCacheCapacity) {
+			super(isa(concepts), new HashMap<>(Map.of(r, Set.of(r))), nnf(concepts), chainCacheCapacity);
+			this.r = r;
+		}
+
+		boolean isSubRoleOfEntailed(Concept con1, Concept con2) {
+			return isSubRoleOfEntailed(new Role(r, con1), new Role(r, con2));
+		}
+
+		private static SnomedIsa isa(List<Concept> concepts) {
+			HashMap<Long, Set<Long>> isas = new HashMap<>();
+			concepts.forEach(con -> isas.put(con.getId(), Set.of(SnomedIds.root)));
+			return SnomedIsa.init(isas);
+		}
+
+		private static ConcurrentHashMap<Concept, Definition> nnf(List<Concept> concepts) {
+			ConcurrentHashMap<Concept, Definition> nnf = new ConcurrentHashMap<>();
+			concepts.forEach(con -> nnf.put(con, new Definition()));
+			return nnf;
+		}
+
+	}
+
+	@Test
+	public void chainCacheCounters() {
+		Concept a = new Concept(1001);
+		Concept b = new Concept(1002);
+		TestSubsumption nnfs = new TestSubsumption(List.of(a, b), new RoleType(2001), 10);
+		assertFalse(nnfs.isSubRoleOfEntailed(a, b));
+		assertEquals(0, nnfs.getChainCacheHits());
+		assertEquals(2, nnfs.getChainCacheMisses());
+		assertEquals(2, nnfs.getChainCacheSize());
+		assertFalse(nnfs.isSubRoleOfEntailed(b, a));
+		assertEquals(2, nnfs.getChainCacheHits());
+		assertEquals(2, nnfs.getChainCacheMisses());
+		assertEquals(2, nnfs.getChainCacheSize());
+	}
+
+	@Test
+	public void chainCacheEvictsLeastRecentlyUsed() {
+		Concept a = new Concept(1001);
+		Concept b = new Concept(1002);
+		Concept c = new Concept(1003);
+		Concept d = new Concept(1004);
+		Concept e = new Concept(1005);
+		// capacity 4, shrunk to 3 when exceeded
+		TestSubsumption nnfs = new TestSubsumption(List.of(a, b, c, d, e), new RoleType(2001), 4);
+		nnfs.isSubRoleOfEntailed(a, b);
+		nnfs.isSubRoleOfEntailed(c, d);
+		// a and c are used again, so b and d are the least recent
+		nnfs.isSubRoleOfEntailed(a, c);
+		assertEquals(2, nnfs.getChainCacheHits());
+		assertEquals(4, nnfs.getChainCacheMisses());
+		// e evicts b and d, a is still cached
+		nnfs.isSubRoleOfEntailed(e, a);
+		assertEquals(3, nnfs.getChainCacheHits());
+		assertEquals(5, nnfs.getChainCacheMisses());
+		assertEquals(3, nnfs.getChainCacheSize());
+		nnfs.isSubRoleOfEntailed(c, b);
+		assertEquals(4, nnfs.getChainCacheHits());
+		assertEquals(6, nnfs.getChainCacheMisses());
+	}
+
+}
@@ -155,4 +155,38 @@ public void dataHasValue() throws Exception {
 		assertEquals(0, nnf.getRoleGroups().size());
 	}
 
+	private NecessaryNormalFormBuilder createBuilder(SnomedOwlOntology ontology) throws Exception {
+		SnomedOntology snomedOntology = new OwlTransformer().transform(ontology);
+		SnomedOntologyReasoner snomedOntologyReasoner = SnomedOntologyReasoner.create(snomedOntology);
+		snomedOntologyReasoner.flush();
+		return NecessaryNormalFormBuilder.create(snomedOntology, snomedOntologyReasoner.getSuperConcepts(),
+				snomedOntologyReasoner.getSuperRoleTypes(false));
+	}
+
+	private void checkParallel(String file) throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		List<String> lines = Files.readAllLines(Paths.get("src/test/resources", file));
+		ontology.loadOntology(lines);
+		ontology.classify();
+		// generateNNF simplifies the role groups of the concepts in place, so
+		// each run gets its own concepts
+		NecessaryNormalFormBuilder nnfb = createBuilder(ontology);
+		nnfb.generate();
+		NecessaryNormalFormBuilder nnfb_par = createBuilder(ontology);
+		nnfb_par.generateParallel();
+		assertEquals(nnfb.getConcepts().size(), nnfb_par.getWaves().stream().mapToInt(List::size).sum());
+		for (Concept con : nnfb.getConcepts()) {
+			assertEquals(nnfb.getNecessaryNormalForm(con), nnfb_par.getNecessaryNormalForm(con));
+		}
+	}
+
+	@Test
+	public void parallel() throws Exception {
+		for (String file : List.of("NecessaryNormalForm.owl", "NecessaryNormalFormGrouped.owl",
+				"NecessaryNormalFormSubProperty.owl", "NecessaryNormalFormPropertyChain.owl",
+				"NecessaryNormalFormDataHasValue.owl")) {
+			checkParallel(file);
+		}
+	}
+
 }
@@ -0,0 +1,90 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import dev.ikm.elk.snomed.Rf2Reader;
+
+public class Rf2ReaderTest {
+
+	@TempDir
+	Path dir;
+
+	private Path write(String content) throws Exception {
+		Path file = dir.resolve("rf2.txt");
+		Files.writeString(file, content);
+		return file;
+	}
+
+	@Test
+	public void fields() throws Exception {
+		Path file = write("id\teffectiveTime\tactive\tterm\r\n" //
+				+ "101\t20240301\t1\tDisorder of lung (disorder)\r\n" //
+				+ "102\t20240301\t0\tSkål\r\n" //
+				+ "103\t20240301\t1\t\r\n");
+		List<String> rows = new ArrayList<>();
+		Rf2Reader.read(file, row -> {
+			assertEquals(4, row.getFieldCount());
+			rows.add(row.getLong(0) + " " + row.isActive() + " [" + row.getString(3) + "]");
+		});
+		assertEquals(List.of("101 true [Disorder of lung (disorder)]", "102 false [Skål]", "103 true []"), rows);
+	}
+
+	@Test
+	public void noTrailingNewline() throws Exception {
+		Path file = write("id\tactive\n1\t1\n2\t1");
+		assertEquals(List.of(1l, 2l), Rf2Reader.collect(file, 1, row -> row.getLong(0)));
+	}
+
+	@Test
+	public void notANumber() throws Exception {
+		Path file = write("id\tactive\n1x\t1\n");
+		assertThrows(NumberFormatException.class, () -> Rf2Reader.read(file, row -> row.getLong(0)));
+	}
+
+	@Test
+	public void parallel() throws Exception {
+		StringBuilder sb = new StringBuilder("id\teffectiveTime\tactive\r\n");
+		List<Long> expected = new ArrayList<>();
+		for (long i = 1; i <= 100000; i++) {
+			sb.append(i + "\t20240301\t" + (i % 3 == 0 ? 0 : 1) + "\r\n");
+			if (i % 3 != 0)
+				expected.add(i);
+		}
+		Path file = write(sb.toString());
+		assertTrue(Files.size(file) > 1 << 20);
+		for (int parallelism : List.of(1, 2, 7, 16)) {
+			assertEquals(expected, Rf2Reader.collect(file, parallelism, row -> row.isActive() ? row.getLong(0) : null));
+		}
+	}
+
+}
@@ -0,0 +1,117 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.ikm.elk.snomed.Rf2Reader;
+import dev.ikm.elk.snomed.SnomedIds;
+import dev.ikm.elk.snomed.SnomedIsa;
+
+public class Rf2ReaderTestIT extends SnomedTestBase {
+
+	private static final Logger LOG = LoggerFactory.getLogger(Rf2ReaderTestIT.class);
+
+	protected String getVersion() {
+		return "20240301";
+	}
+
+	private final int rounds = 5;
+
+	// The loading approach used before Rf2Reader
+	private HashMap<Long, Set<Long>> loadSplit(Path file) throws Exception {
+		HashMap<Long, Set<Long>> parents = new HashMap<>();
+		try (Stream<String> st = Files.lines(file)) {
+			st.skip(1).map(line -> line.split("\\t")) //
+					.filter(fields -> Integer.parseInt(fields[2]) == 1) // active
+					.filter(fields -> Long.parseLong(fields[7]) == SnomedIds.isa) // typeId
+					.forEach(fields -> {
+						long con = Long.parseLong(fields[4]); // sourceId
+						long par = Long.parseLong(fields[5]); // destinationId
+						parents.computeIfAbsent(con, x -> new HashSet<>()).add(par);
+					});
+		}
+		return parents;
+	}
+
+	@Test
+	public void isa() throws Exception {
+		HashMap<Long, Set<Long>> expected = loadSplit(rels_file);
+		assertEquals(expected, SnomedIsa.init(rels_file).getParentsMap());
+		for (int i = 0; i < rounds; i++) {
+			long beg = System.currentTimeMillis();
+			loadSplit(rels_file);
+			long split_ms = System.currentTimeMillis() - beg;
+			beg = System.currentTimeMillis();
+			SnomedIsa.init(rels_file);
+			long rf2_ms = System.currentTimeMillis() - beg;
+			LOG.info("Isa split: " + split_ms + " ms Rf2Reader: " + rf2_ms + " ms");
+		}
+	}
+
+	@Test
+	public void scan() throws Exception {
+		int parallelism = Runtime.getRuntime().availableProcessors();
+		for (int i = 0; i < rounds; i++) {
+			long beg = System.currentTimeMillis();
+			long split_cnt;
+			try (Stream<String> st = Files.lines(rels_file)) {
+				split_cnt = st.skip(1).map(line -> line.split("\\t"))
+						.filter(fields -> Integer.parseInt(fields[2]) == 1)
+						.filter(fields -> Long.parseLong(fields[7]) == SnomedIds.isa).count();
+			}
+			long split_ms = System.currentTimeMillis() - beg;
+			beg = System.currentTimeMillis();
+			long rf2_cnt = Rf2Reader.collect(rels_file, 1,
+					row -> row.isActive() && row.getLong(7) == SnomedIds.isa ? Boolean.TRUE : null).size();
+			long rf2_ms = System.currentTimeMillis() - beg;
+			beg = System.currentTimeMillis();
+			long rf2_par_cnt = Rf2Reader.collect(rels_file, parallelism,
+					row -> row.isActive() && row.getLong(7) == SnomedIds.isa ? Boolean.TRUE : null).size();
+			long rf2_par_ms = System.currentTimeMillis() - beg;
+			assertEquals(split_cnt, rf2_cnt);
+			assertEquals(split_cnt, rf2_par_cnt);
+			LOG.info("Scan split: " + split_ms + " ms Rf2Reader: " + rf2_ms + " ms Rf2Reader " + parallelism
+					+ " chunks: " + rf2_par_ms + " ms");
+		}
+	}
+
+	@Test
+	public void axioms() throws Exception {
+		try (Stream<String> st = Files.lines(axioms_file)) {
+			assertEquals(st.skip(1).map(line -> line.split("\\t"))
+					.filter(fields -> Integer.parseInt(fields[2]) == 1).map(fields -> fields[6]).toList(),
+					SnomedOwlOntology.readAxioms(axioms_file));
+		}
+	}
+
+}
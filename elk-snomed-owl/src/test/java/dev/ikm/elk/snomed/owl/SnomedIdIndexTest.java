@@ -0,0 +1,134 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import dev.ikm.elk.snomed.SnomedIdIndex;
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntology.Storage;
+import dev.ikm.elk.snomed.model.Concept;
+import dev.ikm.elk.snomed.model.RoleType;
+
+public class SnomedIdIndexTest {
+
+	@Test
+	public void missing() {
+		SnomedIdIndex index = new SnomedIdIndex();
+		assertEquals(SnomedIdIndex.NONE, index.get(138875005));
+		assertEquals(SnomedIdIndex.NONE, index.get(0));
+		assertFalse(index.containsKey(138875005));
+		index.put(138875005, 0);
+		assertEquals(SnomedIdIndex.NONE, index.get(404684003));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	public void duplicates() {
+		SnomedIdIndex index = new SnomedIdIndex();
+		assertEquals(SnomedIdIndex.NONE, index.put(138875005, 1));
+		assertEquals(1, index.put(138875005, 2));
+		assertEquals(2, index.putIfAbsent(138875005, 3));
+		assertEquals(2, index.get(138875005));
+		assertEquals(SnomedIdIndex.NONE, index.putIfAbsent(0, 4));
+		assertEquals(4, index.putIfAbsent(0, 5));
+		assertEquals(4, index.put(0, 6));
+		assertEquals(6, index.get(0));
+		assertEquals(2, index.size());
+	}
+
+	@Test
+	public void collisions() {
+		// capacity 8, so the keys below all hash to the same slot
+		SnomedIdIndex index = new SnomedIdIndex(4);
+		HashMap<Long, Integer> expected = new HashMap<>();
+		for (long key = 1; expected.size() < 3; key++) {
+			if (slot(key) == slot(1))
+				expected.put(key, expected.size());
+		}
+		expected.forEach(index::put);
+		expected.forEach((key, value) -> assertEquals((int) value, index.get(key)));
+		assertEquals(expected.size(), index.size());
+		// a missing key with the same slot probes past all of them
+		long missing = expected.keySet().stream().mapToLong(Long::longValue).max().getAsLong() + 1;
+		while (slot(missing) != slot(1))
+			missing++;
+		assertFalse(index.containsKey(missing));
+	}
+
+	/* slot of the key in a table of 8 as computed by SnomedIdIndex */
+	private static int slot(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & 7;
+	}
+
+	@Test
+	public void growth() {
+		SnomedIdIndex index = new SnomedIdIndex(1);
+		Random random = new Random(1);
+		HashMap<Long, Integer> expected = new HashMap<>();
+		for (int i = 0; i < 100_000; i++) {
+			long key = random.nextLong(1, 1_000_000_000_000L);
+			assertEquals((int) expected.getOrDefault(key, SnomedIdIndex.NONE), index.put(key, i));
+			expected.put(key, i);
+		}
+		assertEquals(expected.size(), index.size());
+		expected.forEach((key, value) -> assertEquals((int) value, index.get(key)));
+		for (int i = 0; i < 1000; i++) {
+			long key = random.nextLong(1_000_000_000_000L, Long.MAX_VALUE);
+			assertFalse(index.containsKey(key));
+		}
+		index.clear();
+		assertEquals(0, index.size());
+		assertTrue(expected.keySet().stream().noneMatch(index::containsKey));
+	}
+
+	@Test
+	public void storage() {
+		Concept a1 = new Concept(1001);
+		Concept b = new Concept(1002);
+		Concept a2 = new Concept(1001);
+		RoleType r1 = new RoleType(2001);
+		RoleType r2 = new RoleType(2001);
+		for (Storage storage : Storage.values()) {
+			SnomedOntology so = new SnomedOntology(List.of(a1, b, a2), List.of(r1, r2), List.of(), storage);
+			assertEquals(storage, so.getStorage());
+			assertEquals(new HashSet<>(List.of(a2, b)), new HashSet<>(so.getConcepts()));
+			assertEquals(List.of(r2), so.getRoleTypes());
+			assertSame(a2, so.getConcept(1001));
+			assertSame(r2, so.getRoleType(2001));
+			assertNull(so.getConcept(1003));
+			assertNull(so.getConcreteRoleType(2001));
+		}
+	}
+
+}
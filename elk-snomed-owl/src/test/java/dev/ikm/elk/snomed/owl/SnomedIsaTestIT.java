@@ -24,7 +24,10 @@
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -35,6 +38,7 @@
 
 import dev.ikm.elk.snomed.SnomedIds;
 import dev.ikm.elk.snomed.SnomedIsa;
+import dev.ikm.elk.snomed.SnomedIsaIndex;
 
 @TestInstance(Lifecycle.PER_CLASS)
 public class SnomedIsaTestIT extends SnomedTestBase {
@@ -43,11 +47,16 @@ public class SnomedIsaTestIT extends SnomedTestBase {
 
 	private SnomedIsa isas;
 
+	private SnomedIsaIndex index;
+
 	@BeforeAll
 	public void init() throws Exception {
 		LOG.info("Init");
 		filesExist();
 		isas = SnomedIsa.init(rels_file);
+		long beg = System.currentTimeMillis();
+		index = SnomedIsaIndex.create(isas);
+		LOG.info("Index in " + (System.currentTimeMillis() - beg) + " ms");
 	}
 
 	@Test
@@ -126,4 +135,47 @@ public void checkPriors() {
 		}
 	}
 
+	private static Set<Long> toSet(long[] ids) {
+		return Arrays.stream(ids).boxed().collect(Collectors.toSet());
+	}
+
+	@Test
+	public void index() {
+		assertEquals(isas.getOrderedConcepts().size(), index.size());
+		for (long con : isas.getOrderedConcepts()) {
+			assertEquals(isas.getParents(con), toSet(index.getParents(con)));
+			assertEquals(isas.getChildren(con), toSet(index.getChildren(con)));
+			assertEquals(isas.getAncestors(con), toSet(index.getAncestors(con)));
+			for (long ancestor : isas.getAncestors(con)) {
+				assertTrue(index.hasAncestor(con, ancestor));
+				assertFalse(index.hasAncestor(ancestor, con));
+				assertTrue(index.hasDescendant(ancestor, con));
+			}
+		}
+		assertEquals(isas.getDescendants(SnomedIds.root), toSet(index.getDescendants(SnomedIds.root)));
+	}
+
+	@Test
+	public void indexHasAncestorTime() {
+		long beg = System.currentTimeMillis();
+		int cnt = 0;
+		for (long con : isas.getOrderedConcepts()) {
+			for (long parent : isas.getParents(con)) {
+				if (isas.hasAncestor(con, parent) && isas.hasAncestor(con, SnomedIds.root))
+					cnt++;
+			}
+		}
+		LOG.info("SnomedIsa hasAncestor: " + cnt + " in " + (System.currentTimeMillis() - beg) + " ms");
+		beg = System.currentTimeMillis();
+		int index_cnt = 0;
+		for (long con : isas.getOrderedConcepts()) {
+			for (long parent : isas.getParents(con)) {
+				if (index.hasAncestor(con, parent) && index.hasAncestor(con, SnomedIds.root))
+					index_cnt++;
+			}
+		}
+		LOG.info("SnomedIsaIndex hasAncestor: " + index_cnt + " in " + (System.currentTimeMillis() - beg) + " ms");
+		assertEquals(cnt, index_cnt);
+	}
+
 }
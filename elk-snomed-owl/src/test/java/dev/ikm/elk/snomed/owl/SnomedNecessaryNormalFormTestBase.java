@@ -20,6 +20,8 @@
  * #L%
  */
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import org.junit.jupiter.api.Test;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.slf4j.Logger;
@@ -31,6 +33,7 @@
 import dev.ikm.elk.snomed.SnomedOntology;
 import dev.ikm.elk.snomed.SnomedOntologyReasoner;
 import dev.ikm.elk.snomed.SnomedRoles;
+import dev.ikm.elk.snomed.model.Concept;
 
 public abstract class SnomedNecessaryNormalFormTestBase extends SnomedTestBase {
 
@@ -90,4 +93,31 @@ public NecessaryNormalFormBuilder generate() throws Exception {
 		return nnfb;
 	}
 
+	@Test
+	public void generateParallel() throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		ontology.loadOntology(axioms_file);
+		SnomedOntology snomedOntology = new OwlTransformer().transform(ontology);
+		SnomedOntologyReasoner snomedOntologyReasoner = SnomedOntologyReasoner.create(snomedOntology);
+		snomedOntologyReasoner.flush();
+		NecessaryNormalFormBuilder nnfb = NecessaryNormalFormBuilder.create(snomedOntology,
+				snomedOntologyReasoner.getSuperConcepts(), snomedOntologyReasoner.getSuperRoleTypes(false));
+		LOG.info("Generate");
+		long beg = System.currentTimeMillis();
+		nnfb.generate();
+		LOG.info("Generate in " + ((System.currentTimeMillis() - beg) / 1000));
+		// generateNNF simplifies the role groups of the concepts in place, so
+		// the parallel run gets its own concepts
+		SnomedOntology snomedOntology_par = new OwlTransformer().transform(ontology);
+		NecessaryNormalFormBuilder nnfb_par = NecessaryNormalFormBuilder.create(snomedOntology_par,
+				snomedOntologyReasoner.getSuperConcepts(), snomedOntologyReasoner.getSuperRoleTypes(false));
+		LOG.info("Generate parallel");
+		beg = System.currentTimeMillis();
+		nnfb_par.generateParallel();
+		LOG.info("Generate parallel in " + ((System.currentTimeMillis() - beg) / 1000));
+		for (Concept con : nnfb.getConcepts()) {
+			assertEquals(nnfb.getNecessaryNormalForm(con), nnfb_par.getNecessaryNormalForm(con));
+		}
+	}
+
 }
@@ -0,0 +1,88 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+
+import dev.ikm.elk.snomed.SnomedIds;
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntologyReasoner;
+import dev.ikm.elk.snomed.model.Concept;
+import dev.ikm.elk.snomed.model.Definition;
+import dev.ikm.elk.snomed.model.DefinitionType;
+import dev.ikm.elk.snomed.model.Role;
+import dev.ikm.elk.snomed.model.RoleType;
+
+public class SnomedOntologyReasonerSpillingTest {
+
+	private static Definition subConceptOf(Concept sup) {
+		Definition def = new Definition();
+		def.setDefinitionType(DefinitionType.SubConcept);
+		def.addSuperConcept(sup);
+		return def;
+	}
+
+	@Test
+	public void update() {
+		RoleType r = new RoleType(2001);
+		Concept root = new Concept(SnomedIds.root);
+		Concept a = new Concept(1001);
+		Concept b = new Concept(1002);
+		Concept c = new Concept(1003);
+		Concept d = new Concept(1004);
+		a.addDefinition(subConceptOf(root));
+		b.addDefinition(subConceptOf(root));
+		c.addDefinition(subConceptOf(a));
+		Definition def = new Definition();
+		def.setDefinitionType(DefinitionType.EquivalentConcept);
+		def.addSuperConcept(root);
+		def.addUngroupedRole(new Role(r, a));
+		d.addDefinition(def);
+		SnomedOntology snomedOntology = new SnomedOntology(List.of(root, a, b, c, d), List.of(r), List.of());
+		ReasonerConfiguration config = ReasonerConfiguration.getConfiguration();
+		config.setParameter(ReasonerConfiguration.CONTEXT_SPILLING, "true");
+		SnomedOntologyReasoner sor = SnomedOntologyReasoner.create(snomedOntology, config);
+		assertEquals(Set.of(a.getId()), sor.getSuperConcepts(c.getId()));
+		assertTrue(sor.getSpilledContextCount() > 0);
+		// the saturated contexts are spilled and restored for the changes
+		b.removeAllDefinitions();
+		Definition bDef = subConceptOf(root);
+		bDef.addUngroupedRole(new Role(r, c));
+		b.addDefinition(bDef);
+		sor.update(List.of(b));
+		assertEquals(Set.of(d.getId()), sor.getSuperConcepts(b.getId()));
+		assertTrue(sor.getSpilledContextCount() > 0);
+		c.removeAllDefinitions();
+		c.addDefinition(subConceptOf(root));
+		sor.update(List.of(c));
+		assertEquals(Set.of(root.getId()), sor.getSuperConcepts(b.getId()));
+		assertEquals(Set.of(), sor.getSubConcepts(d.getId()));
+		assertTrue(sor.getSpilledContextCount() > 0);
+	}
+
+}
@@ -25,6 +25,7 @@
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -106,4 +107,25 @@ public void classify() throws Exception {
 		}
 	}
 
+	@Test
+	public void hierarchy() throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		ontology.loadOntology(axioms_file);
+		SnomedOntology snomedOntology = new OwlTransformer().transform(ontology);
+		SnomedOntologyReasoner sor = SnomedOntologyReasoner.create(snomedOntology);
+		long beg = System.currentTimeMillis();
+		HashMap<Long, Set<Long>> superConcepts = sor.getSuperConcepts();
+		LOG.info("Bulk super concepts in " + (System.currentTimeMillis() - beg) + " ms");
+		beg = System.currentTimeMillis();
+		HashMap<Long, Set<Long>> subConcepts = sor.getSubConcepts();
+		LOG.info("Bulk sub concepts in " + (System.currentTimeMillis() - beg) + " ms");
+		beg = System.currentTimeMillis();
+		for (Concept con : snomedOntology.getConcepts()) {
+			long id = con.getId();
+			assertEquals(sor.getSuperConcepts(id), superConcepts.get(id));
+			assertEquals(sor.getSubConcepts(id), subConcepts.get(id));
+		}
+		LOG.info("Per concept in " + (System.currentTimeMillis() - beg) + " ms");
+	}
+
 }
@@ -0,0 +1,149 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.elk.owl.interfaces.ElkAxiom;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+
+import dev.ikm.elk.snomed.SnomedIds;
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntologyReasoner;
+import dev.ikm.elk.snomed.model.Concept;
+import dev.ikm.elk.snomed.model.ConcreteRoleType;
+import dev.ikm.elk.snomed.model.Definition;
+import dev.ikm.elk.snomed.model.DefinitionType;
+import dev.ikm.elk.snomed.owlapix.model.OWLOntologyChange;
+
+public class SnomedOntologyReasonerUpdateTest {
+
+	private static Definition subConceptOf(Concept sup) {
+		Definition def = new Definition();
+		def.setDefinitionType(DefinitionType.SubConcept);
+		def.addSuperConcept(sup);
+		return def;
+	}
+
+	@Test
+	public void update() {
+		Concept root = new Concept(SnomedIds.root);
+		Concept a = new Concept(1001);
+		Concept b = new Concept(1002);
+		Concept c = new Concept(1003);
+		a.addDefinition(subConceptOf(root));
+		b.addDefinition(subConceptOf(root));
+		c.addDefinition(subConceptOf(a));
+		SnomedOntology snomedOntology = new SnomedOntology(List.of(root, a, b, c), List.of(), List.of());
+		SnomedOntologyReasoner sor = SnomedOntologyReasoner.create(snomedOntology);
+		assertEquals(Set.of(a.getId()), sor.getSuperConcepts(c.getId()));
+		assertEquals(Set.of(root.getId(), a.getId(), b.getId(), c.getId()), sor.getChangedConcepts());
+		ArrayList<List<? extends OWLOntologyChange>> batches = new ArrayList<>();
+		sor.getOntology().addOntologyChangeListener(batches::add);
+		List<ElkAxiom> c_axioms = sor.getConceptAxioms(c.getId());
+		// a is unchanged, so only c contributes to the diff
+		c.removeAllDefinitions();
+		c.addDefinition(subConceptOf(b));
+		sor.update(List.of(a, c));
+		assertEquals(1, batches.size());
+		assertEquals(c_axioms, batches.get(0).stream().map(OWLOntologyChange::getRemovedAxiom)
+				.flatMap(Optional::stream).toList());
+		assertEquals(sor.getConceptAxioms(c.getId()), batches.get(0).stream()
+				.map(OWLOntologyChange::getAddedAxiom).flatMap(Optional::stream).toList());
+		assertFalse(sor.getChangedConcepts().contains(a.getId()));
+		assertEquals(Set.of(b.getId()), sor.getSuperConcepts(c.getId()));
+		assertEquals(Set.of(), sor.getSubConcepts(a.getId()));
+		assertEquals(1, sor.getConceptAxioms(c.getId()).size());
+		assertEquals(Set.of(c.getId()), sor.getChangedConcepts());
+		sor.update(List.of(), List.of(c.getId()), List.of(), List.of());
+		assertEquals(Set.of(), sor.getSubConcepts(b.getId()));
+		assertNull(sor.getConceptAxioms(c.getId()));
+		assertEquals(2, batches.size());
+		assertEquals(Set.of(c.getId()), sor.getChangedConcepts());
+	}
+
+	@Test
+	public void updateWithIncrementalReduction() {
+		Concept root = new Concept(SnomedIds.root);
+		Concept a = new Concept(1001);
+		Concept b = new Concept(1002);
+		Concept c = new Concept(1003);
+		Concept d = new Concept(1004);
+		Concept e = new Concept(1005);
+		a.addDefinition(subConceptOf(root));
+		b.addDefinition(subConceptOf(a));
+		c.addDefinition(subConceptOf(a));
+		d.addDefinition(subConceptOf(c));
+		e.addDefinition(subConceptOf(c));
+		SnomedOntology snomedOntology = new SnomedOntology(List.of(root, a, b, c, d, e), List.of(), List.of());
+		ReasonerConfiguration config = ReasonerConfiguration.getConfiguration();
+		config.setParameter(ReasonerConfiguration.INCREMENTAL_REDUCTION, "true");
+		SnomedOntologyReasoner sor = SnomedOntologyReasoner.create(snomedOntology, config);
+		assertEquals(Set.of(c.getId()), sor.getSuperConcepts(d.getId()));
+		// c moves below b, so b becomes an ancestor of d
+		c.removeAllDefinitions();
+		c.addDefinition(subConceptOf(b));
+		sor.update(List.of(c));
+		assertEquals(Set.of(b.getId()), sor.getSuperConcepts(c.getId()));
+		assertEquals(Set.of(c.getId()), sor.getSuperConcepts(d.getId()));
+		assertEquals(Set.of(a.getId(), b.getId(), c.getId(), root.getId()), sor.getSuperConcepts(d.getId(), false));
+		// d gets a second parent, which is below its old parent
+		d.removeAllDefinitions();
+		Definition def = subConceptOf(c);
+		def.addSuperConcept(e);
+		d.addDefinition(def);
+		sor.update(List.of(d));
+		assertEquals(Set.of(e.getId()), sor.getSuperConcepts(d.getId()));
+		assertEquals(Set.of(c.getId()), sor.getSuperConcepts(e.getId()));
+	}
+
+	@Test
+	public void updateConcreteRoleTypes() {
+		Concept root = new Concept(SnomedIds.root);
+		ConcreteRoleType d1 = new ConcreteRoleType(3001);
+		ConcreteRoleType d2 = new ConcreteRoleType(3002);
+		SnomedOntology snomedOntology = new SnomedOntology(List.of(root), List.of(), List.of(d1, d2));
+		SnomedOntologyReasoner sor = SnomedOntologyReasoner.create(snomedOntology);
+		ArrayList<List<? extends OWLOntologyChange>> batches = new ArrayList<>();
+		sor.getOntology().addOntologyChangeListener(batches::add);
+		d1.addSuperConcreteRoleType(d2);
+		sor.update(List.of(), List.of(), List.of(), List.of(), List.of(d1, d2), List.of());
+		assertEquals(1, batches.size());
+		assertEquals(1, batches.get(0).size());
+		ElkAxiom added = batches.get(0).get(0).getAddedAxiom().orElseThrow();
+		// unchanged concrete role types do not contribute to the diff
+		sor.update(List.of(), List.of(), List.of(), List.of(), List.of(d2), List.of());
+		assertEquals(1, batches.size());
+		sor.update(List.of(), List.of(), List.of(), List.of(), List.of(), List.of(d1.getId()));
+		assertEquals(2, batches.size());
+		assertEquals(List.of(added), batches.get(1).stream().map(OWLOntologyChange::getRemovedAxiom)
+				.flatMap(Optional::stream).toList());
+	}
+
+}
@@ -0,0 +1,82 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntology.Storage;
+import dev.ikm.elk.snomed.model.Concept;
+
+public class SnomedOntologyStorageUsTestIT extends SnomedTestBase {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SnomedOntologyStorageUsTestIT.class);
+
+	protected String getVersion() {
+		return "20240301";
+	}
+
+	private final int lookup_rounds = 20;
+
+	private static long usedMemory() {
+		Runtime rt = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return rt.totalMemory() - rt.freeMemory();
+	}
+
+	private SnomedOntology create(SnomedOntology base, Storage storage) {
+		return new SnomedOntology(base.getConcepts(), base.getRoleTypes(), base.getConcreteRoleTypes(), storage);
+	}
+
+	@Test
+	public void storage() throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		ontology.loadOntology(axioms_file);
+		SnomedOntology base = new OwlTransformer().transform(ontology);
+		ontology = null;
+		long[] ids = base.getConcepts().stream().mapToLong(Concept::getId).toArray();
+		LOG.info("Concepts: " + ids.length);
+		for (Storage storage : Storage.values()) {
+			long mem_beg = usedMemory();
+			SnomedOntology so = create(base, storage);
+			long mem_end = usedMemory();
+			LOG.info(storage + " heap: " + ((mem_end - mem_beg) / (1024 * 1024)) + " MB");
+			assertEquals(ids.length, so.getConcepts().size());
+			for (long id : ids)
+				assertSame(base.getConcept(id), so.getConcept(id));
+			long beg = System.nanoTime();
+			long sum = 0;
+			for (int round = 0; round < lookup_rounds; round++) {
+				for (long id : ids)
+					sum += so.getConcept(id).getId();
+			}
+			long ns = System.nanoTime() - beg;
+			LOG.info(storage + " lookup: " + (ns / ((long) lookup_rounds * ids.length)) + " ns/op " + sum);
+		}
+	}
+
+}
@@ -20,16 +20,24 @@
  * #L%
  */
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntologyReasoner;
+
 public abstract class SnomedTestBase {
 
 	private static final Logger LOG = LoggerFactory.getLogger(SnomedTestBase.class);
@@ -74,4 +82,60 @@ protected void filesExist() {
 		LOG.info("\t" + descriptions_file);
 	}
 
+	/*
+	 * The numbers of working threads used by scaling
+	 */
+	protected int[] getWorkers() {
+		return new int[] { 1, 2, 4, 8, 16, 32, 64 };
+	}
+
+	private final int rounds = 3;
+
+	protected SnomedOntologyReasoner classify(SnomedOntology snomedOntology, int worker_cnt, String parameter,
+			String value) {
+		ReasonerConfiguration config = ReasonerConfiguration.getConfiguration();
+		config.setParameter(ReasonerConfiguration.NUM_OF_WORKING_THREADS, String.valueOf(worker_cnt));
+		config.setParameter(parameter, value);
+		return SnomedOntologyReasoner.create(snomedOntology, config);
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/*
+	 * Classify the axioms file with each value of the reasoner configuration
+	 * parameter and each number of workers. Logs the best time of the rounds and
+	 * the heap retained by the reasoner of the first round, whose super concepts
+	 * are checked against the first value with one worker.
+	 */
+	protected void scaling(String parameter, List<String> values) throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		ontology.loadOntology(axioms_file);
+		SnomedOntology snomedOntology = new OwlTransformer().transform(ontology);
+		ontology = null;
+		HashMap<Long, Set<Long>> expected = classify(snomedOntology, 1, parameter, values.get(0)).getSuperConcepts();
+		for (int worker_cnt : getWorkers()) {
+			for (String value : values) {
+				long best = Long.MAX_VALUE;
+				long retained = 0;
+				for (int round = 0; round < rounds; round++) {
+					long base = usedMemory();
+					long beg = System.currentTimeMillis();
+					SnomedOntologyReasoner sor = classify(snomedOntology, worker_cnt, parameter, value);
+					best = Math.min(best, System.currentTimeMillis() - beg);
+					if (round == 0) {
+						retained = usedMemory() - base;
+						assertEquals(expected, sor.getSuperConcepts());
+					}
+				}
+				LOG.info(parameter + ": " + value + " workers: " + worker_cnt + " classify: " + best + " ms"
+						+ " retained: " + retained / (1024 * 1024) + " MB");
+			}
+		}
+	}
+
 }
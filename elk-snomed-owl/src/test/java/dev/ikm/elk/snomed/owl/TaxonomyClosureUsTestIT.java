@@ -0,0 +1,76 @@
+package dev.ikm.elk.snomed.owl;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.reasoner.taxonomy.FrozenTaxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.TaxonomyClosure;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.ikm.elk.snomed.SnomedOntology;
+import dev.ikm.elk.snomed.SnomedOntologyReasoner;
+
+public class TaxonomyClosureUsTestIT extends SnomedTestBase {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TaxonomyClosureUsTestIT.class);
+
+	protected String getVersion() {
+		return "20240301";
+	}
+
+	@Test
+	public void labelSize() throws Exception {
+		SnomedOwlOntology ontology = SnomedOwlOntology.createOntology();
+		ontology.loadOntology(axioms_file);
+		SnomedOntology snomedOntology = new OwlTransformer().transform(ontology);
+		SnomedOntologyReasoner sor = SnomedOntologyReasoner.create(snomedOntology);
+		long beg = System.currentTimeMillis();
+		FrozenTaxonomy<ElkClass> taxonomy = sor.getFrozenTaxonomy();
+		LOG.info("Frozen taxonomy in " + (System.currentTimeMillis() - beg) + " ms");
+		beg = System.currentTimeMillis();
+		TaxonomyClosure<ElkClass> closure = taxonomy.getClosure();
+		LOG.info("Closure in " + (System.currentTimeMillis() - beg) + " ms");
+		int nodes = taxonomy.getNodes().size();
+		int intervals = closure.getIntervalCount();
+		LOG.info("Nodes: " + nodes + " intervals: " + intervals + " per node: "
+				+ String.format("%.2f", (double) intervals / (2 * nodes)) + " max: " + closure.getMaxIntervalCount()
+				+ " bounds: " + (8L * intervals) / (1024 * 1024) + " MB");
+		beg = System.currentTimeMillis();
+		long superNodes = 0;
+		for (TaxonomyNode<ElkClass> node : taxonomy.getNodes()) {
+			Set<? extends TaxonomyNode<ElkClass>> expected = node.getAllSuperNodes();
+			assertEquals(expected.size(), closure.streamAllSuperNodes(node).count());
+			for (TaxonomyNode<ElkClass> sup : expected)
+				assertTrue(closure.isSubsumedBy(node.getCanonicalMember(), sup.getCanonicalMember()));
+			superNodes += expected.size();
+		}
+		LOG.info("Checked " + superNodes + " super nodes in " + (System.currentTimeMillis() - beg) + " ms");
+	}
+
+}
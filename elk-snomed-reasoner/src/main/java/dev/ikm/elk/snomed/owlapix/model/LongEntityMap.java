@@ -0,0 +1,110 @@
+package dev.ikm.elk.snomed.owlapix.model;
+
+/*-
+ * #%L
+ * ELK Reasoner for SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.function.LongFunction;
+
+/*
+ * Open addressing (linear probing) map from SCTIDs to the entities created for
+ * them, so that looking up an entity neither boxes the id nor builds a string.
+ */
+class LongEntityMap<T> {
+
+	private static final long EMPTY = 0;
+
+	private long[] keys = new long[1024];
+
+	private Object[] values = new Object[1024];
+
+	private int size = 0;
+
+	// 0 is not a valid SCTID, but is kept apart so that it is never a problem
+	private T zeroValue = null;
+
+	private static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	@SuppressWarnings("unchecked")
+	T get(long key) {
+		if (key == EMPTY)
+			return zeroValue;
+		int mask = keys.length - 1;
+		int i = hash(key) & mask;
+		while (true) {
+			long k = keys[i];
+			if (k == key)
+				return (T) values[i];
+			if (k == EMPTY)
+				return null;
+			i = (i + 1) & mask;
+		}
+	}
+
+	T computeIfAbsent(long key, LongFunction<T> factory) {
+		T value = get(key);
+		if (value == null) {
+			value = factory.apply(key);
+			put(key, value);
+		}
+		return value;
+	}
+
+	private void put(long key, T value) {
+		if (key == EMPTY) {
+			zeroValue = value;
+			return;
+		}
+		int mask = keys.length - 1;
+		int i = hash(key) & mask;
+		while (keys[i] != EMPTY && keys[i] != key)
+			i = (i + 1) & mask;
+		if (keys[i] == EMPTY) {
+			keys[i] = key;
+			if (++size * 2 > keys.length) {
+				values[i] = value;
+				rehash(keys.length << 1);
+				return;
+			}
+		}
+		values[i] = value;
+	}
+
+	private void rehash(int capacity) {
+		long[] old_keys = keys;
+		Object[] old_values = values;
+		keys = new long[capacity];
+		values = new Object[capacity];
+		int mask = capacity - 1;
+		for (int j = 0; j < old_keys.length; j++) {
+			long key = old_keys[j];
+			if (key == EMPTY)
+				continue;
+			int i = hash(key) & mask;
+			while (keys[i] != EMPTY)
+				i = (i + 1) & mask;
+			keys[i] = key;
+			values[i] = old_values[j];
+		}
+	}
+
+}
@@ -56,6 +56,12 @@ public class OwlxOntology implements OWLOntology, OWLOntologyManager {
 
 	private HashMap<String, ElkDataProperty> elkDataProperties = new HashMap<>();
 
+	private LongEntityMap<ElkClass> sctidClasses = new LongEntityMap<>();
+
+	private LongEntityMap<ElkObjectProperty> sctidObjectProperties = new LongEntityMap<>();
+
+	private LongEntityMap<ElkDataProperty> sctidDataProperties = new LongEntityMap<>();
+
 	private HashSet<ElkAxiom> axioms = new HashSet<>();
 
 	public ElkObject.Factory getObjectFactory() {
@@ -68,28 +74,41 @@ public Set<ElkAxiom> getAxioms() {
 
 	public boolean addAxiom(ElkAxiom axiom) {
 		boolean ret = axioms.add(axiom);
-		OWLOntologyChange change = OWLOntologyChange.createAdded(this, axiom);
-		for (OWLOntologyChangeListener listener : change_listeners) {
-			try {
-				listener.ontologiesChanged(List.of(change));
-			} catch (Exception ex) {
-				throw new RuntimeException(ex);
-			}
-		}
+		fireChanges(List.of(OWLOntologyChange.createAdded(this, axiom)));
 		return ret;
 	}
 
 	public boolean removeAxiom(ElkAxiom axiom) {
 		boolean ret = axioms.remove(axiom);
-		OWLOntologyChange change = OWLOntologyChange.createRemoved(this, axiom);
+		fireChanges(List.of(OWLOntologyChange.createRemoved(this, axiom)));
+		return ret;
+	}
+
+	/*
+	 * Apply the changes in order and notify the listeners once with the whole
+	 * batch
+	 */
+	public void applyChanges(List<OWLOntologyChange> changes) {
+		if (changes.isEmpty())
+			return;
+		for (OWLOntologyChange change : changes) {
+			if (change.isAddAxiom()) {
+				axioms.add(change.getAxiom());
+			} else if (change.isRemoveAxiom()) {
+				axioms.remove(change.getAxiom());
+			}
+		}
+		fireChanges(changes);
+	}
+
+	private void fireChanges(List<OWLOntologyChange> changes) {
 		for (OWLOntologyChangeListener listener : change_listeners) {
 			try {
-				listener.ontologiesChanged(List.of(change));
+				listener.ontologiesChanged(changes);
 			} catch (Exception ex) {
 				throw new RuntimeException(ex);
 			}
 		}
-		return ret;
 	}
 
 	public OwlxOntology() {
@@ -130,26 +149,62 @@ public ElkDataProperty getElkDataProperty(String name) {
 		return elkDataProperties.computeIfAbsent(name, key -> objectFactory.getDataProperty(getIri(name)));
 	}
 
+	/*
+	 * The entities for SCTIDs carry their id in a SnomedIri, and are looked up by
+	 * the primitive id. They are the same objects as the ones looked up by name.
+	 */
+	public ElkClass getElkClass(long id) {
+		return sctidClasses.computeIfAbsent(id, key -> objectFactory.getClass(new SnomedIri(prefix, key)));
+	}
+
+	public ElkObjectProperty getElkObjectProperty(long id) {
+		return sctidObjectProperties.computeIfAbsent(id,
+				key -> objectFactory.getObjectProperty(new SnomedIri(prefix, key)));
+	}
+
+	public ElkDataProperty getElkDataProperty(long id) {
+		return sctidDataProperties.computeIfAbsent(id, key -> objectFactory.getDataProperty(new SnomedIri(prefix, key)));
+	}
+
 	public ElkAxiom getElkSubObjectPropertyOfAxiom(String sub, String sup) {
-		return objectFactory.getSubObjectPropertyOfAxiom(getElkObjectProperty(sub), getElkObjectProperty(sup));
+		return getElkSubObjectPropertyOfAxiom(getElkObjectProperty(sub), getElkObjectProperty(sup));
+	}
+
+	public ElkAxiom getElkSubObjectPropertyOfAxiom(ElkObjectProperty sub, ElkObjectProperty sup) {
+		return objectFactory.getSubObjectPropertyOfAxiom(sub, sup);
 	}
 
 	public ElkTransitiveObjectPropertyAxiom getElkTransitiveObjectPropertyAxiom(String name) {
-		return objectFactory.getTransitiveObjectPropertyAxiom(getElkObjectProperty(name));
+		return getElkTransitiveObjectPropertyAxiom(getElkObjectProperty(name));
+	}
+
+	public ElkTransitiveObjectPropertyAxiom getElkTransitiveObjectPropertyAxiom(ElkObjectProperty prop) {
+		return objectFactory.getTransitiveObjectPropertyAxiom(prop);
 	}
 
 	public ElkAxiom getElkSubObjectPropertyChainOfAxiom(String name, String chain) {
-		ElkObjectPropertyChain ch = objectFactory
-				.getObjectPropertyChain(List.of(getElkObjectProperty(name), getElkObjectProperty(chain)));
-		return objectFactory.getSubObjectPropertyOfAxiom(ch, getElkObjectProperty(name));
+		return getElkSubObjectPropertyChainOfAxiom(getElkObjectProperty(name), getElkObjectProperty(chain));
+	}
+
+	public ElkAxiom getElkSubObjectPropertyChainOfAxiom(ElkObjectProperty prop, ElkObjectProperty chain) {
+		ElkObjectPropertyChain ch = objectFactory.getObjectPropertyChain(List.of(prop, chain));
+		return objectFactory.getSubObjectPropertyOfAxiom(ch, prop);
 	}
 
 	public ElkReflexiveObjectPropertyAxiom getElkReflexiveObjectPropertyAxiom(String name) {
-		return objectFactory.getReflexiveObjectPropertyAxiom(getElkObjectProperty(name));
+		return getElkReflexiveObjectPropertyAxiom(getElkObjectProperty(name));
+	}
+
+	public ElkReflexiveObjectPropertyAxiom getElkReflexiveObjectPropertyAxiom(ElkObjectProperty prop) {
+		return objectFactory.getReflexiveObjectPropertyAxiom(prop);
 	}
 
 	public ElkAxiom getElkSubDataPropertyOfAxiom(String sub, String sup) {
-		return objectFactory.getSubDataPropertyOfAxiom(getElkDataProperty(sub), getElkDataProperty(sup));
+		return getElkSubDataPropertyOfAxiom(getElkDataProperty(sub), getElkDataProperty(sup));
+	}
+
+	public ElkAxiom getElkSubDataPropertyOfAxiom(ElkDataProperty sub, ElkDataProperty sup) {
+		return objectFactory.getSubDataPropertyOfAxiom(sub, sup);
 	}
 
 	public ElkObjectSomeValuesFrom getElkObjectSomeValuesFrom(String prop, String filler) {
@@ -157,11 +212,19 @@ public ElkObjectSomeValuesFrom getElkObjectSomeValuesFrom(String prop, String fi
 	}
 
 	public ElkObjectSomeValuesFrom getElkObjectSomeValuesFrom(String prop, ElkClassExpression expr) {
-		return objectFactory.getObjectSomeValuesFrom(getElkObjectProperty(prop), expr);
+		return getElkObjectSomeValuesFrom(getElkObjectProperty(prop), expr);
+	}
+
+	public ElkObjectSomeValuesFrom getElkObjectSomeValuesFrom(ElkObjectProperty prop, ElkClassExpression expr) {
+		return objectFactory.getObjectSomeValuesFrom(prop, expr);
 	}
 
 	public ElkEquivalentClassesAxiom getEquivalentClassesAxiom(String name, ElkClassExpression expr) {
-		return objectFactory.getEquivalentClassesAxiom(getElkClass(name), expr);
+		return getEquivalentClassesAxiom(getElkClass(name), expr);
+	}
+
+	public ElkEquivalentClassesAxiom getEquivalentClassesAxiom(ElkClass clazz, ElkClassExpression expr) {
+		return objectFactory.getEquivalentClassesAxiom(clazz, expr);
 	}
 
 	public ElkSubClassOfAxiom getSubClassOfAxiom(String name, ElkClassExpression expr) {
@@ -177,7 +240,11 @@ public ElkSubClassOfAxiom getSubClassOfAxiom(ElkClassExpression subExpr, ElkClas
 	}
 
 	public ElkDataHasValue getDataHasValue(String name, ElkLiteral value) {
-		return objectFactory.getDataHasValue(getElkDataProperty(name), value);
+		return getDataHasValue(getElkDataProperty(name), value);
+	}
+
+	public ElkDataHasValue getDataHasValue(ElkDataProperty prop, ElkLiteral value) {
+		return objectFactory.getDataHasValue(prop, value);
 	}
 
 	public OWLOntologyManager getOWLOntologyManager() {
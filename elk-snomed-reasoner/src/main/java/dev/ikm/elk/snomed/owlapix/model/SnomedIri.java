@@ -0,0 +1,53 @@
+package dev.ikm.elk.snomed.owlapix.model;
+
+/*-
+ * #%L
+ * ELK Reasoner for SNOMED
+ * %%
+ * Copyright (C) 2023 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.semanticweb.elk.owl.iris.ElkAbbreviatedIri;
+import org.semanticweb.elk.owl.iris.ElkIri;
+import org.semanticweb.elk.owl.iris.ElkPrefix;
+
+/*
+ * An abbreviated IRI whose local name is an SCTID, which it keeps as a long so
+ * that the id of an entity can be read back without parsing. It is equal to
+ * (and hashes like) the ElkAbbreviatedIri with the same prefix and local name.
+ */
+public class SnomedIri extends ElkAbbreviatedIri {
+
+	private final long id;
+
+	public SnomedIri(ElkPrefix prefix, long id) {
+		super(prefix, Long.toString(id));
+		this.id = id;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public static long getId(ElkIri iri) {
+		if (iri instanceof SnomedIri sctid)
+			return sctid.getId();
+		if (iri instanceof ElkAbbreviatedIri abbreviated)
+			return Long.parseLong(abbreviated.getLocalName());
+		throw new IllegalArgumentException("Not an SCTID: " + iri);
+	}
+
+}
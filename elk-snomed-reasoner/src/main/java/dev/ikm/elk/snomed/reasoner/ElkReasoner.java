@@ -55,7 +55,9 @@
 import org.semanticweb.elk.reasoner.query.QueryResult;
 import org.semanticweb.elk.reasoner.query.VerifiableQueryResult;
 import org.semanticweb.elk.reasoner.stages.ElkInterruptedException;
+import org.semanticweb.elk.reasoner.taxonomy.FrozenTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.Node;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
 import org.semanticweb.elk.util.logging.LogLevel;
 import org.semanticweb.elk.util.logging.LoggerWrap;
@@ -171,7 +173,13 @@ private ElkReasoner(OWLOntology ontology, boolean isBufferingMode, ElkReasonerCo
 //	}
 
 	public static ElkReasoner createReasoner(OWLOntology ontology, ElkObject.Factory factory) {
-		ElkReasonerConfiguration elkConfig = new ElkReasonerConfiguration();
+		return createReasoner(ontology, factory, ReasonerConfiguration.getConfiguration());
+	}
+
+	public static ElkReasoner createReasoner(OWLOntology ontology, ElkObject.Factory factory,
+			ReasonerConfiguration config) {
+		ElkReasonerConfiguration elkConfig = new ElkReasonerConfiguration(
+				ElkReasonerConfiguration.getDefaultOwlReasonerConfiguration(), config);
 		Reasoner reasoner = new ReasonerFactory().createReasoner(factory, elkConfig.getElkConfiguration());
 		return new ElkReasoner(ontology, true, elkConfig, reasoner);
 	}
@@ -611,6 +619,38 @@ public Set<? extends Node<ElkClass>> getSuperClasses(ElkClassExpression ce, bool
 		return Incompleteness.getValue(computeSuperClasses(ce, direct));
 	}
 
+	public IncompleteResult<? extends Taxonomy<ElkClass>> computeTaxonomy() throws ElkException {
+		checkInterrupted();
+		return reasoner_.getTaxonomyQuietly();
+	}
+
+	/*
+	 * The class taxonomy, for walking the whole hierarchy at once rather than
+	 * one class at a time. This is the reasoner's live taxonomy, not a copy: it is
+	 * modified in place by the next flush of ontology changes, and walking it is
+	 * not synchronized with the reasoner. Walk it only from the thread that
+	 * flushes, before the next flush; use getFrozenTaxonomy() to read the
+	 * hierarchy from other threads.
+	 */
+	public Taxonomy<ElkClass> getTaxonomy() throws ElkException {
+		LOGGER_.trace("getTaxonomy()");
+		return Incompleteness.getValue(computeTaxonomy());
+	}
+
+	public IncompleteResult<FrozenTaxonomy<ElkClass>> computeFrozenTaxonomy() throws ElkException {
+		checkInterrupted();
+		return reasoner_.getFrozenTaxonomy();
+	}
+
+	/*
+	 * An immutable copy of the class taxonomy, which can be queried from many
+	 * threads without going through the reasoner
+	 */
+	public FrozenTaxonomy<ElkClass> getFrozenTaxonomy() throws ElkException {
+		LOGGER_.trace("getFrozenTaxonomy()");
+		return Incompleteness.getValue(computeFrozenTaxonomy());
+	}
+
 //	@Override
 	public Set<ElkDataProperty> getSuperDataProperties(ElkDataProperty arg0, boolean arg1) throws ElkException {
 		LOGGER_.trace("getSuperDataProperties(ElkDataProperty, boolean)");
@@ -22,6 +22,7 @@
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import dev.ikm.elk.snomed.model.Concept;
@@ -36,7 +37,7 @@ public class DefiningSubsumption extends NNFSubsumption {
 	private SnomedIsa definingIsa;
 
 	public DefiningSubsumption(SnomedOntology ontology, SnomedIsa definingIsa, SnomedIsa isa,
-			HashMap<RoleType, Set<RoleType>> superRoles, HashMap<Concept, Definition> necessaryNormalForm) {
+			HashMap<RoleType, Set<RoleType>> superRoles, Map<Concept, Definition> necessaryNormalForm) {
 		super(isa, superRoles, necessaryNormalForm);
 		this.ontology = ontology;
 		this.definingIsa = definingIsa;
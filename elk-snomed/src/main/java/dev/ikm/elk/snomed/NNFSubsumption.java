@@ -21,10 +21,14 @@
  */
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,18 +44,98 @@ public class NNFSubsumption {
 	@SuppressWarnings("unused")
 	private static final Logger LOG = LoggerFactory.getLogger(NNFSubsumption.class);
 
-	private SnomedIsa isa;
+	private SnomedIsaIndex isa;
 
 	private HashMap<RoleType, Set<RoleType>> superRoles;
 
-	protected HashMap<Concept, Definition> necessaryNormalForm;
+	protected Map<Concept, Definition> necessaryNormalForm;
+
+	public static final int DEFAULT_CHAIN_CACHE_CAPACITY = 100000;
+
+	// The expansion of a role only depends on the NNFs of its filler and the
+	// fillers below it, which do not change once generated
+	private final ConcurrentHashMap<Role, ChainCacheEntry> chainCache = new ConcurrentHashMap<>();
+
+	private final int chainCacheCapacity;
+
+	// Hits only stamp their entry from this clock; the least recently stamped
+	// entries are evicted under a lock when a miss exceeds the capacity
+	private final AtomicLong chainCacheClock = new AtomicLong();
+
+	private final Object chainCacheEvictionLock = new Object();
+
+	private final AtomicLong chainCacheHits = new AtomicLong();
+
+	private final AtomicLong chainCacheMisses = new AtomicLong();
 
 	public NNFSubsumption(SnomedIsa isa, HashMap<RoleType, Set<RoleType>> superRoles,
-			HashMap<Concept, Definition> necessaryNormalForm) {
+			Map<Concept, Definition> necessaryNormalForm) {
+		this(isa, superRoles, necessaryNormalForm, DEFAULT_CHAIN_CACHE_CAPACITY);
+	}
+
+	public NNFSubsumption(SnomedIsa isa, HashMap<RoleType, Set<RoleType>> superRoles,
+			Map<Concept, Definition> necessaryNormalForm, int chainCacheCapacity) {
 		super();
-		this.isa = isa;
+		this.isa = SnomedIsaIndex.create(isa);
 		this.superRoles = superRoles;
 		this.necessaryNormalForm = necessaryNormalForm;
+		this.chainCacheCapacity = chainCacheCapacity;
+	}
+
+	private static class ChainCacheEntry {
+
+		private final Set<Role> roles;
+
+		private volatile long lastUsed;
+
+		ChainCacheEntry(Set<Role> roles, long lastUsed) {
+			this.roles = roles;
+			this.lastUsed = lastUsed;
+		}
+
+	}
+
+	public long getChainCacheHits() {
+		return chainCacheHits.get();
+	}
+
+	public long getChainCacheMisses() {
+		return chainCacheMisses.get();
+	}
+
+	public int getChainCacheSize() {
+		return chainCache.size();
+	}
+
+	private Set<Role> getExpandedChain(RoleType role_type, Concept filler) {
+		Role key = new Role(role_type, filler);
+		ChainCacheEntry entry = chainCache.get(key);
+		if (entry != null) {
+			chainCacheHits.incrementAndGet();
+			entry.lastUsed = chainCacheClock.incrementAndGet();
+			return entry.roles;
+		}
+		chainCacheMisses.incrementAndGet();
+		Set<Role> roles = expandChain(role_type, filler);
+		if (chainCache.putIfAbsent(key, new ChainCacheEntry(roles, chainCacheClock.incrementAndGet())) == null
+				&& chainCache.size() > chainCacheCapacity)
+			evictChainCache();
+		return roles;
+	}
+
+	// Shrinks the cache to 3/4 of its capacity by removing the least recently
+	// used entries, so that the eviction cost is shared by many misses
+	private void evictChainCache() {
+		synchronized (chainCacheEvictionLock) {
+			int size = chainCache.size();
+			if (size <= chainCacheCapacity)
+				return;
+			List<Map.Entry<Role, ChainCacheEntry>> entries = new ArrayList<>(chainCache.entrySet());
+			entries.sort(Comparator.comparingLong(e -> e.getValue().lastUsed));
+			int evict = size - (int) (chainCacheCapacity * 0.75);
+			for (int i = 0; i < evict && i < entries.size(); i++)
+				chainCache.remove(entries.get(i).getKey(), entries.get(i).getValue());
+		}
 	}
 
 	private HashSet<Role> expandChain(RoleType role_type, Concept filler) {
@@ -116,8 +200,8 @@ protected boolean isSubRoleOfEntailed(Role role1, Role role2) {
 				if (isSubsumedBy1(con1, con2))
 					return true;
 			}
-			HashSet<Role> chain1 = expandChain(role1.getRoleType(), role1.getConcept());
-			HashSet<Role> chain2 = expandChain(role2.getRoleType(), role2.getConcept());
+			Set<Role> chain1 = getExpandedChain(role1.getRoleType(), role1.getConcept());
+			Set<Role> chain2 = getExpandedChain(role2.getRoleType(), role2.getConcept());
 			boolean isSubsumedBy = chain2.stream().allMatch(
 					chain2_role -> chain1.stream().anyMatch(chain1_role -> isSubsumedBy(chain1_role, chain2_role)));
 			return isSubsumedBy;
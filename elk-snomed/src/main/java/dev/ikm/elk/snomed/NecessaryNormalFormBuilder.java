@@ -24,8 +24,11 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,13 +49,15 @@ public class NecessaryNormalFormBuilder {
 
 	private List<Concept> concepts = new ArrayList<>();
 
+	private List<List<Concept>> waves = new ArrayList<>();
+
 	private SnomedIsa isa;
 
 	private long root;
 
 	private HashMap<RoleType, Set<RoleType>> superRolesTypes = new HashMap<>();
 
-	private HashMap<Concept, Definition> necessaryNormalForm = new HashMap<>();
+	private ConcurrentHashMap<Concept, Definition> necessaryNormalForm = new ConcurrentHashMap<>();
 
 	private NNFSubsumption nnfSubsumption;
 
@@ -68,7 +73,15 @@ public HashMap<RoleType, Set<RoleType>> getSuperRolesTypes() {
 		return superRolesTypes;
 	}
 
-	public HashMap<Concept, Definition> getNecessaryNormalForm() {
+	/*
+	 * The concepts grouped by dependency level, each concept depends only on
+	 * concepts in earlier waves
+	 */
+	public List<List<Concept>> getWaves() {
+		return waves;
+	}
+
+	public Map<Concept, Definition> getNecessaryNormalForm() {
 		return necessaryNormalForm;
 	}
 
@@ -78,6 +91,8 @@ public Definition getNecessaryNormalForm(Concept con) {
 
 	public Definition getNecessaryNormalForm(long id) {
 		Concept con = snomedOntology.getConcept(id);
+		if (con == null)
+			return null;
 		return necessaryNormalForm.get(con);
 	}
 
@@ -112,7 +127,27 @@ private void initConcepts(HashMap<Long, Set<Long>> superConcepts) {
 			deps.getOrderedConcepts().stream().map(id -> snomedOntology.getConcept(id))
 					.forEach(con -> concepts.add(con));
 		}
+		initWaves(dependentOnConcepts);
 		LOG.info("Concepts: " + concepts.size());
+		LOG.info("Waves: " + waves.size());
+	}
+
+	private void initWaves(HashMap<Long, Set<Long>> dependentOnConcepts) {
+		// concepts are in dependency order, so the levels of the dependencies are
+		// known when a concept is reached
+		HashMap<Long, Integer> levels = new HashMap<>();
+		for (Concept con : concepts) {
+			int level = 0;
+			for (long dep : dependentOnConcepts.getOrDefault(con.getId(), Set.of())) {
+				Integer dep_level = levels.get(dep);
+				if (dep_level != null)
+					level = Math.max(level, dep_level + 1);
+			}
+			levels.put(con.getId(), level);
+			while (waves.size() <= level)
+				waves.add(new ArrayList<>());
+			waves.get(level).add(con);
+		}
 	}
 
 	private final boolean log_roles = false;
@@ -168,10 +203,54 @@ public void generate(ConceptComparer concept_comparer) {
 				concept_comparer.compare(concept, def);
 		}
 		LOG.info("Generate: " + cnt);
+		logChainCache();
 		if (concept_comparer != null)
 			concept_comparer.logErrors();
 	}
 
+	public void generateParallel() {
+		generateParallel(null);
+	}
+
+	public void generateParallel(ConceptComparer concept_comparer) {
+		generateParallel(concept_comparer, ForkJoinPool.commonPool());
+	}
+
+	/*
+	 * Generate each wave in parallel on the pool. The result is the same as for
+	 * generate, the comparer is run sequentially in concept order afterwards.
+	 */
+	public void generateParallel(ConceptComparer concept_comparer, ForkJoinPool pool) {
+		this.conceptComparer = concept_comparer;
+		int cnt = 0;
+		int log_cnt = 50000;
+		for (List<Concept> wave : waves) {
+			pool.submit(() -> wave.parallelStream().forEach(concept -> generateNNF(concept, false))).join();
+			cnt += wave.size();
+			if (cnt >= log_cnt) {
+				LOG.info("Generate: " + cnt);
+				log_cnt = (cnt / 50000 + 1) * 50000;
+			}
+		}
+		LOG.info("Generate: " + cnt);
+		logChainCache();
+		if (concept_comparer != null) {
+			for (Concept concept : concepts) {
+				concept_comparer.compare(concept, necessaryNormalForm.get(concept));
+			}
+			concept_comparer.logErrors();
+		}
+	}
+
+	public NNFSubsumption getNnfSubsumption() {
+		return nnfSubsumption;
+	}
+
+	private void logChainCache() {
+		LOG.info("Chain cache: " + nnfSubsumption.getChainCacheHits() + " hits "
+				+ nnfSubsumption.getChainCacheMisses() + " misses " + nnfSubsumption.getChainCacheSize() + " size");
+	}
+
 	public Definition generateNNF(Concept con, boolean useDefining) {
 		Definition def = new Definition();
 		if (con.getDefinitions().stream().map(Definition::getDefinitionType)
@@ -0,0 +1,278 @@
+package dev.ikm.elk.snomed;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/*
+ * Reader for RF2 (tab separated, header line) release files. The file is
+ * memory mapped and the fields of each row are located in place, so numeric
+ * fields are parsed from the bytes and a String is only created when a field is
+ * asked for as one. The file can be split on line boundaries into chunks that
+ * are read in parallel.
+ */
+public class Rf2Reader {
+
+	// Well below the 2GB limit of a single mapping
+	public static final int MAX_CHUNK_SIZE = 1 << 30;
+
+	/*
+	 * A row of the file. The row is reused for all the rows of a chunk, so it
+	 * must not be held on to by a consumer.
+	 */
+	public static class Row {
+
+		private final ByteBuffer buffer;
+
+		private int[] starts = new int[16];
+
+		private int[] ends = new int[16];
+
+		private int fieldCount;
+
+		private Row(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		private void addField(int start, int end) {
+			if (fieldCount == starts.length) {
+				starts = Arrays.copyOf(starts, fieldCount * 2);
+				ends = Arrays.copyOf(ends, fieldCount * 2);
+			}
+			starts[fieldCount] = start;
+			ends[fieldCount] = end;
+			fieldCount++;
+		}
+
+		public int getFieldCount() {
+			return fieldCount;
+		}
+
+		private void check(int field) {
+			if (field >= fieldCount)
+				throw new IndexOutOfBoundsException("Field " + field + " of " + fieldCount);
+		}
+
+		// active is the third field of every RF2 file
+		public boolean isActive() {
+			return getInt(2) == 1;
+		}
+
+		public long getLong(int field) {
+			check(field);
+			int start = starts[field];
+			int end = ends[field];
+			if (start == end)
+				throw new NumberFormatException("Empty field " + field);
+			boolean negative = buffer.get(start) == '-';
+			if (negative && ++start == end)
+				throw new NumberFormatException("No digits in field " + field);
+			long ret = 0;
+			for (int i = start; i < end; i++) {
+				int digit = buffer.get(i) - '0';
+				if (digit < 0 || digit > 9)
+					throw new NumberFormatException("Not a number: " + getString(field));
+				if (ret > (Long.MAX_VALUE - digit) / 10)
+					throw new NumberFormatException("Out of range: " + getString(field));
+				ret = ret * 10 + digit;
+			}
+			return negative ? -ret : ret;
+		}
+
+		public int getInt(int field) {
+			long ret = getLong(field);
+			if (ret < Integer.MIN_VALUE || ret > Integer.MAX_VALUE)
+				throw new NumberFormatException("Out of range: " + ret);
+			return (int) ret;
+		}
+
+		public String getString(int field) {
+			check(field);
+			byte[] bytes = new byte[ends[field] - starts[field]];
+			buffer.get(starts[field], bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public String toString() {
+			List<String> fields = new ArrayList<>();
+			for (int i = 0; i < fieldCount; i++)
+				fields.add(getString(i));
+			return String.join("\t", fields);
+		}
+
+	}
+
+	private Rf2Reader() {
+	}
+
+	public static void read(Path file, Consumer<Row> consumer) throws IOException {
+		read(file, 1, () -> consumer);
+	}
+
+	/*
+	 * Read the file in chunks, each with a sink from the supplier, and return the
+	 * sinks in file order. With parallelism > 1 the chunks are read in parallel,
+	 * so the supplier should return a new sink for each call.
+	 */
+	public static <S extends Consumer<Row>> List<S> read(Path file, int parallelism, Supplier<S> sinks)
+			throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long[] bounds = getChunkBounds(channel, parallelism);
+			int chunks = bounds.length - 1;
+			List<S> ret = new ArrayList<>(chunks);
+			for (int i = 0; i < chunks; i++) {
+				ret.add(sinks.get());
+			}
+			if (parallelism <= 1) {
+				for (int i = 0; i < chunks; i++) {
+					readChunk(channel, bounds[i], bounds[i + 1], i == 0, ret.get(i));
+				}
+			} else {
+				try {
+					IntStream.range(0, chunks).parallel().forEach(i -> {
+						try {
+							readChunk(channel, bounds[i], bounds[i + 1], i == 0, ret.get(i));
+						} catch (IOException ex) {
+							throw new UncheckedIOException(ex);
+						}
+					});
+				} catch (UncheckedIOException ex) {
+					throw ex.getCause();
+				}
+			}
+			return ret;
+		}
+	}
+
+	private static class CollectingSink<T> implements Consumer<Row> {
+
+		private final Function<Row, T> mapper;
+
+		private final ArrayList<T> values = new ArrayList<>();
+
+		public CollectingSink(Function<Row, T> mapper) {
+			this.mapper = mapper;
+		}
+
+		@Override
+		public void accept(Row row) {
+			T value = mapper.apply(row);
+			if (value != null)
+				values.add(value);
+		}
+
+	}
+
+	/*
+	 * Map the rows and return the non null values in file order
+	 */
+	public static <T> ArrayList<T> collect(Path file, int parallelism, Function<Row, T> mapper)
+			throws IOException {
+		List<CollectingSink<T>> sinks = read(file, parallelism, () -> new CollectingSink<>(mapper));
+		ArrayList<T> ret = new ArrayList<>(sinks.stream().mapToInt(sink -> sink.values.size()).sum());
+		sinks.forEach(sink -> ret.addAll(sink.values));
+		return ret;
+	}
+
+	private static long[] getChunkBounds(FileChannel channel, int parallelism) throws IOException {
+		long size = channel.size();
+		long chunks = Math.max(Math.max(1, parallelism), (size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+		// Don't bother splitting small files
+		chunks = Math.max(1, Math.min(chunks, size / (1 << 16)));
+		long[] bounds = new long[(int) chunks + 1];
+		for (int i = 1; i < chunks; i++) {
+			bounds[i] = getLineStart(channel, Math.max(bounds[i - 1], size * i / chunks), size);
+		}
+		bounds[(int) chunks] = size;
+		return bounds;
+	}
+
+	/*
+	 * The start of the first line at or after pos
+	 */
+	private static long getLineStart(FileChannel channel, long pos, long size) throws IOException {
+		if (pos == 0)
+			return 0;
+		ByteBuffer buf = ByteBuffer.allocate(1 << 12);
+		long offset = pos - 1;
+		while (offset < size) {
+			buf.clear();
+			int n = channel.read(buf, offset);
+			if (n <= 0)
+				break;
+			for (int i = 0; i < n; i++) {
+				if (buf.get(i) == '\n')
+					return offset + i + 1;
+			}
+			offset += n;
+		}
+		return size;
+	}
+
+	private static void readChunk(FileChannel channel, long start, long end, boolean skipHeader,
+			Consumer<Row> sink) throws IOException {
+		if (start == end)
+			return;
+		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+		Row row = new Row(buffer);
+		boolean skip = skipHeader;
+		int limit = buffer.limit();
+		int field_start = 0;
+		for (int i = 0; i <= limit; i++) {
+			byte b = i < limit ? buffer.get(i) : (byte) '\n';
+			if (b == '\t') {
+				row.addField(field_start, i);
+				field_start = i + 1;
+			} else if (b == '\n') {
+				int field_end = i;
+				if (field_end > field_start && buffer.get(field_end - 1) == '\r')
+					field_end--;
+				boolean empty = row.fieldCount == 0 && field_end == field_start;
+				if (!empty) {
+					row.addField(field_start, field_end);
+					if (skip) {
+						skip = false;
+					} else {
+						sink.accept(row);
+					}
+				}
+				row.fieldCount = 0;
+				field_start = i + 1;
+			}
+		}
+	}
+
+}
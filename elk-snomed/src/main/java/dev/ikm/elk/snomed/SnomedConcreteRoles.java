@@ -27,7 +27,6 @@
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -91,19 +90,16 @@ public static SnomedConcreteRoles init(Path file) throws IOException {
 	public void load(Path file) throws IOException {
 		// id effectiveTime active moduleId sourceId value relationshipGroup
 		// typeId characteristicTypeId modifierId
-		try (Stream<String> st = Files.lines(file)) {
-			st.skip(1).map(line -> line.split("\\t")) //
-					.filter(fields -> Integer.parseInt(fields[2]) == 1) // active
-					.filter(fields -> Long.parseLong(fields[7]) != SnomedIds.isa) // typeId
-					.forEach(fields -> {
-						long con = Long.parseLong(fields[4]); // sourceId
-						String value = fields[5]; // value
-						long relationshipGroup = Long.parseLong(fields[6]); // relationshipGroup
-						long typeId = Long.parseLong(fields[7]); // typeId
-						concreteRoles.computeIfAbsent(con, x -> new HashSet<>());
-						concreteRoles.get(con).add(new SnomedConcreteRole(value, relationshipGroup, typeId));
-					});
-		}
+		Rf2Reader.read(file, row -> {
+			long typeId = row.getLong(7); // typeId
+			if (row.isActive() && typeId != SnomedIds.isa) {
+				long con = row.getLong(4); // sourceId
+				String value = row.getString(5); // value
+				long relationshipGroup = row.getLong(6); // relationshipGroup
+				concreteRoles.computeIfAbsent(con, x -> new HashSet<>());
+				concreteRoles.get(con).add(new SnomedConcreteRole(value, relationshipGroup, typeId));
+			}
+		});
 	}
 
 }
@@ -21,10 +21,8 @@
  */
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
-import java.util.stream.Stream;
 
 public class SnomedDescriptions {
 
@@ -80,18 +78,15 @@ public static SnomedDescriptions init(Path file) throws IOException {
 	public void load(Path file) throws IOException {
 		// id effectiveTime active moduleId conceptId languageCode typeId term
 		// caseSignificanceId
-		try (Stream<String> st = Files.lines(file)) {
-			st.skip(1).map(line -> line.split("\\t")) //
-					.filter(fields -> Integer.parseInt(fields[2]) == 1) // active
-					.filter(fields -> Long.parseLong(fields[6]) == DescriptionType.FULLY_SPECIFIED.id) // typeId
-					.forEach(fields -> {
-						long con = Long.parseLong(fields[4]); // conceptId
-						String fsn = fields[7]; // term
-//						if (fsns.get(con) != null)
-//							throw new RuntimeException("" + fields);
-						fsns.put(con, fsn);
-					});
-		}
+		Rf2Reader.read(file, row -> {
+			if (row.isActive() && row.getLong(6) == DescriptionType.FULLY_SPECIFIED.id) { // typeId
+				long con = row.getLong(4); // conceptId
+				String fsn = row.getString(7); // term
+//				if (fsns.get(con) != null)
+//					throw new RuntimeException("" + row);
+				fsns.put(con, fsn);
+			}
+		});
 	}
 
 }
@@ -0,0 +1,200 @@
+package dev.ikm.elk.snomed;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.function.ToLongFunction;
+
+import org.semanticweb.elk.owl.interfaces.ElkClass;
+import org.semanticweb.elk.owl.iris.ElkIri;
+import org.semanticweb.elk.owl.predefined.PredefinedElkIris;
+import org.semanticweb.elk.reasoner.taxonomy.model.Taxonomy;
+import org.semanticweb.elk.reasoner.taxonomy.model.TaxonomyNode;
+
+/*
+ * Immutable snapshot of a classified concept hierarchy. The taxonomy nodes are
+ * numbered densely and their members, direct super nodes and direct sub nodes
+ * are kept as CSR (offset + value) arrays, so the whole hierarchy is read in
+ * one walk of the taxonomy and queries neither lock the reasoner nor allocate
+ * sets. owl:Thing and owl:Nothing are left out, as are the unsatisfiable
+ * concepts.
+ */
+public class SnomedHierarchy {
+
+	private final SnomedIdIndex index;
+
+	// the concepts, in node order
+	private final long[] members;
+
+	private final int[] conceptNodes;
+
+	private final int[] memberOffsets;
+
+	private final int[] superOffsets;
+
+	private final int[] superNodes;
+
+	private final int[] subOffsets;
+
+	private final int[] subNodes;
+
+	private SnomedHierarchy(long[] members, int[] conceptNodes, int[] memberOffsets, int[] superOffsets,
+			int[] superNodes, int[] subOffsets, int[] subNodes) {
+		super();
+		this.conceptNodes = conceptNodes;
+		this.memberOffsets = memberOffsets;
+		this.members = members;
+		this.superOffsets = superOffsets;
+		this.superNodes = superNodes;
+		this.subOffsets = subOffsets;
+		this.subNodes = subNodes;
+		this.index = new SnomedIdIndex(members.length);
+		for (int i = 0; i < members.length; i++) {
+			index.put(members[i], i);
+		}
+	}
+
+	private static boolean isPredefined(ElkClass clazz) {
+		ElkIri iri = clazz.getIri();
+		return iri.equals(PredefinedElkIris.OWL_THING) || iri.equals(PredefinedElkIris.OWL_NOTHING);
+	}
+
+	public static SnomedHierarchy create(Taxonomy<ElkClass> taxonomy, ToLongFunction<ElkClass> id) {
+		TaxonomyNode<ElkClass> bottom = taxonomy.getBottomNode();
+		IdentityHashMap<TaxonomyNode<ElkClass>, Integer> nodeIndex = new IdentityHashMap<>();
+		for (TaxonomyNode<ElkClass> node : taxonomy.getNodes()) {
+			if (node != bottom)
+				nodeIndex.put(node, nodeIndex.size());
+		}
+		@SuppressWarnings("unchecked")
+		TaxonomyNode<ElkClass>[] nodes = new TaxonomyNode[nodeIndex.size()];
+		nodeIndex.forEach((node, i) -> nodes[i] = node);
+		// Members
+		int[] memberOffsets = new int[nodes.length + 1];
+		int member_count = 0;
+		for (int i = 0; i < nodes.length; i++) {
+			memberOffsets[i] = member_count;
+			for (ElkClass clazz : nodes[i]) {
+				if (!isPredefined(clazz))
+					member_count++;
+			}
+		}
+		memberOffsets[nodes.length] = member_count;
+		long[] members = new long[member_count];
+		int[] conceptNodes = new int[member_count];
+		for (int i = 0, j = 0; i < nodes.length; i++) {
+			for (ElkClass clazz : nodes[i]) {
+				if (isPredefined(clazz))
+					continue;
+				conceptNodes[j] = i;
+				members[j++] = id.applyAsLong(clazz);
+			}
+		}
+		// Super and sub nodes
+		int[] superOffsets = new int[nodes.length + 1];
+		int[] subOffsets = new int[nodes.length + 1];
+		int super_count = 0;
+		int sub_count = 0;
+		for (int i = 0; i < nodes.length; i++) {
+			superOffsets[i] = super_count;
+			super_count += nodes[i].getDirectSuperNodes().size();
+			subOffsets[i] = sub_count;
+			for (TaxonomyNode<ElkClass> sub : nodes[i].getDirectSubNodes()) {
+				if (sub != bottom)
+					sub_count++;
+			}
+		}
+		superOffsets[nodes.length] = super_count;
+		subOffsets[nodes.length] = sub_count;
+		int[] superNodes = new int[super_count];
+		int[] subNodes = new int[sub_count];
+		for (int i = 0, j = 0, k = 0; i < nodes.length; i++) {
+			for (TaxonomyNode<ElkClass> sup : nodes[i].getDirectSuperNodes()) {
+				superNodes[j++] = nodeIndex.get(sup);
+			}
+			for (TaxonomyNode<ElkClass> sub : nodes[i].getDirectSubNodes()) {
+				if (sub != bottom)
+					subNodes[k++] = nodeIndex.get(sub);
+			}
+		}
+		return new SnomedHierarchy(members, conceptNodes, memberOffsets, superOffsets, superNodes, subOffsets,
+				subNodes);
+	}
+
+	public int getConceptCount() {
+		return members.length;
+	}
+
+	public long getId(int index) {
+		return members[index];
+	}
+
+	public boolean contains(long id) {
+		return index.containsKey(id);
+	}
+
+	private int getNode(long id) {
+		int i = index.get(id);
+		if (i == SnomedIdIndex.NONE)
+			throw new IllegalArgumentException("Not in the hierarchy: " + id);
+		return conceptNodes[i];
+	}
+
+	private long[] getMembers(int[] offsets, int[] nodes, int node) {
+		int size = 0;
+		for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+			size += memberOffsets[nodes[i] + 1] - memberOffsets[nodes[i]];
+		}
+		long[] ret = new long[size];
+		int j = 0;
+		for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+			int beg = memberOffsets[nodes[i]];
+			int len = memberOffsets[nodes[i] + 1] - beg;
+			System.arraycopy(members, beg, ret, j, len);
+			j += len;
+		}
+		return ret;
+	}
+
+	/*
+	 * Direct super concepts, the members of the direct super nodes
+	 */
+	public long[] getSuperConcepts(long id) {
+		return getMembers(superOffsets, superNodes, getNode(id));
+	}
+
+	/*
+	 * Direct sub concepts, the members of the direct sub nodes
+	 */
+	public long[] getSubConcepts(long id) {
+		return getMembers(subOffsets, subNodes, getNode(id));
+	}
+
+	/*
+	 * The concepts in the same node, including the concept itself
+	 */
+	public long[] getEquivalentConcepts(long id) {
+		int node = getNode(id);
+		return Arrays.copyOfRange(members, memberOffsets[node], memberOffsets[node + 1]);
+	}
+
+}
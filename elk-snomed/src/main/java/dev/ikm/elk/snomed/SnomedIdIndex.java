@@ -0,0 +1,172 @@
+package dev.ikm.elk.snomed;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Arrays;
+
+/*
+ * Open addressing (linear probing) map from SCTIDs to dense int indexes. Keys
+ * and values are held in primitive arrays, so a lookup neither boxes the id nor
+ * allocates.
+ */
+public class SnomedIdIndex {
+
+	public static final int NONE = -1;
+
+	private static final long EMPTY = 0;
+
+	private long[] keys;
+
+	private int[] values;
+
+	private int size = 0;
+
+	// 0 is not a valid SCTID, but is kept apart so that it is never a problem
+	private int zeroValue = NONE;
+
+	public SnomedIdIndex() {
+		this(16);
+	}
+
+	public SnomedIdIndex(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+		keys = new long[capacity];
+		values = new int[capacity];
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	public int get(long key) {
+		if (key == EMPTY)
+			return zeroValue;
+		int mask = keys.length - 1;
+		int i = hash(key) & mask;
+		while (true) {
+			long k = keys[i];
+			if (k == key)
+				return values[i];
+			if (k == EMPTY)
+				return NONE;
+			i = (i + 1) & mask;
+		}
+	}
+
+	public boolean containsKey(long key) {
+		return get(key) != NONE;
+	}
+
+	/*
+	 * Return the previous value, or NONE
+	 */
+	public int put(long key, int value) {
+		if (value < 0)
+			throw new IllegalArgumentException("Negative index: " + value);
+		if (key == EMPTY) {
+			int prev = zeroValue;
+			zeroValue = value;
+			if (prev == NONE)
+				size++;
+			return prev;
+		}
+		int mask = keys.length - 1;
+		int i = hash(key) & mask;
+		while (true) {
+			long k = keys[i];
+			if (k == key) {
+				int prev = values[i];
+				values[i] = value;
+				return prev;
+			}
+			if (k == EMPTY) {
+				keys[i] = key;
+				values[i] = value;
+				if (++size * 2 > keys.length)
+					rehash(keys.length << 1);
+				return NONE;
+			}
+			i = (i + 1) & mask;
+		}
+	}
+
+	/*
+	 * Insert the value unless the key is already present; return the present
+	 * value, or NONE if the value was inserted
+	 */
+	public int putIfAbsent(long key, int value) {
+		if (value < 0)
+			throw new IllegalArgumentException("Negative index: " + value);
+		if (key == EMPTY) {
+			int prev = zeroValue;
+			if (prev == NONE) {
+				zeroValue = value;
+				size++;
+			}
+			return prev;
+		}
+		int mask = keys.length - 1;
+		int i = hash(key) & mask;
+		while (true) {
+			long k = keys[i];
+			if (k == key)
+				return values[i];
+			if (k == EMPTY) {
+				keys[i] = key;
+				values[i] = value;
+				if (++size * 2 > keys.length)
+					rehash(keys.length << 1);
+				return NONE;
+			}
+			i = (i + 1) & mask;
+		}
+	}
+
+	private void rehash(int capacity) {
+		long[] old_keys = keys;
+		int[] old_values = values;
+		keys = new long[capacity];
+		values = new int[capacity];
+		int mask = capacity - 1;
+		for (int j = 0; j < old_keys.length; j++) {
+			long key = old_keys[j];
+			if (key == EMPTY)
+				continue;
+			int i = hash(key) & mask;
+			while (keys[i] != EMPTY)
+				i = (i + 1) & mask;
+			keys[i] = key;
+			values[i] = old_values[j];
+		}
+	}
+
+	public void clear() {
+		Arrays.fill(keys, EMPTY);
+		zeroValue = NONE;
+		size = 0;
+	}
+
+}
@@ -21,16 +21,14 @@
  */
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.stream.Stream;
 
-public class SnomedIsa {
+public class SnomedIsa implements SnomedRelationships.Sink {
 
 	private HashMap<Long, Set<Long>> parentsMap = new HashMap<>();
 
@@ -50,7 +48,7 @@ public ArrayList<Long> getOrderedConcepts() {
 		return orderedConcepts;
 	}
 
-	private SnomedIsa() {
+	SnomedIsa() {
 		super();
 	}
 
@@ -72,7 +70,7 @@ public static SnomedIsa init(HashMap<Long, Set<Long>> isas, long root) {
 		return ret;
 	}
 
-	private void init(long root) {
+	void init(long root) {
 		initChildren();
 		initOrderedConcepts(root);
 	}
@@ -112,17 +110,15 @@ public void load(Path file) throws IOException {
 		// typeId characteristicTypeId modifierId
 		//
 		// 116680003 |Is a (attribute)|
-		try (Stream<String> st = Files.lines(file)) {
-			st.skip(1).map(line -> line.split("\\t")) //
-					.filter(fields -> Integer.parseInt(fields[2]) == 1) // active
-					.filter(fields -> Long.parseLong(fields[7]) == SnomedIds.isa) // typeId
-					.forEach(fields -> {
-						long con = Long.parseLong(fields[4]); // sourceId
-						long par = Long.parseLong(fields[5]); // destinationId
-						parentsMap.computeIfAbsent(con, x -> new HashSet<>());
-						parentsMap.get(con).add(par);
-					});
-		}
+		SnomedRelationships.load(file, this);
+	}
+
+	@Override
+	public void add(long sourceId, long destinationId, long relationshipGroup, long typeId) {
+		if (typeId != SnomedIds.isa)
+			return;
+		parentsMap.computeIfAbsent(sourceId, x -> new HashSet<>());
+		parentsMap.get(sourceId).add(destinationId);
 	}
 
 	public Set<Long> getParents(long con) {
@@ -0,0 +1,281 @@
+package dev.ikm.elk.snomed;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/*
+ * Immutable, int indexed view of a SnomedIsa. Concepts are renumbered densely
+ * in the order of SnomedIsa.getOrderedConcepts(), so parents precede children.
+ * Parents and children are kept as CSR (offset + value) arrays, and the
+ * ancestors of every concept as a sorted int array, so that hasAncestor is a
+ * binary search that does not allocate.
+ */
+public class SnomedIsaIndex {
+
+	private final SnomedIdIndex index;
+
+	private final long[] ids;
+
+	private final int[] parentOffsets;
+
+	private final int[] parents;
+
+	private final int[] childOffsets;
+
+	private final int[] children;
+
+	private final int[] ancestorOffsets;
+
+	private final int[] ancestors;
+
+	private SnomedIsaIndex(long[] ids, SnomedIdIndex index, int[][] parents, int[][] children, int[][] ancestors) {
+		super();
+		this.ids = ids;
+		this.index = index;
+		this.parentOffsets = new int[ids.length + 1];
+		this.parents = pack(parents, parentOffsets);
+		this.childOffsets = new int[ids.length + 1];
+		this.children = pack(children, childOffsets);
+		this.ancestorOffsets = new int[ids.length + 1];
+		this.ancestors = pack(ancestors, ancestorOffsets);
+	}
+
+	private static int[] pack(int[][] values, int[] offsets) {
+		long size = 0;
+		for (int i = 0; i < values.length; i++) {
+			offsets[i] = (int) size;
+			size += values[i].length;
+			if (size > Integer.MAX_VALUE)
+				throw new IllegalStateException("Too many values: " + size);
+		}
+		offsets[values.length] = (int) size;
+		int[] ret = new int[(int) size];
+		for (int i = 0; i < values.length; i++) {
+			System.arraycopy(values[i], 0, ret, offsets[i], values[i].length);
+		}
+		return ret;
+	}
+
+	public static SnomedIsaIndex create(SnomedIsa isa) {
+		// The ordered concepts first, then anything not reachable from the root
+		ArrayList<Long> ordered = new ArrayList<>(isa.getOrderedConcepts());
+		HashSet<Long> seen = new HashSet<>(ordered);
+		TreeSet<Long> rest = new TreeSet<>();
+		isa.getParentsMap().forEach((con, sups) -> {
+			rest.add(con);
+			rest.addAll(sups);
+		});
+		rest.removeAll(seen);
+		ordered.addAll(rest);
+		int n = ordered.size();
+		long[] ids = new long[n];
+		SnomedIdIndex index = new SnomedIdIndex(n);
+		for (int i = 0; i < n; i++) {
+			ids[i] = ordered.get(i);
+			index.put(ids[i], i);
+		}
+		int[][] parents = new int[n][];
+		int[][] children = new int[n][];
+		for (int i = 0; i < n; i++) {
+			parents[i] = toSortedIndexes(isa.getParents(ids[i]), index);
+			children[i] = toSortedIndexes(isa.getChildren(ids[i]), index);
+		}
+		int[][] ancestors = new int[n][];
+		boolean[] in_progress = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			computeAncestors(i, parents, ancestors, in_progress);
+		}
+		return new SnomedIsaIndex(ids, index, parents, children, ancestors);
+	}
+
+	private static int[] toSortedIndexes(Set<Long> cons, SnomedIdIndex index) {
+		int[] ret = new int[cons.size()];
+		int i = 0;
+		for (long con : cons) {
+			ret[i++] = index.get(con);
+		}
+		Arrays.sort(ret);
+		return ret;
+	}
+
+	private static void computeAncestors(int con, int[][] parents, int[][] ancestors, boolean[] in_progress) {
+		if (ancestors[con] != null)
+			return;
+		in_progress[con] = true;
+		int size = parents[con].length;
+		for (int parent : parents[con]) {
+			// In dependency order the parents are done already, this only recurses
+			// for concepts that are not reachable from the root
+			if (!in_progress[parent])
+				computeAncestors(parent, parents, ancestors, in_progress);
+			if (ancestors[parent] != null)
+				size += ancestors[parent].length;
+		}
+		int[] buf = new int[size];
+		int len = 0;
+		for (int parent : parents[con]) {
+			buf[len++] = parent;
+			if (ancestors[parent] != null) {
+				System.arraycopy(ancestors[parent], 0, buf, len, ancestors[parent].length);
+				len += ancestors[parent].length;
+			}
+		}
+		Arrays.sort(buf, 0, len);
+		int distinct = 0;
+		for (int i = 0; i < len; i++) {
+			if (distinct == 0 || buf[distinct - 1] != buf[i])
+				buf[distinct++] = buf[i];
+		}
+		ancestors[con] = Arrays.copyOf(buf, distinct);
+		in_progress[con] = false;
+	}
+
+	public int size() {
+		return ids.length;
+	}
+
+	/*
+	 * Return the dense index of the concept, or SnomedIdIndex.NONE
+	 */
+	public int getIndex(long con) {
+		return index.get(con);
+	}
+
+	public long getId(int con) {
+		return ids[con];
+	}
+
+	public int getParentCount(int con) {
+		return parentOffsets[con + 1] - parentOffsets[con];
+	}
+
+	public int getParent(int con, int i) {
+		return parents[parentOffsets[con] + i];
+	}
+
+	public int getChildCount(int con) {
+		return childOffsets[con + 1] - childOffsets[con];
+	}
+
+	public int getChild(int con, int i) {
+		return children[childOffsets[con] + i];
+	}
+
+	public int getAncestorCount(int con) {
+		return ancestorOffsets[con + 1] - ancestorOffsets[con];
+	}
+
+	public int getAncestor(int con, int i) {
+		return ancestors[ancestorOffsets[con] + i];
+	}
+
+	public boolean hasParent(int con, int parent) {
+		return Arrays.binarySearch(parents, parentOffsets[con], parentOffsets[con + 1], parent) >= 0;
+	}
+
+	public boolean hasParent(long con, long parent) {
+		int con_i = index.get(con);
+		int parent_i = index.get(parent);
+		if (con_i == SnomedIdIndex.NONE || parent_i == SnomedIdIndex.NONE)
+			return false;
+		return hasParent(con_i, parent_i);
+	}
+
+	public boolean hasAncestor(int con, int ancestor) {
+		return Arrays.binarySearch(ancestors, ancestorOffsets[con], ancestorOffsets[con + 1], ancestor) >= 0;
+	}
+
+	public boolean hasAncestor(long con, long ancestor) {
+		int con_i = index.get(con);
+		int ancestor_i = index.get(ancestor);
+		if (con_i == SnomedIdIndex.NONE || ancestor_i == SnomedIdIndex.NONE)
+			return false;
+		return hasAncestor(con_i, ancestor_i);
+	}
+
+	public boolean hasDescendant(long con, long descendant) {
+		return hasAncestor(descendant, con);
+	}
+
+	public long[] getParents(long con) {
+		int con_i = index.get(con);
+		if (con_i == SnomedIdIndex.NONE)
+			return new long[0];
+		return toIds(parents, parentOffsets[con_i], parentOffsets[con_i + 1]);
+	}
+
+	public long[] getChildren(long con) {
+		int con_i = index.get(con);
+		if (con_i == SnomedIdIndex.NONE)
+			return new long[0];
+		return toIds(children, childOffsets[con_i], childOffsets[con_i + 1]);
+	}
+
+	public long[] getAncestors(long con) {
+		int con_i = index.get(con);
+		if (con_i == SnomedIdIndex.NONE)
+			return new long[0];
+		return toIds(ancestors, ancestorOffsets[con_i], ancestorOffsets[con_i + 1]);
+	}
+
+	public long[] getDescendants(long con) {
+		int con_i = index.get(con);
+		if (con_i == SnomedIdIndex.NONE)
+			return new long[0];
+		boolean[] visited = new boolean[ids.length];
+		int[] stack = new int[ids.length + 1];
+		int top = 0;
+		int cnt = 0;
+		stack[top++] = con_i;
+		while (top > 0) {
+			int sup = stack[--top];
+			for (int i = childOffsets[sup]; i < childOffsets[sup + 1]; i++) {
+				int child = children[i];
+				if (visited[child])
+					continue;
+				visited[child] = true;
+				cnt++;
+				stack[top++] = child;
+			}
+		}
+		long[] ret = new long[cnt];
+		int j = 0;
+		for (int i = 0; i < visited.length; i++) {
+			if (visited[i])
+				ret[j++] = ids[i];
+		}
+		return ret;
+	}
+
+	private long[] toIds(int[] values, int from, int to) {
+		long[] ret = new long[to - from];
+		for (int i = from; i < to; i++) {
+			ret[i - from] = ids[values[i]];
+		}
+		return ret;
+	}
+
+}
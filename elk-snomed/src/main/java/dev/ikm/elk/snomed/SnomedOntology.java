@@ -25,6 +25,7 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 import dev.ikm.elk.snomed.model.Concept;
@@ -36,32 +37,61 @@
 
 public class SnomedOntology {
 
+	public enum Storage {
+		Hash, Primitive
+	}
+
+	private Storage storage;
+
 	private HashMap<Long, Concept> conceptIdMap;
 
+	private SnomedIdIndex conceptIndex;
+
 	private List<Concept> concepts;
 
 	private HashMap<Long, RoleType> roleTypeIdMap;
 
+	private SnomedIdIndex roleTypeIndex;
+
 	private List<RoleType> roleTypes;
 
 	private HashMap<Long, ConcreteRoleType> concreteRoleTypeIdMap;
 
+	private SnomedIdIndex concreteRoleTypeIndex;
+
 	private List<ConcreteRoleType> concreteRoleTypes;
 
 	private SnomedDescriptions descriptions;
 
+	public Storage getStorage() {
+		return storage;
+	}
+
 	public Concept getConcept(long id) {
+		if (storage == Storage.Primitive)
+			return get(concepts, conceptIndex, id);
 		return conceptIdMap.get(id);
 	}
 
 	public RoleType getRoleType(long id) {
+		if (storage == Storage.Primitive)
+			return get(roleTypes, roleTypeIndex, id);
 		return roleTypeIdMap.get(id);
 	}
 
 	public ConcreteRoleType getConcreteRoleType(long id) {
+		if (storage == Storage.Primitive)
+			return get(concreteRoleTypes, concreteRoleTypeIndex, id);
 		return concreteRoleTypeIdMap.get(id);
 	}
 
+	private static <T> T get(List<T> list, SnomedIdIndex index, long id) {
+		int i = index.get(id);
+		if (i == SnomedIdIndex.NONE)
+			return null;
+		return list.get(i);
+	}
+
 	public List<Concept> getConcepts() {
 		return concepts;
 	}
@@ -84,16 +114,52 @@ public void setDescriptions(SnomedDescriptions descriptions) {
 
 	public SnomedOntology(Collection<Concept> concepts, Collection<RoleType> roleTypes,
 			Collection<ConcreteRoleType> concreteRoleTypes) {
+		this(concepts, roleTypes, concreteRoleTypes, Storage.Hash);
+	}
+
+	public SnomedOntology(Collection<Concept> concepts, Collection<RoleType> roleTypes,
+			Collection<ConcreteRoleType> concreteRoleTypes, Storage storage) {
 		super();
-		this.conceptIdMap = new HashMap<>();
-		concepts.forEach(x -> conceptIdMap.put(x.getId(), x));
-		this.concepts = new ArrayList<>(conceptIdMap.values());
-		this.roleTypeIdMap = new HashMap<>();
-		roleTypes.forEach(x -> roleTypeIdMap.put(x.getId(), x));
-		this.roleTypes = new ArrayList<>(roleTypes);
-		this.concreteRoleTypeIdMap = new HashMap<>();
-		concreteRoleTypes.forEach(x -> concreteRoleTypeIdMap.put(x.getId(), x));
-		this.concreteRoleTypes = new ArrayList<>(concreteRoleTypes);
+		this.storage = storage;
+		switch (storage) {
+		case Hash -> {
+			this.conceptIdMap = new HashMap<>();
+			concepts.forEach(x -> conceptIdMap.put(x.getId(), x));
+			this.concepts = new ArrayList<>(conceptIdMap.values());
+			this.roleTypeIdMap = new HashMap<>();
+			roleTypes.forEach(x -> roleTypeIdMap.put(x.getId(), x));
+			this.roleTypes = new ArrayList<>(roleTypeIdMap.values());
+			this.concreteRoleTypeIdMap = new HashMap<>();
+			concreteRoleTypes.forEach(x -> concreteRoleTypeIdMap.put(x.getId(), x));
+			this.concreteRoleTypes = new ArrayList<>(concreteRoleTypeIdMap.values());
+		}
+		case Primitive -> {
+			this.conceptIndex = new SnomedIdIndex(concepts.size());
+			this.concepts = index(concepts, Concept::getId, conceptIndex);
+			this.roleTypeIndex = new SnomedIdIndex(roleTypes.size());
+			this.roleTypes = index(roleTypes, RoleType::getId, roleTypeIndex);
+			this.concreteRoleTypeIndex = new SnomedIdIndex(concreteRoleTypes.size());
+			this.concreteRoleTypes = index(concreteRoleTypes, ConcreteRoleType::getId, concreteRoleTypeIndex);
+		}
+		}
+	}
+
+	/*
+	 * Dense array of the distinct (by id) elements, the last one with an id wins
+	 * as for the hash storage
+	 */
+	private static <T> List<T> index(Collection<T> elements, ToLongFunction<T> id, SnomedIdIndex index) {
+		ArrayList<T> ret = new ArrayList<>(elements.size());
+		for (T element : elements) {
+			int i = index.putIfAbsent(id.applyAsLong(element), ret.size());
+			if (i == SnomedIdIndex.NONE) {
+				ret.add(element);
+			} else {
+				ret.set(i, element);
+			}
+		}
+		ret.trimToSize();
+		return ret;
 	}
 
 	public String getFsn(long concept) {
@@ -20,17 +20,24 @@
  * #L%
  */
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.semanticweb.elk.exceptions.ElkException;
+import org.semanticweb.elk.exceptions.ElkRuntimeException;
 import org.semanticweb.elk.owl.interfaces.ElkAxiom;
 import org.semanticweb.elk.owl.interfaces.ElkClass;
 import org.semanticweb.elk.owl.interfaces.ElkClassExpression;
 import org.semanticweb.elk.owl.interfaces.ElkDataHasValue;
+import org.semanticweb.elk.owl.interfaces.ElkDataProperty;
 import org.semanticweb.elk.owl.interfaces.ElkDatatype;
 import org.semanticweb.elk.owl.interfaces.ElkLiteral;
 import org.semanticweb.elk.owl.interfaces.ElkObject.Factory;
@@ -38,6 +45,9 @@
 import org.semanticweb.elk.owl.interfaces.ElkObjectSomeValuesFrom;
 import org.semanticweb.elk.owl.interfaces.ElkReflexiveObjectPropertyAxiom;
 import org.semanticweb.elk.owl.interfaces.ElkTransitiveObjectPropertyAxiom;
+import org.semanticweb.elk.owl.printers.OwlFunctionalStylePrinter;
+import org.semanticweb.elk.reasoner.config.ReasonerConfiguration;
+import org.semanticweb.elk.reasoner.taxonomy.FrozenTaxonomy;
 import org.semanticweb.elk.reasoner.taxonomy.model.Node;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,7 +59,9 @@
 import dev.ikm.elk.snomed.model.Role;
 import dev.ikm.elk.snomed.model.RoleGroup;
 import dev.ikm.elk.snomed.model.RoleType;
+import dev.ikm.elk.snomed.owlapix.model.OWLOntologyChange;
 import dev.ikm.elk.snomed.owlapix.model.OwlxOntology;
+import dev.ikm.elk.snomed.owlapix.model.SnomedIri;
 import dev.ikm.elk.snomed.owlapix.reasoner.InferenceType;
 import dev.ikm.elk.snomed.reasoner.ElkReasoner;
 
@@ -65,13 +77,45 @@ public class SnomedOntologyReasoner {
 
 	private HashMap<Long, List<ElkAxiom>> conceptIdAxiomMap;
 
+	private HashMap<Long, List<ElkAxiom>> roleTypeIdAxiomMap;
+
+	private HashMap<Long, List<ElkAxiom>> concreteRoleTypeIdAxiomMap;
+
 	private SnomedOntologyReasoner() {
 		super();
 	}
 
 	public static SnomedOntologyReasoner create(SnomedOntology snomedOntology) {
+		return create(snomedOntology, ReasonerConfiguration.getConfiguration());
+	}
+
+	/*
+	 * The config is fixed for the life of the reasoner, e.g. the number of workers
+	 * and the saturation scheduling
+	 */
+	public static SnomedOntologyReasoner create(SnomedOntology snomedOntology, ReasonerConfiguration config) {
+		SnomedOntologyReasoner sor = new SnomedOntologyReasoner();
+		sor.init(snomedOntology, config);
+		sor.precomputeInferences();
+		return sor;
+	}
+
+	/*
+	 * Start from a snapshot written by saveSnapshot for the same ontology, so that
+	 * only the transitive reduction is computed to classify. A snapshot written for
+	 * a different ontology or version of the format is rejected with an
+	 * IOException. Updates are then processed incrementally as usual.
+	 */
+	public static SnomedOntologyReasoner create(SnomedOntology snomedOntology, ReasonerConfiguration config,
+			Path snapshot) throws IOException {
 		SnomedOntologyReasoner sor = new SnomedOntologyReasoner();
-		sor.init(snomedOntology);
+		sor.init(snomedOntology, config);
+		try {
+			sor.reasoner.getInternalReasoner().loadSaturation(snapshot, sor.getFingerprint());
+		} catch (ElkException e) {
+			throw new ElkRuntimeException("Cannot load the snapshot " + snapshot, e);
+		}
+		sor.precomputeInferences();
 		return sor;
 	}
 
@@ -79,25 +123,36 @@ public SnomedOntology getSnomedOntology() {
 		return snomedOntology;
 	}
 
+	public OwlxOntology getOntology() {
+		return ontology;
+	}
+
 	public List<ElkAxiom> getConceptAxioms(long id) {
 		return conceptIdAxiomMap.get(id);
 	}
 
-	private void init(SnomedOntology snomedOntology) {
+	private void init(SnomedOntology snomedOntology, ReasonerConfiguration config) {
 		this.snomedOntology = snomedOntology;
 		ontology = new OwlxOntology();
 		conceptIdAxiomMap = new HashMap<>();
+		roleTypeIdAxiomMap = new HashMap<>();
+		concreteRoleTypeIdAxiomMap = new HashMap<>();
+		ArrayList<OWLOntologyChange> changes = new ArrayList<>();
 		for (RoleType rt : this.snomedOntology.getRoleTypes()) {
-			process(rt);
+			diff(roleTypeIdAxiomMap, rt.getId(), getAxioms(rt), changes);
 		}
 		for (ConcreteRoleType dt : this.snomedOntology.getConcreteRoleTypes()) {
-			process(dt);
+			diff(concreteRoleTypeIdAxiomMap, dt.getId(), getAxioms(dt), changes);
 		}
 		for (Concept con : this.snomedOntology.getConcepts()) {
-			process(con);
+			diff(conceptIdAxiomMap, con.getId(), getAxioms(con), changes);
 		}
-		reasoner = ElkReasoner.createReasoner(ontology, ontology.getObjectFactory());
+		ontology.applyChanges(changes);
+		reasoner = ElkReasoner.createReasoner(ontology, ontology.getObjectFactory(), config);
 		reasoner.flush();
+	}
+
+	private void precomputeInferences() {
 		try {
 			reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY, InferenceType.OBJECT_PROPERTY_HIERARCHY);
 			// TODO ElkException
@@ -106,6 +161,78 @@ private void init(SnomedOntology snomedOntology) {
 		}
 	}
 
+	/*
+	 * Write the saturation of the current ontology, from which a reasoner can be
+	 * created for the same ontology with create(..., snapshot)
+	 */
+	public void saveSnapshot(Path snapshot) throws IOException {
+		try {
+			reasoner.getInternalReasoner().saveSaturation(snapshot, getFingerprint());
+		} catch (ElkException e) {
+			throw new ElkRuntimeException("Cannot save the snapshot " + snapshot, e);
+		}
+	}
+
+	/*
+	 * Identifies the axioms sent to the reasoner, so that a snapshot is not loaded
+	 * for a different ontology. Every axiom is printed into a 64 bit FNV-1a hash
+	 * without building its text, and the mixed hashes are added up, so the order
+	 * of the axioms does not matter.
+	 */
+	private long getFingerprint() throws IOException {
+		AxiomHash hash = new AxiomHash();
+		long fingerprint = 0;
+		for (HashMap<Long, List<ElkAxiom>> axiomMap : List.of(roleTypeIdAxiomMap, concreteRoleTypeIdAxiomMap,
+				conceptIdAxiomMap)) {
+			for (List<ElkAxiom> axioms : axiomMap.values()) {
+				for (ElkAxiom ax : axioms) {
+					hash.value = AxiomHash.OFFSET;
+					OwlFunctionalStylePrinter.append(hash, ax);
+					fingerprint += AxiomHash.mix(hash.value);
+				}
+			}
+		}
+		return fingerprint;
+	}
+
+	private static class AxiomHash implements Appendable {
+
+		private static final long OFFSET = 0xcbf29ce484222325L;
+
+		private static final long PRIME = 0x100000001b3L;
+
+		private long value;
+
+		/* murmur3 finalizer, so that the sum of the hashes is well distributed */
+		private static long mix(long h) {
+			h ^= h >>> 33;
+			h *= 0xff51afd7ed558ccdL;
+			h ^= h >>> 33;
+			h *= 0xc4ceb9fe1a85ec53L;
+			h ^= h >>> 33;
+			return h;
+		}
+
+		@Override
+		public Appendable append(char c) {
+			value = (value ^ c) * PRIME;
+			return this;
+		}
+
+		@Override
+		public Appendable append(CharSequence csq) {
+			return append(csq, 0, csq.length());
+		}
+
+		@Override
+		public Appendable append(CharSequence csq, int start, int end) {
+			for (int i = start; i < end; i++)
+				append(csq.charAt(i));
+			return this;
+		}
+
+	}
+
 	public void flush() {
 		reasoner.flush();
 		try {
@@ -116,89 +243,186 @@ public void flush() {
 		}
 	}
 
-	private String getIri(RoleType rt) {
-		return "" + rt.getId();
+	public void update(Collection<Concept> changedConcepts) {
+		update(changedConcepts, List.of(), List.of(), List.of());
+	}
+
+	public void update(Collection<Concept> changedConcepts, Collection<Long> retiredConcepts,
+			Collection<RoleType> changedRoleTypes, Collection<Long> retiredRoleTypes) {
+		update(changedConcepts, retiredConcepts, changedRoleTypes, retiredRoleTypes, List.of(), List.of());
+	}
+
+	/*
+	 * Bring the reasoner up to date with a batch of edits and classify
+	 * incrementally. Only the axioms that differ from the ones last sent for each
+	 * concept, role type or concrete role type are removed or added, and the
+	 * listeners see the whole batch as a single change. The SnomedOntology is not
+	 * changed here, the changed concepts, role types and concrete role types are
+	 * expected to be its (edited) elements.
+	 */
+	public void update(Collection<Concept> changedConcepts, Collection<Long> retiredConcepts,
+			Collection<RoleType> changedRoleTypes, Collection<Long> retiredRoleTypes,
+			Collection<ConcreteRoleType> changedConcreteRoleTypes, Collection<Long> retiredConcreteRoleTypes) {
+		ArrayList<OWLOntologyChange> changes = new ArrayList<>();
+		for (RoleType rt : changedRoleTypes) {
+			diff(roleTypeIdAxiomMap, rt.getId(), getAxioms(rt), changes);
+		}
+		for (long id : retiredRoleTypes) {
+			retire(roleTypeIdAxiomMap, id, changes);
+		}
+		for (ConcreteRoleType dt : changedConcreteRoleTypes) {
+			diff(concreteRoleTypeIdAxiomMap, dt.getId(), getAxioms(dt), changes);
+		}
+		for (long id : retiredConcreteRoleTypes) {
+			retire(concreteRoleTypeIdAxiomMap, id, changes);
+		}
+		for (Concept con : changedConcepts) {
+			diff(conceptIdAxiomMap, con.getId(), getAxioms(con), changes);
+		}
+		for (long id : retiredConcepts) {
+			retire(conceptIdAxiomMap, id, changes);
+		}
+		LOG.debug("Update: " + changes.size() + " axiom changes");
+		ontology.applyChanges(changes);
+		flush();
+	}
+
+	/*
+	 * Record the axioms for the id, adding the removal of the axioms no longer
+	 * there and the addition of the new ones to the changes
+	 */
+	private void diff(HashMap<Long, List<ElkAxiom>> axiomMap, long id, List<ElkAxiom> axioms,
+			List<OWLOntologyChange> changes) {
+		List<ElkAxiom> prev_axioms = axiomMap.put(id, axioms);
+		if (prev_axioms == null) {
+			axioms.forEach(ax -> changes.add(OWLOntologyChange.createAdded(ontology, ax)));
+			return;
+		}
+		HashSet<ElkAxiom> prev = new HashSet<>(prev_axioms);
+		LinkedHashSet<ElkAxiom> next = new LinkedHashSet<>(axioms);
+		for (ElkAxiom ax : prev_axioms) {
+			if (!next.contains(ax))
+				changes.add(OWLOntologyChange.createRemoved(ontology, ax));
+		}
+		for (ElkAxiom ax : next) {
+			if (!prev.contains(ax))
+				changes.add(OWLOntologyChange.createAdded(ontology, ax));
+		}
+	}
+
+	private void retire(HashMap<Long, List<ElkAxiom>> axiomMap, long id, List<OWLOntologyChange> changes) {
+		List<ElkAxiom> prev_axioms = axiomMap.remove(id);
+		if (prev_axioms != null)
+			prev_axioms.forEach(ax -> changes.add(OWLOntologyChange.createRemoved(ontology, ax)));
+	}
+
+	/*
+	 * The concepts whose direct super concepts or equivalent concepts changed in
+	 * the last flush, including the added and retired concepts
+	 */
+	public Set<Long> getChangedConcepts() {
+		HashSet<Long> ret = new HashSet<>();
+		for (ElkClass clazz : reasoner.getInternalReasoner().getChangedClasses()) {
+			if (clazz.equals(ontology.getOwlThing()) || clazz.equals(ontology.getOwlNothing()))
+				continue;
+			ret.add(getId(clazz));
+		}
+		return ret;
+	}
+
+	/*
+	 * The number of saturated contexts moved out of the heap, 0 unless the
+	 * reasoner was created with context spilling
+	 */
+	public int getSpilledContextCount() {
+		return reasoner.getInternalReasoner().getSpilledContextCount();
+	}
+
+	private ElkObjectProperty getElkObjectProperty(RoleType rt) {
+		return ontology.getElkObjectProperty(rt.getId());
 	}
 
 	public static long getId(ElkObjectProperty clazz) {
-		return Long.parseLong(clazz.getIri().toString().substring(1));
+		return SnomedIri.getId(clazz.getIri());
 	}
 
 	public RoleType getRoleType(ElkObjectProperty clazz) {
 		return snomedOntology.getRoleType(getId(clazz));
 	}
 
-	private void process(RoleType rt) {
-		String iri = getIri(rt);
-		ontology.getElkObjectProperty(iri);
-		HashSet<String> rt_axioms = new HashSet<>();
+	private List<ElkAxiom> getAxioms(RoleType rt) {
+		ElkObjectProperty prop = getElkObjectProperty(rt);
+		List<ElkAxiom> rt_axioms = new ArrayList<>();
 		for (RoleType sup : rt.getSuperRoleTypes()) {
-			ElkAxiom axiom = ontology.getElkSubObjectPropertyOfAxiom(iri, getIri(sup));
-			ontology.addAxiom(axiom);
-			rt_axioms.add(axiom.toString());
+			ElkAxiom axiom = ontology.getElkSubObjectPropertyOfAxiom(prop, getElkObjectProperty(sup));
+			rt_axioms.add(axiom);
 		}
 		if (rt.isTransitive()) {
-			ElkTransitiveObjectPropertyAxiom axiom = ontology.getElkTransitiveObjectPropertyAxiom(iri);
-			ontology.addAxiom(axiom);
+			ElkTransitiveObjectPropertyAxiom axiom = ontology.getElkTransitiveObjectPropertyAxiom(prop);
 			LOG.info("Transitive: " + axiom);
-			rt_axioms.add(axiom.toString());
+			rt_axioms.add(axiom);
 		}
 		if (rt.getChained() != null) {
-			ElkAxiom axiom = ontology.getElkSubObjectPropertyChainOfAxiom(iri, getIri(rt.getChained()));
-			ontology.addAxiom(axiom);
+			ElkAxiom axiom = ontology.getElkSubObjectPropertyChainOfAxiom(prop, getElkObjectProperty(rt.getChained()));
 			LOG.info("Chained: " + axiom);
-			rt_axioms.add(axiom.toString());
+			rt_axioms.add(axiom);
 		}
 		if (rt.isReflexive()) {
-			ElkReflexiveObjectPropertyAxiom axiom = ontology.getElkReflexiveObjectPropertyAxiom(iri);
-			ontology.addAxiom(axiom);
+			ElkReflexiveObjectPropertyAxiom axiom = ontology.getElkReflexiveObjectPropertyAxiom(prop);
 			LOG.info("Reflexive: " + axiom);
-			rt_axioms.add(axiom.toString());
+			rt_axioms.add(axiom);
 		}
+		return rt_axioms;
 	}
 
-	private void process(ConcreteRoleType dt) {
-		String iri = getIri(dt);
-		ontology.getElkDataProperty(iri);
-		HashSet<String> dt_axioms = new HashSet<>();
+	private List<ElkAxiom> getAxioms(ConcreteRoleType dt) {
+		ElkDataProperty prop = getElkDataProperty(dt);
+		List<ElkAxiom> dt_axioms = new ArrayList<>();
 		for (ConcreteRoleType sup : dt.getSuperConcreteRoleTypes()) {
-			ElkAxiom axiom = ontology.getElkSubDataPropertyOfAxiom(iri, getIri(sup));
-			ontology.addAxiom(axiom);
-			dt_axioms.add(axiom.toString());
+			ElkAxiom axiom = ontology.getElkSubDataPropertyOfAxiom(prop, getElkDataProperty(sup));
+			dt_axioms.add(axiom);
 		}
+		return dt_axioms;
 	}
 
-	private String getIri(ConcreteRoleType dt) {
-		return "" + dt.getId();
+	private ElkDataProperty getElkDataProperty(ConcreteRoleType dt) {
+		return ontology.getElkDataProperty(dt.getId());
 	}
 
-	private String getIri(Concept con) {
-		return "" + con.getId();
+	private ElkClass getElkClass(Concept con) {
+		return ontology.getElkClass(con.getId());
 	}
 
 	public static long getId(ElkClass clazz) {
-		return Long.parseLong(clazz.getIri().toString().substring(1));
+		return SnomedIri.getId(clazz.getIri());
 	}
 
 	public Concept getConcept(ElkClass clazz) {
 		return snomedOntology.getConcept(getId(clazz));
 	}
 
+	/*
+	 * Stage the changes for the concept, they are classified on the next flush
+	 */
 	public void process(Concept con) {
-		List<ElkAxiom> axioms = conceptIdAxiomMap.get(con.getId());
-		if (axioms != null)
-			axioms.forEach(ax -> ontology.removeAxiom(ax));
-		conceptIdAxiomMap.put(con.getId(), new ArrayList<>());
+		ArrayList<OWLOntologyChange> changes = new ArrayList<>();
+		diff(conceptIdAxiomMap, con.getId(), getAxioms(con), changes);
+		ontology.applyChanges(changes);
+	}
+
+	private List<ElkAxiom> getAxioms(Concept con) {
+		List<ElkAxiom> axioms = new ArrayList<>();
 		for (Definition def : con.getDefinitions()) {
-			process(con, def, false);
+			axioms.add(process(con, def, false));
 		}
 		for (Definition def : con.getGciDefinitions()) {
-			process(con, def, true);
+			axioms.add(process(con, def, true));
 		}
+		return axioms;
 	}
 
-	private void process(Concept con, Definition def, boolean isGci) {
-		List<ElkClass> sups = def.getSuperConcepts().stream().map(sup -> ontology.getElkClass(getIri(sup))).toList();
+	private ElkAxiom process(Concept con, Definition def, boolean isGci) {
+		List<ElkClass> sups = def.getSuperConcepts().stream().map(this::getElkClass).toList();
 		List<ElkObjectSomeValuesFrom> roles = def.getUngroupedRoles().stream().map(x -> process(x)).toList();
 		List<ElkDataHasValue> props = def.getUngroupedConcreteRoles().stream().map(this::process).toList();
 		List<ElkObjectSomeValuesFrom> groups = def.getRoleGroups().stream().map(x -> process(x)).toList();
@@ -215,21 +439,21 @@ private void process(Concept con, Definition def, boolean isGci) {
 		}
 		ElkAxiom axiom = null;
 		switch (def.getDefinitionType()) {
-		case EquivalentConcept -> axiom = ontology.getEquivalentClassesAxiom(getIri(con), expr);
+		case EquivalentConcept -> axiom = ontology.getEquivalentClassesAxiom(getElkClass(con), expr);
 		case SubConcept -> {
 			if (isGci) {
-				axiom = ontology.getSubClassOfAxiom(expr, getIri(con));
+				axiom = ontology.getSubClassOfAxiom(expr, getElkClass(con));
 			} else {
-				axiom = ontology.getSubClassOfAxiom(getIri(con), expr);
+				axiom = ontology.getSubClassOfAxiom(getElkClass(con), expr);
 			}
 		}
 		}
-		ontology.addAxiom(axiom);
-		conceptIdAxiomMap.get(con.getId()).add(axiom);
+		return axiom;
 	}
 
 	private ElkObjectSomeValuesFrom process(Role role) {
-		return ontology.getElkObjectSomeValuesFrom(getIri(role.getRoleType()), getIri(role.getConcept()));
+		return ontology.getElkObjectSomeValuesFrom(getElkObjectProperty(role.getRoleType()),
+				getElkClass(role.getConcept()));
 	}
 
 	private ElkObjectSomeValuesFrom process(RoleGroup rg) {
@@ -244,7 +468,7 @@ private ElkObjectSomeValuesFrom process(RoleGroup rg) {
 		} else {
 			expr = ontology.getObjectFactory().getObjectIntersectionOf(exprs);
 		}
-		return ontology.getElkObjectSomeValuesFrom("" + SnomedIds.role_group, expr);
+		return ontology.getElkObjectSomeValuesFrom(ontology.getElkObjectProperty(SnomedIds.role_group), expr);
 	}
 
 	private ElkDataHasValue process(ConcreteRole concreteRole) {
@@ -257,7 +481,7 @@ private ElkDataHasValue process(ConcreteRole concreteRole) {
 		case String -> f.getXsdString();
 		};
 		ElkLiteral literal = f.getLiteral(concreteRole.getValue(), datatype);
-		return ontology.getDataHasValue(getIri(concreteRole.getConcreteRoleType()), literal);
+		return ontology.getDataHasValue(getElkDataProperty(concreteRole.getConcreteRoleType()), literal);
 	}
 
 	private <T> List<T> flatten(Node<T> node) {
@@ -283,7 +507,7 @@ public Set<ElkObjectProperty> getSuperObjectProperties(RoleType rt) {
 	public Set<ElkObjectProperty> getSuperObjectProperties(RoleType rt, boolean direct) {
 		try {
 			Set<? extends Node<ElkObjectProperty>> sups = reasoner
-					.getSuperObjectProperties(ontology.getElkObjectProperty(getIri(rt)), direct);
+					.getSuperObjectProperties(getElkObjectProperty(rt), direct);
 			Set<ElkObjectProperty> ret = flatten(sups);
 			ret.remove(ontology.getOwlTopObjectProperty());
 			return ret;
@@ -325,7 +549,7 @@ public Set<ElkClass> getSuperClasses(Concept con) {
 
 	public Set<ElkClass> getSuperClasses(Concept con, boolean direct) {
 		try {
-			Set<? extends Node<ElkClass>> sups = reasoner.getSuperClasses(ontology.getElkClass(getIri(con)), direct);
+			Set<? extends Node<ElkClass>> sups = reasoner.getSuperClasses(getElkClass(con), direct);
 			Set<ElkClass> flat = flatten(sups);
 			flat.remove(ontology.getOwlThing());
 			return flat;
@@ -356,22 +580,68 @@ public Set<Long> getSuperConcepts(long id, boolean direct) {
 				.collect(Collectors.toCollection(HashSet::new));
 	}
 
+	/*
+	 * The whole classified hierarchy, read in one walk of the taxonomy
+	 */
+	public SnomedHierarchy getHierarchy() {
+		try {
+			return SnomedHierarchy.create(reasoner.getTaxonomy(), SnomedOntologyReasoner::getId);
+		} catch (ElkException e) {
+			throw new ElkRuntimeException("Cannot compute the hierarchy", e);
+		}
+	}
+
+	/*
+	 * Immutable copy of the class taxonomy, which can be shared by threads that
+	 * query it without locking the reasoner. Get a new one after an update. Its
+	 * getClosure() answers subsumption tests and streams all super or sub nodes
+	 * without walking the taxonomy.
+	 */
+	public FrozenTaxonomy<ElkClass> getFrozenTaxonomy() {
+		try {
+			return reasoner.getFrozenTaxonomy();
+		} catch (ElkException e) {
+			throw new ElkRuntimeException("Cannot compute the frozen taxonomy", e);
+		}
+	}
+
 	public HashMap<Long, Set<Long>> getSuperConcepts() {
+		SnomedHierarchy hierarchy = getHierarchy();
 		HashMap<Long, Set<Long>> superConcepts = new HashMap<>();
 		for (Concept concept : snomedOntology.getConcepts()) {
 			long id = concept.getId();
-			superConcepts.put(id, getSuperConcepts(id));
+			superConcepts.put(id, toSet(hierarchy.contains(id) ? hierarchy.getSuperConcepts(id) : null));
 		}
 		return superConcepts;
 	}
 
+	public HashMap<Long, Set<Long>> getSubConcepts() {
+		SnomedHierarchy hierarchy = getHierarchy();
+		HashMap<Long, Set<Long>> subConcepts = new HashMap<>();
+		for (Concept concept : snomedOntology.getConcepts()) {
+			long id = concept.getId();
+			subConcepts.put(id, toSet(hierarchy.contains(id) ? hierarchy.getSubConcepts(id) : null));
+		}
+		return subConcepts;
+	}
+
+	private static Set<Long> toSet(long[] ids) {
+		HashSet<Long> ret = new HashSet<>();
+		if (ids != null) {
+			for (long id : ids) {
+				ret.add(id);
+			}
+		}
+		return ret;
+	}
+
 	public Set<ElkClass> getSubClasses(Concept con) {
 		return getSubClasses(con, true);
 	}
 
 	public Set<ElkClass> getSubClasses(Concept con, boolean direct) {
 		try {
-			Set<? extends Node<ElkClass>> subs = reasoner.getSubClasses(ontology.getElkClass(getIri(con)), direct);
+			Set<? extends Node<ElkClass>> subs = reasoner.getSubClasses(getElkClass(con), direct);
 			Set<ElkClass> flat = flatten(subs);
 			flat.remove(ontology.getOwlNothing());
 			return flat;
@@ -402,7 +672,7 @@ public Set<Long> getSubConcepts(long id, boolean direct) {
 
 	public Set<ElkClass> getEquivalentClasses(Concept con) {
 		try {
-			Node<ElkClass> eqs = reasoner.getEquivalentClasses(ontology.getElkClass(getIri(con)));
+			Node<ElkClass> eqs = reasoner.getEquivalentClasses(getElkClass(con));
 			Set<ElkClass> flat = new HashSet<>(flatten(eqs));
 			flat.remove(ontology.getOwlThing());
 			flat.remove(ontology.getOwlNothing());
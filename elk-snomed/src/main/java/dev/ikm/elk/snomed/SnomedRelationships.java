@@ -0,0 +1,51 @@
+package dev.ikm.elk.snomed;
+
+/*-
+ * #%L
+ * ELK Integration with SNOMED
+ * %%
+ * Copyright (C) 2023 - 2024 Integrated Knowledge Management
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/*
+ * Reads the active rows of a relationship file for SnomedIsa and SnomedRoles.
+ */
+public class SnomedRelationships {
+
+	public interface Sink {
+
+		void add(long sourceId, long destinationId, long relationshipGroup, long typeId);
+
+	}
+
+	private SnomedRelationships() {
+		super();
+	}
+
+	public static void load(Path file, Sink sink) throws IOException {
+		// id effectiveTime active moduleId sourceId destinationId relationshipGroup
+		// typeId characteristicTypeId modifierId
+		Rf2Reader.read(file, row -> {
+			if (!row.isActive())
+				return;
+			sink.add(row.getLong(4), row.getLong(5), row.getLong(6), row.getLong(7));
+		});
+	}
+
+}
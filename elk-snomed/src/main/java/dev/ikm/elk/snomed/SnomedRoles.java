@@ -21,15 +21,13 @@
  */
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Stream;
 
-public class SnomedRoles {
+public class SnomedRoles implements SnomedRelationships.Sink {
 
 	public static long root = SnomedIds.root;
 
@@ -84,21 +82,15 @@ public static SnomedRoles init(Path file) throws IOException {
 	}
 
 	public void load(Path file) throws IOException {
-		// id effectiveTime active moduleId sourceId destinationId relationshipGroup
-		// typeId characteristicTypeId modifierId
-		try (Stream<String> st = Files.lines(file)) {
-			st.skip(1).map(line -> line.split("\\t")) //
-					.filter(fields -> Integer.parseInt(fields[2]) == 1) // active
-					.filter(fields -> Long.parseLong(fields[7]) != isa) // typeId
-					.forEach(fields -> {
-						long con = Long.parseLong(fields[4]); // sourceId
-						long destination = Long.parseLong(fields[5]); // destinationId
-						long relationshipGroup = Long.parseLong(fields[6]); // relationshipGroup
-						long typeId = Long.parseLong(fields[7]); // typeId
-						roles.computeIfAbsent(con, x -> new HashSet<>());
-						roles.get(con).add(new SnomedRole(destination, relationshipGroup, typeId));
-					});
-		}
+		SnomedRelationships.load(file, this);
+	}
+
+	@Override
+	public void add(long sourceId, long destinationId, long relationshipGroup, long typeId) {
+		if (typeId == isa)
+			return;
+		roles.computeIfAbsent(sourceId, x -> new HashSet<>());
+		roles.get(sourceId).add(new SnomedRole(destinationId, relationshipGroup, typeId));
 	}
 
 }
@@ -23,6 +23,7 @@
 
 	requires org.semanticweb.elk.owl.model;
 	requires org.semanticweb.elk.reasoner;
+	requires org.semanticweb.elk.util.common;
 
 	requires dev.ikm.elk.snomed.reasoner;
 
@@ -233,6 +233,30 @@ private void shrink() {
 		this.values = newValues;
 	}
 
+	/**
+	 * Reduces the capacity of this map to the smallest one in which the
+	 * current entries fit; the capacity grows again when entries are added
+	 */
+	public void trimToSize() {
+		int oldCapacity = keys.length;
+		int newCapacity = LinearProbing.getTrimmedCapacity(size);
+		if (newCapacity >= oldCapacity)
+			return;
+		K oldKeys[] = keys;
+		V oldValues[] = values;
+		@SuppressWarnings("unchecked")
+		K newKeys[] = (K[]) new Object[newCapacity];
+		@SuppressWarnings("unchecked")
+		V newValues[] = (V[]) new Object[newCapacity];
+		for (int i = 0; i < oldCapacity; i++) {
+			K key = oldKeys[i];
+			if (key != null)
+				putKeyValue(newKeys, newValues, key, oldValues[i]);
+		}
+		this.keys = newKeys;
+		this.values = newValues;
+	}
+
 	@Override
 	public V put(K key, V value) {
 		if (key == null)
@@ -121,6 +121,26 @@ private void shrink() {
 		this.data = newData;
 	}
 
+	/**
+	 * Reduces the capacity of this set to the smallest one in which the
+	 * current elements fit; the capacity grows again when elements are added
+	 */
+	public void trimToSize() {
+		int oldCapacity = data.length;
+		int newCapacity = LinearProbing.getTrimmedCapacity(size);
+		if (newCapacity >= oldCapacity)
+			return;
+		E[] oldData = data;
+		@SuppressWarnings("unchecked")
+		E[] newData = (E[]) new Object[newCapacity];
+		for (int i = 0; i < oldCapacity; i++) {
+			E e = oldData[i];
+			if (e != null)
+				LinearProbing.add(newData, e);
+		}
+		this.data = newData;
+	}
+
 	@Override
 	public boolean contains(Object o) {
 		if (o == null)
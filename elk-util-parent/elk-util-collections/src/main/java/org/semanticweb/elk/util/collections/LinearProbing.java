@@ -84,6 +84,22 @@ static int getUpperSize(int capacity) {
 		return capacity;
 	}
 
+	/**
+	 * Computes the smallest capacity of the table that can keep the given
+	 * number of elements without being expanded.
+	 * 
+	 * @param size
+	 *            the number of elements in the table
+	 * @return the smallest power of two for which the given size is below
+	 *         {@link #getUpperSize(int)}
+	 */
+	static int getTrimmedCapacity(int size) {
+		int result = 1;
+		while (result < MAXIMUM_CAPACITY && getUpperSize(result) <= size)
+			result <<= 1;
+		return result;
+	}
+
 	/**
 	 * Computes a minimum size of the table for a given capacity after which to
 	 * shrink the table.
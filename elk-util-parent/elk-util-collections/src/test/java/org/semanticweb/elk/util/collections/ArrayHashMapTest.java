@@ -131,4 +131,28 @@ public static void testPutGet() {
 
 		}
 	}
+
+	@Test
+	public void testTrimToSize() {
+		Random generator = new Random(123);
+		for (int noEntries = 1; noEntries < 5000; noEntries <<= 1) {
+			ArrayHashMap<Integer, Integer> testMap = new ArrayHashMap<Integer, Integer>(
+					4 * noEntries);
+			Map<Integer, Integer> referenceMap = new HashMap<Integer, Integer>();
+			for (int i = 0; i < noEntries; i++) {
+				int key = generator.nextInt();
+				assertEquals(referenceMap.put(key, i), testMap.put(key, i));
+			}
+			testMap.trimToSize();
+			// the wildcard avoids the cast of the keys to Integer[]
+			assertTrue(((ArrayHashMap<?, ?>) testMap).keys.length < 4 * noEntries);
+			testMapEquality(referenceMap, testMap);
+			// the map can grow again
+			for (int i = 0; i < noEntries; i++) {
+				int key = generator.nextInt();
+				assertEquals(referenceMap.put(key, i), testMap.put(key, i));
+			}
+			testMapEquality(referenceMap, testMap);
+		}
+	}
 }
@@ -160,4 +160,31 @@ public static void testAddRemoveContains() {
 		}
 
 	}
+
+	@Test
+	public void testTrimToSize() {
+		Random generator = new Random(123);
+		for (int noElements = 1; noElements < 5000; noElements <<= 1) {
+			ArrayHashSet<Integer> testSet = new ArrayHashSet<Integer>(
+					4 * noElements);
+			Set<Integer> referenceSet = new HashSet<Integer>();
+			for (int i = 0; i < noElements; i++) {
+				int element = generator.nextInt();
+				assertEquals(referenceSet.add(element), testSet.add(element));
+			}
+			testSet.trimToSize();
+			// the wildcard avoids the cast of the raw data to Integer[]
+			int trimmedCapacity = ((ArrayHashSet<?>) testSet).getRawData().length;
+			assertTrue(trimmedCapacity < 4 * noElements);
+			assertTrue(testSet.size() < LinearProbing
+					.getUpperSize(trimmedCapacity));
+			testSetEquality(referenceSet, testSet);
+			// the set can grow again
+			for (int i = 0; i < noElements; i++) {
+				int element = generator.nextInt();
+				assertEquals(referenceSet.add(element), testSet.add(element));
+			}
+			testSetEquality(referenceSet, testSet);
+		}
+	}
 }
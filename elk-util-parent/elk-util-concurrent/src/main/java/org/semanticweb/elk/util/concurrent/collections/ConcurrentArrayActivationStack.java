@@ -0,0 +1,181 @@
+package org.semanticweb.elk.util.concurrent.collections;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A thread-safe implementation of {@link ActivationStack} that stores elements
+ * in a linked list of array chunks. Elements are added and removed using
+ * compare-and-set operations without locking, like in
+ * {@link ConcurrentLinkedActivationStack}, but a new object is created only
+ * when a chunk is full or when the stack is activated. The chunks grow from
+ * {@value #MIN_CHUNK_SIZE_} to {@value #MAX_CHUNK_SIZE_} elements. This stack
+ * does not allow storing {@code null} values.
+ * 
+ * @param <E>
+ *            the type of elements in the stack
+ */
+public class ConcurrentArrayActivationStack<E> implements ActivationStack<E> {
+
+	private static final int MIN_CHUNK_SIZE_ = 4;
+
+	private static final int MAX_CHUNK_SIZE_ = 64;
+
+	/**
+	 * the value of {@link Chunk#size} after the chunk was removed
+	 */
+	private static final int REMOVED_ = -1;
+
+	/**
+	 * a special chunk used to mark the end of the stack after it has been
+	 * activated; no elements are inserted into it
+	 */
+	@SuppressWarnings("rawtypes")
+	private static final Chunk END_ = new Chunk(0, null);
+
+	/**
+	 * the top chunk of the stack, {@code null} if the stack is cleared
+	 */
+	private final AtomicReference<Chunk<E>> top_ = new AtomicReference<Chunk<E>>();
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean push(E element) {
+		if (element == null)
+			throw new IllegalArgumentException(
+					"Elements in the stack cannot be null");
+		for (;;) {
+			Chunk<E> top = top_.get();
+			if (top == null) {
+				if (top_.compareAndSet(null,
+						new Chunk<E>(MIN_CHUNK_SIZE_, END_, element)))
+					return true;
+				// else
+				continue;
+			}
+			int size = top == END_ ? REMOVED_ : top.size.get();
+			if (size == REMOVED_ && top != END_) {
+				// help to remove the chunk
+				top_.compareAndSet(top, top.next);
+				continue;
+			}
+			if (size == REMOVED_ || size == top.capacity()) {
+				int capacity = top == END_ ? MIN_CHUNK_SIZE_
+						: Math.min(2 * top.capacity(), MAX_CHUNK_SIZE_);
+				if (top_.compareAndSet(top,
+						new Chunk<E>(capacity, top, element)))
+					return false;
+				// else
+				continue;
+			}
+			// reserve the slot above the top element
+			if (!top.elements.compareAndSet(size, null, element)) {
+				// the slot is reserved by another push or not yet released by
+				// a pop
+				Thread.onSpinWait();
+				continue;
+			}
+			if (top.size.compareAndSet(size, size + 1))
+				return false;
+			// else the size has changed, release the slot and try again
+			top.elements.set(size, null);
+		}
+	}
+
+	@Override
+	public E pop() {
+		for (;;) {
+			Chunk<E> top = top_.get();
+			if (top == null)
+				return null;
+			if (top == END_) {
+				if (top_.compareAndSet(top, null))
+					return null;
+				// else
+				continue;
+			}
+			int size = top.size.get();
+			if (size == 0) {
+				// remove the chunk so that no elements are added to it
+				top.size.compareAndSet(0, REMOVED_);
+				continue;
+			}
+			if (size == REMOVED_) {
+				top_.compareAndSet(top, top.next);
+				continue;
+			}
+			if (top.size.compareAndSet(size, size - 1))
+				// the slot was filled before the size was increased
+				return top.elements.getAndSet(size - 1, null);
+		}
+	}
+
+	@Override
+	public E peek() {
+		Chunk<E> chunk = top_.get();
+		while (chunk != null && chunk != END_) {
+			int size = chunk.size.get();
+			if (size > 0)
+				return chunk.elements.get(size - 1);
+			// else
+			chunk = chunk.next;
+		}
+		return null;
+	}
+
+	private static class Chunk<T> {
+
+		final AtomicReferenceArray<T> elements;
+
+		/**
+		 * the number of elements in the chunk, or {@link #REMOVED_}
+		 */
+		final AtomicInteger size;
+
+		/**
+		 * the chunk below this one
+		 */
+		final Chunk<T> next;
+
+		Chunk(int capacity, Chunk<T> next) {
+			this.elements = new AtomicReferenceArray<T>(capacity);
+			this.size = new AtomicInteger();
+			this.next = next;
+		}
+
+		Chunk(int capacity, Chunk<T> next, T first) {
+			this(capacity, next);
+			elements.set(0, first);
+			size.set(1);
+		}
+
+		int capacity() {
+			return elements.length();
+		}
+
+	}
+
+}
@@ -38,6 +38,12 @@
  * further input can be submitted and the workers will terminate when all input
  * has been processed or they are interrupted earlier, whichever is earlier.
  * 
+ * To reduce the synchronization on the buffer when many small inputs are
+ * submitted, the inputs can be handed over to the workers in chunks of a given
+ * size: the submitted inputs are collected until the chunk is full, and every
+ * worker takes a whole chunk from the buffer at once. The last incomplete
+ * chunk is handed over when {@link #finish()} is called.
+ * 
  * @author "Yevgeny Kazakov"
  * 
  * @param <I>
@@ -48,18 +54,27 @@
 public class ConcurrentComputationWithInputs<I, F extends InputProcessorFactory<I, ?>>
 		extends ConcurrentComputation<F> {
 	/**
-	 * the internal buffer for queuing input
+	 * the internal buffer for queuing input; contains either the inputs or
+	 * the {@link Chunk}s of inputs
 	 */
-	private final BlockingQueue<I> buffer_;
+	private final BlockingQueue<Object> buffer_;
 	/**
 	 * the capacity of the buffer
 	 */
 	private final int bufferCapacity_;
+	/**
+	 * the number of inputs handed over to the workers at once
+	 */
+	private final int chunkSize_;
+	/**
+	 * the submitted inputs that are not yet put into the buffer; {@code null}
+	 * if inputs are not submitted in chunks
+	 */
+	private Chunk nextChunk_;
 	/**
 	 * a special object to "wake up" worker threads waiting for the input
 	 */
-	@SuppressWarnings("unchecked")
-	private final I poison_pill_ = (I) new Object();
+	private final Object poison_pill_ = new Object();
 
 	/**
 	 * Creating a {@link ConcurrentComputationWithInputs} instance.
@@ -71,20 +86,50 @@
 	 * @param maxWorkers
 	 *            the maximal number of concurrent workers processing the jobs
 	 * @param bufferCapacity
-	 *            the size of the buffer for scheduled jobs; if the buffer is
-	 *            full, submitting new jobs will block until new space is
-	 *            available
+	 *            the size of the buffer for scheduled jobs, i.e., the number
+	 *            of chunks if the inputs are handed over in chunks; if the
+	 *            buffer is full, submitting new jobs will block until new
+	 *            space is available
+	 * @param chunkSize
+	 *            the number of inputs that are handed over to a worker at
+	 *            once; the value {@code 1} or smaller means that the inputs
+	 *            are handed over one by one
 	 */
 	public ConcurrentComputationWithInputs(F inputProcessorFactory,
-			ConcurrentExecutor executor, int maxWorkers, int bufferCapacity) {
+			ConcurrentExecutor executor, int maxWorkers, int bufferCapacity,
+			int chunkSize) {
 		super(inputProcessorFactory, executor, maxWorkers);
+		if (chunkSize < 1) {
+			chunkSize = 1;
+		}
 		if (bufferCapacity <= maxWorkers) {
 			// we need poisons from the workers plus one input to fit in the
 			// buffer
 			bufferCapacity = maxWorkers + 1;
 		}
 		this.bufferCapacity_ = bufferCapacity;
-		this.buffer_ = new ArrayBlockingQueue<I>(bufferCapacity);
+		this.buffer_ = new ArrayBlockingQueue<Object>(bufferCapacity);
+		this.chunkSize_ = chunkSize;
+		this.nextChunk_ = chunkSize > 1 ? new Chunk(chunkSize) : null;
+	}
+
+	/**
+	 * Creating a {@link ConcurrentComputationWithInputs} instance.
+	 * 
+	 * @param inputProcessorFactory
+	 *            the factory for input processors
+	 * @param executor
+	 *            the executor used internally to run the jobs
+	 * @param maxWorkers
+	 *            the maximal number of concurrent workers processing the jobs
+	 * @param bufferCapacity
+	 *            the size of the buffer for scheduled jobs; if the buffer is
+	 *            full, submitting new jobs will block until new space is
+	 *            available
+	 */
+	public ConcurrentComputationWithInputs(F inputProcessorFactory,
+			ConcurrentExecutor executor, int maxWorkers, int bufferCapacity) {
+		this(inputProcessorFactory, executor, maxWorkers, bufferCapacity, 1);
 	}
 
 	/**
@@ -105,7 +150,9 @@ public ConcurrentComputationWithInputs(F inputProcessorFactory,
 	/**
 	 * Submitting a new input for processing. Submitted input jobs are first
 	 * buffered, and then concurrently processed by workers. If the buffer is
-	 * full, the method blocks until new space is available.
+	 * full, the method blocks until new space is available. If the inputs are
+	 * handed over in chunks, the input is put into the buffer together with
+	 * the other inputs of its chunk.
 	 * 
 	 * @param input
 	 *            the input to be processed
@@ -119,10 +166,50 @@ public ConcurrentComputationWithInputs(F inputProcessorFactory,
 	public synchronized boolean submit(I input) throws InterruptedException {
 		if (termination || isInterrupted())
 			return false;
-		buffer_.put(input);
+		if (nextChunk_ == null) {
+			buffer_.put(input);
+			return true;
+		}
+		// else
+		if (nextChunk_.add(input)) {
+			// the chunk is full
+			buffer_.put(nextChunk_);
+			nextChunk_ = new Chunk(chunkSize_);
+		}
 		return true;
 	}
 
+	/**
+	 * Puts the submitted inputs that are not yet in the buffer into the
+	 * buffer; blocks if the buffer is full
+	 * 
+	 * @throws InterruptedException
+	 *             thrown if interrupted during waiting for space to be
+	 *             available
+	 */
+	private void flush() throws InterruptedException {
+		if (nextChunk_ == null || nextChunk_.size == 0)
+			return;
+		// else
+		buffer_.put(nextChunk_);
+		nextChunk_ = new Chunk(chunkSize_);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * The incomplete chunk of inputs is handed over to the workers before
+	 * they are notified about the termination. If the computation is
+	 * interrupted, these inputs are kept until the next call of this method.
+	 */
+	@Override
+	public synchronized void finish() throws InterruptedException {
+		if (!isInterrupted()) {
+			flush();
+		}
+		super.finish();
+	}
+
 	/**
 	 * Wakes up a blocked worker waiting for the buffer by offering a poison pill 
 	 */
@@ -175,8 +262,22 @@ public final void run() {
 						inputProcessor.process(); // can be interrupted
 						doneProcess = true;
 					}
-					I nextInput = buffer_.take();
-					if (nextInput != poison_pill_) {						
+					Object next = buffer_.take();
+					if (next instanceof Chunk) {
+						/*
+						 * all inputs are submitted before processing so that
+						 * none of them is lost if processing is interrupted
+						 */
+						Chunk chunk = (Chunk) next;
+						for (int i = 0; i < chunk.size; i++) {
+							@SuppressWarnings("unchecked")
+							I nextInput = (I) chunk.get(i);
+							inputProcessor.submit(nextInput); // should not fail
+						}
+						inputProcessor.process(); // can be interrupted
+					} else if (next != poison_pill_) {
+						@SuppressWarnings("unchecked")
+						I nextInput = (I) next;
 						inputProcessor.submit(nextInput); // should not fail
 						inputProcessor.process(); // can be interrupted
 					}
@@ -213,4 +314,39 @@ public final void run() {
 			}
 		}
 	}
+
+	/**
+	 * A number of submitted inputs that are put into the buffer at once
+	 */
+	private static class Chunk {
+
+		private final Object[] inputs_;
+
+		/**
+		 * the number of inputs in this {@link Chunk}
+		 */
+		int size = 0;
+
+		Chunk(int capacity) {
+			this.inputs_ = new Object[capacity];
+		}
+
+		/**
+		 * Adds the input to this {@link Chunk}
+		 * 
+		 * @param input
+		 * @return {@code true} if this {@link Chunk} is full after adding the
+		 *         input
+		 */
+		boolean add(Object input) {
+			inputs_[size++] = input;
+			return size == inputs_.length;
+		}
+
+		Object get(int i) {
+			return inputs_[i];
+		}
+
+	}
+
 }
@@ -27,6 +27,7 @@
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.AbstractQueuedSynchronizer;
 
 /**
  * A simple implementation of {@link ConcurrentExecutor} that uses the standard
@@ -53,7 +54,7 @@ class ConcurrentExecutorImpl implements ConcurrentExecutor {
 	}
 
 	@Override
-	public synchronized JobMonitor submit(Runnable job, int noInstances) {
+	public JobMonitor submit(Runnable job, int noInstances) {
 		ThisJobMonitor result = new ThisJobMonitor(job, noInstances);
 		for (int i = 0; i < noInstances; i++) {
 			executor_.execute(result);
@@ -64,8 +65,12 @@ public synchronized JobMonitor submit(Runnable job, int noInstances) {
 	private static class ThisJobMonitor implements JobMonitor, Runnable {
 
 		private final Runnable job_;
-		private int runsNo_;
-		private Throwable exception_ = null;
+		/**
+		 * counts the copies of the job that are not yet finished; released
+		 * early if some copy throws an exception
+		 */
+		private final Latch latch_;
+		private volatile Throwable exception_ = null;
 
 		ThisJobMonitor(Runnable job, int noInstances) {
 			this.job_ = job;
@@ -74,25 +79,20 @@ private static class ThisJobMonitor implements JobMonitor, Runnable {
 						"number of instances should be positive: "
 								+ noInstances);
 			}
-			this.runsNo_ = noInstances;
+			this.latch_ = new Latch(noInstances);
 		}
 
-		synchronized void setException(Throwable exception) {
+		void setException(Throwable exception) {
 			this.exception_ = exception;
-			notifyAll();
+			latch_.releaseShared(Latch.RELEASE_ALL);
 		}
 
 		@Override
-		public synchronized void waitDone() throws InterruptedException {
-			for (;;) {
-				if (runsNo_ == 0 || exception_ != null) {
-					break;
-				}
-				// else
-				wait();
-			}
-			if (exception_ != null) {
-				throw new ComputationRuntimeException(exception_);
+		public void waitDone() throws InterruptedException {
+			latch_.acquireSharedInterruptibly(0);
+			Throwable exception = exception_;
+			if (exception != null) {
+				throw new ComputationRuntimeException(exception);
 			}
 		}
 
@@ -103,9 +103,42 @@ public void run() {
 			} catch (Throwable e) {
 				setException(e);
 			}
-			synchronized (this) {
-				if (--runsNo_ == 0) {
-					notifyAll();
+			latch_.releaseShared(Latch.COUNT_DOWN);
+		}
+
+	}
+
+	/**
+	 * A count down latch that can also be released at once; the waiting
+	 * threads are parked, the counter is updated without locks
+	 */
+	private static class Latch extends AbstractQueuedSynchronizer {
+
+		private static final long serialVersionUID = -2934751862351795498L;
+
+		static final int COUNT_DOWN = 1;
+
+		static final int RELEASE_ALL = 0;
+
+		Latch(int count) {
+			setState(count);
+		}
+
+		@Override
+		protected int tryAcquireShared(int ignore) {
+			return getState() == 0 ? 1 : -1;
+		}
+
+		@Override
+		protected boolean tryReleaseShared(int mode) {
+			for (;;) {
+				int count = getState();
+				if (count == 0) {
+					return false;
+				}
+				int next = mode == COUNT_DOWN ? count - 1 : 0;
+				if (compareAndSetState(count, next)) {
+					return next == 0;
 				}
 			}
 		}
@@ -22,6 +22,8 @@
  * #L%
  */
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -69,6 +71,38 @@ public static ConcurrentExecutor create(String name) {
 		return create(name, 1L, TimeUnit.SECONDS);
 	}
 
+	/**
+	 * Creates a {@link ConcurrentExecutor} that runs every copy of a job on a
+	 * new virtual thread. No threads are kept when there are no jobs to run.
+	 * 
+	 * @param name
+	 *            the name of the created {@link ConcurrentExecutor}, used as a
+	 *            prefix for the names of the threads
+	 * @return the {@link ConcurrentExecutor} associated with the given
+	 *         parameters
+	 */
+	public static ConcurrentExecutor createVirtual(String name) {
+		return new ConcurrentExecutorImpl(Executors.newThreadPerTaskExecutor(
+				Thread.ofVirtual().name(name + "-virtual-", 1).factory()));
+	}
+
+	/**
+	 * Creates a {@link ConcurrentExecutor} that runs the jobs using the given
+	 * {@link Executor}, e.g., an {@link java.util.concurrent.ExecutorService}
+	 * or a {@link java.util.concurrent.ForkJoinPool} shared with other
+	 * components. The copies of a job submitted at once may wait for each
+	 * other, so the {@link Executor} should be able to run them all at the
+	 * same time.
+	 * 
+	 * @param executor
+	 *            the {@link Executor} used to run the jobs
+	 * @return the {@link ConcurrentExecutor} that uses the given
+	 *         {@link Executor}
+	 */
+	public static ConcurrentExecutor create(Executor executor) {
+		return new ConcurrentExecutorImpl(executor);
+	}
+
 	/**
 	 * @return the default {@link ConcurrentExecutor} with the timeout of 1
 	 *         second for running threads.
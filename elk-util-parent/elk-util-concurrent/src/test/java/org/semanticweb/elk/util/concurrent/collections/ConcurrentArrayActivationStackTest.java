@@ -0,0 +1,104 @@
+package org.semanticweb.elk.util.concurrent.collections;
+
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2024 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentArrayActivationStackTest {
+
+	/**
+	 * the number of elements pushed by every worker
+	 */
+	private static final int ELEMENTS_COUNT_ = 200000;
+	/**
+	 * the number of worker threads used in the test
+	 */
+	private static final int WORKER_COUNT_ = 8;
+
+	@Test
+	public void activation() {
+		ActivationStack<Integer> stack = new ConcurrentArrayActivationStack<Integer>();
+		for (int round = 0; round < 3; round++) {
+			assertNull(stack.peek());
+			assertTrue(stack.push(0));
+			// enough to fill several chunks
+			for (int i = 1; i < 1000; i++) {
+				assertFalse(stack.push(i));
+			}
+			assertEquals(999, stack.peek().intValue());
+			for (int i = 999; i >= 0; i--) {
+				assertEquals(i, stack.pop().intValue());
+			}
+			// the stack is cleared only when pop returns null
+			assertFalse(stack.push(0));
+			assertEquals(0, stack.pop().intValue());
+			assertNull(stack.pop());
+			assertNull(stack.pop());
+		}
+	}
+
+	@Test
+	public void concurrentPushPop() throws InterruptedException {
+		final ActivationStack<Integer> stack = new ConcurrentArrayActivationStack<Integer>();
+		final AtomicIntegerArray popped = new AtomicIntegerArray(
+				WORKER_COUNT_ * ELEMENTS_COUNT_);
+		Thread[] workers = new Thread[WORKER_COUNT_];
+		for (int w = 0; w < WORKER_COUNT_; w++) {
+			final int first = w * ELEMENTS_COUNT_;
+			workers[w] = new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < ELEMENTS_COUNT_; i++) {
+						stack.push(first + i);
+						if (i % 3 != 0) {
+							Integer element = stack.pop();
+							if (element != null)
+								popped.incrementAndGet(element);
+						}
+					}
+				}
+			};
+			workers[w].start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		for (;;) {
+			Integer element = stack.pop();
+			if (element == null)
+				break;
+			popped.incrementAndGet(element);
+		}
+		for (int i = 0; i < popped.length(); i++) {
+			assertEquals(1, popped.get(i), "element " + i);
+		}
+	}
+
+}
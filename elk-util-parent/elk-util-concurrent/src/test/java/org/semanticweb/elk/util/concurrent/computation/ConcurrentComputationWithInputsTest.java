@@ -48,23 +48,25 @@ public class ConcurrentComputationWithInputsTest {
 	private final ConcurrentExecutor executor = ConcurrentExecutors
 			.create("test-worker");
 
-	void setup(int round, final InterruptMonitor interrupter) {
+	private static final int MAX_CHUNK_SIZE_ = 16;
+
+	void setup(int round, final InterruptMonitor interrupter, int chunkSize) {
 		int workers = random.nextInt(round + 1) + 1;
 		factory_ = new TestInputProcessorFactory(interrupter);
 		computation_ = new ConcurrentComputationWithInputs<Integer, TestInputProcessorFactory>(
-				factory_, executor, workers, workers);
+				factory_, executor, workers, workers, chunkSize);
 	}
 
 	@Test
 	public void test() {
-		run(new TestInterrupter());
+		run(new TestInterrupter(), 1);
 	}
 
-	public void run(final TestInterrupter interrupter) {
+	public void run(final TestInterrupter interrupter, int maxChunkSize) {
 
 		int jobs = 1;
 		for (int round = 0; round < ROUNDS_; round++) {
-			setup(round, interrupter);
+			setup(round, interrupter, random.nextInt(maxChunkSize) + 1);
 			jobs = random.nextInt(MAX_JOBS);
 			int sumExpected = 0;
 			if (!computation_.start())
@@ -108,7 +110,19 @@ public void run(final TestInterrupter interrupter) {
 	@Test
 	public void testWithInterrupts() {
 		run(new TestInterrupter(new RandomInterruptMonitor(random,
-				INTERRUPTION_CHANCE, INTERRUPTION_INTERVAL_NANOS)));
+				INTERRUPTION_CHANCE, INTERRUPTION_INTERVAL_NANOS)), 1);
+	}
+
+	@Test
+	public void testChunked() {
+		run(new TestInterrupter(), MAX_CHUNK_SIZE_);
+	}
+
+	@Test
+	public void testChunkedWithInterrupts() {
+		run(new TestInterrupter(new RandomInterruptMonitor(random,
+				INTERRUPTION_CHANCE, INTERRUPTION_INTERVAL_NANOS)),
+				MAX_CHUNK_SIZE_);
 	}
 
 }
@@ -0,0 +1,88 @@
+/*
+ * #%L
+ * ELK Utilities for Concurrency
+ * $Id:$
+ * $HeadURL:$
+ * %%
+ * Copyright (C) 2011 - 2015 Department of Computer Science, University of Oxford
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.semanticweb.elk.util.concurrent.computation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentExecutorsTest {
+
+	private static final int ROUNDS_ = 100;
+
+	private static final int INSTANCES_ = 16;
+
+	private static void runAll(ConcurrentExecutor executor)
+			throws InterruptedException {
+		for (int round = 0; round < ROUNDS_; round++) {
+			final AtomicInteger runs = new AtomicInteger();
+			executor.submit(new Runnable() {
+				@Override
+				public void run() {
+					runs.incrementAndGet();
+				}
+			}, INSTANCES_).waitDone();
+			assertEquals(INSTANCES_, runs.get());
+		}
+	}
+
+	private static void failOne(ConcurrentExecutor executor) {
+		final AtomicInteger runs = new AtomicInteger();
+		final JobMonitor monitor = executor.submit(new Runnable() {
+			@Override
+			public void run() {
+				if (runs.getAndIncrement() == 0) {
+					throw new IllegalStateException();
+				}
+			}
+		}, INSTANCES_);
+		assertThrows(ComputationRuntimeException.class, monitor::waitDone);
+	}
+
+	@Test
+	public void platformThreads() throws InterruptedException {
+		ConcurrentExecutor executor = ConcurrentExecutors.create("test");
+		runAll(executor);
+		failOne(executor);
+	}
+
+	@Test
+	public void virtualThreads() throws InterruptedException {
+		ConcurrentExecutor executor = ConcurrentExecutors
+				.createVirtual("test");
+		runAll(executor);
+		failOne(executor);
+	}
+
+	@Test
+	public void forkJoinPool() throws InterruptedException {
+		ConcurrentExecutor executor = ConcurrentExecutors
+				.create(new ForkJoinPool(INSTANCES_));
+		runAll(executor);
+		failOne(executor);
+	}
+
+}